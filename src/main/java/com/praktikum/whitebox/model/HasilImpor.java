@@ -0,0 +1,54 @@
+package com.praktikum.whitebox.model;
+
+import java.util.Collections;
+import java.util.List;
+
+// Ringkasan satu kali impor katalog. Baris kosong dan header tidak dihitung.
+// Detail baris ditolak dibatasi jumlahnya; jumlahDitolak tetap menghitung semuanya.
+public final class HasilImpor {
+    private final long jumlahBaris;
+    private final long jumlahDiimpor;
+    private final long jumlahDitolak;
+    private final List<BarisDitolak> contohDitolak;
+
+    public HasilImpor(long jumlahBaris, long jumlahDiimpor, long jumlahDitolak, List<BarisDitolak> contohDitolak) {
+        this.jumlahBaris = jumlahBaris;
+        this.jumlahDiimpor = jumlahDiimpor;
+        this.jumlahDitolak = jumlahDitolak;
+        this.contohDitolak = Collections.unmodifiableList(contohDitolak);
+    }
+
+    public long getJumlahBaris() { return jumlahBaris; }
+    public long getJumlahDiimpor() { return jumlahDiimpor; }
+    public long getJumlahDitolak() { return jumlahDitolak; }
+    // Terurut menurut nomor baris
+    public List<BarisDitolak> getContohDitolak() { return contohDitolak; }
+
+    @Override
+    public String toString() {
+        return "HasilImpor{" +
+                "jumlahBaris=" + jumlahBaris +
+                ", jumlahDiimpor=" + jumlahDiimpor +
+                ", jumlahDitolak=" + jumlahDitolak +
+                '}';
+    }
+
+    public static final class BarisDitolak {
+        private final long nomorBaris;
+        private final String alasan;
+
+        public BarisDitolak(long nomorBaris, String alasan) {
+            this.nomorBaris = nomorBaris;
+            this.alasan = alasan;
+        }
+
+        // Nomor baris fisik di berkas, mulai dari 1
+        public long getNomorBaris() { return nomorBaris; }
+        public String getAlasan() { return alasan; }
+
+        @Override
+        public String toString() {
+            return "baris " + nomorBaris + ": " + alasan;
+        }
+    }
+}
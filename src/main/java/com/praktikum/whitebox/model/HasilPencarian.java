@@ -0,0 +1,23 @@
+package com.praktikum.whitebox.model;
+
+// Satu hasil pencarian full-text: produk dan skor relevansinya (lebih besar = lebih relevan)
+public final class HasilPencarian {
+    private final Produk produk;
+    private final double skor;
+
+    public HasilPencarian(Produk produk, double skor) {
+        this.produk = produk;
+        this.skor = skor;
+    }
+
+    public Produk getProduk() { return produk; }
+    public double getSkor() { return skor; }
+
+    @Override
+    public String toString() {
+        return "HasilPencarian{" +
+                "kode='" + produk.getKode() + '\'' +
+                ", skor=" + skor +
+                '}';
+    }
+}
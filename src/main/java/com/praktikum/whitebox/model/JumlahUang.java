@@ -0,0 +1,82 @@
+package com.praktikum.whitebox.model;
+
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+// Penjumlah harga x stok dalam sen yang tidak pernah melempar saat menambah, untuk
+// jalur tulis (agregat di dalam lock penulis) dan scan laporan. Tiap suku dipecah ke
+// tiga limb (bobot 2^0, 2^32, 2^64) sehingga total tetap tepat walau melewati jangkauan
+// long; overflow baru terlihat saat dibaca. Aman dipakai bersamaan oleh banyak penulis,
+// pembacaan saat ada penulisan bersamaan tidak harus berasal dari satu titik waktu.
+public final class JumlahUang {
+    private static final long MASK_32 = 0xFFFFFFFFL;
+    private static final double DUA_PANGKAT_32 = 4294967296.0;
+    private static final double DUA_PANGKAT_64 = DUA_PANGKAT_32 * DUA_PANGKAT_32;
+
+    private final LongAdder limb0 = new LongAdder();
+    private final LongAdder limb1 = new LongAdder();
+    private final LongAdder limb2 = new LongAdder();
+    // Suku yang harganya sendiri tidak muat di long sen, hanya dijumlah sebagai double
+    private final LongAdder tidakTerwakili = new LongAdder();
+    private final DoubleAdder nilaiTidakTerwakili = new DoubleAdder();
+
+    public void tambah(double harga, long stok) {
+        ubah(harga, stok, 1);
+    }
+
+    // Membatalkan tambah(harga, stok) sebelumnya dengan argumen yang sama persis
+    public void kurangi(double harga, long stok) {
+        ubah(harga, stok, -1);
+    }
+
+    // true bila totalSen() bisa dikembalikan tanpa ArithmeticException
+    public boolean muatDiLong() {
+        return tidakTerwakili.sum() == 0 && muat(normalisasi());
+    }
+
+    // Total tepat dalam sen; ArithmeticException bila tidak muat di long
+    public long totalSen() {
+        long[] limb = normalisasi();
+        if (tidakTerwakili.sum() != 0 || !muat(limb)) {
+            throw new ArithmeticException("Total nilai di luar jangkauan long sen");
+        }
+        return (limb[1] << 32) | limb[0];
+    }
+
+    // Total dalam satuan uang; selalu tersedia, perkiraan double bila tidak muat di long
+    public double total() {
+        long[] limb = normalisasi();
+        double sen = limb[2] * DUA_PANGKAT_64 + limb[1] * DUA_PANGKAT_32 + limb[0];
+        return sen / Uang.SEN_PER_SATUAN + nilaiTidakTerwakili.sum();
+    }
+
+    private void ubah(double harga, long stok, int tanda) {
+        if (stok == 0) {
+            return;
+        }
+        if (!Uang.dapatDiwakili(harga)) {
+            tidakTerwakili.add(tanda);
+            nilaiTidakTerwakili.add(tanda * harga * stok);
+            return;
+        }
+        long sen = Uang.dariDouble(harga);
+        // Hasil kali 128-bit: atas bertanda, bawah tanpa tanda
+        long atas = Math.multiplyHigh(sen, stok);
+        long bawah = sen * stok;
+        limb0.add(tanda * (bawah & MASK_32));
+        limb1.add(tanda * (bawah >>> 32));
+        limb2.add(tanda * atas);
+    }
+
+    // limb0 dan limb1 dinormalkan ke [0, 2^32), carry dipindah ke limb di atasnya
+    private long[] normalisasi() {
+        long l0 = limb0.sum();
+        long l1 = limb1.sum() + (l0 >> 32);
+        long l2 = limb2.sum() + (l1 >> 32);
+        return new long[]{l0 & MASK_32, l1 & MASK_32, l2};
+    }
+
+    private static boolean muat(long[] limb) {
+        return (limb[2] == 0 && limb[1] < (1L << 31)) || (limb[2] == -1 && limb[1] >= (1L << 31));
+    }
+}
@@ -0,0 +1,64 @@
+package com.praktikum.whitebox.model;
+
+// Laporan inventaris yang seluruh angkanya berasal dari satu snapshot, sehingga
+// total stok, total nilai dan jumlah per status saling konsisten.
+// Seperti RingkasanKategori: getTotalNilaiAktifSen() melempar ArithmeticException bila
+// total tidak muat di long sen, getTotalNilaiAktif() selalu memberi nilai double.
+public final class LaporanInventaris {
+    private final long jumlahProduk;
+    private final long totalStokAktif;
+    private final long totalNilaiAktifSen;
+    private final double totalNilaiAktif;
+    private final boolean totalNilaiAktifTepat;
+    private final long jumlahStokMenipis;
+    private final long jumlahStokHabis;
+
+    public LaporanInventaris(long jumlahProduk, long totalStokAktif, long totalNilaiAktifSen,
+                             long jumlahStokMenipis, long jumlahStokHabis) {
+        this(jumlahProduk, totalStokAktif, totalNilaiAktifSen, Uang.keDouble(totalNilaiAktifSen), true,
+                jumlahStokMenipis, jumlahStokHabis);
+    }
+
+    public LaporanInventaris(long jumlahProduk, long totalStokAktif, JumlahUang totalNilaiAktif,
+                             long jumlahStokMenipis, long jumlahStokHabis) {
+        this(jumlahProduk, totalStokAktif, totalNilaiAktif.muatDiLong() ? totalNilaiAktif.totalSen() : 0,
+                totalNilaiAktif.total(), totalNilaiAktif.muatDiLong(), jumlahStokMenipis, jumlahStokHabis);
+    }
+
+    private LaporanInventaris(long jumlahProduk, long totalStokAktif, long totalNilaiAktifSen,
+                              double totalNilaiAktif, boolean totalNilaiAktifTepat,
+                              long jumlahStokMenipis, long jumlahStokHabis) {
+        this.jumlahProduk = jumlahProduk;
+        this.totalStokAktif = totalStokAktif;
+        this.totalNilaiAktifSen = totalNilaiAktifSen;
+        this.totalNilaiAktif = totalNilaiAktif;
+        this.totalNilaiAktifTepat = totalNilaiAktifTepat;
+        this.jumlahStokMenipis = jumlahStokMenipis;
+        this.jumlahStokHabis = jumlahStokHabis;
+    }
+
+    public long getJumlahProduk() { return jumlahProduk; }
+    public long getTotalStokAktif() { return totalStokAktif; }
+    public long getTotalNilaiAktifSen() {
+        if (!totalNilaiAktifTepat) {
+            throw new ArithmeticException("Total nilai laporan di luar jangkauan long sen");
+        }
+        return totalNilaiAktifSen;
+    }
+    public double getTotalNilaiAktif() { return totalNilaiAktif; }
+    public boolean isTotalNilaiAktifTepat() { return totalNilaiAktifTepat; }
+    public long getJumlahStokMenipis() { return jumlahStokMenipis; }
+    public long getJumlahStokHabis() { return jumlahStokHabis; }
+
+    @Override
+    public String toString() {
+        return "LaporanInventaris{" +
+                "jumlahProduk=" + jumlahProduk +
+                ", totalStokAktif=" + totalStokAktif +
+                ", totalNilaiAktifSen=" + (totalNilaiAktifTepat ? String.valueOf(totalNilaiAktifSen)
+                        : "~" + totalNilaiAktif * Uang.SEN_PER_SATUAN) +
+                ", jumlahStokMenipis=" + jumlahStokMenipis +
+                ", jumlahStokHabis=" + jumlahStokHabis +
+                '}';
+    }
+}
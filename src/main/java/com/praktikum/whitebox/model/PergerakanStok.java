@@ -0,0 +1,33 @@
+package com.praktikum.whitebox.model;
+public class PergerakanStok {
+    public enum Tipe { MASUK, KELUAR }
+    private final String kode;
+    private final Tipe tipe;
+    private final int jumlah;
+    public PergerakanStok(String kode, Tipe tipe, int jumlah) {
+        this.kode = kode;
+        this.tipe = tipe;
+        this.jumlah = jumlah;
+    }
+    public static PergerakanStok masuk(String kode, int jumlah) {
+        return new PergerakanStok(kode, Tipe.MASUK, jumlah);
+    }
+    public static PergerakanStok keluar(String kode, int jumlah) {
+        return new PergerakanStok(kode, Tipe.KELUAR, jumlah);
+    }
+    public String getKode() { return kode; }
+    public Tipe getTipe() { return tipe; }
+    public int getJumlah() { return jumlah; }
+    // Perubahan stok bertanda: positif untuk masuk, negatif untuk keluar
+    public int getPerubahan() {
+        return tipe == Tipe.KELUAR ? -jumlah : jumlah;
+    }
+    @Override
+    public String toString() {
+        return "PergerakanStok{" +
+                "kode='" + kode + '\'' +
+                ", tipe=" + tipe +
+                ", jumlah=" + jumlah +
+                '}';
+    }
+}
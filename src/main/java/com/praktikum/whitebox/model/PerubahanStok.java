@@ -0,0 +1,38 @@
+package com.praktikum.whitebox.model;
+
+// Event perubahan stok satu produk. Bila status berpindah (aman/menipis/habis)
+// event ini sekaligus menandai lintas ambang.
+public final class PerubahanStok {
+    private final String kode;
+    private final int stokLama;
+    private final int stokBaru;
+    private final int stokMinimum;
+
+    public PerubahanStok(String kode, int stokLama, int stokBaru, int stokMinimum) {
+        this.kode = kode;
+        this.stokLama = stokLama;
+        this.stokBaru = stokBaru;
+        this.stokMinimum = stokMinimum;
+    }
+
+    public String getKode() { return kode; }
+    public int getStokLama() { return stokLama; }
+    public int getStokBaru() { return stokBaru; }
+    public int getStokMinimum() { return stokMinimum; }
+    public StatusStok getStatusLama() { return StatusStok.dari(stokLama, stokMinimum); }
+    public StatusStok getStatusBaru() { return StatusStok.dari(stokBaru, stokMinimum); }
+
+    public boolean isLintasAmbang() {
+        return getStatusLama() != getStatusBaru();
+    }
+
+    @Override
+    public String toString() {
+        return "PerubahanStok{" +
+                "kode='" + kode + '\'' +
+                ", stokLama=" + stokLama +
+                ", stokBaru=" + stokBaru +
+                ", status=" + getStatusLama() + "->" + getStatusBaru() +
+                '}';
+    }
+}
@@ -67,6 +67,13 @@ public class Produk {
         }
         return harga * jumlah;
     }
+    // Versi fixed-point (sen) dari hitungTotalHarga, tepat dan dengan deteksi overflow
+    public long hitungTotalHargaSen(int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah harus positif");
+        }
+        return Uang.kali(Uang.dariDouble(harga), jumlah);
+    }
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,67 @@
+package com.praktikum.whitebox.model;
+
+// Varian Produk yang immutable: setiap perubahan menghasilkan instance baru lewat
+// withXxx, sehingga instance boleh dibagi antar thread tanpa salinan atau lock.
+// Semantik stok (habis/menipis/aman) dan nilai sama dengan Produk.
+public record ProdukTetap(String kode, String nama, String kategori, double harga,
+                          int stok, int stokMinimum, boolean aktif) {
+
+    public ProdukTetap {
+        if (kode == null) {
+            throw new IllegalArgumentException("Kode produk tidak boleh null");
+        }
+    }
+
+    public ProdukTetap(String kode, String nama, String kategori, double harga, int stok, int stokMinimum) {
+        this(kode, nama, kategori, harga, stok, stokMinimum, true);
+    }
+
+    public static ProdukTetap dari(Produk produk) {
+        if (produk == null) {
+            throw new IllegalArgumentException("Produk tidak boleh null");
+        }
+        return new ProdukTetap(produk.getKode(), produk.getNama(), produk.getKategori(),
+                produk.getHarga(), produk.getStok(), produk.getStokMinimum(), produk.isAktif());
+    }
+
+    // Salinan mutable untuk API yang masih memakai Produk
+    public Produk keProduk() {
+        Produk produk = new Produk(kode, nama, kategori, harga, stok, stokMinimum);
+        produk.setAktif(aktif);
+        return produk;
+    }
+
+    public ProdukTetap withStok(int stokBaru) {
+        return stokBaru == stok ? this : new ProdukTetap(kode, nama, kategori, harga, stokBaru, stokMinimum, aktif);
+    }
+
+    public ProdukTetap withHarga(double hargaBaru) {
+        return new ProdukTetap(kode, nama, kategori, hargaBaru, stok, stokMinimum, aktif);
+    }
+
+    public ProdukTetap withStokMinimum(int stokMinimumBaru) {
+        return new ProdukTetap(kode, nama, kategori, harga, stok, stokMinimumBaru, aktif);
+    }
+
+    public ProdukTetap withAktif(boolean aktifBaru) {
+        return aktifBaru == aktif ? this : new ProdukTetap(kode, nama, kategori, harga, stok, stokMinimum, aktifBaru);
+    }
+
+    public boolean isStokHabis() {
+        return stok == 0;
+    }
+
+    public boolean isStokMenipis() {
+        return stok > 0 && stok <= stokMinimum;
+    }
+
+    public boolean isStokAman() {
+        return stok > stokMinimum;
+    }
+
+    // Nilai satu entri; ArithmeticException bila tidak muat di long sen. Agregat
+    // repository tidak memakai ini melainkan menjumlah lewat JumlahUang.
+    public long nilaiSen() {
+        return Uang.kali(Uang.dariDouble(harga), stok);
+    }
+}
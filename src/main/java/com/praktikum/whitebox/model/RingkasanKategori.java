@@ -0,0 +1,66 @@
+package com.praktikum.whitebox.model;
+
+// Rollup produk per kategori. Stok dan nilai hanya menghitung produk aktif,
+// sama dengan total inventaris; jumlah stok menipis mengikuti Produk.isStokMenipis.
+// Bila total nilai tidak muat di long sen, getTotalNilaiSen() melempar ArithmeticException
+// dan getTotalNilai() tetap memberi perkiraan double (cek dulu dengan isTotalNilaiTepat()).
+public final class RingkasanKategori {
+    private final String kategori;
+    private final long jumlahProduk;
+    private final long totalStok;
+    private final long totalNilaiSen;
+    private final double totalNilai;
+    private final boolean totalNilaiTepat;
+    private final long jumlahStokMenipis;
+
+    public RingkasanKategori(String kategori, long jumlahProduk, long totalStok,
+                             long totalNilaiSen, long jumlahStokMenipis) {
+        this(kategori, jumlahProduk, totalStok, totalNilaiSen, Uang.keDouble(totalNilaiSen), true,
+                jumlahStokMenipis);
+    }
+
+    public RingkasanKategori(String kategori, long jumlahProduk, long totalStok,
+                             JumlahUang totalNilai, long jumlahStokMenipis) {
+        this(kategori, jumlahProduk, totalStok, totalNilai.muatDiLong() ? totalNilai.totalSen() : 0,
+                totalNilai.total(), totalNilai.muatDiLong(), jumlahStokMenipis);
+    }
+
+    private RingkasanKategori(String kategori, long jumlahProduk, long totalStok, long totalNilaiSen,
+                              double totalNilai, boolean totalNilaiTepat, long jumlahStokMenipis) {
+        this.kategori = kategori;
+        this.jumlahProduk = jumlahProduk;
+        this.totalStok = totalStok;
+        this.totalNilaiSen = totalNilaiSen;
+        this.totalNilai = totalNilai;
+        this.totalNilaiTepat = totalNilaiTepat;
+        this.jumlahStokMenipis = jumlahStokMenipis;
+    }
+
+    public static RingkasanKategori kosong(String kategori) {
+        return new RingkasanKategori(kategori, 0, 0, 0, 0);
+    }
+
+    public String getKategori() { return kategori; }
+    public long getJumlahProduk() { return jumlahProduk; }
+    public long getTotalStok() { return totalStok; }
+    public long getTotalNilaiSen() {
+        if (!totalNilaiTepat) {
+            throw new ArithmeticException("Total nilai kategori di luar jangkauan long sen");
+        }
+        return totalNilaiSen;
+    }
+    public double getTotalNilai() { return totalNilai; }
+    public boolean isTotalNilaiTepat() { return totalNilaiTepat; }
+    public long getJumlahStokMenipis() { return jumlahStokMenipis; }
+
+    @Override
+    public String toString() {
+        return "RingkasanKategori{" +
+                "kategori='" + kategori + '\'' +
+                ", jumlahProduk=" + jumlahProduk +
+                ", totalStok=" + totalStok +
+                ", totalNilaiSen=" + (totalNilaiTepat ? String.valueOf(totalNilaiSen) : "~" + totalNilai * Uang.SEN_PER_SATUAN) +
+                ", jumlahStokMenipis=" + jumlahStokMenipis +
+                '}';
+    }
+}
@@ -0,0 +1,13 @@
+package com.praktikum.whitebox.model;
+
+// Status stok sesuai Produk.isStokAman / isStokMenipis / isStokHabis
+public enum StatusStok {
+    AMAN, MENIPIS, HABIS;
+
+    public static StatusStok dari(int stok, int stokMinimum) {
+        if (stok <= 0) {
+            return HABIS;
+        }
+        return stok <= stokMinimum ? MENIPIS : AMAN;
+    }
+}
@@ -0,0 +1,60 @@
+package com.praktikum.whitebox.model;
+
+// Uang sebagai long dalam satuan sen (1/100). Semua operasi berupa method statis
+// atas primitif long sehingga tepat, tanpa alokasi, dan melempar ArithmeticException
+// bila terjadi overflow. Nilai double hanya dipakai sebagai tampilan kompatibilitas.
+// Jalur tulis dan agregat tidak memanggil method yang melempar; mereka menjumlah
+// lewat JumlahUang sehingga overflow baru dilaporkan di sisi pembaca.
+public final class Uang {
+    public static final long SEN_PER_SATUAN = 100;
+    public static final int BASIS_POIN_PENUH = 10_000;
+
+    // Batas aman double -> long sebelum Math.round mulai jenuh
+    private static final double BATAS_DOUBLE = 9.2e18;
+
+    private Uang() {}
+
+    public static long dariDouble(double nilai) {
+        double sen = nilai * SEN_PER_SATUAN;
+        if (Double.isNaN(sen) || Math.abs(sen) >= BATAS_DOUBLE) {
+            throw new ArithmeticException("Nilai uang di luar jangkauan: " + nilai);
+        }
+        return Math.round(sen);
+    }
+
+    // true bila dariDouble(nilai) tidak melempar
+    public static boolean dapatDiwakili(double nilai) {
+        double sen = nilai * SEN_PER_SATUAN;
+        return !Double.isNaN(sen) && Math.abs(sen) < BATAS_DOUBLE;
+    }
+
+    public static double keDouble(long sen) {
+        return sen / (double) SEN_PER_SATUAN;
+    }
+
+    public static long tambah(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long kurang(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    public static long kali(long sen, long faktor) {
+        return Math.multiplyExact(sen, faktor);
+    }
+
+    // sen * basisPoin / 10000, dibulatkan setengah ke atas. Dipecah agar perkalian
+    // tidak overflow sebelum pembagian.
+    public static long persen(long sen, int basisPoin) {
+        long hasilBagi = Math.floorDiv(sen, BASIS_POIN_PENUH);
+        long sisa = Math.floorMod(sen, BASIS_POIN_PENUH);
+        long bagianSisa = Math.floorDiv(sisa * basisPoin + BASIS_POIN_PENUH / 2, BASIS_POIN_PENUH);
+        return Math.addExact(Math.multiplyExact(hasilBagi, basisPoin), bagianSisa);
+    }
+
+    // Mengubah pecahan (mis. 0.05) menjadi basis poin (500), dibulatkan ke basis poin terdekat
+    public static int keBasisPoin(double pecahan) {
+        return (int) Math.round(pecahan * BASIS_POIN_PENUH);
+    }
+}
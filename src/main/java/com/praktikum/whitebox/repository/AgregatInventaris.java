@@ -0,0 +1,72 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.JumlahUang;
+import com.praktikum.whitebox.model.Produk;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Total stok dan nilai produk aktif yang dijaga secara inkremental. Kontribusi terakhir
+// tiap produk disimpan agar selisihnya tepat. Hanya benar bila produk tersimpan tidak
+// bisa diubah dari luar repository (RepositoryImplementation menyimpan salinan).
+// Tidak pernah melempar saat menulis; overflow nilai dilaporkan lewat totalNilaiSen().
+class AgregatInventaris {
+    private static final class Kontribusi {
+        final double harga;
+        final long stok;
+
+        Kontribusi(double harga, long stok) {
+            this.harga = harga;
+            this.stok = stok;
+        }
+    }
+
+    private static final Kontribusi NOL = new Kontribusi(0, 0);
+
+    private final Map<String, Kontribusi> kontribusi = new ConcurrentHashMap<>();
+    private final LongAdder totalStok = new LongAdder();
+    private final JumlahUang totalNilai = new JumlahUang();
+
+    // Dipanggil di dalam lock per-key sebelum stok produk benar-benar diubah
+    void perbarui(String kode, Produk produk, int stok) {
+        Kontribusi baru = produk.isAktif() && stok != 0 ? new Kontribusi(produk.getHarga(), stok) : NOL;
+        Kontribusi lama = kontribusi.put(kode, baru);
+        if (lama != null) {
+            terapkan(lama, -1);
+        }
+        terapkan(baru, 1);
+    }
+
+    void hapus(String kode) {
+        Kontribusi lama = kontribusi.remove(kode);
+        if (lama != null) {
+            terapkan(lama, -1);
+        }
+    }
+
+    long totalStok() {
+        return totalStok.sum();
+    }
+
+    // ArithmeticException bila total tidak muat di long sen
+    long totalNilaiSen() {
+        return totalNilai.totalSen();
+    }
+
+    double totalNilai() {
+        return totalNilai.total();
+    }
+
+    private void terapkan(Kontribusi k, int tanda) {
+        if (k.stok == 0) {
+            return;
+        }
+        totalStok.add(tanda * k.stok);
+        if (tanda > 0) {
+            totalNilai.tambah(k.harga, k.stok);
+        } else {
+            totalNilai.kurangi(k.harga, k.stok);
+        }
+    }
+}
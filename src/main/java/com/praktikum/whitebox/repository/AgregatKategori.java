@@ -0,0 +1,102 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.JumlahUang;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukTetap;
+import com.praktikum.whitebox.model.RingkasanKategori;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Rollup per kategori (lowercase) yang dijaga inkremental seperti AgregatInventaris.
+// Kontribusi terakhir tiap produk disimpan agar perpindahan kategori dan perubahan
+// stok cukup menghitung selisih. Dipanggil di dalam lock per-key produkMap (dipakai
+// RepositoryImplementation dan RepositoryTetap); seperti AgregatInventaris tidak
+// pernah melempar saat menulis.
+class AgregatKategori {
+    private static final class Kontribusi {
+        final String kategori;
+        final long stok;
+        final double harga;
+        final long menipis;
+
+        Kontribusi(String kategori, long stok, double harga, long menipis) {
+            this.kategori = kategori;
+            this.stok = stok;
+            this.harga = harga;
+            this.menipis = menipis;
+        }
+    }
+
+    private static final class Total {
+        final LongAdder jumlahProduk = new LongAdder();
+        final LongAdder stok = new LongAdder();
+        final JumlahUang nilai = new JumlahUang();
+        final LongAdder menipis = new LongAdder();
+    }
+
+    private final Map<String, Kontribusi> kontribusi = new ConcurrentHashMap<>();
+    private final Map<String, Total> totalPerKategori = new ConcurrentHashMap<>();
+
+    // stok diberikan terpisah karena dipanggil sebelum stok produk diubah
+    void perbarui(String kode, Produk produk, int stok) {
+        perbarui(kode, produk.getKategori(), produk.isAktif(), produk.getHarga(), stok, produk.getStokMinimum());
+    }
+
+    void perbarui(String kode, ProdukTetap produk) {
+        perbarui(kode, produk.kategori(), produk.aktif(), produk.harga(), produk.stok(), produk.stokMinimum());
+    }
+
+    private void perbarui(String kode, String kategori, boolean aktif, double harga, int stok, int stokMinimum) {
+        Kontribusi baru = null;
+        if (kategori != null) {
+            baru = new Kontribusi(kategori.toLowerCase(),
+                    aktif ? stok : 0,
+                    harga,
+                    stok > 0 && stok <= stokMinimum ? 1 : 0);
+        }
+        Kontribusi lama = baru == null ? kontribusi.remove(kode) : kontribusi.put(kode, baru);
+        if (lama != null) {
+            terapkan(lama, -1);
+        }
+        if (baru != null) {
+            terapkan(baru, 1);
+        }
+    }
+
+    void hapus(String kode) {
+        Kontribusi lama = kontribusi.remove(kode);
+        if (lama != null) {
+            terapkan(lama, -1);
+        }
+    }
+
+    // Tiap field dibaca terpisah, jadi ringkasan saat ada penulisan bersamaan
+    // tidak harus berasal dari satu titik waktu yang sama
+    RingkasanKategori ringkasan(String kategori) {
+        Total total = kategori == null ? null : totalPerKategori.get(kategori.toLowerCase());
+        if (total == null) {
+            return RingkasanKategori.kosong(kategori);
+        }
+        return new RingkasanKategori(kategori, total.jumlahProduk.sum(), total.stok.sum(),
+                total.nilai, total.menipis.sum());
+    }
+
+    private void terapkan(Kontribusi k, int tanda) {
+        // Kategori yang kosong dibiarkan, jumlahnya kecil
+        Total total = totalPerKategori.computeIfAbsent(k.kategori, kategori -> new Total());
+        total.jumlahProduk.add(tanda);
+        if (k.stok != 0) {
+            total.stok.add(tanda * k.stok);
+            if (tanda > 0) {
+                total.nilai.tambah(k.harga, k.stok);
+            } else {
+                total.nilai.kurangi(k.harga, k.stok);
+            }
+        }
+        if (k.menipis != 0) {
+            total.menipis.add(tanda);
+        }
+    }
+}
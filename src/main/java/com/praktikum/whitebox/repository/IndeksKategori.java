@@ -0,0 +1,82 @@
+package com.praktikum.whitebox.repository;
+
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+
+// Indeks kategori -> kode produk. Hash untuk pencarian tepat, daftar kategori
+// terurut untuk awalan dan substring. Diperbarui di dalam lock per-key produkMap.
+class IndeksKategori {
+    private final Map<String, Set<String>> kodePerKategori = new ConcurrentHashMap<>();
+    private final NavigableSet<String> kategoriTerurut = new ConcurrentSkipListSet<>();
+    private final Map<String, String> kategoriTerindeks = new ConcurrentHashMap<>();
+
+    void tambah(String kode, String kategori) {
+        if (kategori == null) {
+            hapus(kode);
+            return;
+        }
+        String kategoriLower = kategori.toLowerCase();
+        String kategoriLama = kategoriTerindeks.put(kode, kategoriLower);
+        if (kategoriLower.equals(kategoriLama)) {
+            return;
+        }
+        if (kategoriLama != null) {
+            hapusDariKategori(kode, kategoriLama);
+        }
+        kodePerKategori.compute(kategoriLower, (k, kodeSet) -> {
+            Set<String> hasil = kodeSet == null ? ConcurrentHashMap.newKeySet() : kodeSet;
+            hasil.add(kode);
+            return hasil;
+        });
+        // Kategori kosong tidak dibuang dari daftar terurut, jumlahnya kecil
+        kategoriTerurut.add(kategoriLower);
+    }
+
+    void hapus(String kode) {
+        String kategoriLama = kategoriTerindeks.remove(kode);
+        if (kategoriLama != null) {
+            hapusDariKategori(kode, kategoriLama);
+        }
+    }
+
+    // kataKunci harus sudah lowercase
+    void cari(String kataKunci, ModeKategori mode, Consumer<String> aksi) {
+        switch (mode) {
+            case TEPAT:
+                kirim(kataKunci, aksi);
+                break;
+            case AWALAN:
+                for (String kategori : kategoriTerurut.tailSet(kataKunci, true)) {
+                    if (!kategori.startsWith(kataKunci)) {
+                        break;
+                    }
+                    kirim(kategori, aksi);
+                }
+                break;
+            default:
+                for (String kategori : kategoriTerurut) {
+                    if (kategori.contains(kataKunci)) {
+                        kirim(kategori, aksi);
+                    }
+                }
+        }
+    }
+
+    private void kirim(String kategoriLower, Consumer<String> aksi) {
+        Set<String> kodeSet = kodePerKategori.get(kategoriLower);
+        if (kodeSet != null) {
+            kodeSet.forEach(aksi);
+        }
+    }
+
+    private void hapusDariKategori(String kode, String kategoriLower) {
+        kodePerKategori.computeIfPresent(kategoriLower, (k, kodeSet) -> {
+            kodeSet.remove(kode);
+            return kodeSet.isEmpty() ? null : kodeSet;
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package com.praktikum.whitebox.repository;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+// Inverted index trigram untuk pencarian substring nama (case-insensitive).
+// Pemanggil wajib memperbarui indeks di dalam lock per-key produkMap.
+class IndeksNama {
+    private static final int PANJANG_GRAM = 3;
+
+    private final Map<Long, Set<String>> posting = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> namaTerindeks = new ConcurrentHashMap<>();
+
+    void tambah(String kode, String nama) {
+        String namaLower = nama == null ? "" : nama.toLowerCase();
+        String namaLama = namaTerindeks.put(kode, namaLower);
+        if (namaLower.equals(namaLama)) {
+            return;
+        }
+        if (namaLama != null) {
+            hapusPosting(kode, namaLama);
+        }
+        for (int i = 0; i + PANJANG_GRAM <= namaLower.length(); i++) {
+            // Tambah di dalam compute agar tidak bersilangan dengan penghapusan set kosong
+            posting.compute(gram(namaLower, i), (g, kodeGram) -> {
+                Set<String> set = kodeGram == null ? ConcurrentHashMap.newKeySet() : kodeGram;
+                set.add(kode);
+                return set;
+            });
+        }
+    }
+
+    void hapus(String kode) {
+        String namaLama = namaTerindeks.remove(kode);
+        if (namaLama != null) {
+            hapusPosting(kode, namaLama);
+        }
+    }
+
+    // kataKunci harus sudah lowercase. aksi selalu dipanggil dari thread pemanggil.
+    void cari(String kataKunci, long ambangParalel, Consumer<String> aksi) {
+        if (kataKunci.length() < PANJANG_GRAM) {
+            // Terlalu pendek untuk trigram, scan nama yang sudah lowercase (paralel bila besar)
+            Queue<String> cocok = new ConcurrentLinkedQueue<>();
+            namaTerindeks.forEach(ambangParalel, (kode, nama) -> {
+                if (nama.contains(kataKunci)) {
+                    cocok.add(kode);
+                }
+            });
+            cocok.forEach(aksi);
+            return;
+        }
+        Set<String> kandidat = null;
+        for (int i = 0; i + PANJANG_GRAM <= kataKunci.length(); i++) {
+            Set<String> kodeGram = posting.get(gram(kataKunci, i));
+            if (kodeGram == null || kodeGram.isEmpty()) {
+                return;
+            }
+            if (kandidat == null || kodeGram.size() < kandidat.size()) {
+                kandidat = kodeGram;
+            }
+        }
+        // Verifikasi kandidat, trigram saja bisa memberi false positive
+        for (String kode : kandidat) {
+            String nama = namaTerindeks.get(kode);
+            if (nama != null && nama.contains(kataKunci)) {
+                aksi.accept(kode);
+            }
+        }
+    }
+
+    private void hapusPosting(String kode, String namaLower) {
+        for (int i = 0; i + PANJANG_GRAM <= namaLower.length(); i++) {
+            // Set yang kosong dibuang agar churn rename/hapus tidak meninggalkan posting mati
+            posting.computeIfPresent(gram(namaLower, i), (g, kodeGram) -> {
+                kodeGram.remove(kode);
+                return kodeGram.isEmpty() ? null : kodeGram;
+            });
+        }
+    }
+
+    int jumlahGram() {
+        return posting.size();
+    }
+
+    private static long gram(String teks, int awal) {
+        return ((long) teks.charAt(awal) << 32)
+                | ((long) teks.charAt(awal + 1) << 16)
+                | teks.charAt(awal + 2);
+    }
+}
@@ -0,0 +1,597 @@
+package com.praktikum.whitebox.repository;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Inverted index full-text untuk nama dan kategori produk.
+// Token: huruf/angka, tanpa aksen dan huruf kecil ("Kopi Gayo Café" -> kopi, gayo, cafe).
+// Dokumen ber-id padat yang naik terus; posting hanya ditambah di akhir sehingga
+// terurut menurut id. Hapus memberi tanda mati, pemadatan global berjalan bila
+// dokumen mati melebihi yang hidup. Skor mirip BM25: idf per term dikali bobot
+// medan, bobot nama dinormalisasi panjang nama. Skor sama -> id dokumen lebih kecil.
+class IndeksTeks {
+    static final double BOBOT_NAMA = 2.0;
+    static final double BOBOT_KATEGORI = 1.0;
+    // Term yang hanya cocok sebagai awalan sedikit di bawah term yang persis sama
+    static final double FAKTOR_AWALAN = 0.8;
+    static final int PANJANG_AWALAN_MIN = 2;
+    static final int BATAS_EKSPANSI = 64;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MEDAN_NAMA = 1;
+    private static final int MEDAN_KATEGORI = 2;
+    private static final int KAPASITAS_AWAL = 1024;
+    private static final int BIT_BLOK = 7;
+
+    static final class Entri {
+        final String kode;
+        final double skor;
+
+        Entri(String kode, double skor) {
+            this.kode = kode;
+            this.skor = skor;
+        }
+    }
+
+    private static final class Posting {
+        // Entri (idDokumen << 2) | medan, terurut menurut id dokumen
+        int[] dokumen = new int[4];
+        int jumlah;
+        // Dokumen hidup yang memuat term ini (df)
+        int hidup;
+        // Ringkasan per blok UKURAN_BLOK entri untuk batas atas skor (block-max):
+        // gabungan bit medan dan panjang nama terpendek. Entri mati tidak dikurangi,
+        // sehingga tetap batas atas yang aman.
+        int[] medanBlok = new int[1];
+        int[] panjangMinBlok = {Integer.MAX_VALUE};
+        int medanSemua;
+
+        void tambah(int dok, int medan, int panjang) {
+            if (jumlah == dokumen.length) {
+                dokumen = Arrays.copyOf(dokumen, jumlah * 2);
+            }
+            catatBlok(jumlah, medan, panjang);
+            dokumen[jumlah++] = (dok << 2) | medan;
+            hidup++;
+        }
+
+        void catatBlok(int posisi, int medan, int panjang) {
+            int blok = posisi >>> BIT_BLOK;
+            if (blok == medanBlok.length) {
+                medanBlok = Arrays.copyOf(medanBlok, blok * 2);
+                panjangMinBlok = Arrays.copyOf(panjangMinBlok, blok * 2);
+                Arrays.fill(panjangMinBlok, blok, blok * 2, Integer.MAX_VALUE);
+            }
+            medanBlok[blok] |= medan;
+            panjangMinBlok[blok] = Math.min(panjangMinBlok[blok], panjang);
+            medanSemua |= medan;
+        }
+    }
+
+    private final ReentrantReadWriteLock kunci = new ReentrantReadWriteLock();
+    private final Map<String, Integer> dokumenPerKode = new HashMap<>();
+    private final Map<String, Integer> idTerm = new HashMap<>();
+    // Untuk ekspansi awalan
+    private final NavigableMap<String, Integer> termTerurut = new TreeMap<>();
+    private final List<String> teksTerm = new ArrayList<>();
+    private final List<Posting> posting = new ArrayList<>();
+
+    // Per dokumen: token terurut id term, dikodekan (idTerm << 2) | medan; null = mati
+    private int[][] tokenDokumen = new int[KAPASITAS_AWAL][];
+    private String[] kodeDokumen = new String[KAPASITAS_AWAL];
+    private int[] panjangNama = new int[KAPASITAS_AWAL];
+    private int jumlahDokumen;
+    private int jumlahHidup;
+    private long totalPanjangNama;
+
+    // Mengganti isi dokumen kode; no-op bila token nama/kategori tidak berubah
+    void tambah(String kode, String nama, String kategori) {
+        String[] tokenNama = pecah(nama);
+        String[] tokenKategori = pecah(kategori);
+        kunci.writeLock().lock();
+        try {
+            int[] token = kodekan(tokenNama, tokenKategori);
+            Integer lama = dokumenPerKode.get(kode);
+            if (lama != null) {
+                if (Arrays.equals(tokenDokumen[lama], token) && panjangNama[lama] == tokenNama.length) {
+                    return;
+                }
+                matikan(lama);
+            }
+            if (jumlahDokumen == kodeDokumen.length) {
+                int kapasitas = kodeDokumen.length * 2;
+                tokenDokumen = Arrays.copyOf(tokenDokumen, kapasitas);
+                kodeDokumen = Arrays.copyOf(kodeDokumen, kapasitas);
+                panjangNama = Arrays.copyOf(panjangNama, kapasitas);
+            }
+            int dok = jumlahDokumen++;
+            tokenDokumen[dok] = token;
+            kodeDokumen[dok] = kode;
+            panjangNama[dok] = tokenNama.length;
+            totalPanjangNama += tokenNama.length;
+            jumlahHidup++;
+            dokumenPerKode.put(kode, dok);
+            for (int t : token) {
+                posting.get(t >>> 2).tambah(dok, t & 3, tokenNama.length);
+            }
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    void hapus(String kode) {
+        kunci.writeLock().lock();
+        try {
+            Integer dok = dokumenPerKode.remove(kode);
+            if (dok != null) {
+                matikan(dok);
+            }
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    int jumlahDokumen() {
+        kunci.readLock().lock();
+        try {
+            return jumlahHidup;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    // Semua token kueri wajib cocok (AND); token terakhir juga cocok sebagai awalan.
+    // Hanya k teratas yang disimpan (min-heap), terurut skor menurun.
+    List<Entri> cari(String kueri, int k) {
+        String[] token = unik(pecah(kueri));
+        if (token.length == 0 || k <= 0) {
+            return new ArrayList<>();
+        }
+        kunci.readLock().lock();
+        try {
+            if (jumlahHidup == 0) {
+                return new ArrayList<>();
+            }
+            // Per token kueri: posting kandidat dan bobot idf-nya
+            Posting[][] postingKueri = new Posting[token.length][];
+            double[][] idfKueri = new double[token.length][];
+            int penggerak = -1;
+            long dfPenggerak = Long.MAX_VALUE;
+            for (int i = 0; i < token.length; i++) {
+                boolean awalan = i == token.length - 1 && token[i].length() >= PANJANG_AWALAN_MIN;
+                if (!resolusi(token[i], awalan, i, postingKueri, idfKueri)) {
+                    return new ArrayList<>();
+                }
+                long df = 0;
+                for (Posting p : postingKueri[i]) {
+                    df += p.hidup;
+                }
+                if (df < dfPenggerak) {
+                    dfPenggerak = df;
+                    penggerak = i;
+                }
+            }
+            return kumpulkan(postingKueri, idfKueri, penggerak, k);
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    // Ekspansi awalan dibatasi BATAS_EKSPANSI kursor. Bila term yang cocok lebih banyak,
+    // term persis dan term dengan df terbesar tetap jadi kursor sendiri, sisanya digabung
+    // ke satu posting sementara sehingga tidak ada dokumen yang hilang. idf gabungan memakai
+    // df terbesar di sisa tersebut: skornya bisa sedikit di bawah skor per term, tidak di atas.
+    private boolean resolusi(String token, boolean awalan, int i, Posting[][] postingKueri, double[][] idfKueri) {
+        Integer persis = idTerm.get(token);
+        if (!awalan) {
+            if (persis == null || posting.get(persis).hidup == 0) {
+                return false;
+            }
+            postingKueri[i] = new Posting[]{posting.get(persis)};
+            idfKueri[i] = new double[]{idf(posting.get(persis).hidup)};
+            return true;
+        }
+        List<Integer> term = new ArrayList<>();
+        for (int id : termTerurut.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+            if (posting.get(id).hidup > 0) {
+                term.add(id);
+            }
+        }
+        if (term.isEmpty()) {
+            return false;
+        }
+        int langsung = term.size();
+        if (term.size() > BATAS_EKSPANSI) {
+            term.sort(Comparator.comparing((Integer t) -> !t.equals(persis))
+                    .thenComparing(t -> -posting.get(t).hidup)
+                    .thenComparing(t -> t));
+            langsung = BATAS_EKSPANSI - 1;
+        }
+        Posting[] hasil = new Posting[Math.min(term.size(), BATAS_EKSPANSI)];
+        double[] idf = new double[hasil.length];
+        for (int j = 0; j < langsung; j++) {
+            int id = term.get(j);
+            hasil[j] = posting.get(id);
+            idf[j] = idf(hasil[j].hidup) * (persis != null && id == persis ? 1 : FAKTOR_AWALAN);
+        }
+        if (langsung < term.size()) {
+            List<Integer> sisa = term.subList(langsung, term.size());
+            hasil[langsung] = gabungkan(sisa);
+            idf[langsung] = idf(posting.get(sisa.get(0)).hidup) * FAKTOR_AWALAN;
+        }
+        postingKueri[i] = hasil;
+        idfKueri[i] = idf;
+        return true;
+    }
+
+    private double idf(int df) {
+        return Math.log(1 + (jumlahHidup - df + 0.5) / (df + 0.5));
+    }
+
+    // Posting sementara berisi dokumen hidup dari semua term; medan digabung per dokumen
+    private Posting gabungkan(List<Integer> term) {
+        int total = 0;
+        for (int id : term) {
+            total += posting.get(id).jumlah;
+        }
+        int[] entri = new int[total];
+        int n = 0;
+        for (int id : term) {
+            Posting p = posting.get(id);
+            System.arraycopy(p.dokumen, 0, entri, n, p.jumlah);
+            n += p.jumlah;
+        }
+        Arrays.sort(entri);
+        Posting hasil = new Posting();
+        for (int j = 0; j < n; ) {
+            int dok = entri[j] >>> 2;
+            int medan = 0;
+            for (; j < n && entri[j] >>> 2 == dok; j++) {
+                medan |= entri[j] & 3;
+            }
+            if (tokenDokumen[dok] != null) {
+                hasil.tambah(dok, medan, panjangNama[dok]);
+            }
+        }
+        return hasil;
+    }
+
+    // Document-at-a-time atas posting terurut: dokumen diambil dari posting token penggerak
+    // (df terkecil), token lain dicocokkan dengan kursor yang hanya maju. Bobot medan ada
+    // di entri posting sehingga dokumen tidak perlu dibuka sama sekali.
+    private List<Entri> kumpulkan(Posting[][] postingKueri, double[][] idfKueri, int penggerak, int k) {
+        int jumlahToken = postingKueri.length;
+        int[] awal = new int[jumlahToken + 1];
+        for (int i = 0; i < jumlahToken; i++) {
+            awal[i + 1] = awal[i] + postingKueri[i].length;
+        }
+        Posting[] kursor = new Posting[awal[jumlahToken]];
+        int[] posisi = new int[kursor.length];
+        double[] idf = new double[kursor.length];
+        double[] maksIdf = new double[jumlahToken];
+        // Gabungan medan semua term kandidat per token: kata yang tak pernah muncul di
+        // kategori tidak menyumbang BOBOT_KATEGORI ke batas atas
+        int[] medanToken = new int[jumlahToken];
+        for (int i = 0; i < jumlahToken; i++) {
+            for (int j = 0; j < postingKueri[i].length; j++) {
+                kursor[awal[i] + j] = postingKueri[i][j];
+                idf[awal[i] + j] = idfKueri[i][j];
+                maksIdf[i] = Math.max(maksIdf[i], idfKueri[i][j]);
+                medanToken[i] |= kursor[awal[i] + j].medanSemua;
+            }
+        }
+        double rataPanjang = (double) totalPanjangNama / jumlahHidup;
+        double[] tabelBobotNama = new double[64];
+        for (int n = 0; n < tabelBobotNama.length; n++) {
+            tabelBobotNama[n] = bobotNama(n, rataPanjang);
+        }
+        // Min-heap: akar = hasil terburuk (skor terkecil, lalu id dokumen terbesar)
+        int[] heapDok = new int[k];
+        double[] heapSkor = new double[k];
+        int ukuran = 0;
+        int awalPenggerak = awal[penggerak];
+        int akhirPenggerak = awal[penggerak + 1];
+        int[] blokDicek = new int[kursor.length];
+        Arrays.fill(blokDicek, -1);
+        while (true) {
+            if (ukuran == k) {
+                // Block-max: sisa blok penggerak yang batas atasnya tidak melampaui hasil
+                // ke-k dilompati utuh. Dokumen berikutnya selalu ber-id lebih besar dari isi
+                // heap sehingga skor seri pun kalah.
+                for (int c = awalPenggerak; c < akhirPenggerak; c++) {
+                    Posting p = kursor[c];
+                    while (posisi[c] < p.jumlah && posisi[c] >>> BIT_BLOK != blokDicek[c]) {
+                        int blok = posisi[c] >>> BIT_BLOK;
+                        blokDicek[c] = blok;
+                        int panjangMin = p.panjangMinBlok[blok];
+                        double bobotNamaMaks = panjangMin < tabelBobotNama.length
+                                ? tabelBobotNama[panjangMin] : bobotNama(panjangMin, rataPanjang);
+                        double batasBlok = 0;
+                        for (int i = 0; i < jumlahToken; i++) {
+                            batasBlok += i == penggerak
+                                    ? idf[c] * bobot(p.medanBlok[blok], bobotNamaMaks)
+                                    : maksIdf[i] * bobot(medanToken[i], bobotNamaMaks);
+                        }
+                        if (batasBlok <= heapSkor[0]) {
+                            posisi[c] = Math.min(p.jumlah, (blok + 1) << BIT_BLOK);
+                        }
+                    }
+                }
+            }
+            // Dokumen berikutnya = yang terkecil di antara kursor penggerak (merge ekspansi awalan)
+            int dok = Integer.MAX_VALUE;
+            for (int c = awalPenggerak; c < akhirPenggerak; c++) {
+                if (posisi[c] < kursor[c].jumlah) {
+                    dok = Math.min(dok, kursor[c].dokumen[posisi[c]] >>> 2);
+                }
+            }
+            if (dok == Integer.MAX_VALUE) {
+                break;
+            }
+            int panjang = panjangNama[dok];
+            double bobotNama = panjang < tabelBobotNama.length ? tabelBobotNama[panjang] : bobotNama(panjang, rataPanjang);
+            double skorPenggerak = 0;
+            for (int c = awalPenggerak; c < akhirPenggerak; c++) {
+                if (posisi[c] < kursor[c].jumlah && kursor[c].dokumen[posisi[c]] >>> 2 == dok) {
+                    skorPenggerak = Math.max(skorPenggerak, idf[c] * bobot(kursor[c].dokumen[posisi[c]] & 3, bobotNama));
+                    posisi[c]++;
+                }
+            }
+            if (tokenDokumen[dok] == null) {
+                continue;
+            }
+            if (ukuran == k) {
+                // Batas atas dijumlah dengan urutan yang sama dengan skor agar pembulatan tetap monoton
+                double batasAtas = 0;
+                for (int i = 0; i < jumlahToken; i++) {
+                    batasAtas += i == penggerak ? skorPenggerak : maksIdf[i] * bobot(medanToken[i], bobotNama);
+                }
+                if (!lebihBaik(batasAtas, dok, heapSkor[0], heapDok[0])) {
+                    continue;
+                }
+            }
+            double skor = 0;
+            for (int i = 0; i < jumlahToken && skor >= 0; i++) {
+                if (i == penggerak) {
+                    skor += skorPenggerak;
+                    continue;
+                }
+                double terbaik = 0;
+                for (int c = awal[i]; c < awal[i + 1]; c++) {
+                    Posting p = kursor[c];
+                    int pos = posisi[c];
+                    while (pos < p.jumlah && p.dokumen[pos] >>> 2 < dok) {
+                        pos++;
+                    }
+                    posisi[c] = pos;
+                    if (pos < p.jumlah && p.dokumen[pos] >>> 2 == dok) {
+                        terbaik = Math.max(terbaik, idf[c] * bobot(p.dokumen[pos] & 3, bobotNama));
+                    }
+                }
+                skor = terbaik == 0 ? -1 : skor + terbaik;
+            }
+            if (skor <= 0) {
+                continue;
+            }
+            if (ukuran < k) {
+                heapDok[ukuran] = dok;
+                heapSkor[ukuran] = skor;
+                naik(heapDok, heapSkor, ukuran++);
+            } else if (lebihBaik(skor, dok, heapSkor[0], heapDok[0])) {
+                heapDok[0] = dok;
+                heapSkor[0] = skor;
+                turun(heapDok, heapSkor, ukuran);
+            }
+        }
+        Entri[] hasil = new Entri[ukuran];
+        for (int i = ukuran - 1; i >= 0; i--) {
+            hasil[i] = new Entri(kodeDokumen[heapDok[0]], heapSkor[0]);
+            heapDok[0] = heapDok[i];
+            heapSkor[0] = heapSkor[i];
+            turun(heapDok, heapSkor, i);
+        }
+        return new ArrayList<>(Arrays.asList(hasil));
+    }
+
+    private static double bobot(int medan, double bobotNama) {
+        return ((medan & MEDAN_NAMA) != 0 ? bobotNama : 0) + ((medan & MEDAN_KATEGORI) != 0 ? BOBOT_KATEGORI : 0);
+    }
+
+    private static double bobotNama(int panjang, double rataPanjang) {
+        return BOBOT_NAMA * (K1 + 1) / (1 + K1 * (1 - B + B * panjang / rataPanjang));
+    }
+
+    private static boolean lebihBaik(double skorA, int dokA, double skorB, int dokB) {
+        return skorA > skorB || (skorA == skorB && dokA < dokB);
+    }
+
+    private static void naik(int[] dok, double[] skor, int i) {
+        while (i > 0) {
+            int induk = (i - 1) >>> 1;
+            if (!lebihBaik(skor[induk], dok[induk], skor[i], dok[i])) {
+                break;
+            }
+            tukar(dok, skor, i, induk);
+            i = induk;
+        }
+    }
+
+    private static void turun(int[] dok, double[] skor, int ukuran) {
+        int i = 0;
+        while (true) {
+            int kiri = 2 * i + 1;
+            if (kiri >= ukuran) {
+                return;
+            }
+            int terburuk = kiri;
+            int kanan = kiri + 1;
+            if (kanan < ukuran && lebihBaik(skor[kiri], dok[kiri], skor[kanan], dok[kanan])) {
+                terburuk = kanan;
+            }
+            if (!lebihBaik(skor[i], dok[i], skor[terburuk], dok[terburuk])) {
+                return;
+            }
+            tukar(dok, skor, i, terburuk);
+            i = terburuk;
+        }
+    }
+
+    private static void tukar(int[] dok, double[] skor, int a, int b) {
+        int d = dok[a];
+        dok[a] = dok[b];
+        dok[b] = d;
+        double s = skor[a];
+        skor[a] = skor[b];
+        skor[b] = s;
+    }
+
+    // Dipanggil di bawah write lock
+    private void matikan(int dok) {
+        for (int t : tokenDokumen[dok]) {
+            posting.get(t >>> 2).hidup--;
+        }
+        totalPanjangNama -= panjangNama[dok];
+        tokenDokumen[dok] = null;
+        kodeDokumen[dok] = null;
+        jumlahHidup--;
+        if (jumlahDokumen - jumlahHidup > Math.max(KAPASITAS_AWAL, jumlahHidup)) {
+            padatkan();
+        }
+    }
+
+    // Beri id baru yang padat tanpa dokumen mati; pemetaan monoton sehingga posting tetap terurut
+    private void padatkan() {
+        int[] idBaru = new int[jumlahDokumen];
+        int n = 0;
+        for (int d = 0; d < jumlahDokumen; d++) {
+            if (tokenDokumen[d] != null) {
+                idBaru[d] = n;
+                tokenDokumen[n] = tokenDokumen[d];
+                kodeDokumen[n] = kodeDokumen[d];
+                panjangNama[n] = panjangNama[d];
+                dokumenPerKode.put(kodeDokumen[n], n);
+                n++;
+            } else {
+                idBaru[d] = -1;
+            }
+        }
+        for (int d = n; d < jumlahDokumen; d++) {
+            tokenDokumen[d] = null;
+            kodeDokumen[d] = null;
+        }
+        for (Posting p : posting) {
+            int m = 0;
+            for (int j = 0; j < p.jumlah; j++) {
+                int baru = idBaru[p.dokumen[j] >>> 2];
+                if (baru >= 0) {
+                    p.dokumen[m++] = (baru << 2) | (p.dokumen[j] & 3);
+                }
+            }
+            p.jumlah = m;
+            if (p.dokumen.length > 4 * Math.max(4, m)) {
+                p.dokumen = Arrays.copyOf(p.dokumen, Math.max(4, m));
+            }
+            p.medanBlok = new int[1];
+            p.panjangMinBlok = new int[]{Integer.MAX_VALUE};
+            p.medanSemua = 0;
+            for (int j = 0; j < m; j++) {
+                p.catatBlok(j, p.dokumen[j] & 3, panjangNama[p.dokumen[j] >>> 2]);
+            }
+        }
+        jumlahDokumen = n;
+    }
+
+    // Token nama dan kategori digabung: id term unik terurut dengan bit medan
+    private int[] kodekan(String[] tokenNama, String[] tokenKategori) {
+        int[] hasil = new int[tokenNama.length + tokenKategori.length];
+        int n = 0;
+        for (String token : tokenNama) {
+            hasil[n++] = (idTerm(token) << 2) | MEDAN_NAMA;
+        }
+        for (String token : tokenKategori) {
+            hasil[n++] = (idTerm(token) << 2) | MEDAN_KATEGORI;
+        }
+        Arrays.sort(hasil, 0, n);
+        int m = 0;
+        for (int i = 0; i < n; i++) {
+            if (m > 0 && hasil[m - 1] >>> 2 == hasil[i] >>> 2) {
+                hasil[m - 1] |= hasil[i] & 3;
+            } else {
+                hasil[m++] = hasil[i];
+            }
+        }
+        return m == hasil.length ? hasil : Arrays.copyOf(hasil, m);
+    }
+
+    private int idTerm(String token) {
+        Integer id = idTerm.get(token);
+        if (id == null) {
+            id = teksTerm.size();
+            teksTerm.add(token);
+            posting.add(new Posting());
+            idTerm.put(token, id);
+            termTerurut.put(token, id);
+        }
+        return id;
+    }
+
+    // Pecah teks menjadi token huruf/angka tanpa aksen, huruf kecil. ASCII tanpa Normalizer.
+    static String[] pecah(String teks) {
+        if (teks == null || teks.isEmpty()) {
+            return new String[0];
+        }
+        for (int i = 0; i < teks.length(); i++) {
+            if (teks.charAt(i) >= 128) {
+                return pecahUnicode(teks);
+            }
+        }
+        List<String> hasil = new ArrayList<>(4);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i <= teks.length(); i++) {
+            char c = i < teks.length() ? teks.charAt(i) : ' ';
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                sb.append(c);
+            } else if (c >= 'A' && c <= 'Z') {
+                sb.append((char) (c + ('a' - 'A')));
+            } else if (sb.length() > 0) {
+                hasil.add(sb.toString());
+                sb.setLength(0);
+            }
+        }
+        return hasil.toArray(new String[0]);
+    }
+
+    private static String[] pecahUnicode(String teks) {
+        String terurai = Normalizer.normalize(teks, Normalizer.Form.NFD);
+        List<String> hasil = new ArrayList<>(4);
+        StringBuilder sb = new StringBuilder();
+        int i = 0;
+        while (i <= terurai.length()) {
+            int cp = i < terurai.length() ? terurai.codePointAt(i) : ' ';
+            i += i < terurai.length() ? Character.charCount(cp) : 1;
+            if (Character.getType(cp) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(cp)) {
+                sb.appendCodePoint(Character.toLowerCase(cp));
+            } else if (sb.length() > 0) {
+                hasil.add(sb.toString());
+                sb.setLength(0);
+            }
+        }
+        return hasil.toArray(new String[0]);
+    }
+
+    private static String[] unik(String[] token) {
+        return Arrays.stream(token).distinct().toArray(String[]::new);
+    }
+}
@@ -0,0 +1,244 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.zip.CRC32C;
+
+// Log append-only berbasis memory-mapped file.
+// Format rekaman: [int panjang payload][int crc32c payload][payload].
+// Panjang 0 atau crc yang tidak cocok menandai akhir log (tail yang robek diabaikan).
+class LogProduk implements Closeable {
+    static final byte SIMPAN = 1;
+    static final byte HAPUS = 2;
+    static final byte STOK = 3;
+
+    private static final int HEADER = 8;
+    private static final long UKURAN_SEGMEN = 64L * 1024 * 1024;
+    private static final long JENDELA_BACA = 256L * 1024 * 1024;
+
+    private final Path berkas;
+    private final boolean sinkronTiapTulis;
+    private FileChannel channel;
+    private MappedByteBuffer peta;
+    private long awalPeta;
+    private long posisi;
+    private long jumlahRekaman;
+
+    LogProduk(Path berkas, boolean sinkronTiapTulis) throws IOException {
+        this.berkas = berkas;
+        this.sinkronTiapTulis = sinkronTiapTulis;
+        this.channel = buka(berkas);
+    }
+
+    // Memutar ulang log ke target lalu menyiapkan posisi tulis di akhir rekaman valid
+    void putar(RepositoryProduk target) throws IOException {
+        long ukuran = channel.size();
+        MappedByteBuffer jendela = null;
+        long awalJendela = 0;
+        long pos = 0;
+        CRC32C crc = new CRC32C();
+        while (pos + HEADER <= ukuran) {
+            if (jendela == null || pos + HEADER > awalJendela + jendela.capacity()) {
+                awalJendela = pos;
+                jendela = channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(ukuran - pos, JENDELA_BACA));
+            }
+            int panjang = jendela.getInt((int) (pos - awalJendela));
+            if (panjang <= 0 || pos + HEADER + panjang > ukuran) {
+                break;
+            }
+            if (pos + HEADER + panjang > awalJendela + jendela.capacity()) {
+                awalJendela = pos;
+                jendela = channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(ukuran - pos, JENDELA_BACA));
+            }
+            int offset = (int) (pos - awalJendela);
+            int crcTersimpan = jendela.getInt(offset + 4);
+            ByteBuffer payload = jendela.slice(offset + HEADER, panjang);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != crcTersimpan) {
+                break;
+            }
+            terapkan(payload, target);
+            jumlahRekaman++;
+            pos += HEADER + panjang;
+        }
+        // Buang tail yang robek agar tidak terbaca sebagai rekaman lama
+        channel.truncate(pos);
+        posisi = pos;
+        awalPeta = pos;
+        peta = null;
+    }
+
+    synchronized void tulisSimpan(Produk produk) {
+        byte[] kode = utf8(produk.getKode());
+        byte[] nama = utf8(produk.getNama());
+        byte[] kategori = utf8(produk.getKategori());
+        ByteBuffer payload = ByteBuffer.allocate(1 + panjangString(kode) + panjangString(nama)
+                + panjangString(kategori) + 8 + 4 + 4 + 1);
+        payload.put(SIMPAN);
+        putString(payload, kode);
+        putString(payload, nama);
+        putString(payload, kategori);
+        payload.putDouble(produk.getHarga());
+        payload.putInt(produk.getStok());
+        payload.putInt(produk.getStokMinimum());
+        payload.put((byte) (produk.isAktif() ? 1 : 0));
+        tambahkan(payload.array());
+    }
+
+    synchronized void tulisHapus(String kode) {
+        byte[] kodeBytes = utf8(kode);
+        ByteBuffer payload = ByteBuffer.allocate(1 + panjangString(kodeBytes));
+        payload.put(HAPUS);
+        putString(payload, kodeBytes);
+        tambahkan(payload.array());
+    }
+
+    synchronized void tulisStok(String kode, int stok) {
+        byte[] kodeBytes = utf8(kode);
+        ByteBuffer payload = ByteBuffer.allocate(1 + panjangString(kodeBytes) + 4);
+        payload.put(STOK);
+        putString(payload, kodeBytes);
+        payload.putInt(stok);
+        tambahkan(payload.array());
+    }
+
+    synchronized void sinkron() {
+        if (peta != null) {
+            peta.force();
+        }
+    }
+
+    synchronized long getJumlahRekaman() {
+        return jumlahRekaman;
+    }
+
+    // Kompaksi: tulis state terkini ke berkas sementara lalu ganti berkas lama secara atomik.
+    // Pemanggil wajib memastikan tidak ada penulisan lain selama proses ini.
+    synchronized void tulisUlang(Collection<Produk> semuaProduk) throws IOException {
+        Path sementara = berkas.resolveSibling(berkas.getFileName() + ".kompaksi");
+        Files.deleteIfExists(sementara);
+        LogProduk baru = new LogProduk(sementara, false);
+        for (Produk produk : semuaProduk) {
+            baru.tulisSimpan(produk);
+        }
+        baru.sinkron();
+        baru.close();
+
+        tutupChannel();
+        Files.move(sementara, berkas, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = buka(berkas);
+        posisi = channel.size();
+        awalPeta = posisi;
+        jumlahRekaman = baru.jumlahRekaman;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen()) {
+            tutupChannel();
+        }
+    }
+
+    private void tambahkan(byte[] payload) {
+        int perlu = HEADER + payload.length;
+        try {
+            if (peta == null || posisi + perlu > awalPeta + peta.capacity()) {
+                // Segmen lama di-flush dulu: sinkron() hanya memaksa segmen yang sedang dipetakan
+                if (peta != null) {
+                    peta.force();
+                }
+                // Segmen baru dimulai tepat di posisi tulis sehingga log tetap bersambung
+                awalPeta = posisi;
+                peta = channel.map(FileChannel.MapMode.READ_WRITE, posisi, Math.max(UKURAN_SEGMEN, perlu));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Gagal memetakan log produk", e);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        int offset = (int) (posisi - awalPeta);
+        peta.putInt(offset, payload.length);
+        peta.putInt(offset + 4, (int) crc.getValue());
+        peta.put(offset + HEADER, payload);
+        posisi += perlu;
+        jumlahRekaman++;
+        if (sinkronTiapTulis) {
+            peta.force(offset, perlu);
+        }
+    }
+
+    private void tutupChannel() throws IOException {
+        if (peta != null) {
+            peta.force();
+            peta = null;
+        }
+        // Segmen terpetakan memperbesar berkas, potong kembali ke akhir rekaman
+        channel.truncate(posisi);
+        channel.close();
+    }
+
+    private static FileChannel buka(Path berkas) throws IOException {
+        return FileChannel.open(berkas, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static void terapkan(ByteBuffer payload, RepositoryProduk target) {
+        byte tipe = payload.get();
+        String kode = getString(payload);
+        switch (tipe) {
+            case SIMPAN:
+                Produk produk = new Produk(kode, getString(payload), getString(payload),
+                        payload.getDouble(), payload.getInt(), payload.getInt());
+                produk.setAktif(payload.get() == 1);
+                target.simpan(produk);
+                break;
+            case HAPUS:
+                target.hapus(kode);
+                break;
+            case STOK:
+                target.updateStok(kode, payload.getInt());
+                break;
+            default:
+                throw new IllegalStateException("Tipe rekaman log tidak dikenal: " + tipe);
+        }
+    }
+
+    private static byte[] utf8(String teks) {
+        return teks == null ? null : teks.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int panjangString(byte[] bytes) {
+        return 4 + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int panjang = buffer.getInt();
+        if (panjang < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[panjang];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,8 @@
+package com.praktikum.whitebox.repository;
+
+// Mode pencocokan kategori (semua case-insensitive)
+public enum ModeKategori {
+    TEPAT,
+    AWALAN,
+    SUBSTRING
+}
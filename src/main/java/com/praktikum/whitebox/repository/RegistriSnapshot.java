@@ -0,0 +1,83 @@
+package com.praktikum.whitebox.repository;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Koordinasi snapshot MVCC untuk repository berbasis ConcurrentHashMap.
+// Penulis membungkus perubahan dengan masuk()/keluar() dan memanggil catat() di
+// dalam lock per-key sebelum mengubah produk. Selama tidak ada snapshot terbuka
+// catat() hanya membaca satu field volatile. Snapshot baru menunggu penulis yang
+// masuk sebelum snapshot terdaftar (epoch lama) selesai, penulis tidak pernah menunggu.
+class RegistriSnapshot<V> {
+    private static final int JUMLAH_STRIPE = 32;
+    // Jarak antar penghitung 8 long (64 byte) agar tidak berbagi cache line
+    private static final int JARAK = 8;
+    private static final int UKURAN_PARITAS = JUMLAH_STRIPE * JARAK;
+
+    // Penulis yang sedang berjalan per paritas epoch; per stripe tidak pernah negatif
+    // karena increment dan decrement satu penulis selalu di indeks yang sama
+    private final AtomicLongArray sedangMenulis = new AtomicLongArray(2 * UKURAN_PARITAS);
+    private volatile long epoch;
+    private volatile SnapshotMemori<V>[] aktif = kosong();
+
+    int masuk() {
+        int stripe = (System.identityHashCode(Thread.currentThread()) & (JUMLAH_STRIPE - 1)) * JARAK;
+        while (true) {
+            long e = epoch;
+            int indeks = (int) (e & 1) * UKURAN_PARITAS + stripe;
+            sedangMenulis.getAndIncrement(indeks);
+            if (epoch == e) {
+                return indeks;
+            }
+            // Snapshot baru terdaftar di antaranya, masuk ulang dengan epoch baru
+            sedangMenulis.getAndDecrement(indeks);
+        }
+    }
+
+    void keluar(int indeks) {
+        sedangMenulis.getAndDecrement(indeks);
+    }
+
+    // Dipanggil di dalam lock per-key sebelum perubahan; lama null bila kode belum ada
+    void catat(String kode, V lama) {
+        SnapshotMemori<V>[] daftar = aktif;
+        for (SnapshotMemori<V> snapshot : daftar) {
+            snapshot.catatSebelum(kode, lama);
+        }
+    }
+
+    synchronized void daftarkan(SnapshotMemori<V> snapshot) {
+        SnapshotMemori<V>[] baru = Arrays.copyOf(aktif, aktif.length + 1);
+        baru[baru.length - 1] = snapshot;
+        aktif = baru;
+        long lama = epoch;
+        epoch = lama + 1;
+        int awal = (int) (lama & 1) * UKURAN_PARITAS;
+        for (int i = 0; i < JUMLAH_STRIPE; i++) {
+            while (sedangMenulis.get(awal + i * JARAK) != 0) {
+                Thread.yield();
+            }
+        }
+    }
+
+    synchronized void lepaskan(SnapshotMemori<V> snapshot) {
+        SnapshotMemori<V>[] daftar = aktif;
+        for (int i = 0; i < daftar.length; i++) {
+            if (daftar[i] == snapshot) {
+                SnapshotMemori<V>[] baru = Arrays.copyOf(daftar, daftar.length - 1);
+                System.arraycopy(daftar, i + 1, baru, i, baru.length - i);
+                aktif = baru;
+                return;
+            }
+        }
+    }
+
+    int jumlahAktif() {
+        return aktif.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> SnapshotMemori<V>[] kosong() {
+        return (SnapshotMemori<V>[]) new SnapshotMemori<?>[0];
+    }
+}
@@ -0,0 +1,334 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.PerubahanStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.RingkasanKategori;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+// Decorator read-through untuk cariByKode di depan RepositoryProduk yang lambat.
+// Cache dibagi per segmen (LinkedHashMap urutan akses = LRU) agar kunci tidak tunggal.
+// Setiap tulis meneruskan ke sumber lalu membuang entri kodenya; versi per segmen
+// mencegah hasil baca lama yang selesai setelah invalidasi ikut masuk ke cache.
+public class RepositoryCache implements RepositoryProduk {
+    private static final int JUMLAH_SEGMEN_MAKS = 16;
+
+    // Entri memegang salinan pribadi; setiap hit dikembalikan sebagai salinan baru
+    private static final class Entri {
+        final Produk produk;
+        final long kedaluwarsa;
+
+        Entri(Produk produk, long kedaluwarsa) {
+            this.produk = produk;
+            this.kedaluwarsa = kedaluwarsa;
+        }
+    }
+
+    private final class Segmen extends LinkedHashMap<String, Entri> {
+        private static final long serialVersionUID = 1L;
+        private final int kapasitas;
+        long versi;
+
+        Segmen(int kapasitas) {
+            super(16, 0.75f, true);
+            this.kapasitas = kapasitas;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entri> tertua) {
+            if (size() > kapasitas) {
+                eviksi.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private final RepositoryProduk sumber;
+    private final Segmen[] segmen;
+    private final long ttlNano;
+    private final LongSupplier jamNano;
+    private final LongAdder hit = new LongAdder();
+    private final LongAdder miss = new LongAdder();
+    private final LongAdder eviksi = new LongAdder();
+
+    public RepositoryCache(RepositoryProduk sumber, int kapasitas, Duration ttl) {
+        this(sumber, kapasitas, ttl, System::nanoTime);
+    }
+
+    RepositoryCache(RepositoryProduk sumber, int kapasitas, Duration ttl, LongSupplier jamNano) {
+        if (sumber == null || ttl == null || jamNano == null) {
+            throw new IllegalArgumentException("Argumen cache tidak boleh null");
+        }
+        if (kapasitas <= 0 || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Kapasitas dan TTL cache harus positif");
+        }
+        this.sumber = sumber;
+        this.ttlNano = ttl.toNanos();
+        this.jamNano = jamNano;
+        int jumlahSegmen = Math.min(JUMLAH_SEGMEN_MAKS, kapasitas);
+        this.segmen = new Segmen[jumlahSegmen];
+        for (int i = 0; i < jumlahSegmen; i++) {
+            // Sisa kapasitas dibagi ke segmen awal agar total tetap = kapasitas
+            segmen[i] = new Segmen(kapasitas / jumlahSegmen + (i < kapasitas % jumlahSegmen ? 1 : 0));
+        }
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        if (kode == null) {
+            return sumber.cariByKode(null);
+        }
+        Segmen s = segmenUntuk(kode);
+        long versi;
+        synchronized (s) {
+            Entri entri = s.get(kode);
+            if (entri != null) {
+                if (jamNano.getAsLong() - entri.kedaluwarsa < 0) {
+                    hit.increment();
+                    return Optional.of(SnapshotMemori.salin(entri.produk));
+                }
+                s.remove(kode);
+            }
+            versi = s.versi;
+        }
+        miss.increment();
+        // Baca sumber di luar kunci segmen, sumber boleh lambat
+        Optional<Produk> produk = sumber.cariByKode(kode);
+        if (produk.isPresent()) {
+            synchronized (s) {
+                if (s.versi == versi) {
+                    s.put(kode, new Entri(SnapshotMemori.salin(produk.get()), jamNano.getAsLong() + ttlNano));
+                }
+            }
+        }
+        return produk;
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        boolean hasil = sumber.simpan(produk);
+        if (produk != null && produk.getKode() != null) {
+            invalidasi(produk.getKode());
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean simpanJikaBelumAda(Produk produk) {
+        boolean hasil = sumber.simpanJikaBelumAda(produk);
+        if (produk != null && produk.getKode() != null) {
+            invalidasi(produk.getKode());
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean[] simpanSemuaJikaBelumAda(List<Produk> daftar) {
+        boolean[] hasil = sumber.simpanSemuaJikaBelumAda(daftar);
+        for (Produk produk : daftar) {
+            if (produk != null && produk.getKode() != null) {
+                invalidasi(produk.getKode());
+            }
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        return invalidasiSetelah(kode, sumber.hapus(kode));
+    }
+
+    @Override
+    public boolean hapusJika(String kode, Predicate<Produk> syarat) {
+        return invalidasiSetelah(kode, sumber.hapusJika(kode, syarat));
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        return invalidasiSetelah(kode, sumber.updateStok(kode, stokBaru));
+    }
+
+    @Override
+    public boolean kurangiStok(String kode, int jumlah) {
+        return invalidasiSetelah(kode, sumber.kurangiStok(kode, jumlah));
+    }
+
+    @Override
+    public boolean tambahStok(String kode, int jumlah) {
+        return invalidasiSetelah(kode, sumber.tambahStok(kode, jumlah));
+    }
+
+    @Override
+    public boolean updateStokJika(String kode, int stokLama, int stokBaru) {
+        return invalidasiSetelah(kode, sumber.updateStokJika(kode, stokLama, stokBaru));
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return sumber.cariByNama(nama);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        return sumber.cariByKategori(kategori);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori, ModeKategori mode) {
+        return sumber.cariByKategori(kategori, mode);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return sumber.cariProdukStokMenipis();
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return sumber.cariProdukStokHabis();
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama, int batas) {
+        return sumber.cariByNama(nama, batas);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori, ModeKategori mode, int batas) {
+        return sumber.cariByKategori(kategori, mode, batas);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis(int batas) {
+        return sumber.cariProdukStokMenipis(batas);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis(int batas) {
+        return sumber.cariProdukStokHabis(batas);
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        return sumber.cariSemua();
+    }
+
+    @Override
+    public Stream<Produk> streamSemua() {
+        return sumber.streamSemua();
+    }
+
+    @Override
+    public List<Produk> cariHalaman(String setelahKode, int batas) {
+        return sumber.cariHalaman(setelahKode, batas);
+    }
+
+    @Override
+    public List<Produk> cariDengan(Predicate<Produk> kriteria) {
+        return sumber.cariDengan(kriteria);
+    }
+
+    @Override
+    public List<Produk> cariDengan(Predicate<Produk> kriteria, int batas) {
+        return sumber.cariDengan(kriteria, batas);
+    }
+
+    @Override
+    public long hitungTotalStokAktif() {
+        return sumber.hitungTotalStokAktif();
+    }
+
+    @Override
+    public long hitungTotalNilaiAktifSen() {
+        return sumber.hitungTotalNilaiAktifSen();
+    }
+
+    @Override
+    public double hitungTotalNilaiAktif() {
+        return sumber.hitungTotalNilaiAktif();
+    }
+
+    @Override
+    public RingkasanKategori ringkasanKategori(String kategori) {
+        return sumber.ringkasanKategori(kategori);
+    }
+
+    @Override
+    public SnapshotProduk ambilSnapshot() {
+        return sumber.ambilSnapshot();
+    }
+
+    @Override
+    public void setPendengarStok(Consumer<PerubahanStok> pendengar) {
+        sumber.setPendengarStok(pendengar);
+    }
+
+    // Buang seluruh isi cache, mis. setelah sumber diubah di luar decorator ini
+    public void kosongkan() {
+        for (Segmen s : segmen) {
+            synchronized (s) {
+                s.versi++;
+                s.clear();
+            }
+        }
+    }
+
+    public long getJumlahHit() {
+        return hit.sum();
+    }
+
+    public long getJumlahMiss() {
+        return miss.sum();
+    }
+
+    public long getJumlahEviksi() {
+        return eviksi.sum();
+    }
+
+    public double getRasioHit() {
+        long h = hit.sum();
+        long total = h + miss.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public int getUkuran() {
+        int ukuran = 0;
+        for (Segmen s : segmen) {
+            synchronized (s) {
+                ukuran += s.size();
+            }
+        }
+        return ukuran;
+    }
+
+    private boolean invalidasiSetelah(String kode, boolean hasil) {
+        // Tetap dibuang walau gagal: kegagalan bisa berarti nilai cache sudah usang
+        if (kode != null) {
+            invalidasi(kode);
+        }
+        return hasil;
+    }
+
+    private void invalidasi(String kode) {
+        Segmen s = segmenUntuk(kode);
+        synchronized (s) {
+            s.versi++;
+            s.remove(kode);
+        }
+    }
+
+    private Segmen segmenUntuk(String kode) {
+        int h = kode.hashCode();
+        return segmen[Math.floorMod(h ^ (h >>> 16), segmen.length)];
+    }
+}
@@ -1,95 +1,445 @@
 package com.praktikum.whitebox.repository;
 
+import com.praktikum.whitebox.model.PerubahanStok;
 import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.RingkasanKategori;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+// Produk disimpan sebagai salinan dan setiap pembacaan mengembalikan salinan baru, sehingga
+// setter pada objek milik pemanggil tidak bisa mengubah entri tersimpan tanpa lewat
+// repository. Dengan begitu indeks, set status stok dan agregat selalu sesuai isi map.
 public class RepositoryImplementation implements RepositoryProduk {
-    private final Map<String, Produk> produkMap = new ConcurrentHashMap<>();
+    // Scan penuh dijalankan paralel (ForkJoinPool.commonPool) mulai ukuran katalog ini
+    public static final long AMBANG_PARALEL_BAWAAN = 10_000;
+
+    private final ConcurrentHashMap<String, Produk> produkMap = new ConcurrentHashMap<>();
+    private final IndeksNama indeksNama = new IndeksNama();
+    private final IndeksKategori indeksKategori = new IndeksKategori();
+    private final Set<String> kodeStokMenipis = ConcurrentHashMap.newKeySet();
+    private final Set<String> kodeStokHabis = ConcurrentHashMap.newKeySet();
+    private final AgregatInventaris agregat = new AgregatInventaris();
+    private final AgregatKategori agregatKategori = new AgregatKategori();
+    // Kode terurut untuk paginasi berbasis kursor
+    private final ConcurrentSkipListSet<String> kodeTerurut = new ConcurrentSkipListSet<>();
+    private final long ambangParalel;
+    private volatile Consumer<PerubahanStok> pendengarStok;
+    // Semua penulisan melewati gerbang snapshot dan mencatat nilai lama sebelum mengubah
+    private final RegistriSnapshot<Produk> registriSnapshot = new RegistriSnapshot<>();
+
+    public RepositoryImplementation() {
+        this(AMBANG_PARALEL_BAWAAN);
+    }
+
+    // ambangParalel Long.MAX_VALUE berarti scan selalu sekuensial
+    public RepositoryImplementation(long ambangParalel) {
+        if (ambangParalel < 1) {
+            throw new IllegalArgumentException("Ambang paralel harus positif");
+        }
+        this.ambangParalel = ambangParalel;
+    }
 
     @Override
     public boolean simpan(Produk produk) {
         if (produk == null || produk.getKode() == null) {
             return false;
         }
-        produkMap.put(produk.getKode(), produk);
+        // Indeks diperbarui di dalam lock per-key agar konsisten dengan produkMap.
+        // Perubahan apa pun harus disimpan ulang lewat simpan agar ikut tersimpan.
+        Produk salinan = SnapshotMemori.salin(produk);
+        int gerbang = registriSnapshot.masuk();
+        try {
+            produkMap.compute(salinan.getKode(), (kode, lama) -> {
+                registriSnapshot.catat(kode, lama);
+                indeksProduk(kode, salinan);
+                return salinan;
+            });
+        } finally {
+            registriSnapshot.keluar(gerbang);
+        }
         return true;
     }
 
+    @Override
+    public boolean simpanJikaBelumAda(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return false;
+        }
+        boolean[] disimpan = {false};
+        int gerbang = registriSnapshot.masuk();
+        try {
+            produkMap.computeIfAbsent(produk.getKode(), kode -> {
+                Produk salinan = SnapshotMemori.salin(produk);
+                registriSnapshot.catat(kode, null);
+                indeksProduk(kode, salinan);
+                disimpan[0] = true;
+                return salinan;
+            });
+        } finally {
+            registriSnapshot.keluar(gerbang);
+        }
+        return disimpan[0];
+    }
+
+    @Override
+    public boolean[] simpanSemuaJikaBelumAda(List<Produk> daftar) {
+        // Setiap simpan sudah atomik per kode, batch besar cukup disebar ke commonPool
+        boolean[] hasil = new boolean[daftar.size()];
+        IntStream indeks = IntStream.range(0, hasil.length);
+        if (hasil.length >= ambangParalel) {
+            indeks = indeks.parallel();
+        }
+        indeks.forEach(i -> hasil[i] = simpanJikaBelumAda(daftar.get(i)));
+        return hasil;
+    }
+
     @Override
     public Optional<Produk> cariByKode(String kode) {
-        return Optional.ofNullable(produkMap.get(kode));
+        Produk produk = kode == null ? null : produkMap.get(kode);
+        return produk == null ? Optional.empty() : Optional.of(SnapshotMemori.salin(produk));
     }
 
     @Override
     public List<Produk> cariByNama(String nama) {
-        if (nama == null || nama.trim().isEmpty()) {
+        return cariByNama(nama, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama, int batas) {
+        if (nama == null || nama.trim().isEmpty() || batas <= 0) {
             return Collections.emptyList();
         }
         String namaLower = nama.toLowerCase();
         List<Produk> result = new ArrayList<>();
-        for (Produk produk : produkMap.values()) {
-            if (produk.getNama().toLowerCase().contains(namaLower)) {
-                result.add(produk);
-            }
-        }
+        indeksNama.cari(namaLower, ambangParalel, kode -> salinKe(kode, result, batas));
         return result;
     }
 
     @Override
     public List<Produk> cariByKategori(String kategori) {
-        if (kategori == null || kategori.trim().isEmpty()) {
+        return cariByKategori(kategori, ModeKategori.SUBSTRING);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori, ModeKategori mode) {
+        return cariByKategori(kategori, mode, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori, ModeKategori mode, int batas) {
+        if (kategori == null || kategori.trim().isEmpty() || mode == null || batas <= 0) {
             return Collections.emptyList();
         }
-        String kategoriLower = kategori.toLowerCase();
         List<Produk> result = new ArrayList<>();
-        for (Produk produk : produkMap.values()) {
-            if (produk.getKategori().toLowerCase().contains(kategoriLower)) {
-                result.add(produk);
-            }
-        }
+        indeksKategori.cari(kategori.toLowerCase(), mode, kode -> salinKe(kode, result, batas));
         return result;
     }
 
     @Override
     public List<Produk> cariProdukStokMenipis() {
-        List<Produk> result = new ArrayList<>();
+        return ambilProduk(kodeStokMenipis, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis(int batas) {
+        return ambilProduk(kodeStokMenipis, batas);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return ambilProduk(kodeStokHabis, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis(int batas) {
+        return ambilProduk(kodeStokHabis, batas);
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        return hapusJika(kode, produk -> true);
+    }
+
+    @Override
+    public boolean hapusJika(String kode, Predicate<Produk> syarat) {
+        if (kode == null || syarat == null) {
+            return false;
+        }
+        boolean[] dihapus = {false};
+        int gerbang = registriSnapshot.masuk();
+        try {
+            produkMap.computeIfPresent(kode, (k, produk) -> {
+                if (!syarat.test(SnapshotMemori.salin(produk))) {
+                    return produk;
+                }
+                registriSnapshot.catat(k, produk);
+                indeksNama.hapus(k);
+                indeksKategori.hapus(k);
+                kodeStokMenipis.remove(k);
+                kodeStokHabis.remove(k);
+                agregat.hapus(k);
+                agregatKategori.hapus(k);
+                kodeTerurut.remove(k);
+                dihapus[0] = true;
+                return null;
+            });
+        } finally {
+            registriSnapshot.keluar(gerbang);
+        }
+        return dihapus[0];
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        int gerbang = registriSnapshot.masuk();
+        try {
+            Produk produk = produkMap.computeIfPresent(kode, (k, p) -> {
+                ubahStok(k, p, stokBaru);
+                return p;
+            });
+            return produk != null;
+        } finally {
+            registriSnapshot.keluar(gerbang);
+        }
+    }
+
+    @Override
+    public boolean kurangiStok(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            return false;
+        }
+        boolean[] berhasil = {false};
+        int gerbang = registriSnapshot.masuk();
+        try {
+            produkMap.computeIfPresent(kode, (k, p) -> {
+                if (p.isAktif() && p.getStok() >= jumlah) {
+                    ubahStok(k, p, p.getStok() - jumlah);
+                    berhasil[0] = true;
+                }
+                return p;
+            });
+        } finally {
+            registriSnapshot.keluar(gerbang);
+        }
+        return berhasil[0];
+    }
+
+    @Override
+    public boolean tambahStok(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            return false;
+        }
+        boolean[] berhasil = {false};
+        int gerbang = registriSnapshot.masuk();
+        try {
+            produkMap.computeIfPresent(kode, (k, p) -> {
+                // Tolak bila stok akan melewati Integer.MAX_VALUE
+                if (p.isAktif() && p.getStok() <= Integer.MAX_VALUE - jumlah) {
+                    ubahStok(k, p, p.getStok() + jumlah);
+                    berhasil[0] = true;
+                }
+                return p;
+            });
+        } finally {
+            registriSnapshot.keluar(gerbang);
+        }
+        return berhasil[0];
+    }
+
+    @Override
+    public boolean updateStokJika(String kode, int stokLama, int stokBaru) {
+        if (stokBaru < 0) {
+            return false;
+        }
+        boolean[] berhasil = {false};
+        int gerbang = registriSnapshot.masuk();
+        try {
+            produkMap.computeIfPresent(kode, (k, p) -> {
+                if (p.isAktif() && p.getStok() == stokLama) {
+                    if (stokBaru != stokLama) {
+                        ubahStok(k, p, stokBaru);
+                    }
+                    berhasil[0] = true;
+                }
+                return p;
+            });
+        } finally {
+            registriSnapshot.keluar(gerbang);
+        }
+        return berhasil[0];
+    }
+
+    @Override
+    public long hitungTotalStokAktif() {
+        return agregat.totalStok();
+    }
+
+    @Override
+    public long hitungTotalNilaiAktifSen() {
+        return agregat.totalNilaiSen();
+    }
+
+    @Override
+    public double hitungTotalNilaiAktif() {
+        return agregat.totalNilai();
+    }
+
+    @Override
+    public RingkasanKategori ringkasanKategori(String kategori) {
+        return agregatKategori.ringkasan(kategori);
+    }
+
+    @Override
+    public SnapshotProduk ambilSnapshot() {
+        return SnapshotMemori.untukProduk(produkMap, kodeTerurut, registriSnapshot);
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        List<Produk> result = new ArrayList<>(produkMap.size());
         for (Produk produk : produkMap.values()) {
-            if (produk.isStokMenipis()) {
-                result.add(produk);
-            }
+            result.add(SnapshotMemori.salin(produk));
         }
         return result;
     }
 
     @Override
-    public List<Produk> cariProdukStokHabis() {
-        List<Produk> result = new ArrayList<>();
-        for (Produk produk : produkMap.values()) {
-            if (produk.isStokHabis()) {
-                result.add(produk);
+    public Stream<Produk> streamSemua() {
+        return produkMap.values().stream().map(SnapshotMemori::salin);
+    }
+
+    @Override
+    public List<Produk> cariHalaman(String setelahKode, int batas) {
+        if (batas <= 0) {
+            return Collections.emptyList();
+        }
+        Set<String> sisa = setelahKode == null ? kodeTerurut : kodeTerurut.tailSet(setelahKode, false);
+        List<Produk> result = new ArrayList<>(Math.min(batas, 1024));
+        for (String kode : sisa) {
+            Produk produk = produkMap.get(kode);
+            // Kode bisa saja baru dihapus setelah terbaca dari set
+            if (produk != null) {
+                result.add(SnapshotMemori.salin(produk));
+                if (result.size() == batas) {
+                    break;
+                }
             }
         }
         return result;
     }
 
     @Override
-    public boolean hapus(String kode) {
-        return produkMap.remove(kode) != null;
+    public List<Produk> cariDengan(Predicate<Produk> kriteria) {
+        if (kriteria == null) {
+            return Collections.emptyList();
+        }
+        // Bulk forEach CHM membagi tabel ke beberapa worker bila ukuran >= ambangParalel.
+        // kriteria membaca entri tersimpan (tanpa salinan per entri) dan tidak boleh mengubahnya;
+        // hanya yang cocok yang disalin.
+        Queue<Produk> cocok = new ConcurrentLinkedQueue<>();
+        produkMap.forEachValue(ambangParalel, produk -> {
+            if (kriteria.test(produk)) {
+                cocok.add(SnapshotMemori.salin(produk));
+            }
+        });
+        return new ArrayList<>(cocok);
     }
 
+    // Sekuensial agar bisa berhenti begitu batas tercapai
     @Override
-    public boolean updateStok(String kode, int stokBaru) {
-        Produk produk = produkMap.get(kode);
-        if (produk != null) {
-            produk.setStok(stokBaru);
-            return true;
+    public List<Produk> cariDengan(Predicate<Produk> kriteria, int batas) {
+        if (kriteria == null || batas <= 0) {
+            return Collections.emptyList();
         }
-        return false;
+        List<Produk> result = new ArrayList<>(Math.min(batas, 1024));
+        for (Produk produk : produkMap.values()) {
+            if (kriteria.test(produk)) {
+                result.add(SnapshotMemori.salin(produk));
+                if (result.size() == batas) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    int jumlahProduk() {
+        return produkMap.size();
+    }
+
+    // Perbarui semua indeks & agregat untuk produk yang disimpan, di dalam lock per-key
+    private void indeksProduk(String kode, Produk produk) {
+        agregat.perbarui(kode, produk, produk.getStok());
+        agregatKategori.perbarui(kode, produk, produk.getStok());
+        indeksNama.tambah(kode, produk.getNama());
+        indeksKategori.tambah(kode, produk.getKategori());
+        perbaruiStatusStok(kode, produk);
+        kodeTerurut.add(kode);
     }
 
     @Override
-    public List<Produk> cariSemua() {
-        return new ArrayList<>(produkMap.values());
+    public void setPendengarStok(Consumer<PerubahanStok> pendengar) {
+        this.pendengarStok = pendengar;
+    }
+
+    // Jalur bersama semua operasi stok, dipanggil di dalam lock per-key
+    private void ubahStok(String kode, Produk produk, int stokBaru) {
+        registriSnapshot.catat(kode, produk);
+        int stokLama = produk.getStok();
+        agregat.perbarui(kode, produk, stokBaru);
+        agregatKategori.perbarui(kode, produk, stokBaru);
+        produk.setStok(stokBaru);
+        perbaruiStatusStok(kode, produk);
+        Consumer<PerubahanStok> pendengar = pendengarStok;
+        if (pendengar != null) {
+            pendengar.accept(new PerubahanStok(kode, stokLama, stokBaru, produk.getStokMinimum()));
+        }
+    }
+
+    // Pindahkan kode ke set menipis/habis sesuai stok saat ini (dipanggil di dalam lock per-key)
+    private void perbaruiStatusStok(String kode, Produk produk) {
+        if (produk.isStokMenipis()) {
+            kodeStokMenipis.add(kode);
+        } else {
+            kodeStokMenipis.remove(kode);
+        }
+        if (produk.isStokHabis()) {
+            kodeStokHabis.add(kode);
+        } else {
+            kodeStokHabis.remove(kode);
+        }
+    }
+
+    private List<Produk> ambilProduk(Set<String> kodeSet, int batas) {
+        if (batas <= 0) {
+            return Collections.emptyList();
+        }
+        List<Produk> result = new ArrayList<>(Math.min(kodeSet.size(), batas));
+        for (String kode : kodeSet) {
+            Produk produk = produkMap.get(kode);
+            if (produk != null) {
+                result.add(SnapshotMemori.salin(produk));
+                if (result.size() == batas) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    // Dipanggil berurutan oleh indeks; salinan berhenti dibuat setelah batas tercapai
+    private void salinKe(String kode, List<Produk> result, int batas) {
+        if (result.size() < batas) {
+            Produk produk = produkMap.get(kode);
+            if (produk != null) {
+                result.add(SnapshotMemori.salin(produk));
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Kategori;
+import com.praktikum.whitebox.model.RingkasanKategori;
+import java.util.List;
+import java.util.Optional;
+public interface RepositoryKategori {
+    boolean simpan(Kategori kategori);
+    Optional<Kategori> cariByKode(String kode);
+    List<Kategori> cariSemua();
+    boolean hapus(String kode);
+    // Rollup produk yang Produk.kategori-nya sama dengan nama kategori (case-insensitive)
+    Optional<RingkasanKategori> ringkasan(String kode);
+}
@@ -0,0 +1,51 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Kategori;
+import com.praktikum.whitebox.model.RingkasanKategori;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Kategori disimpan per kode. Rollup tidak dihitung di sini, melainkan dibaca dari
+// agregat per kategori yang dijaga RepositoryProduk, sehingga tanpa scan katalog.
+public class RepositoryKategoriImplementation implements RepositoryKategori {
+    private final ConcurrentHashMap<String, Kategori> kategoriMap = new ConcurrentHashMap<>();
+    private final RepositoryProduk repositoryProduk;
+
+    public RepositoryKategoriImplementation(RepositoryProduk repositoryProduk) {
+        if (repositoryProduk == null) {
+            throw new IllegalArgumentException("Repository produk tidak boleh null");
+        }
+        this.repositoryProduk = repositoryProduk;
+    }
+
+    @Override
+    public boolean simpan(Kategori kategori) {
+        if (kategori == null || kategori.getKode() == null) {
+            return false;
+        }
+        kategoriMap.put(kategori.getKode(), kategori);
+        return true;
+    }
+
+    @Override
+    public Optional<Kategori> cariByKode(String kode) {
+        return kode == null ? Optional.empty() : Optional.ofNullable(kategoriMap.get(kode));
+    }
+
+    @Override
+    public List<Kategori> cariSemua() {
+        return new ArrayList<>(kategoriMap.values());
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        return kode != null && kategoriMap.remove(kode) != null;
+    }
+
+    @Override
+    public Optional<RingkasanKategori> ringkasan(String kode) {
+        return cariByKode(kode).map(kategori -> repositoryProduk.ringkasanKategori(kategori.getNama()));
+    }
+}
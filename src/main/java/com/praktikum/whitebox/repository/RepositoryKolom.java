@@ -0,0 +1,846 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.JumlahUang;
+import com.praktikum.whitebox.model.PerubahanStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.RingkasanKategori;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// RepositoryProduk kolumnar: atribut produk disimpan di array primitif per kolom
+// dengan id padat, kategori di-intern lewat kamus. Objek Produk hanya dibuat saat
+// dikembalikan (salinan, bukan objek yang tersimpan). Tidak ada objek per baris:
+// kode -> id lewat tabel hash int[] dan urutan kursor lewat array kode terurut.
+// Write lock hanya untuk perubahan baris dan pertumbuhan kolom; operasi stok berjalan
+// di bawah read lock dengan CAS per baris.
+public class RepositoryKolom implements RepositoryProduk {
+    private static final int KAPASITAS_AWAL = 1024;
+    private static final int UKURAN_HALAMAN_STREAM = 1024;
+    // Kode baru ditampung terurut di sini sebelum digabung ke urutanUtama
+    private static final int UKURAN_PENAMPUNG = 4096;
+    private static final int JUMLAH_KUNCI_BARIS = 64;
+    private static final VarHandle STOK = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final ReentrantReadWriteLock kunci = new ReentrantReadWriteLock();
+    // Hanya dipakai bila ada pendengar stok, agar event per produk tetap berurutan
+    private final Object[] kunciBaris = new Object[JUMLAH_KUNCI_BARIS];
+    private final Map<String, Integer> idPerKategori = new HashMap<>();
+    private final List<String> kamusKategori = new ArrayList<>();
+    private final List<String> kamusKategoriLower = new ArrayList<>();
+    // Rollup per kategori lowercase; totalKategori sejajar dengan kamusKategori sehingga
+    // id kategori yang berbeda huruf besar/kecilnya berbagi satu TotalKategori
+    private final List<TotalKategori> totalKategori = new ArrayList<>();
+    private final Map<String, TotalKategori> totalPerKategoriLower = new HashMap<>();
+
+    // Open addressing (linear probing) kode -> id: isi slot id + 1, 0 = kosong
+    private int[] slotKode = new int[KAPASITAS_AWAL * 2];
+    private int jumlahKode;
+    // Kode terurut untuk paginasi. Kode yang dihapus dibiarkan (basi), dilewati saat
+    // dibaca dan dibuang saat penggabungan berikutnya.
+    private String[] urutanUtama = new String[0];
+    private String[] urutanBaru = new String[UKURAN_PENAMPUNG];
+    private int jumlahBaru;
+    private int jumlahBasi;
+
+    private String[] kode = new String[KAPASITAS_AWAL];
+    private String[] nama = new String[KAPASITAS_AWAL];
+    private int[] kategori = new int[KAPASITAS_AWAL];
+    private double[] harga = new double[KAPASITAS_AWAL];
+    private int[] stok = new int[KAPASITAS_AWAL];
+    private int[] stokMinimum = new int[KAPASITAS_AWAL];
+    private final BitSet aktif = new BitSet();
+    private final BitSet terpakai = new BitSet();
+    private int[] idBebas = new int[16];
+    private int jumlahIdBebas;
+    private int batas;
+    private volatile Consumer<PerubahanStok> pendengarStok;
+
+    private static final class TotalKategori {
+        final LongAdder jumlahProduk = new LongAdder();
+        final LongAdder stok = new LongAdder();
+        final JumlahUang nilai = new JumlahUang();
+        final LongAdder menipis = new LongAdder();
+    }
+
+    public RepositoryKolom() {
+        for (int i = 0; i < JUMLAH_KUNCI_BARIS; i++) {
+            kunciBaris[i] = new Object();
+        }
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return false;
+        }
+        kunci.writeLock().lock();
+        try {
+            int id = cariId(produk.getKode());
+            tulisBaris(id >= 0 ? id : alokasiId(produk.getKode()), produk);
+            return true;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean simpanJikaBelumAda(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return false;
+        }
+        kunci.writeLock().lock();
+        try {
+            if (cariId(produk.getKode()) >= 0) {
+                return false;
+            }
+            tulisBaris(alokasiId(produk.getKode()), produk);
+            return true;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean[] simpanSemuaJikaBelumAda(List<Produk> daftar) {
+        boolean[] hasil = new boolean[daftar.size()];
+        kunci.writeLock().lock();
+        try {
+            // Satu kali perbesar kolom untuk seluruh batch, bukan penggandaan berulang
+            int perlu = batas + Math.max(0, daftar.size() - jumlahIdBebas);
+            if (perlu > kode.length) {
+                perbesar(Math.max(perlu, kode.length * 2));
+            }
+            // Kode baru diurutkan sekali lalu digabung, bukan disisipkan satu per satu
+            gabungUrutan(null, 0);
+            String[] kodeBaru = new String[hasil.length];
+            int jumlahKodeBaru = 0;
+            for (int i = 0; i < hasil.length; i++) {
+                Produk produk = daftar.get(i);
+                if (produk != null && produk.getKode() != null && cariId(produk.getKode()) < 0) {
+                    int id = alokasiBaris(produk.getKode());
+                    if (!hidupkanUrutanBasi(produk.getKode())) {
+                        kodeBaru[jumlahKodeBaru++] = produk.getKode();
+                    }
+                    tulisBaris(id, produk);
+                    hasil[i] = true;
+                }
+            }
+            Arrays.sort(kodeBaru, 0, jumlahKodeBaru);
+            gabungUrutan(kodeBaru, jumlahKodeBaru);
+            return hasil;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        kunci.readLock().lock();
+        try {
+            int id = cariId(kode);
+            return id < 0 ? Optional.empty() : Optional.of(buatProduk(id));
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return cariByNama(nama, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama, int batas) {
+        if (nama == null || nama.trim().isEmpty() || batas <= 0) {
+            return Collections.emptyList();
+        }
+        // Huruf besar/kecil dilipat saat query, tidak ada kolom nama lowercase
+        String kataKunci = nama.toLowerCase();
+        kunci.readLock().lock();
+        try {
+            List<Produk> result = new ArrayList<>();
+            String[] kolomNama = this.nama;
+            for (int i = terpakai.nextSetBit(0); i >= 0; i = terpakai.nextSetBit(i + 1)) {
+                if (kolomNama[i] != null && memuatAbaikanKapital(kolomNama[i], kataKunci)) {
+                    result.add(buatProduk(i));
+                    if (result.size() == batas) {
+                        break;
+                    }
+                }
+            }
+            return result;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        return cariByKategori(kategori, ModeKategori.SUBSTRING);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori, ModeKategori mode) {
+        return cariByKategori(kategori, mode, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori, ModeKategori mode, int batas) {
+        if (kategori == null || kategori.trim().isEmpty() || mode == null || batas <= 0) {
+            return Collections.emptyList();
+        }
+        String kataKunci = kategori.toLowerCase();
+        kunci.readLock().lock();
+        try {
+            // Cocokkan sekali per entri kamus, lalu scan kolom id kategori
+            boolean[] cocok = new boolean[kamusKategoriLower.size()];
+            for (int k = 0; k < cocok.length; k++) {
+                String kandidat = kamusKategoriLower.get(k);
+                switch (mode) {
+                    case TEPAT:
+                        cocok[k] = kandidat.equals(kataKunci);
+                        break;
+                    case AWALAN:
+                        cocok[k] = kandidat.startsWith(kataKunci);
+                        break;
+                    default:
+                        cocok[k] = kandidat.contains(kataKunci);
+                }
+            }
+            List<Produk> result = new ArrayList<>();
+            int[] kolomKategori = this.kategori;
+            for (int i = terpakai.nextSetBit(0); i >= 0; i = terpakai.nextSetBit(i + 1)) {
+                int k = kolomKategori[i];
+                if (k >= 0 && cocok[k]) {
+                    result.add(buatProduk(i));
+                    if (result.size() == batas) {
+                        break;
+                    }
+                }
+            }
+            return result;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return cariProdukStokMenipis(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis(int batas) {
+        if (batas <= 0) {
+            return Collections.emptyList();
+        }
+        kunci.readLock().lock();
+        try {
+            List<Produk> result = new ArrayList<>();
+            int[] kolomStok = stok;
+            int[] kolomMinimum = stokMinimum;
+            for (int i = terpakai.nextSetBit(0); i >= 0; i = terpakai.nextSetBit(i + 1)) {
+                if (kolomStok[i] > 0 && kolomStok[i] <= kolomMinimum[i]) {
+                    result.add(buatProduk(i));
+                    if (result.size() == batas) {
+                        break;
+                    }
+                }
+            }
+            return result;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return cariProdukStokHabis(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis(int batas) {
+        if (batas <= 0) {
+            return Collections.emptyList();
+        }
+        kunci.readLock().lock();
+        try {
+            List<Produk> result = new ArrayList<>();
+            int[] kolomStok = stok;
+            for (int i = terpakai.nextSetBit(0); i >= 0; i = terpakai.nextSetBit(i + 1)) {
+                if (kolomStok[i] == 0) {
+                    result.add(buatProduk(i));
+                    if (result.size() == batas) {
+                        break;
+                    }
+                }
+            }
+            return result;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        return hapusJika(kode, produk -> true);
+    }
+
+    @Override
+    public boolean hapusJika(String kode, Predicate<Produk> syarat) {
+        if (syarat == null) {
+            return false;
+        }
+        kunci.writeLock().lock();
+        try {
+            int i = cariId(kode);
+            if (i < 0 || !syarat.test(buatProduk(i))) {
+                return false;
+            }
+            kontribusiKategori(i, -1);
+            kategori[i] = -1;
+            hapusSlotKode(i);
+            jumlahBasi++;
+            this.kode[i] = null;
+            nama[i] = null;
+            terpakai.clear(i);
+            aktif.clear(i);
+            if (jumlahIdBebas == idBebas.length) {
+                idBebas = Arrays.copyOf(idBebas, idBebas.length * 2);
+            }
+            idBebas[jumlahIdBebas++] = i;
+            if (jumlahBasi > Math.max(UKURAN_PENAMPUNG, jumlahKode)) {
+                gabungUrutan(null, 0);
+            }
+            return true;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        return ubahStok(kode, false, lama -> true, lama -> stokBaru);
+    }
+
+    @Override
+    public boolean kurangiStok(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            return false;
+        }
+        return ubahStok(kode, true, lama -> lama >= jumlah, lama -> lama - jumlah);
+    }
+
+    @Override
+    public boolean tambahStok(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            return false;
+        }
+        return ubahStok(kode, true, lama -> lama <= Integer.MAX_VALUE - jumlah, lama -> lama + jumlah);
+    }
+
+    @Override
+    public boolean updateStokJika(String kode, int stokLama, int stokBaru) {
+        if (stokBaru < 0) {
+            return false;
+        }
+        return ubahStok(kode, true, lama -> lama == stokLama, lama -> stokBaru);
+    }
+
+    // Salinan penuh di bawah read lock: O(n) dan menahan penulis selama penyalinan
+    @Override
+    public SnapshotProduk ambilSnapshot() {
+        kunci.readLock().lock();
+        try {
+            TreeMap<String, Produk> salinan = new TreeMap<>();
+            for (int i = terpakai.nextSetBit(0); i >= 0; i = terpakai.nextSetBit(i + 1)) {
+                salinan.put(kode[i], buatProduk(i));
+            }
+            return new SnapshotSalinan(salinan);
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void setPendengarStok(Consumer<PerubahanStok> pendengar) {
+        this.pendengarStok = pendengar;
+    }
+
+    // Jalur bersama operasi stok di bawah read lock: baris tidak bisa hilang atau
+    // dipindah, stok diganti dengan CAS sehingga produk berbeda tidak saling menunggu.
+    // syarat diuji terhadap stok lama, hitung menghasilkan stok baru.
+    private boolean ubahStok(String kode, boolean wajibAktif, IntPredicate syarat, IntUnaryOperator hitung) {
+        kunci.readLock().lock();
+        try {
+            int id = cariId(kode);
+            if (id < 0 || (wajibAktif && !aktif.get(id))) {
+                return false;
+            }
+            Consumer<PerubahanStok> pendengar = pendengarStok;
+            if (pendengar == null) {
+                return casStok(id, syarat, hitung, null);
+            }
+            synchronized (kunciBaris[id & (JUMLAH_KUNCI_BARIS - 1)]) {
+                return casStok(id, syarat, hitung, pendengar);
+            }
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    private boolean casStok(int id, IntPredicate syarat, IntUnaryOperator hitung,
+                            Consumer<PerubahanStok> pendengar) {
+        int[] kolomStok = stok;
+        while (true) {
+            int stokLama = (int) STOK.getVolatile(kolomStok, id);
+            if (!syarat.test(stokLama)) {
+                return false;
+            }
+            int stokBaru = hitung.applyAsInt(stokLama);
+            if (stokBaru == stokLama && pendengar == null) {
+                return true;
+            }
+            if (STOK.compareAndSet(kolomStok, id, stokLama, stokBaru)) {
+                ubahTotalKategori(id, stokLama, stokBaru);
+                if (pendengar != null) {
+                    pendengar.accept(new PerubahanStok(this.kode[id], stokLama, stokBaru, stokMinimum[id]));
+                }
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        kunci.readLock().lock();
+        try {
+            List<Produk> result = new ArrayList<>(jumlahKode);
+            for (int i = terpakai.nextSetBit(0); i >= 0; i = terpakai.nextSetBit(i + 1)) {
+                result.add(buatProduk(i));
+            }
+            return result;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    // Dibaca per halaman agar read lock tidak dipegang selama stream dikonsumsi
+    @Override
+    public Stream<Produk> streamSemua() {
+        Iterator<Produk> iterator = new Iterator<Produk>() {
+            private List<Produk> halaman = cariHalaman(null, UKURAN_HALAMAN_STREAM);
+            private int posisi;
+
+            @Override
+            public boolean hasNext() {
+                if (posisi == halaman.size() && halaman.size() == UKURAN_HALAMAN_STREAM) {
+                    halaman = cariHalaman(halaman.get(posisi - 1).getKode(), UKURAN_HALAMAN_STREAM);
+                    posisi = 0;
+                }
+                return posisi < halaman.size();
+            }
+
+            @Override
+            public Produk next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return halaman.get(posisi++);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public List<Produk> cariHalaman(String setelahKode, int batas) {
+        if (batas <= 0) {
+            return Collections.emptyList();
+        }
+        kunci.readLock().lock();
+        try {
+            List<Produk> result = new ArrayList<>(Math.min(batas, UKURAN_HALAMAN_STREAM));
+            // Merge dua array terurut mulai setelah kursor; kedua array tidak berbagi kode
+            int a = setelahKode == null ? 0 : posisiSetelah(urutanUtama, urutanUtama.length, setelahKode);
+            int b = setelahKode == null ? 0 : posisiSetelah(urutanBaru, jumlahBaru, setelahKode);
+            while (result.size() < batas && (a < urutanUtama.length || b < jumlahBaru)) {
+                String k = b == jumlahBaru || (a < urutanUtama.length && urutanUtama[a].compareTo(urutanBaru[b]) < 0)
+                        ? urutanUtama[a++] : urutanBaru[b++];
+                int id = cariId(k);
+                if (id >= 0) {
+                    result.add(buatProduk(id));
+                }
+            }
+            return result;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Produk> cariDengan(Predicate<Produk> kriteria) {
+        return cariDengan(kriteria, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Produk> cariDengan(Predicate<Produk> kriteria, int batas) {
+        if (kriteria == null || batas <= 0) {
+            return Collections.emptyList();
+        }
+        kunci.readLock().lock();
+        try {
+            // Kriteria berupa Predicate<Produk>, jadi setiap baris tetap dimaterialisasi
+            List<Produk> result = new ArrayList<>();
+            for (int i = terpakai.nextSetBit(0); i >= 0; i = terpakai.nextSetBit(i + 1)) {
+                Produk produk = buatProduk(i);
+                if (kriteria.test(produk)) {
+                    result.add(produk);
+                    if (result.size() == batas) {
+                        break;
+                    }
+                }
+            }
+            return result;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long hitungTotalStokAktif() {
+        kunci.readLock().lock();
+        try {
+            long total = 0;
+            int[] kolomStok = stok;
+            for (int i = aktif.nextSetBit(0); i >= 0; i = aktif.nextSetBit(i + 1)) {
+                total += kolomStok[i];
+            }
+            return total;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long hitungTotalNilaiAktifSen() {
+        return jumlahNilaiAktif().totalSen();
+    }
+
+    @Override
+    public double hitungTotalNilaiAktif() {
+        return jumlahNilaiAktif().total();
+    }
+
+    // Penjumlahan di dalam read lock tidak pernah melempar; overflow baru terlihat saat dibaca
+    private JumlahUang jumlahNilaiAktif() {
+        kunci.readLock().lock();
+        try {
+            JumlahUang total = new JumlahUang();
+            int[] kolomStok = stok;
+            double[] kolomHarga = harga;
+            for (int i = aktif.nextSetBit(0); i >= 0; i = aktif.nextSetBit(i + 1)) {
+                total.tambah(kolomHarga[i], kolomStok[i]);
+            }
+            return total;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    // Dari total per kategori yang dijaga saat menulis, tanpa scan baris. Tiap field
+    // dibaca terpisah, sama seperti AgregatKategori.
+    @Override
+    public RingkasanKategori ringkasanKategori(String kategori) {
+        if (kategori == null) {
+            return RingkasanKategori.kosong(null);
+        }
+        kunci.readLock().lock();
+        try {
+            TotalKategori total = totalPerKategoriLower.get(kategori.toLowerCase());
+            if (total == null) {
+                return RingkasanKategori.kosong(kategori);
+            }
+            return new RingkasanKategori(kategori, total.jumlahProduk.sum(), total.stok.sum(),
+                    total.nilai, total.menipis.sum());
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    private Produk buatProduk(int i) {
+        int k = kategori[i];
+        Produk produk = new Produk(kode[i], nama[i], k < 0 ? null : kamusKategori.get(k),
+                harga[i], (int) STOK.getVolatile(stok, i), stokMinimum[i]);
+        produk.setAktif(aktif.get(i));
+        return produk;
+    }
+
+    private void tulisBaris(int i, Produk produk) {
+        kontribusiKategori(i, -1);
+        nama[i] = produk.getNama();
+        kategori[i] = internKategori(produk.getKategori());
+        harga[i] = produk.getHarga();
+        STOK.setVolatile(stok, i, produk.getStok());
+        stokMinimum[i] = produk.getStokMinimum();
+        aktif.set(i, produk.isAktif());
+        kontribusiKategori(i, 1);
+    }
+
+    // Tambah (tanda 1) atau cabut (tanda -1) baris dari total kategorinya; dengan write lock
+    private void kontribusiKategori(int i, int tanda) {
+        int k = kategori[i];
+        if (k < 0) {
+            return;
+        }
+        TotalKategori total = totalKategori.get(k);
+        total.jumlahProduk.add(tanda);
+        int s = stok[i];
+        if (aktif.get(i) && s != 0) {
+            total.stok.add(tanda * (long) s);
+            if (tanda > 0) {
+                total.nilai.tambah(harga[i], s);
+            } else {
+                total.nilai.kurangi(harga[i], s);
+            }
+        }
+        if (s > 0 && s <= stokMinimum[i]) {
+            total.menipis.add(tanda);
+        }
+    }
+
+    // Selisih operasi stok, di bawah read lock: harga, aktif dan kategori baris tidak
+    // berubah selama lock itu dipegang
+    private void ubahTotalKategori(int i, int stokLama, int stokBaru) {
+        int k = kategori[i];
+        if (k < 0) {
+            return;
+        }
+        TotalKategori total = totalKategori.get(k);
+        if (aktif.get(i)) {
+            total.stok.add((long) stokBaru - stokLama);
+            // Suku lama dicabut utuh lalu suku baru ditambah, bukan selisihnya: harga yang
+            // tidak muat di long sen dihitung per suku, dan hitungan itu harus kembali nol
+            total.nilai.kurangi(harga[i], stokLama);
+            total.nilai.tambah(harga[i], stokBaru);
+        }
+        int menipis = (stokBaru > 0 && stokBaru <= stokMinimum[i] ? 1 : 0)
+                - (stokLama > 0 && stokLama <= stokMinimum[i] ? 1 : 0);
+        if (menipis != 0) {
+            total.menipis.add(menipis);
+        }
+    }
+
+    private int alokasiId(String kodeBaru) {
+        int i = alokasiBaris(kodeBaru);
+        if (!hidupkanUrutanBasi(kodeBaru)) {
+            int posisi = -Arrays.binarySearch(urutanBaru, 0, jumlahBaru, kodeBaru) - 1;
+            System.arraycopy(urutanBaru, posisi, urutanBaru, posisi + 1, jumlahBaru - posisi);
+            urutanBaru[posisi] = kodeBaru;
+            if (++jumlahBaru == urutanBaru.length) {
+                gabungUrutan(null, 0);
+            }
+        }
+        return i;
+    }
+
+    // Baris dan slot hash saja; pemanggil yang mengurus urutan kode
+    private int alokasiBaris(String kodeBaru) {
+        int i;
+        if (jumlahIdBebas > 0) {
+            i = idBebas[--jumlahIdBebas];
+        } else {
+            if (batas == kode.length) {
+                perbesar(kode.length * 2);
+            }
+            i = batas++;
+        }
+        kode[i] = kodeBaru;
+        // Baris baru belum punya kontribusi kategori untuk dicabut tulisBaris
+        kategori[i] = -1;
+        terpakai.set(i);
+        tambahSlotKode(i);
+        return i;
+    }
+
+    // Kode yang dihapus lalu disimpan lagi masih ada di urutan sebagai entri basi
+    private boolean hidupkanUrutanBasi(String kodeBaru) {
+        if (jumlahBasi > 0 && (Arrays.binarySearch(urutanUtama, kodeBaru) >= 0
+                || Arrays.binarySearch(urutanBaru, 0, jumlahBaru, kodeBaru) >= 0)) {
+            jumlahBasi--;
+            return true;
+        }
+        return false;
+    }
+
+    // Gabungkan urutanUtama, penampung dan tambahan terurut (boleh null) menjadi satu
+    // array utama baru tanpa entri basi
+    private void gabungUrutan(String[] tambahan, int jumlahTambahan) {
+        if (jumlahBaru == 0 && jumlahTambahan == 0 && jumlahBasi == 0) {
+            return;
+        }
+        String[] hasil = new String[urutanUtama.length + jumlahBaru + jumlahTambahan];
+        int n = 0;
+        int a = 0;
+        int b = 0;
+        int c = 0;
+        while (a < urutanUtama.length || b < jumlahBaru || c < jumlahTambahan) {
+            String k = urutanUtama.length > a ? urutanUtama[a] : null;
+            int sumber = 0;
+            if (b < jumlahBaru && (k == null || urutanBaru[b].compareTo(k) < 0)) {
+                k = urutanBaru[b];
+                sumber = 1;
+            }
+            if (c < jumlahTambahan && (k == null || tambahan[c].compareTo(k) < 0)) {
+                k = tambahan[c];
+                sumber = 2;
+            }
+            if (sumber == 0) {
+                a++;
+            } else if (sumber == 1) {
+                b++;
+            } else {
+                c++;
+            }
+            if (cariId(k) >= 0) {
+                hasil[n++] = k;
+            }
+        }
+        urutanUtama = n == hasil.length ? hasil : Arrays.copyOf(hasil, n);
+        Arrays.fill(urutanBaru, 0, jumlahBaru, null);
+        jumlahBaru = 0;
+        jumlahBasi = 0;
+    }
+
+    private static int posisiSetelah(String[] urutan, int jumlah, String kode) {
+        int posisi = Arrays.binarySearch(urutan, 0, jumlah, kode);
+        return posisi >= 0 ? posisi + 1 : -posisi - 1;
+    }
+
+    private int cariId(String dicari) {
+        if (dicari == null) {
+            return -1;
+        }
+        int mask = slotKode.length - 1;
+        for (int s = sebar(dicari.hashCode()) & mask; ; s = (s + 1) & mask) {
+            int isi = slotKode[s];
+            if (isi == 0) {
+                return -1;
+            }
+            if (dicari.equals(kode[isi - 1])) {
+                return isi - 1;
+            }
+        }
+    }
+
+    private void tambahSlotKode(int id) {
+        if ((jumlahKode + 1) * 2 > slotKode.length) {
+            int[] lama = slotKode;
+            slotKode = new int[lama.length * 2];
+            for (int isi : lama) {
+                if (isi != 0) {
+                    letakkanSlot(isi);
+                }
+            }
+        }
+        letakkanSlot(id + 1);
+        jumlahKode++;
+    }
+
+    private void letakkanSlot(int isi) {
+        int mask = slotKode.length - 1;
+        int s = sebar(kode[isi - 1].hashCode()) & mask;
+        while (slotKode[s] != 0) {
+            s = (s + 1) & mask;
+        }
+        slotKode[s] = isi;
+    }
+
+    // Hapus dengan backward shift agar tidak perlu tombstone; dipanggil sebelum kode[id] dikosongkan
+    private void hapusSlotKode(int id) {
+        int mask = slotKode.length - 1;
+        int kosong = sebar(kode[id].hashCode()) & mask;
+        while (slotKode[kosong] != id + 1) {
+            kosong = (kosong + 1) & mask;
+        }
+        for (int j = (kosong + 1) & mask; slotKode[j] != 0; j = (j + 1) & mask) {
+            int ideal = sebar(kode[slotKode[j] - 1].hashCode()) & mask;
+            // Geser bila posisi ideal entri j tidak berada di antara (kosong, j]
+            boolean tetap = kosong <= j ? (ideal > kosong && ideal <= j) : (ideal > kosong || ideal <= j);
+            if (!tetap) {
+                slotKode[kosong] = slotKode[j];
+                kosong = j;
+            }
+        }
+        slotKode[kosong] = 0;
+        jumlahKode--;
+    }
+
+    private static int sebar(int h) {
+        int x = h * 0x9E3779B9;
+        return x ^ (x >>> 16);
+    }
+
+    // Setara teks.toLowerCase().contains(kataKunciLower) untuk teks pada umumnya, tanpa
+    // alokasi; perbandingan per karakter mengikuti String.regionMatches(ignoreCase)
+    private static boolean memuatAbaikanKapital(String teks, String kataKunciLower) {
+        int panjang = kataKunciLower.length();
+        char awal = lipat(kataKunciLower.charAt(0));
+        for (int j = 0; j + panjang <= teks.length(); j++) {
+            if (lipat(teks.charAt(j)) == awal && teks.regionMatches(true, j, kataKunciLower, 0, panjang)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static char lipat(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private void perbesar(int kapasitas) {
+        kode = Arrays.copyOf(kode, kapasitas);
+        nama = Arrays.copyOf(nama, kapasitas);
+        kategori = Arrays.copyOf(kategori, kapasitas);
+        harga = Arrays.copyOf(harga, kapasitas);
+        stok = Arrays.copyOf(stok, kapasitas);
+        stokMinimum = Arrays.copyOf(stokMinimum, kapasitas);
+    }
+
+    private int internKategori(String nilai) {
+        if (nilai == null) {
+            return -1;
+        }
+        Integer id = idPerKategori.get(nilai);
+        if (id == null) {
+            id = kamusKategori.size();
+            kamusKategori.add(nilai);
+            kamusKategoriLower.add(nilai.toLowerCase());
+            totalKategori.add(totalPerKategoriLower.computeIfAbsent(nilai.toLowerCase(), k -> new TotalKategori()));
+            idPerKategori.put(nilai, id);
+        }
+        return id;
+    }
+}
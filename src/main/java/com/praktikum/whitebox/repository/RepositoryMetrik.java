@@ -0,0 +1,315 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.PerubahanStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.RingkasanKategori;
+import com.praktikum.whitebox.util.MetrikOperasi;
+import com.praktikum.whitebox.util.RegistriMetrik;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Decorator yang mencatat jumlah panggilan, latensi dan ukuran hasil tiap operasi
+// RepositoryProduk ke RegistriMetrik dengan nama "repository.<operasi>".
+// Ukuran hasil: jumlah produk untuk query, jumlah panggilan berhasil untuk tulis.
+public class RepositoryMetrik implements RepositoryProduk {
+    private final RepositoryProduk sumber;
+    private final RegistriMetrik registri;
+    private final MetrikOperasi simpan;
+    private final MetrikOperasi simpanJikaBelumAda;
+    private final MetrikOperasi simpanSemua;
+    private final MetrikOperasi cariByKode;
+    private final MetrikOperasi cariByNama;
+    private final MetrikOperasi cariByKategori;
+    private final MetrikOperasi cariProdukStokMenipis;
+    private final MetrikOperasi cariProdukStokHabis;
+    private final MetrikOperasi hapus;
+    private final MetrikOperasi hapusJika;
+    private final MetrikOperasi updateStok;
+    private final MetrikOperasi kurangiStok;
+    private final MetrikOperasi tambahStok;
+    private final MetrikOperasi updateStokJika;
+    private final MetrikOperasi cariSemua;
+    private final MetrikOperasi streamSemua;
+    private final MetrikOperasi cariHalaman;
+    private final MetrikOperasi cariDengan;
+    private final MetrikOperasi hitungTotalStokAktif;
+    private final MetrikOperasi hitungTotalNilaiAktifSen;
+    private final MetrikOperasi hitungTotalNilaiAktif;
+    private final MetrikOperasi ringkasanKategori;
+    private final MetrikOperasi ambilSnapshot;
+
+    public RepositoryMetrik(RepositoryProduk sumber, RegistriMetrik registri) {
+        if (sumber == null || registri == null) {
+            throw new IllegalArgumentException("Repository dan registri metrik tidak boleh null");
+        }
+        this.sumber = sumber;
+        this.registri = registri;
+        simpan = registri.operasi("repository.simpan");
+        simpanJikaBelumAda = registri.operasi("repository.simpanJikaBelumAda");
+        simpanSemua = registri.operasi("repository.simpanSemua");
+        cariByKode = registri.operasi("repository.cariByKode");
+        cariByNama = registri.operasi("repository.cariByNama");
+        cariByKategori = registri.operasi("repository.cariByKategori");
+        cariProdukStokMenipis = registri.operasi("repository.cariProdukStokMenipis");
+        cariProdukStokHabis = registri.operasi("repository.cariProdukStokHabis");
+        hapus = registri.operasi("repository.hapus");
+        hapusJika = registri.operasi("repository.hapusJika");
+        updateStok = registri.operasi("repository.updateStok");
+        kurangiStok = registri.operasi("repository.kurangiStok");
+        tambahStok = registri.operasi("repository.tambahStok");
+        updateStokJika = registri.operasi("repository.updateStokJika");
+        cariSemua = registri.operasi("repository.cariSemua");
+        streamSemua = registri.operasi("repository.streamSemua");
+        cariHalaman = registri.operasi("repository.cariHalaman");
+        cariDengan = registri.operasi("repository.cariDengan");
+        hitungTotalStokAktif = registri.operasi("repository.hitungTotalStokAktif");
+        hitungTotalNilaiAktifSen = registri.operasi("repository.hitungTotalNilaiAktifSen");
+        hitungTotalNilaiAktif = registri.operasi("repository.hitungTotalNilaiAktif");
+        ringkasanKategori = registri.operasi("repository.ringkasanKategori");
+        ambilSnapshot = registri.operasi("repository.ambilSnapshot");
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        return simpan.ukur(() -> sumber.simpan(produk));
+    }
+
+    @Override
+    public boolean simpanJikaBelumAda(Produk produk) {
+        return simpanJikaBelumAda.ukur(() -> sumber.simpanJikaBelumAda(produk));
+    }
+
+    @Override
+    public boolean[] simpanSemuaJikaBelumAda(List<Produk> daftar) {
+        // Ukuran hasil = jumlah produk yang benar-benar tersimpan
+        return simpanSemua.ukur(() -> sumber.simpanSemuaJikaBelumAda(daftar), RepositoryMetrik::jumlahBenar);
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        return cariByKode.ukur(() -> sumber.cariByKode(kode), hasil -> hasil.isPresent() ? 1 : 0);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return cariByNama.ukur(() -> sumber.cariByNama(nama), List::size);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        return cariByKategori.ukur(() -> sumber.cariByKategori(kategori), List::size);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori, ModeKategori mode) {
+        return cariByKategori.ukur(() -> sumber.cariByKategori(kategori, mode), List::size);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return cariProdukStokMenipis.ukur(sumber::cariProdukStokMenipis, List::size);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return cariProdukStokHabis.ukur(sumber::cariProdukStokHabis, List::size);
+    }
+
+    // Varian terbatas dicatat dengan nama operasi yang sama
+    @Override
+    public List<Produk> cariByNama(String nama, int batas) {
+        return cariByNama.ukur(() -> sumber.cariByNama(nama, batas), List::size);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori, ModeKategori mode, int batas) {
+        return cariByKategori.ukur(() -> sumber.cariByKategori(kategori, mode, batas), List::size);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis(int batas) {
+        return cariProdukStokMenipis.ukur(() -> sumber.cariProdukStokMenipis(batas), List::size);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis(int batas) {
+        return cariProdukStokHabis.ukur(() -> sumber.cariProdukStokHabis(batas), List::size);
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        return hapus.ukur(() -> sumber.hapus(kode));
+    }
+
+    @Override
+    public boolean hapusJika(String kode, Predicate<Produk> syarat) {
+        return hapusJika.ukur(() -> sumber.hapusJika(kode, syarat));
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        return updateStok.ukur(() -> sumber.updateStok(kode, stokBaru));
+    }
+
+    @Override
+    public boolean kurangiStok(String kode, int jumlah) {
+        return kurangiStok.ukur(() -> sumber.kurangiStok(kode, jumlah));
+    }
+
+    @Override
+    public boolean tambahStok(String kode, int jumlah) {
+        return tambahStok.ukur(() -> sumber.tambahStok(kode, jumlah));
+    }
+
+    @Override
+    public boolean updateStokJika(String kode, int stokLama, int stokBaru) {
+        return updateStokJika.ukur(() -> sumber.updateStokJika(kode, stokLama, stokBaru));
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        return cariSemua.ukur(sumber::cariSemua, List::size);
+    }
+
+    // Stream dikonsumsi di luar decorator: latensi dihitung dari pemanggilan sampai stream
+    // habis atau ditutup, ukuran hasil = jumlah produk yang benar-benar dibaca
+    @Override
+    public Stream<Produk> streamSemua() {
+        if (!registri.isAktif()) {
+            return sumber.streamSemua();
+        }
+        Stream<Produk> stream = sumber.streamSemua();
+        SpliteratorTerukur terukur = new SpliteratorTerukur(stream.spliterator(), streamSemua);
+        return StreamSupport.stream(terukur, false).onClose(terukur::selesai).onClose(stream::close);
+    }
+
+    @Override
+    public List<Produk> cariHalaman(String setelahKode, int batas) {
+        return cariHalaman.ukur(() -> sumber.cariHalaman(setelahKode, batas), List::size);
+    }
+
+    @Override
+    public List<Produk> cariDengan(Predicate<Produk> kriteria) {
+        return cariDengan.ukur(() -> sumber.cariDengan(kriteria), List::size);
+    }
+
+    @Override
+    public List<Produk> cariDengan(Predicate<Produk> kriteria, int batas) {
+        return cariDengan.ukur(() -> sumber.cariDengan(kriteria, batas), List::size);
+    }
+
+    @Override
+    public long hitungTotalStokAktif() {
+        return hitungTotalStokAktif.ukur(sumber::hitungTotalStokAktif, total -> 0);
+    }
+
+    @Override
+    public long hitungTotalNilaiAktifSen() {
+        return hitungTotalNilaiAktifSen.ukur(sumber::hitungTotalNilaiAktifSen, total -> 0);
+    }
+
+    @Override
+    public double hitungTotalNilaiAktif() {
+        return hitungTotalNilaiAktif.ukur(sumber::hitungTotalNilaiAktif, total -> 0);
+    }
+
+    @Override
+    public RingkasanKategori ringkasanKategori(String kategori) {
+        // Ukuran hasil = jumlah produk dalam kategori
+        return ringkasanKategori.ukur(() -> sumber.ringkasanKategori(kategori), RingkasanKategori::getJumlahProduk);
+    }
+
+    // Hanya pembuatan snapshot yang diukur, bacaan snapshot tidak
+    @Override
+    public SnapshotProduk ambilSnapshot() {
+        return ambilSnapshot.ukur(sumber::ambilSnapshot, snapshot -> 0);
+    }
+
+    @Override
+    public void setPendengarStok(Consumer<PerubahanStok> pendengar) {
+        sumber.setPendengarStok(pendengar);
+    }
+
+    // Dicatat tepat sekali: saat sumber habis, saat stream ditutup, atau sebagai gagal
+    // bila sumber melempar. Tidak dipecah untuk paralel.
+    private static final class SpliteratorTerukur implements Spliterator<Produk> {
+        private final Spliterator<Produk> sumber;
+        private final MetrikOperasi metrik;
+        private final long mulai = System.nanoTime();
+        private final AtomicBoolean tercatat = new AtomicBoolean();
+        private long jumlah;
+
+        SpliteratorTerukur(Spliterator<Produk> sumber, MetrikOperasi metrik) {
+            this.sumber = sumber;
+            this.metrik = metrik;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Produk> action) {
+            boolean ada;
+            try {
+                ada = sumber.tryAdvance(produk -> {
+                    jumlah++;
+                    action.accept(produk);
+                });
+            } catch (RuntimeException | Error e) {
+                gagal();
+                throw e;
+            }
+            if (!ada) {
+                selesai();
+            }
+            return ada;
+        }
+
+        @Override
+        public Spliterator<Produk> trySplit() {
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return sumber.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return sumber.characteristics() & ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+        }
+
+        @Override
+        public Comparator<? super Produk> getComparator() {
+            return sumber.getComparator();
+        }
+
+        void selesai() {
+            if (tercatat.compareAndSet(false, true)) {
+                metrik.catat(System.nanoTime() - mulai, jumlah);
+            }
+        }
+
+        private void gagal() {
+            if (tercatat.compareAndSet(false, true)) {
+                metrik.catatGagal(System.nanoTime() - mulai);
+            }
+        }
+    }
+
+    private static long jumlahBenar(boolean[] hasil) {
+        long jumlah = 0;
+        for (boolean b : hasil) {
+            if (b) {
+                jumlah++;
+            }
+        }
+        return jumlah;
+    }
+}
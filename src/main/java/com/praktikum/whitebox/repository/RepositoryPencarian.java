@@ -0,0 +1,262 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.HasilPencarian;
+import com.praktikum.whitebox.model.PerubahanStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.RingkasanKategori;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Decorator pencarian full-text di atas RepositoryProduk mana pun.
+// Indeks dibangun sekali dari isi sumber lalu diperbarui di setiap simpan/hapus yang
+// berhasil. Operasi stok tidak menyentuh indeks. Seperti RepositoryImplementation,
+// perubahan nama/kategori harus disimpan ulang lewat simpan agar ikut terindeks.
+public class RepositoryPencarian implements RepositoryProduk {
+    private static final int JUMLAH_KUNCI = 64;
+
+    private final RepositoryProduk sumber;
+    private final IndeksTeks indeks = new IndeksTeks();
+    // Kunci per kode (striped) agar urutan perubahan di indeks sama dengan di sumber
+    private final Object[] kunciKode = new Object[JUMLAH_KUNCI];
+
+    public RepositoryPencarian(RepositoryProduk sumber) {
+        if (sumber == null) {
+            throw new IllegalArgumentException("Repository sumber tidak boleh null");
+        }
+        for (int i = 0; i < JUMLAH_KUNCI; i++) {
+            kunciKode[i] = new Object();
+        }
+        this.sumber = sumber;
+        try (Stream<Produk> semua = sumber.streamSemua()) {
+            semua.forEach(this::indeksProduk);
+        }
+    }
+
+    // k produk paling relevan untuk kueri pada nama dan kategori, skor menurun.
+    // Semua kata kueri wajib cocok; kata terakhir juga cocok sebagai awalan ("lapt" -> laptop).
+    public List<HasilPencarian> cari(String kueri, int k) {
+        List<IndeksTeks.Entri> entri = indeks.cari(kueri, k);
+        List<HasilPencarian> hasil = new ArrayList<>(entri.size());
+        for (IndeksTeks.Entri e : entri) {
+            // Hanya k teratas yang dimaterialisasi; produk yang baru saja dihapus dilewati
+            sumber.cariByKode(e.kode).ifPresent(produk -> hasil.add(new HasilPencarian(produk, e.skor)));
+        }
+        return hasil;
+    }
+
+    public int jumlahTerindeks() {
+        return indeks.jumlahDokumen();
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return sumber.simpan(produk);
+        }
+        return tulis(produk.getKode(), () -> {
+            if (!sumber.simpan(produk)) {
+                return false;
+            }
+            indeksProduk(produk);
+            return true;
+        });
+    }
+
+    @Override
+    public boolean simpanJikaBelumAda(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return sumber.simpanJikaBelumAda(produk);
+        }
+        return tulis(produk.getKode(), () -> {
+            if (!sumber.simpanJikaBelumAda(produk)) {
+                return false;
+            }
+            indeksProduk(produk);
+            return true;
+        });
+    }
+
+    @Override
+    public boolean[] simpanSemuaJikaBelumAda(List<Produk> daftar) {
+        // Bulk insert jarang: tahan semua kunci sekaligus agar tidak bersilangan dengan hapus
+        return dalamSemuaKunci(0, () -> {
+            boolean[] hasil = sumber.simpanSemuaJikaBelumAda(daftar);
+            for (int i = 0; i < hasil.length; i++) {
+                if (hasil[i]) {
+                    indeksProduk(daftar.get(i));
+                }
+            }
+            return hasil;
+        });
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        return sumber.cariByKode(kode);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return sumber.cariByNama(nama);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        return sumber.cariByKategori(kategori);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori, ModeKategori mode) {
+        return sumber.cariByKategori(kategori, mode);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return sumber.cariProdukStokMenipis();
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return sumber.cariProdukStokHabis();
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama, int batas) {
+        return sumber.cariByNama(nama, batas);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori, ModeKategori mode, int batas) {
+        return sumber.cariByKategori(kategori, mode, batas);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis(int batas) {
+        return sumber.cariProdukStokMenipis(batas);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis(int batas) {
+        return sumber.cariProdukStokHabis(batas);
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        return hapusJika(kode, produk -> true);
+    }
+
+    @Override
+    public boolean hapusJika(String kode, Predicate<Produk> syarat) {
+        if (kode == null) {
+            return sumber.hapusJika(null, syarat);
+        }
+        return tulis(kode, () -> {
+            if (!sumber.hapusJika(kode, syarat)) {
+                return false;
+            }
+            indeks.hapus(kode);
+            return true;
+        });
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        return sumber.updateStok(kode, stokBaru);
+    }
+
+    @Override
+    public boolean kurangiStok(String kode, int jumlah) {
+        return sumber.kurangiStok(kode, jumlah);
+    }
+
+    @Override
+    public boolean tambahStok(String kode, int jumlah) {
+        return sumber.tambahStok(kode, jumlah);
+    }
+
+    @Override
+    public boolean updateStokJika(String kode, int stokLama, int stokBaru) {
+        return sumber.updateStokJika(kode, stokLama, stokBaru);
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        return sumber.cariSemua();
+    }
+
+    @Override
+    public Stream<Produk> streamSemua() {
+        return sumber.streamSemua();
+    }
+
+    @Override
+    public List<Produk> cariHalaman(String setelahKode, int batas) {
+        return sumber.cariHalaman(setelahKode, batas);
+    }
+
+    @Override
+    public List<Produk> cariDengan(Predicate<Produk> kriteria) {
+        return sumber.cariDengan(kriteria);
+    }
+
+    @Override
+    public List<Produk> cariDengan(Predicate<Produk> kriteria, int batas) {
+        return sumber.cariDengan(kriteria, batas);
+    }
+
+    @Override
+    public long hitungTotalStokAktif() {
+        return sumber.hitungTotalStokAktif();
+    }
+
+    @Override
+    public long hitungTotalNilaiAktifSen() {
+        return sumber.hitungTotalNilaiAktifSen();
+    }
+
+    @Override
+    public double hitungTotalNilaiAktif() {
+        return sumber.hitungTotalNilaiAktif();
+    }
+
+    @Override
+    public RingkasanKategori ringkasanKategori(String kategori) {
+        return sumber.ringkasanKategori(kategori);
+    }
+
+    @Override
+    public SnapshotProduk ambilSnapshot() {
+        return sumber.ambilSnapshot();
+    }
+
+    @Override
+    public void setPendengarStok(Consumer<PerubahanStok> pendengar) {
+        sumber.setPendengarStok(pendengar);
+    }
+
+    private void indeksProduk(Produk produk) {
+        indeks.tambah(produk.getKode(), produk.getNama(), produk.getKategori());
+    }
+
+    private boolean tulis(String kode, BooleanSupplier operasi) {
+        synchronized (kunciKode[Math.floorMod(kode.hashCode(), JUMLAH_KUNCI)]) {
+            return operasi.getAsBoolean();
+        }
+    }
+
+    private boolean[] dalamSemuaKunci(int i, Supplier<boolean[]> operasi) {
+        if (i == JUMLAH_KUNCI) {
+            return operasi.get();
+        }
+        synchronized (kunciKode[i]) {
+            return dalamSemuaKunci(i + 1, operasi);
+        }
+    }
+}
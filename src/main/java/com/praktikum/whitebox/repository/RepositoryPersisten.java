@@ -0,0 +1,281 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.PerubahanStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.RingkasanKategori;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+// RepositoryProduk persisten: state dilayani dari RepositoryImplementation di memori,
+// setiap perubahan ditambahkan ke LogProduk dan diputar ulang saat start.
+// Tanpa fsync per tulis kecuali sinkronTiapTulis, gunakan sinkron() untuk checkpoint.
+public class RepositoryPersisten implements RepositoryProduk, Closeable {
+    private static final int JUMLAH_KUNCI = 64;
+    private static final long AMBANG_KOMPAKSI_MINIMUM = 100_000;
+
+    private final RepositoryImplementation memori = new RepositoryImplementation();
+    private final LogProduk log;
+    // Read lock dipegang penulis biasa, write lock hanya oleh kompaksi
+    private final ReentrantReadWriteLock kunciKompaksi = new ReentrantReadWriteLock();
+    // Kunci per kode (striped) agar urutan di log sama dengan urutan di memori
+    private final Object[] kunciKode = new Object[JUMLAH_KUNCI];
+    private final long ambangKompaksi;
+
+    public RepositoryPersisten(Path berkas) throws IOException {
+        this(berkas, false, AMBANG_KOMPAKSI_MINIMUM);
+    }
+
+    public RepositoryPersisten(Path berkas, boolean sinkronTiapTulis, long ambangKompaksi) throws IOException {
+        for (int i = 0; i < JUMLAH_KUNCI; i++) {
+            kunciKode[i] = new Object();
+        }
+        this.ambangKompaksi = ambangKompaksi;
+        this.log = new LogProduk(berkas, sinkronTiapTulis);
+        log.putar(memori);
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return false;
+        }
+        return tulis(produk.getKode(), () -> {
+            memori.simpan(produk);
+            log.tulisSimpan(produk);
+            return true;
+        });
+    }
+
+    @Override
+    public boolean simpanJikaBelumAda(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return false;
+        }
+        return tulis(produk.getKode(), () -> {
+            if (!memori.simpanJikaBelumAda(produk)) {
+                return false;
+            }
+            log.tulisSimpan(produk);
+            return true;
+        });
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        return memori.cariByKode(kode);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return memori.cariByNama(nama);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        return memori.cariByKategori(kategori);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori, ModeKategori mode) {
+        return memori.cariByKategori(kategori, mode);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return memori.cariProdukStokMenipis();
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return memori.cariProdukStokHabis();
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama, int batas) {
+        return memori.cariByNama(nama, batas);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori, ModeKategori mode, int batas) {
+        return memori.cariByKategori(kategori, mode, batas);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis(int batas) {
+        return memori.cariProdukStokMenipis(batas);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis(int batas) {
+        return memori.cariProdukStokHabis(batas);
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        return hapusJika(kode, produk -> true);
+    }
+
+    @Override
+    public boolean hapusJika(String kode, Predicate<Produk> syarat) {
+        if (kode == null) {
+            return false;
+        }
+        return tulis(kode, () -> {
+            if (!memori.hapusJika(kode, syarat)) {
+                return false;
+            }
+            log.tulisHapus(kode);
+            return true;
+        });
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        return tulis(kode, () -> catatStok(kode, memori.updateStok(kode, stokBaru)));
+    }
+
+    @Override
+    public boolean kurangiStok(String kode, int jumlah) {
+        return tulis(kode, () -> catatStok(kode, memori.kurangiStok(kode, jumlah)));
+    }
+
+    @Override
+    public boolean tambahStok(String kode, int jumlah) {
+        return tulis(kode, () -> catatStok(kode, memori.tambahStok(kode, jumlah)));
+    }
+
+    @Override
+    public boolean updateStokJika(String kode, int stokLama, int stokBaru) {
+        if (stokBaru == stokLama) {
+            // Hanya pemeriksaan, tidak ada yang perlu dicatat ke log
+            return memori.updateStokJika(kode, stokLama, stokBaru);
+        }
+        return tulis(kode, () -> catatStok(kode, memori.updateStokJika(kode, stokLama, stokBaru)));
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        return memori.cariSemua();
+    }
+
+    @Override
+    public Stream<Produk> streamSemua() {
+        return memori.streamSemua();
+    }
+
+    @Override
+    public List<Produk> cariHalaman(String setelahKode, int batas) {
+        return memori.cariHalaman(setelahKode, batas);
+    }
+
+    @Override
+    public List<Produk> cariDengan(Predicate<Produk> kriteria) {
+        return memori.cariDengan(kriteria);
+    }
+
+    @Override
+    public List<Produk> cariDengan(Predicate<Produk> kriteria, int batas) {
+        return memori.cariDengan(kriteria, batas);
+    }
+
+    @Override
+    public long hitungTotalStokAktif() {
+        return memori.hitungTotalStokAktif();
+    }
+
+    @Override
+    public long hitungTotalNilaiAktifSen() {
+        return memori.hitungTotalNilaiAktifSen();
+    }
+
+    @Override
+    public double hitungTotalNilaiAktif() {
+        return memori.hitungTotalNilaiAktif();
+    }
+
+    @Override
+    public RingkasanKategori ringkasanKategori(String kategori) {
+        return memori.ringkasanKategori(kategori);
+    }
+
+    @Override
+    public SnapshotProduk ambilSnapshot() {
+        return memori.ambilSnapshot();
+    }
+
+    @Override
+    public void setPendengarStok(Consumer<PerubahanStok> pendengar) {
+        memori.setPendengarStok(pendengar);
+    }
+
+    // Paksa perubahan yang sudah ditulis ke disk
+    public void sinkron() {
+        log.sinkron();
+    }
+
+    // Tulis ulang log hanya berisi state terkini
+    public void kompaksi() {
+        kompaksi(true);
+    }
+
+    private void kompaksi(boolean paksa) {
+        kunciKompaksi.writeLock().lock();
+        try {
+            if (paksa || perluKompaksi()) {
+                log.tulisUlang(memori.cariSemua());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Kompaksi log produk gagal", e);
+        } finally {
+            kunciKompaksi.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        kunciKompaksi.writeLock().lock();
+        try {
+            log.close();
+        } finally {
+            kunciKompaksi.writeLock().unlock();
+        }
+    }
+
+    private boolean tulis(String kode, BooleanSupplier operasi) {
+        boolean hasil;
+        kunciKompaksi.readLock().lock();
+        try {
+            synchronized (kunciKode[Math.floorMod(kode.hashCode(), JUMLAH_KUNCI)]) {
+                hasil = operasi.getAsBoolean();
+            }
+        } finally {
+            kunciKompaksi.readLock().unlock();
+        }
+        if (hasil && perluKompaksi()) {
+            kompaksi(false);
+        }
+        return hasil;
+    }
+
+    // Kompaksi berkala bila log jauh lebih besar dari jumlah produk hidup
+    private boolean perluKompaksi() {
+        return log.getJumlahRekaman() > Math.max(ambangKompaksi, 2L * memori.jumlahProduk());
+    }
+
+    private boolean catatStok(String kode, boolean berhasil) {
+        if (berhasil) {
+            memori.cariByKode(kode).ifPresent(produk -> log.tulisStok(kode, produk.getStok()));
+        }
+        return berhasil;
+    }
+}
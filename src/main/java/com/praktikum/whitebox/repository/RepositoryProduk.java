@@ -1,15 +1,90 @@
 package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.PerubahanStok;
 import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.RingkasanKategori;
+import com.praktikum.whitebox.model.Uang;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 public interface RepositoryProduk {
     boolean simpan(Produk produk);
+    // Atomik, satu lookup: hanya menyimpan bila kode belum terdaftar
+    boolean simpanJikaBelumAda(Produk produk);
+    // Bulk insert: hasil[i] sama dengan simpanJikaBelumAda(daftar.get(i)); kode ganda
+    // di dalam daftar -> hanya satu yang tersimpan
+    default boolean[] simpanSemuaJikaBelumAda(List<Produk> daftar) {
+        boolean[] hasil = new boolean[daftar.size()];
+        for (int i = 0; i < hasil.length; i++) {
+            hasil[i] = simpanJikaBelumAda(daftar.get(i));
+        }
+        return hasil;
+    }
     Optional<Produk> cariByKode(String kode);
     List<Produk> cariByNama(String nama);
     List<Produk> cariByKategori(String kategori);
+    List<Produk> cariByKategori(String kategori, ModeKategori mode);
     List<Produk> cariProdukStokMenipis();
     List<Produk> cariProdukStokHabis();
+    // Varian terbatas: paling banyak batas produk dari hasil versi tanpa batas (urutan
+    // tidak dijamin, batas <= 0 -> kosong). Versi bawaan masih membangun hasil penuh;
+    // implementasi memori berhenti menyalin produk begitu batas tercapai.
+    default List<Produk> cariByNama(String nama, int batas) {
+        return batas <= 0 ? List.of() : batasi(cariByNama(nama), batas);
+    }
+    default List<Produk> cariByKategori(String kategori, ModeKategori mode, int batas) {
+        return batas <= 0 ? List.of() : batasi(cariByKategori(kategori, mode), batas);
+    }
+    default List<Produk> cariProdukStokMenipis(int batas) {
+        return batas <= 0 ? List.of() : batasi(cariProdukStokMenipis(), batas);
+    }
+    default List<Produk> cariProdukStokHabis(int batas) {
+        return batas <= 0 ? List.of() : batasi(cariProdukStokHabis(), batas);
+    }
+    default List<Produk> cariDengan(Predicate<Produk> kriteria, int batas) {
+        return batas <= 0 ? List.of() : batasi(cariDengan(kriteria), batas);
+    }
     boolean hapus(String kode);
+    // Atomik, satu lookup: hapus hanya bila produk yang tersimpan memenuhi syarat
+    boolean hapusJika(String kode, Predicate<Produk> syarat);
     boolean updateStok(String kode, int stokBaru);
+    // Atomik per produk: gagal bila produk tidak ada, tidak aktif, atau stok tidak cukup
+    boolean kurangiStok(String kode, int jumlah);
+    boolean tambahStok(String kode, int jumlah);
+    // Compare-and-set: berhasil hanya bila produk aktif dan stoknya masih stokLama.
+    // stokBaru == stokLama hanya memeriksa kondisi itu secara atomik tanpa menulis.
+    boolean updateStokJika(String kode, int stokLama, int stokBaru);
     List<Produk> cariSemua();
-}
\ No newline at end of file
+    // Iterasi tanpa menyalin seluruh katalog; weakly consistent terhadap perubahan bersamaan
+    Stream<Produk> streamSemua();
+    // Halaman terurut menurut kode: maksimal batas produk dengan kode > setelahKode (null = dari awal)
+    List<Produk> cariHalaman(String setelahKode, int batas);
+    // Query ad-hoc yang tidak ditangani indeks; urutan hasil tidak dijamin
+    List<Produk> cariDengan(Predicate<Produk> kriteria);
+    // Agregat produk aktif
+    long hitungTotalStokAktif();
+    // Tepat dalam sen; ArithmeticException bila total tidak muat di long sen
+    long hitungTotalNilaiAktifSen();
+    // Tidak pernah melempar: bila total tidak muat di long sen hasilnya perkiraan double
+    default double hitungTotalNilaiAktif() {
+        try {
+            return Uang.keDouble(hitungTotalNilaiAktifSen());
+        } catch (ArithmeticException e) {
+            return streamSemua().filter(Produk::isAktif).mapToDouble(p -> p.getHarga() * p.getStok()).sum();
+        }
+    }
+    // Rollup produk dengan kategori yang sama (case-insensitive); nol bila tidak ada
+    RingkasanKategori ringkasanKategori(String kategori);
+    // Pandangan point-in-time yang tidak menahan penulis; tutup setelah selesai.
+    // Jangan dipanggil dari dalam pendengar stok atau syarat hapusJika.
+    SnapshotProduk ambilSnapshot();
+    // Dipanggil sinkron di dalam lock penulis untuk setiap operasi stok yang berhasil;
+    // pendengar harus cepat dan tidak menulis balik ke repository. null = nonaktif.
+    void setPendengarStok(Consumer<PerubahanStok> pendengar);
+
+    private static List<Produk> batasi(List<Produk> hasil, int batas) {
+        return hasil.size() <= batas ? hasil : new ArrayList<>(hasil.subList(0, batas));
+    }
+}
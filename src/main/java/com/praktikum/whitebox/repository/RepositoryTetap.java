@@ -0,0 +1,473 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.JumlahUang;
+import com.praktikum.whitebox.model.PerubahanStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukTetap;
+import com.praktikum.whitebox.model.RingkasanKategori;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+// RepositoryProduk di atas ProdukTetap: entri tidak pernah diubah di tempat, setiap
+// tulis menukar entri secara atomik di dalam lock per-key ConcurrentHashMap.
+// API *Tetap mengembalikan instance tersimpan apa adanya (tanpa salinan, tanpa lock);
+// API RepositoryProduk tetap mengembalikan Produk baru per hasil untuk kompatibilitas.
+// Indeks nama/kategori, set stok menipis/habis dan rollup kategori dijaga saat menulis
+// seperti RepositoryImplementation. Total stok/nilai tetap dihitung dengan reduksi
+// paralel agar jalur tulis tidak membayar agregat global yang jarang dibaca.
+public class RepositoryTetap implements RepositoryProduk {
+    private final ConcurrentHashMap<String, ProdukTetap> produkMap = new ConcurrentHashMap<>();
+    private final IndeksNama indeksNama = new IndeksNama();
+    private final IndeksKategori indeksKategori = new IndeksKategori();
+    private final ConcurrentSkipListSet<String> kodeTerurut = new ConcurrentSkipListSet<>();
+    private final Set<String> kodeStokMenipis = ConcurrentHashMap.newKeySet();
+    private final Set<String> kodeStokHabis = ConcurrentHashMap.newKeySet();
+    private final AgregatKategori agregatKategori = new AgregatKategori();
+    // Nilai lama cukup disimpan sebagai referensi karena entri immutable
+    private final RegistriSnapshot<ProdukTetap> registriSnapshot = new RegistriSnapshot<>();
+    private final long ambangParalel;
+    private volatile Consumer<PerubahanStok> pendengarStok;
+
+    public RepositoryTetap() {
+        this(RepositoryImplementation.AMBANG_PARALEL_BAWAAN);
+    }
+
+    public RepositoryTetap(long ambangParalel) {
+        if (ambangParalel < 1) {
+            throw new IllegalArgumentException("Ambang paralel harus positif");
+        }
+        this.ambangParalel = ambangParalel;
+    }
+
+    public boolean simpanTetap(ProdukTetap produk) {
+        if (produk == null) {
+            return false;
+        }
+        tukar(produk.kode(), lama -> produk, false);
+        return true;
+    }
+
+    public Optional<ProdukTetap> cariTetap(String kode) {
+        return kode == null ? Optional.empty() : Optional.ofNullable(produkMap.get(kode));
+    }
+
+    // Weakly consistent; gunakan ambilSnapshot untuk pandangan point-in-time
+    public Stream<ProdukTetap> streamTetap() {
+        return produkMap.values().stream();
+    }
+
+    public List<ProdukTetap> cariDenganTetap(Predicate<ProdukTetap> kriteria) {
+        if (kriteria == null) {
+            return Collections.emptyList();
+        }
+        Queue<ProdukTetap> cocok = new ConcurrentLinkedQueue<>();
+        produkMap.forEachValue(ambangParalel, produk -> {
+            if (kriteria.test(produk)) {
+                cocok.add(produk);
+            }
+        });
+        return new ArrayList<>(cocok);
+    }
+
+    // Read-modify-write atomik per kode; perubahan dijalankan di dalam lock per-key
+    // sehingga harus cepat dan tidak menulis ke repository. Kosong bila kode tidak ada.
+    public Optional<ProdukTetap> ubah(String kode, UnaryOperator<ProdukTetap> perubahan) {
+        if (kode == null || perubahan == null) {
+            return Optional.empty();
+        }
+        ProdukTetap[] hasil = {null};
+        tukar(kode, lama -> {
+            if (lama == null) {
+                return null;
+            }
+            ProdukTetap baru = perubahan.apply(lama);
+            if (baru == null || !kode.equals(baru.kode())) {
+                throw new IllegalArgumentException("Perubahan harus menghasilkan produk dengan kode yang sama");
+            }
+            hasil[0] = baru;
+            return baru;
+        }, true);
+        return Optional.ofNullable(hasil[0]);
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return false;
+        }
+        return simpanTetap(ProdukTetap.dari(produk));
+    }
+
+    @Override
+    public boolean simpanJikaBelumAda(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return false;
+        }
+        ProdukTetap baru = ProdukTetap.dari(produk);
+        boolean[] disimpan = {false};
+        tukar(baru.kode(), lama -> {
+            if (lama != null) {
+                return lama;
+            }
+            disimpan[0] = true;
+            return baru;
+        }, false);
+        return disimpan[0];
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        return cariTetap(kode).map(ProdukTetap::keProduk);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return cariByNama(nama, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama, int batas) {
+        if (nama == null || nama.trim().isEmpty() || batas <= 0) {
+            return Collections.emptyList();
+        }
+        List<Produk> result = new ArrayList<>();
+        indeksNama.cari(nama.toLowerCase(), ambangParalel, kode -> tambahHasil(kode, result, batas));
+        return result;
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        return cariByKategori(kategori, ModeKategori.SUBSTRING);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori, ModeKategori mode) {
+        return cariByKategori(kategori, mode, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori, ModeKategori mode, int batas) {
+        if (kategori == null || kategori.trim().isEmpty() || mode == null || batas <= 0) {
+            return Collections.emptyList();
+        }
+        List<Produk> result = new ArrayList<>();
+        indeksKategori.cari(kategori.toLowerCase(), mode, kode -> tambahHasil(kode, result, batas));
+        return result;
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return ambilProduk(kodeStokMenipis, ProdukTetap::isStokMenipis, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis(int batas) {
+        return ambilProduk(kodeStokMenipis, ProdukTetap::isStokMenipis, batas);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return ambilProduk(kodeStokHabis, ProdukTetap::isStokHabis, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis(int batas) {
+        return ambilProduk(kodeStokHabis, ProdukTetap::isStokHabis, batas);
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        return hapusJika(kode, produk -> true);
+    }
+
+    // syarat menerima salinan Produk, bukan entri tersimpan
+    @Override
+    public boolean hapusJika(String kode, Predicate<Produk> syarat) {
+        if (kode == null || syarat == null) {
+            return false;
+        }
+        boolean[] dihapus = {false};
+        tukar(kode, lama -> {
+            if (lama == null || !syarat.test(lama.keProduk())) {
+                return lama;
+            }
+            dihapus[0] = true;
+            return null;
+        }, false);
+        return dihapus[0];
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        // Stok negatif diterima seperti implementasi lain; validasi ada di ServiceInventaris
+        return ubahStok(kode, lama -> true, stok -> stokBaru);
+    }
+
+    @Override
+    public boolean kurangiStok(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            return false;
+        }
+        return ubahStok(kode, lama -> lama.aktif() && lama.stok() >= jumlah, stok -> stok - jumlah);
+    }
+
+    @Override
+    public boolean tambahStok(String kode, int jumlah) {
+        if (jumlah <= 0) {
+            return false;
+        }
+        return ubahStok(kode, lama -> lama.aktif() && lama.stok() <= Integer.MAX_VALUE - jumlah,
+                stok -> stok + jumlah);
+    }
+
+    @Override
+    public boolean updateStokJika(String kode, int stokLama, int stokBaru) {
+        if (stokBaru < 0) {
+            return false;
+        }
+        return ubahStok(kode, lama -> lama.aktif() && lama.stok() == stokLama, stok -> stokBaru);
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        return keProduk(produkMap.values());
+    }
+
+    @Override
+    public Stream<Produk> streamSemua() {
+        return streamTetap().map(ProdukTetap::keProduk);
+    }
+
+    @Override
+    public List<Produk> cariHalaman(String setelahKode, int batas) {
+        if (batas <= 0) {
+            return Collections.emptyList();
+        }
+        Set<String> sisa = setelahKode == null ? kodeTerurut : kodeTerurut.tailSet(setelahKode, false);
+        List<Produk> result = new ArrayList<>(Math.min(batas, 1024));
+        for (String kode : sisa) {
+            tambahHasil(kode, result);
+            if (result.size() == batas) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    // kriteria menerima Produk sementara yang dipakai ulang per thread (jangan disimpan);
+    // salinan baru hanya dibuat untuk entri yang cocok
+    @Override
+    public List<Produk> cariDengan(Predicate<Produk> kriteria) {
+        if (kriteria == null) {
+            return Collections.emptyList();
+        }
+        ThreadLocal<Produk> pandangan = ThreadLocal.withInitial(Produk::new);
+        return keProduk(cariDenganTetap(produk -> kriteria.test(isi(pandangan.get(), produk))));
+    }
+
+    // Sekuensial agar bisa berhenti begitu batas tercapai
+    @Override
+    public List<Produk> cariDengan(Predicate<Produk> kriteria, int batas) {
+        if (kriteria == null || batas <= 0) {
+            return Collections.emptyList();
+        }
+        Produk pandangan = new Produk();
+        List<Produk> result = new ArrayList<>(Math.min(batas, 1024));
+        for (ProdukTetap produk : produkMap.values()) {
+            if (kriteria.test(isi(pandangan, produk))) {
+                result.add(produk.keProduk());
+                if (result.size() == batas) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public long hitungTotalStokAktif() {
+        return produkMap.reduceValuesToLong(ambangParalel,
+                produk -> produk.aktif() ? produk.stok() : 0, 0L, Long::sum);
+    }
+
+    @Override
+    public long hitungTotalNilaiAktifSen() {
+        return jumlahNilaiAktif().totalSen();
+    }
+
+    @Override
+    public double hitungTotalNilaiAktif() {
+        return jumlahNilaiAktif().total();
+    }
+
+    // Penjumlahan paralel tidak pernah melempar; overflow baru terlihat saat dibaca
+    private JumlahUang jumlahNilaiAktif() {
+        JumlahUang total = new JumlahUang();
+        produkMap.forEachValue(ambangParalel, produk -> {
+            if (produk.aktif()) {
+                total.tambah(produk.harga(), produk.stok());
+            }
+        });
+        return total;
+    }
+
+    @Override
+    public RingkasanKategori ringkasanKategori(String kategori) {
+        return agregatKategori.ringkasan(kategori);
+    }
+
+    // Tanpa salinan saat mencatat: nilai lama adalah entri immutable itu sendiri
+    @Override
+    public SnapshotProduk ambilSnapshot() {
+        return new SnapshotMemori<>(produkMap, kodeTerurut, registriSnapshot,
+                UnaryOperator.identity(), ProdukTetap::keProduk);
+    }
+
+    @Override
+    public void setPendengarStok(Consumer<PerubahanStok> pendengar) {
+        this.pendengarStok = pendengar;
+    }
+
+    // syarat diuji terhadap entri lama, hitung menghasilkan stok baru dari stok lama
+    private boolean ubahStok(String kode, Predicate<ProdukTetap> syarat, IntUnaryOperator hitung) {
+        if (kode == null) {
+            return false;
+        }
+        boolean[] berhasil = {false};
+        tukar(kode, lama -> {
+            if (lama == null) {
+                return null;
+            }
+            if (!syarat.test(lama)) {
+                return lama;
+            }
+            berhasil[0] = true;
+            return lama.withStok(hitung.applyAsInt(lama.stok()));
+        }, true);
+        return berhasil[0];
+    }
+
+    // Satu-satunya jalur tulis. perubahan menerima entri lama (null bila tidak ada) dan
+    // mengembalikan entri baru (null = hapus, instance yang sama = tidak berubah).
+    // Indeks hanya disentuh bila nama/kategori berubah. Event stok dikirim untuk operasi
+    // stok dan ubah, hanya bila nilai stok benar-benar berubah.
+    private void tukar(String kode, UnaryOperator<ProdukTetap> perubahan, boolean operasiStok) {
+        int gerbang = registriSnapshot.masuk();
+        try {
+            produkMap.compute(kode, (k, lama) -> {
+                ProdukTetap baru = perubahan.apply(lama);
+                if (baru == lama) {
+                    return lama;
+                }
+                registriSnapshot.catat(k, lama);
+                if (baru == null) {
+                    indeksNama.hapus(k);
+                    indeksKategori.hapus(k);
+                    kodeTerurut.remove(k);
+                    kodeStokMenipis.remove(k);
+                    kodeStokHabis.remove(k);
+                    agregatKategori.hapus(k);
+                    return null;
+                }
+                if (lama == null || !Objects.equals(lama.nama(), baru.nama())) {
+                    indeksNama.tambah(k, baru.nama());
+                }
+                if (lama == null || !Objects.equals(lama.kategori(), baru.kategori())) {
+                    indeksKategori.tambah(k, baru.kategori());
+                }
+                if (lama == null) {
+                    kodeTerurut.add(k);
+                }
+                perbaruiStatusStok(k, baru);
+                agregatKategori.perbarui(k, baru);
+                Consumer<PerubahanStok> pendengar = pendengarStok;
+                if (pendengar != null && operasiStok && lama != null && lama.stok() != baru.stok()) {
+                    pendengar.accept(new PerubahanStok(k, lama.stok(), baru.stok(), baru.stokMinimum()));
+                }
+                return baru;
+            });
+        } finally {
+            registriSnapshot.keluar(gerbang);
+        }
+    }
+
+    private void tambahHasil(String kode, List<Produk> result, int batas) {
+        if (result.size() < batas) {
+            tambahHasil(kode, result);
+        }
+    }
+
+    private void tambahHasil(String kode, List<Produk> result) {
+        ProdukTetap produk = produkMap.get(kode);
+        // Kode bisa saja baru dihapus setelah terbaca dari indeks
+        if (produk != null) {
+            result.add(produk.keProduk());
+        }
+    }
+
+    // Pindahkan kode ke set menipis/habis sesuai stok saat ini (dipanggil di dalam lock per-key)
+    private void perbaruiStatusStok(String kode, ProdukTetap produk) {
+        if (produk.isStokMenipis()) {
+            kodeStokMenipis.add(kode);
+        } else {
+            kodeStokMenipis.remove(kode);
+        }
+        if (produk.isStokHabis()) {
+            kodeStokHabis.add(kode);
+        } else {
+            kodeStokHabis.remove(kode);
+        }
+    }
+
+    // Status diperiksa ulang karena set dan produkMap tidak dibaca secara atomik
+    private List<Produk> ambilProduk(Set<String> kodeSet, Predicate<ProdukTetap> status, int batas) {
+        if (batas <= 0) {
+            return Collections.emptyList();
+        }
+        List<Produk> result = new ArrayList<>(Math.min(kodeSet.size(), batas));
+        for (String kode : kodeSet) {
+            ProdukTetap produk = produkMap.get(kode);
+            if (produk != null && status.test(produk)) {
+                result.add(produk.keProduk());
+                if (result.size() == batas) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Produk isi(Produk pandangan, ProdukTetap produk) {
+        pandangan.setKode(produk.kode());
+        pandangan.setNama(produk.nama());
+        pandangan.setKategori(produk.kategori());
+        pandangan.setHarga(produk.harga());
+        pandangan.setStok(produk.stok());
+        pandangan.setStokMinimum(produk.stokMinimum());
+        pandangan.setAktif(produk.aktif());
+        return pandangan;
+    }
+
+    private static List<Produk> keProduk(Collection<ProdukTetap> daftar) {
+        List<Produk> result = new ArrayList<>(daftar.size());
+        for (ProdukTetap produk : daftar) {
+            result.add(produk.keProduk());
+        }
+        return result;
+    }
+}
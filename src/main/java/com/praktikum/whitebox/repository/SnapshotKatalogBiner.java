@@ -0,0 +1,364 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Kategori;
+import com.praktikum.whitebox.model.Produk;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
+
+// Snapshot biner katalog (produk + kategori) untuk DR dan warm standby.
+// Tata letak berkas:
+//   header (64 byte, crc32c sendiri)
+//   kamus kategori produk: [string]...            \
+//   kategori: [string kode][string nama]          |  satu crc32c di header
+//             [string deskripsi][byte aktif]...   |
+//   indeks blok: [long offset][int panjang]       |
+//                [int jumlah][int crc32c]...      /
+//   blok produk: [double harga][int stok][int stokMinimum][int idKategori]
+//                [byte aktif][string kode][string nama]...
+// string = [int panjang utf-8, -1 untuk null][byte]. Blok produk berdiri sendiri
+// dengan crc32c masing-masing sehingga bisa didekode paralel langsung dari peta.
+public final class SnapshotKatalogBiner {
+    static final int MAGIC = 0x4B544C47; // "KTLG"
+    static final int VERSI = 1;
+    static final int HEADER = 64;
+    static final int UKURAN_BLOK = 65_536;
+
+    private static final int ENTRI_INDEKS = 8 + 4 + 4 + 4;
+    private static final int TETAP_PRODUK = 8 + 4 + 4 + 4 + 1;
+
+    private SnapshotKatalogBiner() {}
+
+    // Ekspor dari snapshot point-in-time repository; kategori boleh null. Mengembalikan ukuran berkas.
+    public static long tulis(Path berkas, RepositoryProduk produk, RepositoryKategori kategori) throws IOException {
+        List<Produk> semuaProduk;
+        try (SnapshotProduk snapshot = produk.ambilSnapshot()) {
+            semuaProduk = snapshot.cariSemua();
+        }
+        return tulis(berkas, semuaProduk, kategori == null ? Collections.emptyList() : kategori.cariSemua(), UKURAN_BLOK);
+    }
+
+    public static long tulis(Path berkas, Collection<Produk> produk, Collection<Kategori> kategori) throws IOException {
+        return tulis(berkas, produk, kategori, UKURAN_BLOK);
+    }
+
+    static long tulis(Path berkas, Collection<Produk> produk, Collection<Kategori> kategori, int ukuranBlok)
+            throws IOException {
+        if (berkas == null || produk == null || kategori == null || ukuranBlok <= 0) {
+            throw new IllegalArgumentException("Berkas, produk dan kategori tidak boleh null");
+        }
+        Produk[] daftar = produk.toArray(new Produk[0]);
+
+        // Kamus kategori dibangun berurutan agar id deterministik
+        Map<String, Integer> idPerKategori = new HashMap<>();
+        List<String> kamus = new ArrayList<>();
+        int[] idKategori = new int[daftar.length];
+        for (int i = 0; i < daftar.length; i++) {
+            String nama = daftar[i].getKategori();
+            if (nama == null) {
+                idKategori[i] = -1;
+            } else {
+                Integer id = idPerKategori.putIfAbsent(nama, kamus.size());
+                if (id == null) {
+                    id = kamus.size();
+                    kamus.add(nama);
+                }
+                idKategori[i] = id;
+            }
+        }
+
+        int jumlahBlok = (daftar.length + ukuranBlok - 1) / ukuranBlok;
+        ByteBuffer[] blok = new ByteBuffer[jumlahBlok];
+        IntStream.range(0, jumlahBlok).parallel().forEach(b -> {
+            int awal = b * ukuranBlok;
+            blok[b] = kodeBlok(daftar, idKategori, awal, Math.min(daftar.length, awal + ukuranBlok));
+        });
+
+        Penulis meta = new Penulis(1024 + kamus.size() * 16 + kategori.size() * 64 + jumlahBlok * ENTRI_INDEKS);
+        for (String nama : kamus) {
+            meta.string(nama);
+        }
+        for (Kategori k : kategori) {
+            meta.string(k.getKode());
+            meta.string(k.getNama());
+            meta.string(k.getDeskripsi());
+            meta.pastikan(1);
+            meta.buffer.put((byte) (k.isAktif() ? 1 : 0));
+        }
+        long offsetIndeks = HEADER + meta.buffer.position();
+        long posisi = offsetIndeks + (long) jumlahBlok * ENTRI_INDEKS;
+        CRC32C crc = new CRC32C();
+        for (int b = 0; b < jumlahBlok; b++) {
+            crc.reset();
+            crc.update(blok[b].duplicate());
+            meta.pastikan(ENTRI_INDEKS);
+            meta.buffer.putLong(posisi);
+            meta.buffer.putInt(blok[b].remaining());
+            meta.buffer.putInt(Math.min(ukuranBlok, daftar.length - b * ukuranBlok));
+            meta.buffer.putInt((int) crc.getValue());
+            posisi += blok[b].remaining();
+        }
+        ByteBuffer isiMeta = meta.buffer.flip();
+        long ukuranBerkas = posisi;
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER);
+        header.putInt(MAGIC);
+        header.putInt(VERSI);
+        header.putInt(daftar.length);
+        header.putInt(jumlahBlok);
+        header.putInt(kamus.size());
+        header.putInt(kategori.size());
+        header.putLong(offsetIndeks);
+        header.putLong(ukuranBerkas);
+        crc.reset();
+        crc.update(isiMeta.duplicate());
+        header.putInt((int) crc.getValue());
+        header.position(HEADER - 4);
+        crc.reset();
+        crc.update(header.array(), 0, HEADER - 4);
+        header.putInt((int) crc.getValue());
+        header.flip();
+
+        // Tulis ke berkas sementara lalu ganti secara atomik, seperti kompaksi LogProduk
+        Path sementara = berkas.resolveSibling(berkas.getFileName() + ".tmp");
+        Files.deleteIfExists(sementara);
+        try (FileChannel channel = FileChannel.open(sementara, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            tulisPeta(channel, 0, header);
+            tulisPeta(channel, HEADER, isiMeta);
+            for (int b = 0; b < jumlahBlok; b++) {
+                // Posisi blok dibaca ulang dari indeks yang sudah ditulis
+                tulisPeta(channel, isiMeta.getLong((int) (offsetIndeks - HEADER) + b * ENTRI_INDEKS), blok[b]);
+            }
+        }
+        Files.move(sementara, berkas, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return ukuranBerkas;
+    }
+
+    // Memuat snapshot ke repository lewat satu bulk insert. Tidak ada validasi ulang per
+    // produk: data sudah divalidasi saat masuk repository asal, integritas dijaga crc32c.
+    // Kode yang sudah ada di target tidak ditimpa. Kategori dilewati bila targetKategori null.
+    // Mengembalikan jumlah produk yang tersimpan.
+    public static long muat(Path berkas, RepositoryProduk target, RepositoryKategori targetKategori)
+            throws IOException {
+        if (target == null) {
+            throw new IllegalArgumentException("Repository target tidak boleh null");
+        }
+        Isi isi = baca(berkas);
+        if (targetKategori != null) {
+            for (Kategori kategori : isi.kategori) {
+                targetKategori.simpan(kategori);
+            }
+        }
+        long jumlah = 0;
+        for (boolean disimpan : target.simpanSemuaJikaBelumAda(isi.produk)) {
+            if (disimpan) {
+                jumlah++;
+            }
+        }
+        return jumlah;
+    }
+
+    // Isi snapshot tanpa target, urutan produk sama dengan saat ditulis
+    public static Isi baca(Path berkas) throws IOException {
+        if (berkas == null) {
+            throw new IllegalArgumentException("Berkas tidak boleh null");
+        }
+        try (FileChannel channel = FileChannel.open(berkas, StandardOpenOption.READ)) {
+            long ukuran = channel.size();
+            if (ukuran < HEADER) {
+                throw rusak("berkas lebih kecil dari header");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER);
+            CRC32C crc = new CRC32C();
+            crc.update(header.duplicate().limit(HEADER - 4));
+            if (header.getInt(0) != MAGIC || header.getInt(HEADER - 4) != (int) crc.getValue()) {
+                throw rusak("header tidak valid");
+            }
+            if (header.getInt(4) != VERSI) {
+                throw rusak("versi " + header.getInt(4) + " tidak didukung");
+            }
+            int jumlahProduk = header.getInt(8);
+            int jumlahBlok = header.getInt(12);
+            int jumlahKamus = header.getInt(16);
+            int jumlahKategori = header.getInt(20);
+            long offsetIndeks = header.getLong(24);
+            if (header.getLong(32) != ukuran) {
+                throw rusak("ukuran berkas " + ukuran + ", header mencatat " + header.getLong(32));
+            }
+            long akhirMeta = offsetIndeks + (long) jumlahBlok * ENTRI_INDEKS;
+            if (offsetIndeks < HEADER || akhirMeta > ukuran || akhirMeta - HEADER > Integer.MAX_VALUE) {
+                throw rusak("offset indeks di luar berkas");
+            }
+            ByteBuffer meta = channel.map(FileChannel.MapMode.READ_ONLY, HEADER, akhirMeta - HEADER);
+            crc.reset();
+            crc.update(meta.duplicate());
+            if (header.getInt(40) != (int) crc.getValue()) {
+                throw rusak("checksum kamus/kategori/indeks tidak cocok");
+            }
+            String[] kamus = new String[jumlahKamus];
+            for (int i = 0; i < jumlahKamus; i++) {
+                kamus[i] = bacaString(meta);
+            }
+            List<Kategori> kategori = new ArrayList<>(jumlahKategori);
+            for (int i = 0; i < jumlahKategori; i++) {
+                Kategori k = new Kategori(bacaString(meta), bacaString(meta), bacaString(meta));
+                k.setAktif(meta.get() == 1);
+                kategori.add(k);
+            }
+
+            Produk[] produk = new Produk[jumlahProduk];
+            int[] awalBlok = new int[jumlahBlok];
+            int basisIndeks = (int) (offsetIndeks - HEADER);
+            int total = 0;
+            for (int b = 0; b < jumlahBlok; b++) {
+                awalBlok[b] = total;
+                total += meta.getInt(basisIndeks + b * ENTRI_INDEKS + 12);
+            }
+            if (total != jumlahProduk) {
+                throw rusak("jumlah produk di indeks blok tidak cocok");
+            }
+            try {
+                IntStream.range(0, jumlahBlok).parallel().forEach(b -> {
+                    int entri = basisIndeks + b * ENTRI_INDEKS;
+                    dekodeBlok(channel, meta.getLong(entri), meta.getInt(entri + 8), meta.getInt(entri + 12),
+                            meta.getInt(entri + 16), ukuran, kamus, produk, awalBlok[b]);
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return new Isi(Arrays.asList(produk), kategori);
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw rusak("struktur data terpotong");
+        }
+    }
+
+    public static final class Isi {
+        private final List<Produk> produk;
+        private final List<Kategori> kategori;
+
+        Isi(List<Produk> produk, List<Kategori> kategori) {
+            this.produk = Collections.unmodifiableList(produk);
+            this.kategori = Collections.unmodifiableList(kategori);
+        }
+
+        public List<Produk> getProduk() { return produk; }
+        public List<Kategori> getKategori() { return kategori; }
+    }
+
+    private static ByteBuffer kodeBlok(Produk[] daftar, int[] idKategori, int awal, int akhir) {
+        Penulis penulis = new Penulis((akhir - awal) * 48);
+        for (int i = awal; i < akhir; i++) {
+            Produk p = daftar[i];
+            penulis.pastikan(TETAP_PRODUK);
+            penulis.buffer.putDouble(p.getHarga());
+            penulis.buffer.putInt(p.getStok());
+            penulis.buffer.putInt(p.getStokMinimum());
+            penulis.buffer.putInt(idKategori[i]);
+            penulis.buffer.put((byte) (p.isAktif() ? 1 : 0));
+            penulis.string(p.getKode());
+            penulis.string(p.getNama());
+        }
+        return penulis.buffer.flip();
+    }
+
+    private static void dekodeBlok(FileChannel channel, long offset, int panjang, int jumlah, int crcTersimpan,
+                                   long ukuran, String[] kamus, Produk[] tujuan, int awal) {
+        if (offset < HEADER || panjang < 0 || offset + panjang > ukuran || awal + jumlah > tujuan.length) {
+            throw new UncheckedIOException(rusak("blok produk di luar berkas"));
+        }
+        MappedByteBuffer peta;
+        try {
+            peta = channel.map(FileChannel.MapMode.READ_ONLY, offset, panjang);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(peta.duplicate());
+        if ((int) crc.getValue() != crcTersimpan) {
+            throw new UncheckedIOException(rusak("checksum blok produk di offset " + offset + " tidak cocok"));
+        }
+        for (int i = 0; i < jumlah; i++) {
+            double harga = peta.getDouble();
+            int stok = peta.getInt();
+            int stokMinimum = peta.getInt();
+            int idKategori = peta.getInt();
+            boolean aktif = peta.get() == 1;
+            String kode = bacaString(peta);
+            Produk produk = new Produk(kode, bacaString(peta), idKategori < 0 ? null : kamus[idKategori],
+                    harga, stok, stokMinimum);
+            produk.setAktif(aktif);
+            tujuan[awal + i] = produk;
+        }
+    }
+
+    private static void tulisPeta(FileChannel channel, long posisi, ByteBuffer isi) throws IOException {
+        if (!isi.hasRemaining()) {
+            return;
+        }
+        MappedByteBuffer peta = channel.map(FileChannel.MapMode.READ_WRITE, posisi, isi.remaining());
+        peta.put(isi.duplicate());
+        peta.force();
+    }
+
+    private static String bacaString(ByteBuffer buffer) {
+        int panjang = buffer.getInt();
+        if (panjang < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[panjang];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static IOException rusak(String alasan) {
+        return new IOException("Snapshot katalog rusak: " + alasan);
+    }
+
+    // ByteBuffer heap yang membesar sendiri
+    private static final class Penulis {
+        ByteBuffer buffer;
+
+        Penulis(int kapasitas) {
+            buffer = ByteBuffer.allocate(Math.max(64, kapasitas));
+        }
+
+        void pastikan(int perlu) {
+            if (buffer.remaining() < perlu) {
+                ByteBuffer baru = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + perlu));
+                baru.put(buffer.flip());
+                buffer = baru;
+            }
+        }
+
+        void string(String teks) {
+            if (teks == null) {
+                pastikan(4);
+                buffer.putInt(-1);
+                return;
+            }
+            byte[] bytes = teks.getBytes(StandardCharsets.UTF_8);
+            pastikan(4 + bytes.length);
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Snapshot copy-on-write atas map produk V (Produk mutable atau ProdukTetap):
+// hanya entri yang berubah setelah snapshot dibuat yang dicatat (nilai sebelum
+// perubahan pertama, dibekukan), sisanya dibaca dari map hidup di bawah lock per-key.
+// Biaya penulis O(entri yang berubah).
+final class SnapshotMemori<V> implements SnapshotProduk {
+    // Penanda kode yang belum ada saat snapshot dibuat
+    private static final Object TIDAK_ADA = new Object();
+
+    private final ConcurrentHashMap<String, V> produkMap;
+    private final ConcurrentSkipListSet<String> kodeTerurut;
+    private final RegistriSnapshot<V> registri;
+    // Salinan nilai lama; identitas bila V immutable
+    private final UnaryOperator<V> bekukan;
+    // Objek Produk baru untuk pemanggil
+    private final Function<? super V, Produk> keProduk;
+    private final ConcurrentNavigableMap<String, Object> sebelum = new ConcurrentSkipListMap<>();
+    private volatile boolean ditutup;
+
+    SnapshotMemori(ConcurrentHashMap<String, V> produkMap, ConcurrentSkipListSet<String> kodeTerurut,
+                   RegistriSnapshot<V> registri, UnaryOperator<V> bekukan, Function<? super V, Produk> keProduk) {
+        this.produkMap = produkMap;
+        this.kodeTerurut = kodeTerurut;
+        this.registri = registri;
+        this.bekukan = bekukan;
+        this.keProduk = keProduk;
+        registri.daftarkan(this);
+    }
+
+    // Snapshot untuk map Produk mutable: nilai lama dan hasil selalu disalin
+    static SnapshotMemori<Produk> untukProduk(ConcurrentHashMap<String, Produk> produkMap,
+                                              ConcurrentSkipListSet<String> kodeTerurut,
+                                              RegistriSnapshot<Produk> registri) {
+        return new SnapshotMemori<>(produkMap, kodeTerurut, registri, SnapshotMemori::salin, SnapshotMemori::salin);
+    }
+
+    // Dipanggil penulis di dalam lock per-key, sehingga cek lalu put tidak balapan
+    void catatSebelum(String kode, V lama) {
+        if (!sebelum.containsKey(kode)) {
+            sebelum.put(kode, lama == null ? TIDAK_ADA : bekukan.apply(lama));
+        }
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        pastikanTerbuka();
+        if (kode == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(baca(kode));
+    }
+
+    // Merge terurut antara iterator kode hidup dan nilai lama. Nilai lama dicari ulang
+    // tiap langkah setelah iterator maju: kode yang terlewat iterator karena dihapus
+    // sudah tercatat sebelum dihapus. posisi naik terus sehingga tidak ada duplikat.
+    @Override
+    public Stream<Produk> streamSemua() {
+        pastikanTerbuka();
+        Iterator<String> iteratorHidup = kodeTerurut.iterator();
+        Iterator<Produk> iterator = new Iterator<Produk>() {
+            private String posisi;
+            private String hidup;
+            private Produk berikut;
+
+            @Override
+            public boolean hasNext() {
+                while (berikut == null) {
+                    if (hidup == null && iteratorHidup.hasNext()) {
+                        hidup = iteratorHidup.next();
+                    }
+                    String lama = posisi == null ? sebelum.ceilingKey("") : sebelum.higherKey(posisi);
+                    String kode;
+                    if (lama == null || (hidup != null && hidup.compareTo(lama) <= 0)) {
+                        kode = hidup;
+                        hidup = null;
+                    } else {
+                        kode = lama;
+                    }
+                    if (kode == null) {
+                        return false;
+                    }
+                    pastikanTerbuka();
+                    posisi = kode;
+                    berikut = baca(kode);
+                }
+                return true;
+            }
+
+            @Override
+            public Produk next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Produk hasil = berikut;
+                berikut = null;
+                return hasil;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public void close() {
+        if (!ditutup) {
+            ditutup = true;
+            registri.lepaskan(this);
+            sebelum.clear();
+        }
+    }
+
+    int jumlahSalinan() {
+        return sebelum.size();
+    }
+
+    // Salinan nilai saat snapshot, null bila kode tidak ada saat itu
+    @SuppressWarnings("unchecked")
+    private Produk baca(String kode) {
+        Object tercatat = sebelum.get(kode);
+        if (tercatat == null) {
+            Produk[] hidup = {null};
+            produkMap.computeIfPresent(kode, (k, produk) -> {
+                // Dicek ulang di dalam lock: penulis mencatat nilai lama sebelum mengubah
+                if (!sebelum.containsKey(k)) {
+                    hidup[0] = keProduk.apply(produk);
+                }
+                return produk;
+            });
+            if (hidup[0] != null) {
+                return hidup[0];
+            }
+            // Kode baru saja diubah atau dihapus: nilai lamanya sudah tercatat
+            tercatat = sebelum.get(kode);
+        }
+        return tercatat == null || tercatat == TIDAK_ADA ? null : keProduk.apply((V) tercatat);
+    }
+
+    private void pastikanTerbuka() {
+        if (ditutup) {
+            throw new IllegalStateException("Snapshot sudah ditutup");
+        }
+    }
+
+    static Produk salin(Produk produk) {
+        Produk salinan = new Produk(produk.getKode(), produk.getNama(), produk.getKategori(),
+                produk.getHarga(), produk.getStok(), produk.getStokMinimum());
+        salinan.setAktif(produk.isAktif());
+        return salinan;
+    }
+}
@@ -0,0 +1,46 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.JumlahUang;
+import com.praktikum.whitebox.model.Produk;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Pandangan point-in-time katalog untuk laporan yang butuh state konsisten.
+// Produk yang dikembalikan adalah salinan dan tidak ikut berubah. Wajib ditutup
+// (try-with-resources): selama terbuka penulis menyimpan nilai lama untuknya.
+public interface SnapshotProduk extends AutoCloseable {
+    Optional<Produk> cariByKode(String kode);
+
+    // Terurut menurut kode
+    Stream<Produk> streamSemua();
+
+    default List<Produk> cariSemua() {
+        return streamSemua().collect(Collectors.toList());
+    }
+
+    default long hitungTotalStokAktif() {
+        return streamSemua().filter(Produk::isAktif).mapToLong(Produk::getStok).sum();
+    }
+
+    // Sama dengan RepositoryProduk: versi sen melempar ArithmeticException bila total tidak
+    // muat di long sen, versi double selalu menjawab
+    default long hitungTotalNilaiAktifSen() {
+        return jumlahNilaiAktif().totalSen();
+    }
+
+    default double hitungTotalNilaiAktif() {
+        return jumlahNilaiAktif().total();
+    }
+
+    private JumlahUang jumlahNilaiAktif() {
+        JumlahUang total = new JumlahUang();
+        streamSemua().filter(Produk::isAktif).forEach(produk -> total.tambah(produk.getHarga(), produk.getStok()));
+        return total;
+    }
+
+    @Override
+    void close();
+}
@@ -0,0 +1,41 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Snapshot berupa salinan penuh, untuk repository yang tidak mendukung copy-on-write
+final class SnapshotSalinan implements SnapshotProduk {
+    private final NavigableMap<String, Produk> produkPerKode;
+    private boolean ditutup;
+
+    SnapshotSalinan(NavigableMap<String, Produk> produkPerKode) {
+        this.produkPerKode = produkPerKode;
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        pastikanTerbuka();
+        Produk produk = kode == null ? null : produkPerKode.get(kode);
+        return produk == null ? Optional.empty() : Optional.of(SnapshotMemori.salin(produk));
+    }
+
+    @Override
+    public Stream<Produk> streamSemua() {
+        pastikanTerbuka();
+        return produkPerKode.values().stream().map(SnapshotMemori::salin);
+    }
+
+    @Override
+    public void close() {
+        ditutup = true;
+    }
+
+    private void pastikanTerbuka() {
+        if (ditutup) {
+            throw new IllegalStateException("Snapshot sudah ditutup");
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.Uang;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+// Aturan diskon yang sudah dikompilasi: tier kuantitas sebagai array terurut
+// (binary search) dan bonus tipe pelanggan sebagai tabel hash -> id -> bonus.
+// Immutable, sehingga aman ditukar secara atomik di KalkulatorDiskon.
+public final class AturanDiskon {
+    // Id 0 dipakai untuk tipe pelanggan yang tidak dikenal (tanpa bonus)
+    public static final int ID_PELANGGAN_LAIN = 0;
+
+    private final int[] ambangKuantitas;
+    private final double[] diskonKuantitas;
+    private final double[] bonusPelanggan;
+    private final Map<String, Integer> idPerTipe;
+    private final double maksimum;
+    // Salinan dalam basis poin untuk jalur harga fixed-point
+    private final int[] diskonKuantitasBp;
+    private final int[] bonusPelangganBp;
+    private final int maksimumBp;
+
+    public AturanDiskon(Map<Integer, Double> diskonPerKuantitas, Map<String, Double> bonusPerTipe,
+                        double maksimum) {
+        if (diskonPerKuantitas == null || bonusPerTipe == null) {
+            throw new IllegalArgumentException("Aturan diskon tidak boleh null");
+        }
+        if (!persentaseValid(maksimum)) {
+            throw new IllegalArgumentException("Diskon maksimum harus antara 0 dan 1");
+        }
+        for (Map.Entry<Integer, Double> tier : diskonPerKuantitas.entrySet()) {
+            if (tier.getKey() == null || tier.getKey() <= 0 || tier.getValue() == null
+                    || !persentaseValid(tier.getValue())) {
+                throw new IllegalArgumentException("Tier kuantitas tidak valid: " + tier);
+            }
+        }
+        TreeMap<Integer, Double> terurut = new TreeMap<>(diskonPerKuantitas);
+        ambangKuantitas = new int[terurut.size()];
+        diskonKuantitas = new double[terurut.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Double> tier : terurut.entrySet()) {
+            ambangKuantitas[i] = tier.getKey();
+            diskonKuantitas[i] = tier.getValue();
+            i++;
+        }
+        bonusPelanggan = new double[bonusPerTipe.size() + 1];
+        idPerTipe = new HashMap<>();
+        int id = ID_PELANGGAN_LAIN + 1;
+        for (Map.Entry<String, Double> bonus : bonusPerTipe.entrySet()) {
+            if (bonus.getKey() == null || bonus.getValue() == null || !persentaseValid(bonus.getValue())) {
+                throw new IllegalArgumentException("Bonus pelanggan tidak valid: " + bonus);
+            }
+            String tipe = bonus.getKey().toUpperCase(Locale.ROOT);
+            if (idPerTipe.putIfAbsent(tipe, id) != null) {
+                throw new IllegalArgumentException("Tipe pelanggan ganda: " + tipe);
+            }
+            bonusPelanggan[id] = bonus.getValue();
+            id++;
+        }
+        this.maksimum = maksimum;
+        diskonKuantitasBp = new int[diskonKuantitas.length];
+        for (int t = 0; t < diskonKuantitas.length; t++) {
+            diskonKuantitasBp[t] = Uang.keBasisPoin(diskonKuantitas[t]);
+        }
+        bonusPelangganBp = new int[bonusPelanggan.length];
+        for (int p = 0; p < bonusPelanggan.length; p++) {
+            bonusPelangganBp[p] = Uang.keBasisPoin(bonusPelanggan[p]);
+        }
+        maksimumBp = Uang.keBasisPoin(maksimum);
+    }
+
+    // Aturan yang sebelumnya tertanam di KalkulatorDiskon
+    public static AturanDiskon bawaan() {
+        Map<Integer, Double> kuantitas = new LinkedHashMap<>();
+        kuantitas.put(5, 0.05);
+        kuantitas.put(10, 0.10);
+        kuantitas.put(50, 0.15);
+        kuantitas.put(100, 0.20);
+        Map<String, Double> pelanggan = new LinkedHashMap<>();
+        pelanggan.put("PREMIUM", 0.10);
+        pelanggan.put("REGULER", 0.05);
+        pelanggan.put("BARU", 0.02);
+        return new AturanDiskon(kuantitas, pelanggan, 0.30);
+    }
+
+    // Format: kuantitas.<ambang>=<diskon>, pelanggan.<TIPE>=<bonus>, maksimum=<diskon>
+    public static AturanDiskon dariProperties(Properties properties) {
+        Map<Integer, Double> kuantitas = new HashMap<>();
+        Map<String, Double> pelanggan = new HashMap<>();
+        double maksimum = 1.0;
+        try {
+            for (String kunci : properties.stringPropertyNames()) {
+                double nilai = Double.parseDouble(properties.getProperty(kunci).trim());
+                if (kunci.startsWith("kuantitas.")) {
+                    kuantitas.put(Integer.parseInt(kunci.substring("kuantitas.".length()).trim()), nilai);
+                } else if (kunci.startsWith("pelanggan.")) {
+                    pelanggan.put(kunci.substring("pelanggan.".length()).trim(), nilai);
+                } else if (kunci.equals("maksimum")) {
+                    maksimum = nilai;
+                } else {
+                    throw new IllegalArgumentException("Kunci aturan diskon tidak dikenal: " + kunci);
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Format angka aturan diskon tidak valid", e);
+        }
+        return new AturanDiskon(kuantitas, pelanggan, maksimum);
+    }
+
+    public int idPelanggan(String tipe) {
+        if (tipe == null) {
+            return ID_PELANGGAN_LAIN;
+        }
+        // Jalur cepat untuk tipe yang sudah huruf besar, tanpa alokasi
+        Integer id = idPerTipe.get(tipe);
+        if (id == null) {
+            id = idPerTipe.get(tipe.toUpperCase(Locale.ROOT));
+        }
+        return id == null ? ID_PELANGGAN_LAIN : id;
+    }
+
+    public double diskonKuantitas(int kuantitas) {
+        int posisi = Arrays.binarySearch(ambangKuantitas, kuantitas);
+        if (posisi < 0) {
+            posisi = -posisi - 2;
+        }
+        return posisi < 0 ? 0.0 : diskonKuantitas[posisi];
+    }
+
+    public double bonusPelanggan(int idPelanggan) {
+        return idPelanggan > ID_PELANGGAN_LAIN && idPelanggan < bonusPelanggan.length
+                ? bonusPelanggan[idPelanggan]
+                : 0.0;
+    }
+
+    public double persentase(int kuantitas, int idPelanggan) {
+        double diskon = 0.0;
+        diskon += diskonKuantitas(kuantitas);
+        diskon += bonusPelanggan(idPelanggan);
+        return Math.min(diskon, maksimum);
+    }
+
+    public double persentase(int kuantitas, String tipePelanggan) {
+        return persentase(kuantitas, idPelanggan(tipePelanggan));
+    }
+
+    // Persentase diskon dalam basis poin (1% = 100), tanpa floating point
+    public int persentaseBasisPoin(int kuantitas, int idPelanggan) {
+        int posisi = Arrays.binarySearch(ambangKuantitas, kuantitas);
+        if (posisi < 0) {
+            posisi = -posisi - 2;
+        }
+        int diskon = posisi < 0 ? 0 : diskonKuantitasBp[posisi];
+        if (idPelanggan > ID_PELANGGAN_LAIN && idPelanggan < bonusPelangganBp.length) {
+            diskon += bonusPelangganBp[idPelanggan];
+        }
+        return Math.min(diskon, maksimumBp);
+    }
+
+    public int persentaseBasisPoin(int kuantitas, String tipePelanggan) {
+        return persentaseBasisPoin(kuantitas, idPelanggan(tipePelanggan));
+    }
+
+    // Kernel harga massal, input sudah divalidasi oleh KalkulatorDiskon.
+    // Tier dipilih dengan scan tanpa cabang (ternary -> cmov) alih-alih binary search;
+    // urutan operasi floating point sama dengan persentase() agar hasil identik.
+    void hitungMassal(double[] harga, int[] kuantitas, int[] idPelanggan,
+                      double[] diskonOut, double[] hargaBersihOut) {
+        int[] ambang = ambangKuantitas;
+        double[] tarif = diskonKuantitas;
+        for (int i = 0; i < harga.length; i++) {
+            int q = kuantitas[i];
+            double diskon = 0.0;
+            for (int t = 0; t < ambang.length; t++) {
+                diskon = q >= ambang[t] ? tarif[t] : diskon;
+            }
+            diskon += bonusPelanggan(idPelanggan[i]);
+            double persen = Math.min(diskon, maksimum);
+            double total = harga[i] * q;
+            double potongan = total * persen;
+            diskonOut[i] = potongan;
+            hargaBersihOut[i] = total - potongan;
+        }
+    }
+
+    public double getMaksimum() {
+        return maksimum;
+    }
+
+    private static boolean persentaseValid(double nilai) {
+        return nilai >= 0 && nilai <= 1;
+    }
+}
@@ -0,0 +1,279 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.HasilImpor;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Impor katalog massal dari CSV atau JSON Lines.
+// 1. Berkas dibagi menjadi potongan ~UKURAN_POTONGAN yang berakhir di '\n'.
+// 2. Tiap potongan dipetakan (MappedByteBuffer), di-parse dan divalidasi paralel
+//    di ForkJoinPool.commonPool.
+// 3. Hasil digabung berurutan: kode ganda di berkas ditolak (baris pertama menang).
+// 4. Sisanya disimpan sekali jalan lewat simpanSemuaJikaBelumAda; kode yang sudah
+//    ada di repository ditolak.
+public class ImporKatalog {
+    public enum Format {
+        CSV, JSON_LINES;
+
+        // .csv -> CSV, .jsonl/.ndjson/.json -> JSON_LINES
+        public static Format dariNamaBerkas(Path berkas) {
+            String nama = berkas.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (nama.endsWith(".csv")) {
+                return CSV;
+            }
+            if (nama.endsWith(".jsonl") || nama.endsWith(".ndjson") || nama.endsWith(".json")) {
+                return JSON_LINES;
+            }
+            throw new IllegalArgumentException("Format berkas tidak dikenal: " + berkas.getFileName());
+        }
+    }
+
+    public static final int BATAS_DETAIL_BAWAAN = 1000;
+    static final int UKURAN_POTONGAN = 8 * 1024 * 1024;
+
+    private final RepositoryProduk repositoryProduk;
+    private final int batasDetailDitolak;
+    private final int ukuranPotongan;
+
+    public ImporKatalog(RepositoryProduk repositoryProduk) {
+        this(repositoryProduk, BATAS_DETAIL_BAWAAN, UKURAN_POTONGAN);
+    }
+
+    public ImporKatalog(RepositoryProduk repositoryProduk, int batasDetailDitolak) {
+        this(repositoryProduk, batasDetailDitolak, UKURAN_POTONGAN);
+    }
+
+    // ukuranPotongan kecil hanya berguna untuk pengujian batas potongan
+    ImporKatalog(RepositoryProduk repositoryProduk, int batasDetailDitolak, int ukuranPotongan) {
+        if (repositoryProduk == null || batasDetailDitolak < 0 || ukuranPotongan <= 0) {
+            throw new IllegalArgumentException("Konfigurasi impor tidak valid");
+        }
+        this.repositoryProduk = repositoryProduk;
+        this.batasDetailDitolak = batasDetailDitolak;
+        this.ukuranPotongan = ukuranPotongan;
+    }
+
+    public HasilImpor impor(Path berkas) throws IOException {
+        return impor(berkas, Format.dariNamaBerkas(berkas));
+    }
+
+    public HasilImpor impor(Path berkas, Format format) throws IOException {
+        if (berkas == null || format == null) {
+            throw new IllegalArgumentException("Berkas dan format tidak boleh null");
+        }
+        List<Potongan> potongan;
+        try (FileChannel channel = FileChannel.open(berkas, StandardOpenOption.READ)) {
+            long[] batas = bagiPotongan(channel);
+            Function<String, Produk> parser = format == Format.CSV ? ParserBarisProduk::dariCsv : ParserBarisProduk::dariJson;
+            try {
+                potongan = IntStream.range(0, batas.length - 1)
+                        .parallel()
+                        .mapToObj(i -> parse(channel, batas[i], batas[i + 1], i == 0 && format == Format.CSV, parser))
+                        .collect(Collectors.toList());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        return simpan(potongan);
+    }
+
+    // Batas potongan: setiap batas (kecuali awal dan akhir berkas) tepat setelah '\n'
+    private long[] bagiPotongan(FileChannel channel) throws IOException {
+        long ukuran = channel.size();
+        List<Long> batas = new ArrayList<>();
+        batas.add(0L);
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long posisi = 0;
+        while (posisi + ukuranPotongan < ukuran) {
+            long cari = posisi + ukuranPotongan;
+            long akhir = -1;
+            while (akhir < 0 && cari < ukuran) {
+                buffer.clear();
+                int dibaca = channel.read(buffer, cari);
+                if (dibaca <= 0) {
+                    break;
+                }
+                for (int i = 0; i < dibaca; i++) {
+                    if (buffer.get(i) == '\n') {
+                        akhir = cari + i + 1;
+                        break;
+                    }
+                }
+                cari += dibaca;
+            }
+            if (akhir < 0 || akhir >= ukuran) {
+                break;
+            }
+            batas.add(akhir);
+            posisi = akhir;
+        }
+        batas.add(ukuran);
+        long[] hasil = new long[batas.size()];
+        for (int i = 0; i < hasil.length; i++) {
+            hasil[i] = batas.get(i);
+        }
+        return hasil;
+    }
+
+    private static Potongan parse(FileChannel channel, long awal, long akhir, boolean bolehHeader,
+                                  Function<String, Produk> parser) {
+        Potongan hasil = new Potongan();
+        if (akhir <= awal) {
+            return hasil;
+        }
+        MappedByteBuffer peta;
+        try {
+            peta = channel.map(FileChannel.MapMode.READ_ONLY, awal, akhir - awal);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int panjang = peta.limit();
+        byte[] baris = new byte[256];
+        int mulai = 0;
+        while (mulai < panjang) {
+            int selesai = mulai;
+            while (selesai < panjang && peta.get(selesai) != '\n') {
+                selesai++;
+            }
+            int n = selesai - mulai;
+            if (n > 0 && peta.get(selesai - 1) == '\r') {
+                n--;
+            }
+            if (baris.length < n) {
+                baris = new byte[Math.max(n, baris.length * 2)];
+            }
+            peta.get(mulai, baris, 0, n);
+            String teks = new String(baris, 0, n, StandardCharsets.UTF_8);
+            int nomor = hasil.jumlahBarisFisik++;
+            if (!teks.isBlank() && !(bolehHeader && nomor == 0 && ParserBarisProduk.isHeaderCsv(teks))) {
+                hasil.jumlahBaris++;
+                try {
+                    hasil.produk.add(parser.apply(teks));
+                    hasil.barisProduk.add(nomor);
+                } catch (IllegalArgumentException e) {
+                    hasil.ditolak.add(new BarisLokal(nomor, e.getMessage()));
+                }
+            }
+            mulai = selesai + 1;
+        }
+        return hasil;
+    }
+
+    private HasilImpor simpan(List<Potongan> daftarPotongan) {
+        int total = 0;
+        long jumlahBaris = 0;
+        for (Potongan potongan : daftarPotongan) {
+            total += potongan.produk.size();
+            jumlahBaris += potongan.jumlahBaris;
+        }
+        List<Produk> unik = new ArrayList<>(total);
+        long[] nomorUnik = new long[total];
+        Map<String, Long> barisPertama = new HashMap<>(Math.max(16, (int) (total / 0.75f) + 1));
+        Penolakan penolakan = new Penolakan(batasDetailDitolak);
+        long offset = 0;
+        for (Potongan potongan : daftarPotongan) {
+            // Penolakan parse dan duplikat digabung urut nomor baris dalam potongan
+            int t = 0;
+            for (int i = 0; i < potongan.produk.size(); i++) {
+                long nomor = offset + potongan.barisProduk.get(i) + 1;
+                while (t < potongan.ditolak.size() && potongan.ditolak.get(t).nomor < potongan.barisProduk.get(i)) {
+                    BarisLokal lokal = potongan.ditolak.get(t++);
+                    penolakan.tambah(offset + lokal.nomor + 1, lokal.alasan);
+                }
+                Produk produk = potongan.produk.get(i);
+                Long pertama = barisPertama.putIfAbsent(produk.getKode(), nomor);
+                if (pertama != null) {
+                    penolakan.tambah(nomor, "Kode " + produk.getKode() + " ganda, pertama di baris " + pertama);
+                } else {
+                    nomorUnik[unik.size()] = nomor;
+                    unik.add(produk);
+                }
+            }
+            while (t < potongan.ditolak.size()) {
+                BarisLokal lokal = potongan.ditolak.get(t++);
+                penolakan.tambah(offset + lokal.nomor + 1, lokal.alasan);
+            }
+            offset += potongan.jumlahBarisFisik;
+        }
+        boolean[] disimpan = repositoryProduk.simpanSemuaJikaBelumAda(unik);
+        long jumlahDiimpor = 0;
+        for (int i = 0; i < disimpan.length; i++) {
+            if (disimpan[i]) {
+                jumlahDiimpor++;
+            } else {
+                penolakan.tambahAkhir(nomorUnik[i], "Kode " + unik.get(i).getKode() + " sudah ada");
+            }
+        }
+        return new HasilImpor(jumlahBaris, jumlahDiimpor, penolakan.jumlah, penolakan.detail());
+    }
+
+    private static final class Potongan {
+        final List<Produk> produk = new ArrayList<>();
+        final List<Integer> barisProduk = new ArrayList<>();
+        final List<BarisLokal> ditolak = new ArrayList<>();
+        int jumlahBaris;
+        int jumlahBarisFisik;
+    }
+
+    private static final class BarisLokal {
+        final int nomor;
+        final String alasan;
+
+        BarisLokal(int nomor, String alasan) {
+            this.nomor = nomor;
+            this.alasan = alasan;
+        }
+    }
+
+    // Menghitung semua penolakan, menyimpan detail sampai batas
+    private static final class Penolakan {
+        private final int batas;
+        private final List<HasilImpor.BarisDitolak> detail = new ArrayList<>();
+        private final List<HasilImpor.BarisDitolak> detailAkhir = new ArrayList<>();
+        long jumlah;
+
+        Penolakan(int batas) {
+            this.batas = batas;
+        }
+
+        void tambah(long nomor, String alasan) {
+            jumlah++;
+            if (detail.size() < batas) {
+                detail.add(new HasilImpor.BarisDitolak(nomor, alasan));
+            }
+        }
+
+        // Penolakan dari repository, digabung ke detail urut nomor baris di detail()
+        void tambahAkhir(long nomor, String alasan) {
+            jumlah++;
+            if (detailAkhir.size() < batas) {
+                detailAkhir.add(new HasilImpor.BarisDitolak(nomor, alasan));
+            }
+        }
+
+        List<HasilImpor.BarisDitolak> detail() {
+            List<HasilImpor.BarisDitolak> semua = new ArrayList<>(detail.size() + detailAkhir.size());
+            semua.addAll(detail);
+            semua.addAll(detailAkhir);
+            semua.sort((a, b) -> Long.compare(a.getNomorBaris(), b.getNomorBaris()));
+            return semua.size() > batas ? new ArrayList<>(semua.subList(0, batas)) : semua;
+        }
+    }
+}
@@ -1,40 +1,73 @@
 package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.Uang;
 public class KalkulatorDiskon {
+    // Ditukar utuh lewat gantiAturan; perhitungan yang sedang berjalan tetap
+    // memakai aturan yang sudah dibacanya
+    private volatile AturanDiskon aturan;
+    public KalkulatorDiskon() {
+        this(AturanDiskon.bawaan());
+    }
+    public KalkulatorDiskon(AturanDiskon aturan) {
+        gantiAturan(aturan);
+    }
+    public void gantiAturan(AturanDiskon aturanBaru) {
+        if (aturanBaru == null) {
+            throw new IllegalArgumentException("Aturan diskon tidak boleh null");
+        }
+        this.aturan = aturanBaru;
+    }
+    public AturanDiskon getAturan() {
+        return aturan;
+    }
     public double hitungDiskon(double harga, int kuantitas, String
             tipePelanggan) {
         if (harga <= 0 || kuantitas <= 0) {
             throw new IllegalArgumentException("Harga dan kuantitas harus positif");
         }
-        double diskon = 0.0;
-
-// Diskon berdasarkan kuantitas
-        if (kuantitas >= 100) {
-            diskon += 0.20; // 20%
-        } else if (kuantitas >= 50) {
-            diskon += 0.15; // 15%
-        } else if (kuantitas >= 10) {
-            diskon += 0.10; // 10%
-        } else if (kuantitas >= 5) {
-            diskon += 0.05; // 5%
-        }
-// Diskon berdasarkan tipe pelanggan
-        if ("PREMIUM".equalsIgnoreCase(tipePelanggan)) {
-            diskon += 0.10; // 10% tambahan
-        } else if ("REGULER".equalsIgnoreCase(tipePelanggan)) {
-            diskon += 0.05; // 5% tambahan
-        } else if ("BARU".equalsIgnoreCase(tipePelanggan)) {
-            diskon += 0.02; // 2% tambahan
-        }
-// Maksimal diskon 30%
-        diskon = Math.min(diskon, 0.30);
+// Diskon kuantitas + tipe pelanggan, dibatasi maksimum (lihat AturanDiskon)
+        double diskon = aturan.persentase(kuantitas, tipePelanggan);
         return harga * kuantitas * diskon;
     }
+    // Jalur fixed-point: harga dan hasil dalam sen, diskon dibulatkan ke sen terdekat
+    public long hitungDiskonSen(long hargaSen, int kuantitas, String tipePelanggan) {
+        if (hargaSen <= 0 || kuantitas <= 0) {
+            throw new IllegalArgumentException("Harga dan kuantitas harus positif");
+        }
+        long total = Uang.kali(hargaSen, kuantitas);
+        return Uang.persen(total, aturan.persentaseBasisPoin(kuantitas, tipePelanggan));
+    }
+    public long hitungHargaSetelahDiskonSen(long hargaSen, int kuantitas, String tipePelanggan) {
+        long diskon = hitungDiskonSen(hargaSen, kuantitas, tipePelanggan);
+        return Uang.kurang(Uang.kali(hargaSen, kuantitas), diskon);
+    }
     public double hitungHargaSetelahDiskon(double harga, int kuantitas,
                                            String tipePelanggan) {
         double totalSebelumDiskon = harga * kuantitas;
         double diskon = hitungDiskon(harga, kuantitas, tipePelanggan);
         return totalSebelumDiskon - diskon;
     }
+    // Versi massal hitungDiskon/hitungHargaSetelahDiskon dengan array paralel.
+    // idPelanggan berasal dari getAturan().idPelanggan(tipe); seluruh batch memakai
+    // satu aturan yang sama. Hasil identik dengan perhitungan per baris.
+    public void hitungDiskonMassal(double[] harga, int[] kuantitas, int[] idPelanggan,
+                                   double[] diskonOut, double[] hargaBersihOut) {
+        if (harga == null || kuantitas == null || idPelanggan == null
+                || diskonOut == null || hargaBersihOut == null) {
+            throw new IllegalArgumentException("Array tidak boleh null");
+        }
+        int n = harga.length;
+        if (kuantitas.length != n || idPelanggan.length != n
+                || diskonOut.length < n || hargaBersihOut.length < n) {
+            throw new IllegalArgumentException("Panjang array tidak sama");
+        }
+        for (int i = 0; i < n; i++) {
+            if (harga[i] <= 0 || kuantitas[i] <= 0) {
+                throw new IllegalArgumentException("Harga dan kuantitas harus positif (baris " + i + ")");
+            }
+        }
+        aturan.hitungMassal(harga, kuantitas, idPelanggan, diskonOut, hargaBersihOut);
+    }
     public String getKategoriDiskon(double persentaseDiskon) {
         if (persentaseDiskon <= 0) {
             return "TANPA_DISKON";
@@ -0,0 +1,257 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.ValidationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Parser satu baris katalog menjadi Produk yang sudah tervalidasi.
+// Baris tidak valid dilaporkan dengan IllegalArgumentException berisi alasannya.
+final class ParserBarisProduk {
+    static final String[] KOLOM = {"kode", "nama", "kategori", "harga", "stok", "stokMinimum", "aktif"};
+    private static final int KOLOM_WAJIB = 6;
+
+    private ParserBarisProduk() {}
+
+    // kode,nama,kategori,harga,stok,stokMinimum[,aktif]; field boleh diapit "..." dengan "" sebagai kutip
+    static Produk dariCsv(String baris) {
+        List<String> field = pecahCsv(baris);
+        if (field.size() < KOLOM_WAJIB || field.size() > KOLOM.length) {
+            throw new IllegalArgumentException("Jumlah kolom harus 6 atau 7, ditemukan " + field.size());
+        }
+        return buat(field.toArray(new String[KOLOM.length]));
+    }
+
+    // Satu objek JSON datar per baris dengan kunci seperti KOLOM; kunci lain diabaikan
+    static Produk dariJson(String baris) {
+        String[] nilai = new String[KOLOM.length];
+        new PembacaJson(baris).bacaObjek(nilai);
+        return buat(nilai);
+    }
+
+    static boolean isHeaderCsv(String baris) {
+        return baris.regionMatches(true, 0, "kode,", 0, 5) || baris.regionMatches(true, 0, "\"kode\",", 0, 7);
+    }
+
+    private static Produk buat(String[] nilai) {
+        for (int i = 0; i < KOLOM_WAJIB; i++) {
+            if (nilai[i] == null) {
+                throw new IllegalArgumentException("Kolom " + KOLOM[i] + " tidak ada");
+            }
+        }
+        Produk produk = new Produk(nilai[0].trim(), nilai[1].trim(), nilai[2].trim(),
+                angkaDesimal(nilai[3], KOLOM[3]), angkaBulat(nilai[4], KOLOM[4]), angkaBulat(nilai[5], KOLOM[5]));
+        if (nilai[6] != null && !nilai[6].trim().isEmpty()) {
+            produk.setAktif(bool(nilai[6]));
+        }
+        validasi(produk);
+        return produk;
+    }
+
+    // Aturan sama dengan ValidationUtils.isValidProduk, dengan alasan per kolom
+    private static void validasi(Produk produk) {
+        if (!ValidationUtils.isValidKodeProduk(produk.getKode())) {
+            throw new IllegalArgumentException("Kode tidak valid: " + produk.getKode());
+        }
+        if (!ValidationUtils.isValidNama(produk.getNama())) {
+            throw new IllegalArgumentException("Nama tidak valid");
+        }
+        if (!ValidationUtils.isValidNama(produk.getKategori())) {
+            throw new IllegalArgumentException("Kategori tidak valid");
+        }
+        if (!ValidationUtils.isValidHarga(produk.getHarga())) {
+            throw new IllegalArgumentException("Harga harus positif");
+        }
+        if (!ValidationUtils.isValidStok(produk.getStok())
+                || !ValidationUtils.isValidStokMinimum(produk.getStokMinimum())) {
+            throw new IllegalArgumentException("Stok dan stok minimum tidak boleh negatif");
+        }
+    }
+
+    private static double angkaDesimal(String teks, String kolom) {
+        try {
+            double nilai = Double.parseDouble(teks.trim());
+            if (Double.isNaN(nilai) || Double.isInfinite(nilai)) {
+                throw new NumberFormatException();
+            }
+            return nilai;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Kolom " + kolom + " bukan angka: " + teks);
+        }
+    }
+
+    private static int angkaBulat(String teks, String kolom) {
+        try {
+            return Integer.parseInt(teks.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Kolom " + kolom + " bukan bilangan bulat: " + teks);
+        }
+    }
+
+    private static boolean bool(String teks) {
+        String nilai = teks.trim();
+        if (nilai.equalsIgnoreCase("true") || nilai.equals("1")) {
+            return true;
+        }
+        if (nilai.equalsIgnoreCase("false") || nilai.equals("0")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Kolom aktif harus true/false: " + teks);
+    }
+
+    private static List<String> pecahCsv(String baris) {
+        List<String> field = new ArrayList<>(KOLOM.length);
+        StringBuilder sb = new StringBuilder();
+        int i = 0;
+        int n = baris.length();
+        while (true) {
+            sb.setLength(0);
+            if (i < n && baris.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= n) {
+                        throw new IllegalArgumentException("Tanda kutip tidak ditutup");
+                    }
+                    char c = baris.charAt(i++);
+                    if (c == '"') {
+                        if (i < n && baris.charAt(i) == '"') {
+                            sb.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        sb.append(c);
+                    }
+                }
+                if (i < n && baris.charAt(i) != ',') {
+                    throw new IllegalArgumentException("Karakter setelah tanda kutip penutup");
+                }
+            } else {
+                while (i < n && baris.charAt(i) != ',') {
+                    sb.append(baris.charAt(i++));
+                }
+            }
+            field.add(sb.toString());
+            if (i >= n) {
+                return field;
+            }
+            i++;
+        }
+    }
+
+    // Pembaca JSON minimal untuk objek datar: nilai string, angka, boolean atau null
+    private static final class PembacaJson {
+        private final String teks;
+        private int posisi;
+
+        PembacaJson(String teks) {
+            this.teks = teks;
+        }
+
+        void bacaObjek(String[] nilai) {
+            harus('{');
+            if (lihat() == '}') {
+                posisi++;
+            } else {
+                do {
+                    String kunci = bacaString();
+                    harus(':');
+                    String isi = bacaNilai();
+                    for (int k = 0; k < KOLOM.length; k++) {
+                        if (KOLOM[k].equals(kunci)) {
+                            nilai[k] = isi;
+                        }
+                    }
+                } while (ambilJika(','));
+                harus('}');
+            }
+            if (lihat() != 0) {
+                throw new IllegalArgumentException("Teks setelah objek JSON");
+            }
+        }
+
+        private String bacaNilai() {
+            char c = lihat();
+            if (c == '"') {
+                return bacaString();
+            }
+            int awal = posisi;
+            while (posisi < teks.length() && ",}] \t".indexOf(teks.charAt(posisi)) < 0) {
+                posisi++;
+            }
+            String token = teks.substring(awal, posisi);
+            if (token.isEmpty()) {
+                throw new IllegalArgumentException("Nilai JSON tidak valid pada posisi " + awal);
+            }
+            return token.equals("null") ? null : token;
+        }
+
+        private String bacaString() {
+            harus('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                if (posisi >= teks.length()) {
+                    throw new IllegalArgumentException("String JSON tidak ditutup");
+                }
+                char c = teks.charAt(posisi++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (posisi >= teks.length()) {
+                    throw new IllegalArgumentException("Escape JSON tidak lengkap");
+                }
+                char e = teks.charAt(posisi++);
+                switch (e) {
+                    case '"': case '\\': case '/': sb.append(e); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'u':
+                        if (posisi + 4 > teks.length()) {
+                            throw new IllegalArgumentException("Escape \\u tidak lengkap");
+                        }
+                        try {
+                            sb.append((char) Integer.parseInt(teks.substring(posisi, posisi + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw new IllegalArgumentException("Escape \\u tidak valid");
+                        }
+                        posisi += 4;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Escape JSON tidak dikenal: \\" + e);
+                }
+            }
+        }
+
+        private void harus(char c) {
+            if (lihat() != c) {
+                throw new IllegalArgumentException("JSON tidak valid: diharapkan '" + c + "' pada posisi " + posisi);
+            }
+            posisi++;
+        }
+
+        private boolean ambilJika(char c) {
+            if (lihat() == c) {
+                posisi++;
+                return true;
+            }
+            return false;
+        }
+
+        // Karakter non-spasi berikutnya (0 bila habis), posisi diletakkan di karakter itu
+        private char lihat() {
+            while (posisi < teks.length() && Character.isWhitespace(teks.charAt(posisi))) {
+                posisi++;
+            }
+            return posisi < teks.length() ? teks.charAt(posisi) : 0;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.PerubahanStok;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+// Penerbit event stok in-process di atas ring buffer lock-free (gaya Disruptor):
+// produsen meng-klaim nomor urut dengan CAS, setiap pelanggan punya thread dan
+// kursor baca sendiri lalu menerima event secara batch. Slot baru boleh ditimpa
+// setelah dibaca semua pelanggan; bila penuh berlaku KebijakanPenuh.
+// Pasang ke repository lewat RepositoryProduk.setPendengarStok(penerbit::terbitkan).
+public class PenerbitStok implements AutoCloseable {
+    public enum KebijakanPenuh {
+        // Event dibuang dan dihitung; produsen tidak pernah menunggu
+        BUANG,
+        // Produsen menunggu sampai ada slot. Jangan dipakai bila pelanggan menulis
+        // balik ke repository secara sinkron: produsen menunggu di dalam lock per-key.
+        TUNGGU
+    }
+
+    private static final long JEDA_KOSONG_NANO = 50_000;
+
+    private final int mask;
+    private final KebijakanPenuh kebijakan;
+    private final AtomicReferenceArray<PerubahanStok> slot;
+    // Nomor urut event yang sedang menempati slot, ditulis terakhir (penanda terbit)
+    private final AtomicLongArray urutanSlot;
+    private final AtomicLong kursorKlaim = new AtomicLong();
+    private final List<Pelanggan> daftarPelanggan = new CopyOnWriteArrayList<>();
+    private final LongAdder jumlahDiterbitkan = new LongAdder();
+    private final LongAdder jumlahDibuang = new LongAdder();
+    private final LongAdder jumlahGagalKirim = new LongAdder();
+    private volatile boolean ditutup;
+
+    // kapasitas dibulatkan ke atas menjadi pangkat dua
+    public PenerbitStok(int kapasitas, KebijakanPenuh kebijakan) {
+        if (kapasitas <= 0 || kapasitas > 1 << 30 || kebijakan == null) {
+            throw new IllegalArgumentException("Kapasitas atau kebijakan penerbit tidak valid");
+        }
+        int ukuran = kapasitas == 1 ? 1 : Integer.highestOneBit(kapasitas - 1) << 1;
+        this.mask = ukuran - 1;
+        this.kebijakan = kebijakan;
+        this.slot = new AtomicReferenceArray<>(ukuran);
+        this.urutanSlot = new AtomicLongArray(ukuran);
+        for (int i = 0; i < ukuran; i++) {
+            urutanSlot.set(i, -1);
+        }
+    }
+
+    // Mengembalikan false bila event dibuang karena buffer penuh atau penerbit ditutup
+    public boolean terbitkan(PerubahanStok event) {
+        if (event == null) {
+            return false;
+        }
+        long urutan;
+        while (true) {
+            if (ditutup) {
+                jumlahDibuang.increment();
+                return false;
+            }
+            urutan = kursorKlaim.get();
+            if (urutan - bacaanTerlambat(urutan) > mask) {
+                if (kebijakan == KebijakanPenuh.BUANG) {
+                    jumlahDibuang.increment();
+                    return false;
+                }
+                // yield, bukan spin: pelanggan butuh CPU untuk mengosongkan buffer
+                Thread.yield();
+                continue;
+            }
+            if (kursorKlaim.compareAndSet(urutan, urutan + 1)) {
+                break;
+            }
+        }
+        int i = (int) (urutan & mask);
+        slot.set(i, event);
+        urutanSlot.set(i, urutan);
+        jumlahDiterbitkan.increment();
+        return true;
+    }
+
+    // Pelanggan menerima event yang diterbitkan setelah pendaftaran, maksimal
+    // ukuranBatch per panggilan, di thread miliknya sendiri. List tidak dipakai ulang.
+    public void berlangganan(String nama, int ukuranBatch, Consumer<List<PerubahanStok>> penerima) {
+        if (nama == null || penerima == null || ukuranBatch <= 0) {
+            throw new IllegalArgumentException("Pelanggan tidak valid");
+        }
+        if (ditutup) {
+            throw new IllegalStateException("Penerbit sudah ditutup");
+        }
+        // Didaftarkan dulu dengan kursor yang menahan slot (tidak melewati pelanggan
+        // lain), baru awal bacanya diambil dari kursorKlaim. Bila urutannya terbalik,
+        // produsen bisa memutari ring di antaranya dan slot awal sudah tertimpa.
+        Pelanggan pelanggan = new Pelanggan(ukuranBatch, penerima, bacaanTerlambat(kursorKlaim.get()));
+        Thread thread = new Thread(pelanggan, "pelanggan-stok-" + nama);
+        thread.setDaemon(true);
+        // thread diisi sebelum pelanggan terlihat oleh close()
+        pelanggan.thread = thread;
+        daftarPelanggan.add(pelanggan);
+        pelanggan.dibaca = kursorKlaim.get();
+        thread.start();
+    }
+
+    // Event yang sudah terbit tetap dikirim sebelum thread pelanggan berhenti. Bila
+    // thread pemanggil di-interrupt, berhenti menunggu dan status interrupt dipulihkan.
+    @Override
+    public void close() {
+        ditutup = true;
+        for (Pelanggan pelanggan : daftarPelanggan) {
+            LockSupport.unpark(pelanggan.thread);
+            try {
+                pelanggan.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public long getJumlahDiterbitkan() {
+        return jumlahDiterbitkan.sum();
+    }
+
+    public long getJumlahDibuang() {
+        return jumlahDibuang.sum();
+    }
+
+    public long getJumlahGagalKirim() {
+        return jumlahGagalKirim.sum();
+    }
+
+    // Jumlah event yang belum dibaca pelanggan paling lambat
+    public long getTertunda() {
+        long urutan = kursorKlaim.get();
+        return urutan - bacaanTerlambat(urutan);
+    }
+
+    public int getKapasitas() {
+        return mask + 1;
+    }
+
+    private long bacaanTerlambat(long batas) {
+        long minimum = batas;
+        for (Pelanggan pelanggan : daftarPelanggan) {
+            minimum = Math.min(minimum, pelanggan.dibaca);
+        }
+        return minimum;
+    }
+
+    private final class Pelanggan implements Runnable {
+        private final int ukuranBatch;
+        private final Consumer<List<PerubahanStok>> penerima;
+        // Nomor urut berikutnya yang akan dibaca; slot sebelum ini boleh ditimpa
+        private volatile long dibaca;
+        private volatile Thread thread;
+
+        Pelanggan(int ukuranBatch, Consumer<List<PerubahanStok>> penerima, long mulai) {
+            this.ukuranBatch = ukuranBatch;
+            this.penerima = penerima;
+            this.dibaca = mulai;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                long berikut = dibaca;
+                List<PerubahanStok> batch = new ArrayList<>(Math.min(ukuranBatch, 64));
+                while (batch.size() < ukuranBatch && urutanSlot.get((int) (berikut & mask)) == berikut) {
+                    batch.add(slot.get((int) (berikut & mask)));
+                    berikut++;
+                }
+                if (batch.isEmpty()) {
+                    // Berhenti hanya bila tidak ada klaim yang belum selesai diterbitkan
+                    if (ditutup && kursorKlaim.get() == berikut) {
+                        return;
+                    }
+                    LockSupport.parkNanos(JEDA_KOSONG_NANO);
+                    continue;
+                }
+                try {
+                    penerima.accept(batch);
+                } catch (RuntimeException e) {
+                    jumlahGagalKirim.increment();
+                } catch (Throwable e) {
+                    // Error: pelanggan dilepas agar kursornya tidak lagi menahan produsen
+                    // (TUNGGU), lalu diteruskan ke uncaught exception handler thread ini
+                    jumlahGagalKirim.increment();
+                    dibaca = berikut;
+                    daftarPelanggan.remove(this);
+                    throw e;
+                }
+                dibaca = berikut;
+            }
+        }
+    }
+}
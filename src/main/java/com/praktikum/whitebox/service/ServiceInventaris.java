@@ -1,12 +1,27 @@
 package com.praktikum.whitebox.service;
 
+import com.praktikum.whitebox.model.JumlahUang;
+import com.praktikum.whitebox.model.LaporanInventaris;
+import com.praktikum.whitebox.model.PergerakanStok;
 import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.ModeKategori;
 import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.repository.SnapshotProduk;
 import com.praktikum.whitebox.util.ValidationUtils;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class ServiceInventaris {
+    // Batas atas ukuran halaman agar memori per permintaan tetap terbatas
+    public static final int UKURAN_HALAMAN_MAKS = 1000;
+    // Batas percobaan compare-and-set per produk dalam satu batch
+    static final int PERCOBAAN_BATCH_MAKS = 16;
     private final RepositoryProduk repositoryProduk;
     public ServiceInventaris(RepositoryProduk repositoryProduk) {
         this.repositoryProduk = repositoryProduk;
@@ -15,27 +30,15 @@ public class ServiceInventaris {
         if (!ValidationUtils.isValidProduk(produk)) {
             return false;
         }
-// Cek apakah produk dengan kode yang sama sudah ada
-        Optional<Produk> produkExist =
-                repositoryProduk.cariByKode(produk.getKode());
-        if (produkExist.isPresent()) {
-            return false;
-        }
-        return repositoryProduk.simpan(produk);
+// Cek keberadaan kode dan simpan dilakukan atomik di repository
+        return repositoryProduk.simpanJikaBelumAda(produk);
     }
     public boolean hapusProduk(String kode) {
         if (!ValidationUtils.isValidKodeProduk(kode)) {
             return false;
         }
-        Optional<Produk> produk = repositoryProduk.cariByKode(kode);
-        if (!produk.isPresent()) {
-            return false;
-        }
-// Tidak bisa hapus produk yang masih ada stoknya
-        if (produk.get().getStok() > 0) {
-            return false;
-        }
-        return repositoryProduk.hapus(kode);
+// Tidak bisa hapus produk yang masih ada stoknya, dicek atomik saat menghapus
+        return repositoryProduk.hapusJika(kode, produk -> produk.getStok() <= 0);
     }
     public Optional<Produk> cariProdukByKode(String kode) {
         if (!ValidationUtils.isValidKodeProduk(kode)) {
@@ -49,41 +52,103 @@ public class ServiceInventaris {
     public List<Produk> cariProdukByKategori(String kategori) {
         return repositoryProduk.cariByKategori(kategori);
     }
+    public List<Produk> cariProdukByKategori(String kategori, ModeKategori mode) {
+        return repositoryProduk.cariByKategori(kategori, mode);
+    }
+    // Varian terbatas, batas dipotong ke UKURAN_HALAMAN_MAKS seperti getProdukHalaman
+    public List<Produk> cariProdukByNama(String nama, int batas) {
+        return repositoryProduk.cariByNama(nama, Math.min(batas, UKURAN_HALAMAN_MAKS));
+    }
+    public List<Produk> cariProdukByKategori(String kategori, ModeKategori mode, int batas) {
+        return repositoryProduk.cariByKategori(kategori, mode, Math.min(batas, UKURAN_HALAMAN_MAKS));
+    }
     public boolean updateStok(String kode, int stokBaru) {
         if (!ValidationUtils.isValidKodeProduk(kode) || stokBaru < 0) {
             return false;
         }
-        Optional<Produk> produk = repositoryProduk.cariByKode(kode);
-        if (!produk.isPresent()) {
-            return false;
-        }
+// Repository sudah menolak kode yang tidak ada, tanpa lookup terpisah
         return repositoryProduk.updateStok(kode, stokBaru);
     }
     public boolean keluarStok(String kode, int jumlah) {
         if (!ValidationUtils.isValidKodeProduk(kode) || jumlah <= 0) {
             return false;
         }
-        Optional<Produk> produkOpt = repositoryProduk.cariByKode(kode);
-        if (!produkOpt.isPresent() || !produkOpt.get().isAktif()) {
-            return false;
-        }
-        Produk produk = produkOpt.get();
-        if (produk.getStok() < jumlah) {
-            return false;
-        }
-        int stokBaru = produk.getStok() - jumlah;
-        return repositoryProduk.updateStok(kode, stokBaru);
+// Cek aktif, cek stok dan pengurangan dilakukan atomik di repository
+        return repositoryProduk.kurangiStok(kode, jumlah);
     }
     public boolean masukStok(String kode, int jumlah) {
         if (!ValidationUtils.isValidKodeProduk(kode) || jumlah <= 0) {
             return false;
         }
-        Optional<Produk> produk = repositoryProduk.cariByKode(kode);
-        if (!produk.isPresent() || !produk.get().isAktif()) {
-            return false;
+        return repositoryProduk.tambahStok(kode, jumlah);
+    }
+    // Hasil per baris sesuai urutan input. Baris untuk produk yang sama diterapkan
+    // berurutan lalu di-commit sekali sebagai perubahan bersih.
+    public List<Boolean> prosesBatchStok(List<PergerakanStok> daftarPergerakan) {
+        if (daftarPergerakan == null || daftarPergerakan.isEmpty()) {
+            return Collections.emptyList();
         }
-        int stokBaru = produk.get().getStok() + jumlah;
-        return repositoryProduk.updateStok(kode, stokBaru);
+        List<Boolean> hasil = new ArrayList<>(Collections.nCopies(daftarPergerakan.size(), Boolean.FALSE));
+        Map<String, List<Integer>> barisPerKode = new LinkedHashMap<>();
+        for (int i = 0; i < daftarPergerakan.size(); i++) {
+            PergerakanStok pergerakan = daftarPergerakan.get(i);
+            if (pergerakan == null || pergerakan.getTipe() == null || pergerakan.getJumlah() <= 0) {
+                continue;
+            }
+            barisPerKode.computeIfAbsent(pergerakan.getKode(), k -> new ArrayList<>()).add(i);
+        }
+        for (Map.Entry<String, List<Integer>> entry : barisPerKode.entrySet()) {
+// Validasi kode cukup sekali per produk
+            if (ValidationUtils.isValidKodeProduk(entry.getKey())) {
+                terapkanBatch(entry.getKey(), entry.getValue(), daftarPergerakan, hasil);
+            }
+        }
+        return hasil;
+    }
+    private void terapkanBatch(String kode, List<Integer> baris,
+                               List<PergerakanStok> daftarPergerakan, List<Boolean> hasil) {
+        boolean[] diterima = new boolean[baris.size()];
+        for (int percobaan = 0; ; percobaan++) {
+            if (percobaan == PERCOBAAN_BATCH_MAKS) {
+// Kontensi terus-menerus: semua baris produk ini ditolak daripada livelock
+                return;
+            }
+            if (percobaan > 0) {
+                Thread.yield();
+            }
+            Optional<Produk> produk = repositoryProduk.cariByKode(kode);
+            if (!produk.isPresent() || !produk.get().isAktif()) {
+                return;
+            }
+            int stokAwal = produk.get().getStok();
+            long stok = stokAwal;
+            for (int i = 0; i < baris.size(); i++) {
+                long stokBaru = stok + daftarPergerakan.get(baris.get(i)).getPerubahan();
+                diterima[i] = stokBaru >= 0 && stokBaru <= Integer.MAX_VALUE;
+                if (diterima[i]) {
+                    stok = stokBaru;
+                }
+            }
+// Ulangi bila stok diubah atau produk dinonaktifkan thread lain sejak dibaca. Perubahan
+// bersih nol tetap di-commit sebagai CAS agar baris tidak diterima atas bacaan basi.
+            if (repositoryProduk.updateStokJika(kode, stokAwal, (int) stok)) {
+                break;
+            }
+        }
+        for (int i = 0; i < baris.size(); i++) {
+            hasil.set(baris.get(i), diterima[i]);
+        }
+    }
+    // Untuk ekspor/pemrosesan seluruh katalog tanpa menyalinnya ke satu list
+    public Stream<Produk> streamSemuaProduk() {
+        return repositoryProduk.streamSemua();
+    }
+    // Paginasi kursor: kirim kode terakhir halaman sebelumnya sebagai setelahKode
+    public List<Produk> getProdukHalaman(String setelahKode, int ukuranHalaman) {
+        if (ukuranHalaman <= 0) {
+            return Collections.emptyList();
+        }
+        return repositoryProduk.cariHalaman(setelahKode, Math.min(ukuranHalaman, UKURAN_HALAMAN_MAKS));
     }
     public List<Produk> getProdukStokMenipis() {
         return repositoryProduk.cariProdukStokMenipis();
@@ -91,18 +156,51 @@ public class ServiceInventaris {
     public List<Produk> getProdukStokHabis() {
         return repositoryProduk.cariProdukStokHabis();
     }
+    public List<Produk> getProdukStokMenipis(int batas) {
+        return repositoryProduk.cariProdukStokMenipis(Math.min(batas, UKURAN_HALAMAN_MAKS));
+    }
+    public List<Produk> getProdukStokHabis(int batas) {
+        return repositoryProduk.cariProdukStokHabis(Math.min(batas, UKURAN_HALAMAN_MAKS));
+    }
+    // Tidak pernah melempar; perkiraan double bila total tidak muat di long sen
     public double hitungTotalNilaiInventaris() {
-        List<Produk> semuaProduk = repositoryProduk.cariSemua();
-        return semuaProduk.stream()
-                .filter(Produk::isAktif)
-                .mapToDouble(p -> p.getHarga() * p.getStok())
-                .sum();
+        return repositoryProduk.hitungTotalNilaiAktif();
     }
+    // ArithmeticException bila total tidak muat di long sen
+    public long hitungTotalNilaiInventarisSen() {
+        return repositoryProduk.hitungTotalNilaiAktifSen();
+    }
+    // ArithmeticException bila total melewati Integer.MAX_VALUE; pakai hitungTotalStokAktif
     public int hitungTotalStok() {
-        List<Produk> semuaProduk = repositoryProduk.cariSemua();
-        return semuaProduk.stream()
-                .filter(Produk::isAktif)
-                .mapToInt(Produk::getStok)
-                .sum();
+        return Math.toIntExact(repositoryProduk.hitungTotalStokAktif());
+    }
+    public long hitungTotalStokAktif() {
+        return repositoryProduk.hitungTotalStokAktif();
+    }
+    // Satu pass atas snapshot point-in-time: angka konsisten walau stok sedang diubah
+    public LaporanInventaris buatLaporan() {
+        long jumlahProduk = 0;
+        long totalStok = 0;
+        JumlahUang totalNilai = new JumlahUang();
+        long menipis = 0;
+        long habis = 0;
+        try (SnapshotProduk snapshot = repositoryProduk.ambilSnapshot()) {
+            Iterator<Produk> iterator = snapshot.streamSemua().iterator();
+            while (iterator.hasNext()) {
+                Produk produk = iterator.next();
+                jumlahProduk++;
+                if (produk.isAktif()) {
+                    totalStok += produk.getStok();
+                    totalNilai.tambah(produk.getHarga(), produk.getStok());
+                }
+                if (produk.isStokMenipis()) {
+                    menipis++;
+                }
+                if (produk.isStokHabis()) {
+                    habis++;
+                }
+            }
+        }
+        return new LaporanInventaris(jumlahProduk, totalStok, totalNilai, menipis, habis);
     }
 }
@@ -0,0 +1,111 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.LaporanInventaris;
+import com.praktikum.whitebox.model.PergerakanStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.ModeKategori;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.util.MetrikOperasi;
+import com.praktikum.whitebox.util.RegistriMetrik;
+import java.util.List;
+
+// ServiceInventaris yang mencatat metrik operasi panas dengan nama "service.<operasi>".
+// Opsional: pakai ServiceInventaris biasa bila metrik tidak dibutuhkan.
+public class ServiceInventarisMetrik extends ServiceInventaris {
+    private final MetrikOperasi tambahProduk;
+    private final MetrikOperasi hapusProduk;
+    private final MetrikOperasi cariProdukByNama;
+    private final MetrikOperasi cariProdukByKategori;
+    private final MetrikOperasi getProdukStokMenipis;
+    private final MetrikOperasi getProdukStokHabis;
+    private final MetrikOperasi updateStok;
+    private final MetrikOperasi keluarStok;
+    private final MetrikOperasi masukStok;
+    private final MetrikOperasi prosesBatchStok;
+    private final MetrikOperasi buatLaporan;
+
+    public ServiceInventarisMetrik(RepositoryProduk repositoryProduk, RegistriMetrik registri) {
+        super(repositoryProduk);
+        if (registri == null) {
+            throw new IllegalArgumentException("Registri metrik tidak boleh null");
+        }
+        tambahProduk = registri.operasi("service.tambahProduk");
+        hapusProduk = registri.operasi("service.hapusProduk");
+        cariProdukByNama = registri.operasi("service.cariProdukByNama");
+        cariProdukByKategori = registri.operasi("service.cariProdukByKategori");
+        getProdukStokMenipis = registri.operasi("service.getProdukStokMenipis");
+        getProdukStokHabis = registri.operasi("service.getProdukStokHabis");
+        updateStok = registri.operasi("service.updateStok");
+        keluarStok = registri.operasi("service.keluarStok");
+        masukStok = registri.operasi("service.masukStok");
+        prosesBatchStok = registri.operasi("service.prosesBatchStok");
+        buatLaporan = registri.operasi("service.buatLaporan");
+    }
+    @Override
+    public boolean tambahProduk(Produk produk) {
+        return tambahProduk.ukur(() -> super.tambahProduk(produk));
+    }
+    @Override
+    public boolean hapusProduk(String kode) {
+        return hapusProduk.ukur(() -> super.hapusProduk(kode));
+    }
+    @Override
+    public List<Produk> cariProdukByNama(String nama) {
+        return cariProdukByNama.ukur(() -> super.cariProdukByNama(nama), List::size);
+    }
+    @Override
+    public List<Produk> cariProdukByKategori(String kategori) {
+        return cariProdukByKategori.ukur(() -> super.cariProdukByKategori(kategori), List::size);
+    }
+    @Override
+    public List<Produk> cariProdukByKategori(String kategori, ModeKategori mode) {
+        return cariProdukByKategori.ukur(() -> super.cariProdukByKategori(kategori, mode), List::size);
+    }
+    // Varian terbatas dicatat di bawah nama yang sama dengan varian penuhnya
+    @Override
+    public List<Produk> cariProdukByNama(String nama, int batas) {
+        return cariProdukByNama.ukur(() -> super.cariProdukByNama(nama, batas), List::size);
+    }
+    @Override
+    public List<Produk> cariProdukByKategori(String kategori, ModeKategori mode, int batas) {
+        return cariProdukByKategori.ukur(() -> super.cariProdukByKategori(kategori, mode, batas), List::size);
+    }
+    @Override
+    public List<Produk> getProdukStokMenipis() {
+        return getProdukStokMenipis.ukur(super::getProdukStokMenipis, List::size);
+    }
+    @Override
+    public List<Produk> getProdukStokMenipis(int batas) {
+        return getProdukStokMenipis.ukur(() -> super.getProdukStokMenipis(batas), List::size);
+    }
+    @Override
+    public List<Produk> getProdukStokHabis() {
+        return getProdukStokHabis.ukur(super::getProdukStokHabis, List::size);
+    }
+    @Override
+    public List<Produk> getProdukStokHabis(int batas) {
+        return getProdukStokHabis.ukur(() -> super.getProdukStokHabis(batas), List::size);
+    }
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        return updateStok.ukur(() -> super.updateStok(kode, stokBaru));
+    }
+    @Override
+    public boolean keluarStok(String kode, int jumlah) {
+        return keluarStok.ukur(() -> super.keluarStok(kode, jumlah));
+    }
+    @Override
+    public boolean masukStok(String kode, int jumlah) {
+        return masukStok.ukur(() -> super.masukStok(kode, jumlah));
+    }
+    // Ukuran hasil = jumlah baris batch
+    @Override
+    public List<Boolean> prosesBatchStok(List<PergerakanStok> daftarPergerakan) {
+        return prosesBatchStok.ukur(() -> super.prosesBatchStok(daftarPergerakan), List::size);
+    }
+    // Ukuran hasil = jumlah produk dalam snapshot
+    @Override
+    public LaporanInventaris buatLaporan() {
+        return buatLaporan.ukur(super::buatLaporan, LaporanInventaris::getJumlahProduk);
+    }
+}
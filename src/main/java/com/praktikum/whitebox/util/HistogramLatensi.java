@@ -0,0 +1,114 @@
+package com.praktikum.whitebox.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Histogram latensi lock-free bergaya HDR: bucket log-linear dengan 16 sub-bucket
+// per pangkat dua (galat relatif <= 1/16), mencakup 0 hingga Long.MAX_VALUE nanodetik.
+// Pencatatan hanya berupa increment atomik pada satu slot array.
+public class HistogramLatensi {
+    private static final int BIT_PRESISI = 4;
+    private static final int SUB_BUCKET = 1 << BIT_PRESISI;
+    private static final int JUMLAH_BUCKET = SUB_BUCKET + (63 - BIT_PRESISI) * SUB_BUCKET;
+
+    private final AtomicLongArray jumlahPerBucket = new AtomicLongArray(JUMLAH_BUCKET);
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong maksimum = new AtomicLong();
+
+    public void catat(long nilai) {
+        long v = Math.max(0, nilai);
+        jumlahPerBucket.incrementAndGet(indeks(v));
+        total.add(v);
+        // CAS hanya bila nilai baru memang lebih besar
+        if (v > maksimum.get()) {
+            maksimum.accumulateAndGet(v, Math::max);
+        }
+    }
+
+    public Snapshot snapshot() {
+        long[] salinan = new long[JUMLAH_BUCKET];
+        long jumlah = 0;
+        for (int i = 0; i < JUMLAH_BUCKET; i++) {
+            salinan[i] = jumlahPerBucket.get(i);
+            jumlah += salinan[i];
+        }
+        return new Snapshot(salinan, jumlah, total.sum(), maksimum.get());
+    }
+
+    public void reset() {
+        for (int i = 0; i < JUMLAH_BUCKET; i++) {
+            jumlahPerBucket.set(i, 0);
+        }
+        total.reset();
+        maksimum.set(0);
+    }
+
+    static int indeks(long v) {
+        if (v < SUB_BUCKET) {
+            return (int) v;
+        }
+        int eksponen = 63 - Long.numberOfLeadingZeros(v);
+        int mantissa = (int) (v >>> (eksponen - BIT_PRESISI)) & (SUB_BUCKET - 1);
+        return SUB_BUCKET + (eksponen - BIT_PRESISI) * SUB_BUCKET + mantissa;
+    }
+
+    // Nilai terbesar yang masuk ke bucket ini
+    static long batasAtas(int indeks) {
+        if (indeks < SUB_BUCKET) {
+            return indeks;
+        }
+        int geser = (indeks - SUB_BUCKET) / SUB_BUCKET;
+        long mantissa = SUB_BUCKET + (indeks - SUB_BUCKET) % SUB_BUCKET;
+        return ((mantissa + 1) << geser) - 1;
+    }
+
+    // Salinan tetap; tidak dijamin atomik terhadap pencatatan yang berjalan bersamaan
+    public static final class Snapshot {
+        private final long[] jumlahPerBucket;
+        private final long jumlah;
+        private final long total;
+        private final long maksimum;
+
+        private Snapshot(long[] jumlahPerBucket, long jumlah, long total, long maksimum) {
+            this.jumlahPerBucket = jumlahPerBucket;
+            this.jumlah = jumlah;
+            this.total = total;
+            this.maksimum = maksimum;
+        }
+
+        public long getJumlah() { return jumlah; }
+        public long getMaksimum() { return maksimum; }
+        public double getRataRata() { return jumlah == 0 ? 0.0 : (double) total / jumlah; }
+
+        // persen dalam rentang 0..100, mis. 99.9 untuk p999
+        public long persentil(double persen) {
+            if (persen < 0 || persen > 100) {
+                throw new IllegalArgumentException("Persentil harus antara 0 dan 100");
+            }
+            if (jumlah == 0) {
+                return 0;
+            }
+            long target = Math.max(1, (long) Math.ceil(persen / 100 * jumlah));
+            long kumulatif = 0;
+            for (int i = 0; i < jumlahPerBucket.length; i++) {
+                kumulatif += jumlahPerBucket[i];
+                if (kumulatif >= target) {
+                    return Math.min(batasAtas(i), maksimum);
+                }
+            }
+            return maksimum;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                    "jumlah=" + jumlah +
+                    ", rataRata=" + getRataRata() +
+                    ", p50=" + persentil(50) +
+                    ", p99=" + persentil(99) +
+                    ", maks=" + maksimum +
+                    '}';
+        }
+    }
+}
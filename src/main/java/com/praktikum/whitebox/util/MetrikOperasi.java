@@ -0,0 +1,121 @@
+package com.praktikum.whitebox.util;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+// Metrik satu operasi: jumlah panggilan, gagal (exception), total ukuran hasil dan
+// histogram latensi dalam nanodetik. Dibuat lewat RegistriMetrik.
+public class MetrikOperasi {
+    private final String nama;
+    private final RegistriMetrik registri;
+    private final LongAdder jumlahPanggilan = new LongAdder();
+    private final LongAdder jumlahGagal = new LongAdder();
+    private final LongAdder totalUkuranHasil = new LongAdder();
+    private final HistogramLatensi latensi = new HistogramLatensi();
+
+    MetrikOperasi(String nama, RegistriMetrik registri) {
+        this.nama = nama;
+        this.registri = registri;
+    }
+
+    // Bila registri nonaktif, operasi langsung dijalankan tanpa pengukuran
+    public <T> T ukur(Supplier<T> operasi, ToLongFunction<? super T> ukuranHasil) {
+        if (!registri.isAktif()) {
+            return operasi.get();
+        }
+        long mulai = System.nanoTime();
+        T hasil;
+        try {
+            hasil = operasi.get();
+        } catch (RuntimeException | Error e) {
+            catatGagal(System.nanoTime() - mulai);
+            throw e;
+        }
+        catat(System.nanoTime() - mulai, hasil == null ? 0 : ukuranHasil.applyAsLong(hasil));
+        return hasil;
+    }
+
+    // Untuk operasi boolean, ukuran hasil = jumlah panggilan yang berhasil (true)
+    public boolean ukur(BooleanSupplier operasi) {
+        if (!registri.isAktif()) {
+            return operasi.getAsBoolean();
+        }
+        long mulai = System.nanoTime();
+        boolean hasil;
+        try {
+            hasil = operasi.getAsBoolean();
+        } catch (RuntimeException | Error e) {
+            catatGagal(System.nanoTime() - mulai);
+            throw e;
+        }
+        catat(System.nanoTime() - mulai, hasil ? 1 : 0);
+        return hasil;
+    }
+
+    public void catat(long durasiNano, long ukuranHasil) {
+        jumlahPanggilan.increment();
+        if (ukuranHasil != 0) {
+            totalUkuranHasil.add(ukuranHasil);
+        }
+        latensi.catat(durasiNano);
+    }
+
+    public void catatGagal(long durasiNano) {
+        jumlahPanggilan.increment();
+        jumlahGagal.increment();
+        latensi.catat(durasiNano);
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(nama, jumlahPanggilan.sum(), jumlahGagal.sum(), totalUkuranHasil.sum(),
+                latensi.snapshot());
+    }
+
+    void reset() {
+        jumlahPanggilan.reset();
+        jumlahGagal.reset();
+        totalUkuranHasil.reset();
+        latensi.reset();
+    }
+
+    public static final class Snapshot {
+        private final String nama;
+        private final long jumlahPanggilan;
+        private final long jumlahGagal;
+        private final long totalUkuranHasil;
+        private final HistogramLatensi.Snapshot latensi;
+
+        Snapshot(String nama, long jumlahPanggilan, long jumlahGagal, long totalUkuranHasil,
+                 HistogramLatensi.Snapshot latensi) {
+            this.nama = nama;
+            this.jumlahPanggilan = jumlahPanggilan;
+            this.jumlahGagal = jumlahGagal;
+            this.totalUkuranHasil = totalUkuranHasil;
+            this.latensi = latensi;
+        }
+
+        public String getNama() { return nama; }
+        public long getJumlahPanggilan() { return jumlahPanggilan; }
+        public long getJumlahGagal() { return jumlahGagal; }
+        public long getTotalUkuranHasil() { return totalUkuranHasil; }
+        public HistogramLatensi.Snapshot getLatensi() { return latensi; }
+
+        public double getRataRataUkuranHasil() {
+            long berhasil = jumlahPanggilan - jumlahGagal;
+            return berhasil == 0 ? 0.0 : (double) totalUkuranHasil / berhasil;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                    "nama='" + nama + '\'' +
+                    ", jumlahPanggilan=" + jumlahPanggilan +
+                    ", jumlahGagal=" + jumlahGagal +
+                    ", totalUkuranHasil=" + totalUkuranHasil +
+                    ", latensi=" + latensi +
+                    '}';
+        }
+    }
+}
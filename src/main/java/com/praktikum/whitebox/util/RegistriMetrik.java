@@ -0,0 +1,38 @@
+package com.praktikum.whitebox.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Kumpulan MetrikOperasi per nama. Pemanggil sebaiknya menyimpan MetrikOperasi
+// sekali saat inisialisasi agar jalur panas tidak melakukan lookup map.
+public class RegistriMetrik {
+    private final ConcurrentHashMap<String, MetrikOperasi> metrik = new ConcurrentHashMap<>();
+    private volatile boolean aktif = true;
+
+    public MetrikOperasi operasi(String nama) {
+        if (nama == null || nama.isEmpty()) {
+            throw new IllegalArgumentException("Nama operasi tidak boleh kosong");
+        }
+        return metrik.computeIfAbsent(nama, n -> new MetrikOperasi(n, this));
+    }
+
+    public boolean isAktif() {
+        return aktif;
+    }
+
+    public void setAktif(boolean aktif) {
+        this.aktif = aktif;
+    }
+
+    // Snapshot semua operasi, terurut menurut nama
+    public Map<String, MetrikOperasi.Snapshot> snapshot() {
+        Map<String, MetrikOperasi.Snapshot> hasil = new TreeMap<>();
+        metrik.forEach((nama, m) -> hasil.put(nama, m.snapshot()));
+        return hasil;
+    }
+
+    public void reset() {
+        metrik.values().forEach(MetrikOperasi::reset);
+    }
+}
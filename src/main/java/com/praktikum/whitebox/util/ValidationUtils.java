@@ -4,12 +4,30 @@ import com.praktikum.whitebox.model.Kategori;
 import com.praktikum.whitebox.model.Produk;
 public class ValidationUtils{
 
+    // Setara dengan kode.trim().matches("^[A-Za-z0-9]{3,10}$") tanpa regex dan alokasi
     public static boolean isValidKodeProduk(String kode) {
-        if (kode == null || kode.trim().isEmpty()) {
+        if (kode == null) {
             return false;
         }
-        String kodeBersih = kode.trim();
-        return kodeBersih.matches("^[A-Za-z0-9]{3,10}$");
+        int awal = 0;
+        int akhir = kode.length();
+        while (awal < akhir && kode.charAt(awal) <= ' ') {
+            awal++;
+        }
+        while (akhir > awal && kode.charAt(akhir - 1) <= ' ') {
+            akhir--;
+        }
+        int panjang = akhir - awal;
+        if (panjang < 3 || panjang > 10) {
+            return false;
+        }
+        for (int i = awal; i < akhir; i++) {
+            char c = kode.charAt(i);
+            if (!((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9'))) {
+                return false;
+            }
+        }
+        return true;
     }
 // Validasi nama (3-100 karakter, boleh huruf, angka, spasi)
 public static boolean isValidNama(String nama) {
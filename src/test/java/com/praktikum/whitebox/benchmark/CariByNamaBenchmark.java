@@ -0,0 +1,48 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryImplementation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Membandingkan cariByNama berbasis indeks trigram dengan scan linear lama
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CariByNamaBenchmark {
+
+    @Param({"10000", "100000"})
+    private int jumlahProduk;
+
+    @Param({"gaming mou", "headset pro 12"})
+    private String kataKunci;
+
+    private RepositoryImplementation repository;
+    private List<Produk> semuaProduk;
+
+    @Setup
+    public void setUp() {
+        repository = DataKatalog.repository(jumlahProduk);
+        semuaProduk = repository.cariSemua();
+    }
+
+    @Benchmark
+    public List<Produk> indeksTrigram() {
+        return repository.cariByNama(kataKunci);
+    }
+
+    @Benchmark
+    public List<Produk> scanLinear() {
+        String namaLower = kataKunci.toLowerCase();
+        List<Produk> result = new ArrayList<>();
+        for (Produk produk : semuaProduk) {
+            if (produk.getNama().toLowerCase().contains(namaLower)) {
+                result.add(produk);
+            }
+        }
+        return result;
+    }
+}
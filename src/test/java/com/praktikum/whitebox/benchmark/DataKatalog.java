@@ -0,0 +1,68 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryCache;
+import com.praktikum.whitebox.repository.RepositoryImplementation;
+import com.praktikum.whitebox.repository.RepositoryKolom;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.repository.RepositoryTetap;
+
+import java.time.Duration;
+
+// Data katalog sintetis yang deterministik untuk semua benchmark
+final class DataKatalog {
+    static final String[] KATA = {
+            "Laptop", "Gaming", "Mouse", "Keyboard", "Monitor", "Kabel",
+            "Printer", "Speaker", "Headset", "Kamera", "Wireless", "Pro"
+    };
+    static final String[] KATEGORI = {
+            "Elektronik", "Komputer", "Aksesoris", "Audio", "Kantor", "Fotografi", "Jaringan"
+    };
+
+    private static final int KODE_DASAR = 10_000_000;
+
+    private DataKatalog() {}
+
+    // Lebar tetap 9 karakter: selalu lolos ValidationUtils.isValidKodeProduk (3-10)
+    // dan urutan leksikografis sama dengan urutan i
+    static String kode(int i) {
+        return "P" + (KODE_DASAR + i);
+    }
+
+    static Produk produk(int i) {
+        String nama = KATA[i % KATA.length] + " " + KATA[(i / KATA.length) % KATA.length] + " " + i;
+        // Sekitar 10% stok menipis dan 1% stok habis
+        int stok = i % 100 == 0 ? 0 : (i % 10 == 0 ? 3 : 1000);
+        return new Produk(kode(i), nama, KATEGORI[i % KATEGORI.length], 1000 + (i % 500) * 250, stok, 5);
+    }
+
+    static RepositoryImplementation repository(int jumlahProduk) {
+        return isi(new RepositoryImplementation(), jumlahProduk);
+    }
+
+    // "memori" untuk RepositoryImplementation, "kolom" untuk RepositoryKolom,
+    // "cache" untuk RepositoryCache (10% katalog) di depan RepositoryKolom,
+    // "tetap" untuk RepositoryTetap
+    static RepositoryProduk repository(String implementasi, int jumlahProduk) {
+        if ("cache".equals(implementasi)) {
+            return new RepositoryCache(isi(new RepositoryKolom(), jumlahProduk),
+                    Math.max(1, jumlahProduk / 10), Duration.ofMinutes(5));
+        }
+        RepositoryProduk repository;
+        if ("kolom".equals(implementasi)) {
+            repository = new RepositoryKolom();
+        } else if ("tetap".equals(implementasi)) {
+            repository = new RepositoryTetap();
+        } else {
+            repository = new RepositoryImplementation();
+        }
+        return isi(repository, jumlahProduk);
+    }
+
+    private static <R extends RepositoryProduk> R isi(R repository, int jumlahProduk) {
+        for (int i = 0; i < jumlahProduk; i++) {
+            repository.simpan(produk(i));
+        }
+        return repository;
+    }
+}
@@ -0,0 +1,53 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.HasilImpor;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.service.ImporKatalog;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Impor CSV penuh ke repository kosong: parse + validasi paralel, dedupe, bulk insert
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ImporKatalogBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int jumlahProduk;
+
+    @Param({"memori", "kolom"})
+    private String implementasi;
+
+    private Path berkas;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        berkas = Files.createTempFile("katalog", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(berkas, StandardCharsets.UTF_8)) {
+            writer.write("kode,nama,kategori,harga,stok,stokMinimum,aktif\n");
+            for (int i = 0; i < jumlahProduk; i++) {
+                Produk p = DataKatalog.produk(i);
+                writer.write(p.getKode() + "," + p.getNama() + "," + p.getKategori() + "," + p.getHarga()
+                        + "," + p.getStok() + "," + p.getStokMinimum() + "," + p.isAktif() + "\n");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(berkas);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public long imporCsv() throws IOException {
+        HasilImpor hasil = new ImporKatalog(DataKatalog.repository(implementasi, 0)).impor(berkas);
+        return hasil.getJumlahDiimpor();
+    }
+}
@@ -0,0 +1,69 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.service.KalkulatorDiskon;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KalkulatorDiskonBenchmark {
+
+    @Param({"3", "60", "150"})
+    private int kuantitas;
+
+    @Param({"PREMIUM", "BARU", "UMUM"})
+    private String tipePelanggan;
+
+    private final KalkulatorDiskon kalkulator = new KalkulatorDiskon();
+
+    // Keranjang acak untuk membandingkan per baris dengan versi massal
+    private static final int JUMLAH_BARIS = 1000;
+    private static final String[] TIPE = {"PREMIUM", "REGULER", "BARU", "UMUM"};
+    private final double[] hargaBaris = new double[JUMLAH_BARIS];
+    private final int[] kuantitasBaris = new int[JUMLAH_BARIS];
+    private final String[] tipeBaris = new String[JUMLAH_BARIS];
+    private final int[] idBaris = new int[JUMLAH_BARIS];
+    private final double[] diskonBaris = new double[JUMLAH_BARIS];
+    private final double[] bersihBaris = new double[JUMLAH_BARIS];
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        for (int i = 0; i < JUMLAH_BARIS; i++) {
+            hargaBaris[i] = 1000 + random.nextInt(1_000_000);
+            kuantitasBaris[i] = 1 + random.nextInt(150);
+            tipeBaris[i] = TIPE[random.nextInt(TIPE.length)];
+            idBaris[i] = kalkulator.getAturan().idPelanggan(tipeBaris[i]);
+        }
+    }
+
+    @Benchmark
+    public double hitungDiskon() {
+        return kalkulator.hitungDiskon(125000, kuantitas, tipePelanggan);
+    }
+
+    @Benchmark
+    public double hitungHargaSetelahDiskon() {
+        return kalkulator.hitungHargaSetelahDiskon(125000, kuantitas, tipePelanggan);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JUMLAH_BARIS)
+    public double[] perBaris() {
+        for (int i = 0; i < JUMLAH_BARIS; i++) {
+            diskonBaris[i] = kalkulator.hitungDiskon(hargaBaris[i], kuantitasBaris[i], tipeBaris[i]);
+            bersihBaris[i] = kalkulator.hitungHargaSetelahDiskon(hargaBaris[i], kuantitasBaris[i], tipeBaris[i]);
+        }
+        return bersihBaris;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JUMLAH_BARIS)
+    public double[] massal() {
+        kalkulator.hitungDiskonMassal(hargaBaris, kuantitasBaris, idBaris, diskonBaris, bersihBaris);
+        return bersihBaris;
+    }
+}
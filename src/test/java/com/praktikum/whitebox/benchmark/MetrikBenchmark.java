@@ -0,0 +1,50 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryMetrik;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import com.praktikum.whitebox.service.ServiceInventarisMetrik;
+import com.praktikum.whitebox.util.RegistriMetrik;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Overhead instrumentasi: tanpa decorator, decorator aktif, dan decorator nonaktif
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class MetrikBenchmark {
+
+    @Param({"tanpa", "aktif", "nonaktif"})
+    private String metrik;
+
+    private ServiceInventaris service;
+    private String kode;
+
+    @Setup
+    public void setUp() {
+        RepositoryProduk repository = DataKatalog.repository(10_000);
+        if ("tanpa".equals(metrik)) {
+            service = new ServiceInventaris(repository);
+        } else {
+            RegistriMetrik registri = new RegistriMetrik();
+            registri.setAktif("aktif".equals(metrik));
+            service = new ServiceInventarisMetrik(new RepositoryMetrik(repository, registri), registri);
+        }
+        kode = DataKatalog.kode(1001);
+        service.updateStok(kode, 1_000_000_000);
+    }
+
+    @Benchmark
+    public boolean keluarMasukStok() {
+        return service.keluarStok(kode, 1) & service.masukStok(kode, 1);
+    }
+
+    @Benchmark
+    public List<Produk> cariProdukByNama() {
+        return service.cariProdukByNama("speaker kamera 1");
+    }
+}
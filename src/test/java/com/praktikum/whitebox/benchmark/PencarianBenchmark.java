@@ -0,0 +1,51 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.HasilPencarian;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryKolom;
+import com.praktikum.whitebox.repository.RepositoryPencarian;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Latensi pencarian full-text top-10 dan biaya pembaruan indeks per simpan.
+// Kueri: satu kata umum (~8% katalog), kategori (~14%), dua kata (AND), awalan, kata langka.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class PencarianBenchmark {
+
+    @Param({"1000000"})
+    private int jumlahProduk;
+
+    @Param({"laptop", "elektronik", "gaming mouse", "head", "kamera 123457"})
+    private String kueri;
+
+    private RepositoryPencarian repository;
+    private int posisi;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RepositoryKolom sumber = new RepositoryKolom();
+        for (int i = 0; i < jumlahProduk; i++) {
+            sumber.simpan(DataKatalog.produk(i));
+        }
+        repository = new RepositoryPencarian(sumber);
+    }
+
+    @Benchmark
+    public List<HasilPencarian> cariTop10() {
+        return repository.cari(kueri, 10);
+    }
+
+    // Simpan ulang dengan nama berganti: dokumen lama dimatikan, dokumen baru ditambahkan
+    @Benchmark
+    public boolean simpanUlang() {
+        posisi = (posisi + 1) % jumlahProduk;
+        Produk lain = DataKatalog.produk((posisi * 7) % jumlahProduk);
+        return repository.simpan(new Produk(DataKatalog.kode(posisi), lain.getNama(), lain.getKategori(),
+                lain.getHarga(), lain.getStok(), lain.getStokMinimum()));
+    }
+}
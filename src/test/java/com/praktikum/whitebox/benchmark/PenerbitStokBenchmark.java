@@ -0,0 +1,58 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.PerubahanStok;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.service.PenerbitStok;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Event per detik melalui ring buffer ke satu pelanggan batch, dan biaya hook
+// pendengar pada jalur stok repository. Jalankan dengan -t N untuk banyak produsen.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class PenerbitStokBenchmark {
+
+    @Param({"BUANG", "TUNGGU"})
+    private PenerbitStok.KebijakanPenuh kebijakan;
+
+    @Param({"1", "256"})
+    private int ukuranBatch;
+
+    private PenerbitStok penerbit;
+    private RepositoryProduk repository;
+    private final LongAdder diterima = new LongAdder();
+    private final PerubahanStok event = new PerubahanStok(DataKatalog.kode(1001), 10, 4, 5);
+    private String kode;
+
+    @Setup
+    public void setUp() {
+        penerbit = new PenerbitStok(1 << 14, kebijakan);
+        penerbit.berlangganan("benchmark", ukuranBatch, batch -> diterima.add(batch.size()));
+        repository = DataKatalog.repository(10_000);
+        kode = DataKatalog.kode(1001);
+        repository.updateStok(kode, 1_000_000_000);
+        repository.setPendengarStok(penerbit::terbitkan);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        penerbit.close();
+        System.out.printf("%n[penerbit] diterbitkan=%d dibuang=%d diterima=%d%n",
+                penerbit.getJumlahDiterbitkan(), penerbit.getJumlahDibuang(), diterima.sum());
+    }
+
+    @Benchmark
+    public boolean terbitkan() {
+        return penerbit.terbitkan(event);
+    }
+
+    // Dua event per panggilan
+    @Benchmark
+    public boolean keluarMasukStok() {
+        return repository.kurangiStok(kode, 1) & repository.tambahStok(kode, 1);
+    }
+}
@@ -0,0 +1,105 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.ModeKategori;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class RepositoryBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int jumlahProduk;
+
+    @Param({"memori", "kolom", "cache", "tetap"})
+    private String implementasi;
+
+    private RepositoryProduk repository;
+    private String[] kode;
+
+    @State(Scope.Thread)
+    public static class Urutan {
+        int posisi;
+    }
+
+    @Setup
+    public void setUp() {
+        repository = DataKatalog.repository(implementasi, jumlahProduk);
+        kode = new String[jumlahProduk];
+        for (int i = 0; i < jumlahProduk; i++) {
+            kode[i] = DataKatalog.kode(i);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Optional<Produk> cariByKode(Urutan urutan) {
+        urutan.posisi = (urutan.posisi + 1) % kode.length;
+        return repository.cariByKode(kode[urutan.posisi]);
+    }
+
+    @Benchmark
+    public List<Produk> cariByNama() {
+        return repository.cariByNama("speaker kamera 1");
+    }
+
+    @Benchmark
+    public List<Produk> cariByKategoriTepat() {
+        return repository.cariByKategori("Fotografi", ModeKategori.TEPAT);
+    }
+
+    @Benchmark
+    public List<Produk> cariByKategoriSubstring() {
+        return repository.cariByKategori("grafi");
+    }
+
+    @Benchmark
+    public List<Produk> cariProdukStokMenipis() {
+        return repository.cariProdukStokMenipis();
+    }
+
+    @Benchmark
+    public List<Produk> cariProdukStokHabis() {
+        return repository.cariProdukStokHabis();
+    }
+
+    // Query ad-hoc tanpa indeks, paralel di atas AMBANG_PARALEL_BAWAAN untuk "memori"
+    @Benchmark
+    public List<Produk> cariDengan() {
+        return repository.cariDengan(produk -> produk.getHarga() > 100000 && produk.getStok() < 5);
+    }
+
+    @Benchmark
+    public List<Produk> cariSemua() {
+        return repository.cariSemua();
+    }
+
+    // Dibandingkan dengan cariSemua: tanpa list salinan seukuran katalog
+    @Benchmark
+    public long streamSemua() {
+        return repository.streamSemua().mapToLong(Produk::getStok).sum();
+    }
+
+    @Benchmark
+    public List<Produk> cariHalaman(Urutan urutan) {
+        urutan.posisi = (urutan.posisi + 1) % kode.length;
+        return repository.cariHalaman(kode[urutan.posisi], 100);
+    }
+
+    @Benchmark
+    public long hitungTotalStokAktif() {
+        return repository.hitungTotalStokAktif();
+    }
+
+    @Benchmark
+    public double hitungTotalNilaiAktif() {
+        return repository.hitungTotalNilaiAktif();
+    }
+}
@@ -0,0 +1,56 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.repository.RepositoryPersisten;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Waktu start (putar ulang log) dan biaya tulis stok tanpa fsync per panggilan
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class RepositoryPersistenBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int jumlahProduk;
+
+    private Path berkas;
+    private RepositoryPersisten repository;
+    private int posisi;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        berkas = Files.createTempFile("produk", ".log");
+        try (RepositoryPersisten awal = new RepositoryPersisten(berkas)) {
+            for (int i = 0; i < jumlahProduk; i++) {
+                awal.simpan(DataKatalog.produk(i));
+            }
+        }
+        repository = new RepositoryPersisten(berkas);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.close();
+        Files.deleteIfExists(berkas);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public int bukaUlang() throws IOException {
+        try (RepositoryPersisten dibuka = new RepositoryPersisten(berkas)) {
+            return dibuka.cariSemua().size();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean updateStok() {
+        posisi = (posisi + 1) % jumlahProduk;
+        return repository.updateStok(DataKatalog.kode(posisi), posisi % 1000);
+    }
+}
@@ -0,0 +1,108 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.PergerakanStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ServiceInventarisBenchmark {
+
+    // Sedikit produk "laris" agar thread saling berebut key yang sama
+    private static final int PRODUK_LARIS = 16;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int jumlahProduk;
+
+    private RepositoryProduk repository;
+    private ServiceInventaris service;
+    private String[] kodeLaris;
+    private List<PergerakanStok> batch;
+
+    @State(Scope.Thread)
+    public static class Urutan {
+        int posisi;
+    }
+
+    @Setup
+    public void setUp() {
+        repository = DataKatalog.repository(jumlahProduk);
+        service = new ServiceInventaris(repository);
+        kodeLaris = new String[PRODUK_LARIS];
+        for (int i = 0; i < PRODUK_LARIS; i++) {
+            // Kode ganjil selalu berstok aman, lihat DataKatalog
+            kodeLaris[i] = DataKatalog.kode(101 + i * 2);
+            // Gagal cepat: kode yang ditolak validasi hanya akan mengukur jalur penolakan
+            if (!service.updateStok(kodeLaris[i], 1_000_000)) {
+                throw new IllegalStateException("Kode laris ditolak: " + kodeLaris[i]);
+            }
+        }
+        batch = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String kode = DataKatalog.kode((i * 7919) % jumlahProduk);
+            batch.add(i % 2 == 0 ? PergerakanStok.masuk(kode, 3) : PergerakanStok.keluar(kode, 3));
+        }
+    }
+
+    @Benchmark
+    @Group("kontensiStok")
+    @GroupThreads(4)
+    public boolean keluarStok(Urutan urutan) {
+        urutan.posisi = (urutan.posisi + 1) % PRODUK_LARIS;
+        return service.keluarStok(kodeLaris[urutan.posisi], 1);
+    }
+
+    @Benchmark
+    @Group("kontensiStok")
+    @GroupThreads(4)
+    public boolean masukStok(Urutan urutan) {
+        urutan.posisi = (urutan.posisi + 1) % PRODUK_LARIS;
+        return service.masukStok(kodeLaris[urutan.posisi], 1);
+    }
+
+    @Benchmark
+    public boolean updateStok(Urutan urutan) {
+        urutan.posisi = (urutan.posisi + 1) % PRODUK_LARIS;
+        return service.updateStok(kodeLaris[urutan.posisi], 1_000_000);
+    }
+
+    // Pembanding jalur lama ServiceInventaris.updateStok: cariByKode lalu updateStok
+    @Benchmark
+    public boolean updateStokDuaLookup(Urutan urutan) {
+        urutan.posisi = (urutan.posisi + 1) % PRODUK_LARIS;
+        String kode = kodeLaris[urutan.posisi];
+        return repository.cariByKode(kode).isPresent() && repository.updateStok(kode, 1_000_000);
+    }
+
+    @Benchmark
+    public boolean tambahProdukSudahAda(Urutan urutan) {
+        urutan.posisi = (urutan.posisi + 1) % PRODUK_LARIS;
+        return service.tambahProduk(DataKatalog.produk(101 + urutan.posisi * 2));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Boolean> prosesBatchStok() {
+        return service.prosesBatchStok(batch);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double hitungTotalNilaiInventaris() {
+        return service.hitungTotalNilaiInventaris();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int hitungTotalStok() {
+        return service.hitungTotalStok();
+    }
+}
@@ -0,0 +1,63 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.LaporanInventaris;
+import com.praktikum.whitebox.repository.RepositoryImplementation;
+import com.praktikum.whitebox.repository.SnapshotProduk;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Biaya snapshot MVCC: tulis stok tanpa snapshot vs dengan snapshot terbuka
+// (penulis mencatat nilai lama sekali per produk), dan laporan dari snapshot
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class SnapshotBenchmark {
+
+    @Param({"tanpa", "terbuka"})
+    private String snapshot;
+
+    private RepositoryImplementation repository;
+    private ServiceInventaris service;
+    private SnapshotProduk terbuka;
+    private String kode;
+
+    @Setup
+    public void setUp() {
+        repository = DataKatalog.repository(100_000);
+        service = new ServiceInventaris(repository);
+        kode = DataKatalog.kode(1001);
+        repository.updateStok(kode, 1_000_000_000);
+        if ("terbuka".equals(snapshot)) {
+            terbuka = repository.ambilSnapshot();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (terbuka != null) {
+            terbuka.close();
+        }
+    }
+
+    @Benchmark
+    public boolean keluarMasukStok() {
+        return repository.kurangiStok(kode, 1) & repository.tambahStok(kode, 1);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public LaporanInventaris buatLaporan() {
+        return service.buatLaporan();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long ambilSnapshot() {
+        try (SnapshotProduk baru = repository.ambilSnapshot()) {
+            return baru.cariByKode(kode).get().getStok();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.repository.SnapshotKatalogBiner;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Ekspor snapshot biner dari repository terisi, baca (dekode saja) dan muat ke repository kosong
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class SnapshotKatalogBinerBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int jumlahProduk;
+
+    @Param({"memori", "kolom"})
+    private String implementasi;
+
+    private RepositoryProduk repository;
+    private Path berkas;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        repository = DataKatalog.repository(implementasi, jumlahProduk);
+        berkas = Files.createTempFile("katalog", ".snap");
+        SnapshotKatalogBiner.tulis(berkas, repository, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(berkas);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public long tulis() throws IOException {
+        return SnapshotKatalogBiner.tulis(berkas, repository, null);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public int baca() throws IOException {
+        return SnapshotKatalogBiner.baca(berkas).getProduk().size();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public long muat() throws IOException {
+        return SnapshotKatalogBiner.muat(berkas, DataKatalog.repository(implementasi, 0), null);
+    }
+}
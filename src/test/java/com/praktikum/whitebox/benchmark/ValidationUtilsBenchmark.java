@@ -0,0 +1,42 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.ValidationUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidationUtilsBenchmark {
+
+    @Param({"PROD001", "  PROD001  ", "PROD-001"})
+    private String kode;
+
+    private Produk produk;
+
+    @Setup
+    public void setUp() {
+        produk = new Produk(kode, "Laptop Gaming", "Elektronik", 15000000, 10, 5);
+    }
+
+    @Benchmark
+    public boolean isValidKodeProduk() {
+        return ValidationUtils.isValidKodeProduk(kode);
+    }
+
+    // Implementasi regex lama sebagai pembanding
+    @Benchmark
+    public boolean isValidKodeProdukRegex() {
+        if (kode == null || kode.trim().isEmpty()) {
+            return false;
+        }
+        return kode.trim().matches("^[A-Za-z0-9]{3,10}$");
+    }
+
+    @Benchmark
+    public boolean isValidProduk() {
+        return ValidationUtils.isValidProduk(produk);
+    }
+}
@@ -0,0 +1,84 @@
+package com.praktikum.whitebox.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Class JumlahUang")
+public class JumlahUangTest {
+
+    @Test
+    @DisplayName("Test total tepat dalam sen dan bisa dibatalkan")
+    void testTotalTepat() {
+        JumlahUang jumlah = new JumlahUang();
+        jumlah.tambah(0.1, 3);
+        jumlah.tambah(12500000.25, 4);
+        jumlah.tambah(99.99, 0);
+        assertTrue(jumlah.muatDiLong());
+        assertEquals(30 + 5000000100L, jumlah.totalSen());
+        assertEquals(50000001.3, jumlah.total(), 1e-6);
+
+        jumlah.kurangi(12500000.25, 4);
+        assertEquals(30, jumlah.totalSen());
+        jumlah.kurangi(0.1, 3);
+        assertEquals(0, jumlah.totalSen());
+    }
+
+    @Test
+    @DisplayName("Test nilai negatif")
+    void testNilaiNegatif() {
+        JumlahUang jumlah = new JumlahUang();
+        jumlah.tambah(-3.5, 2);
+        jumlah.tambah(1, 1);
+        assertEquals(-600, jumlah.totalSen());
+        assertEquals(-6.0, jumlah.total(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Test overflow tidak melempar saat menambah, hanya saat totalSen dibaca")
+    void testOverflowDiSisiPembaca() {
+        JumlahUang jumlah = new JumlahUang();
+        // Satu suku 1e19 sen sudah melebihi long
+        jumlah.tambah(1e9, 100_000_000);
+        assertFalse(jumlah.muatDiLong());
+        assertThrows(ArithmeticException.class, jumlah::totalSen);
+        assertEquals(1e17, jumlah.total(), 1e3);
+
+        // Banyak suku yang masing-masing muat tetapi jumlahnya tidak
+        JumlahUang banyak = new JumlahUang();
+        for (int i = 0; i < 10; i++) {
+            banyak.tambah(1e7, 1_000_000_000);
+        }
+        assertFalse(banyak.muatDiLong());
+        assertEquals(1e17, banyak.total(), 1e3);
+        for (int i = 0; i < 9; i++) {
+            banyak.kurangi(1e7, 1_000_000_000);
+        }
+        assertEquals(1_000_000_000_000_000_000L, banyak.totalSen());
+
+        // Di sekitar batas long: 2^62 muat, 2^63 tidak, -2^63 muat
+        double harga = Uang.keDouble(1L << 40);
+        JumlahUang batas = new JumlahUang();
+        batas.tambah(harga, 1L << 22);
+        assertEquals(1L << 62, batas.totalSen());
+        batas.tambah(harga, 1L << 22);
+        assertFalse(batas.muatDiLong());
+        JumlahUang minimum = new JumlahUang();
+        minimum.tambah(-harga, 1L << 23);
+        assertEquals(Long.MIN_VALUE, minimum.totalSen());
+    }
+
+    @Test
+    @DisplayName("Test harga yang tidak muat di sen")
+    void testHargaTidakTerwakili() {
+        JumlahUang jumlah = new JumlahUang();
+        jumlah.tambah(1e17, 2);
+        jumlah.tambah(1, 1);
+        assertFalse(jumlah.muatDiLong());
+        assertThrows(ArithmeticException.class, jumlah::totalSen);
+        assertEquals(2e17, jumlah.total(), 1e3);
+        jumlah.kurangi(1e17, 2);
+        assertEquals(100, jumlah.totalSen());
+    }
+}
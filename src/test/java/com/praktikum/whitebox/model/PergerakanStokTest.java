@@ -0,0 +1,36 @@
+package com.praktikum.whitebox.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Class PergerakanStok")
+public class PergerakanStokTest {
+
+    @Test
+    @DisplayName("Test factory masuk")
+    void testMasuk() {
+        PergerakanStok pergerakan = PergerakanStok.masuk("PROD001", 5);
+        assertEquals("PROD001", pergerakan.getKode());
+        assertEquals(PergerakanStok.Tipe.MASUK, pergerakan.getTipe());
+        assertEquals(5, pergerakan.getJumlah());
+        assertEquals(5, pergerakan.getPerubahan());
+    }
+
+    @Test
+    @DisplayName("Test factory keluar")
+    void testKeluar() {
+        PergerakanStok pergerakan = PergerakanStok.keluar("PROD001", 3);
+        assertEquals(PergerakanStok.Tipe.KELUAR, pergerakan.getTipe());
+        assertEquals(-3, pergerakan.getPerubahan());
+    }
+
+    @Test
+    @DisplayName("Test toString")
+    void testToString() {
+        String hasil = PergerakanStok.keluar("PROD001", 3).toString();
+        assertTrue(hasil.contains("kode='PROD001'"));
+        assertTrue(hasil.contains("tipe=KELUAR"));
+        assertTrue(hasil.contains("jumlah=3"));
+    }
+}
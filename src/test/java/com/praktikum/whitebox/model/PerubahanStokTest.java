@@ -0,0 +1,40 @@
+package com.praktikum.whitebox.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Perubahan Stok & Status Stok")
+public class PerubahanStokTest {
+
+    @Test
+    @DisplayName("Status stok sama dengan predikat di Produk")
+    void statusSesuaiProduk() {
+        Produk produk = new Produk("PROD001", "Laptop", "Elektronik", 1000.0, 0, 5);
+        for (int stok = 0; stok <= 10; stok++) {
+            produk.setStok(stok);
+            StatusStok status = StatusStok.dari(stok, 5);
+            assertEquals(produk.isStokHabis(), status == StatusStok.HABIS);
+            assertEquals(produk.isStokMenipis(), status == StatusStok.MENIPIS);
+        }
+        assertEquals(StatusStok.AMAN, StatusStok.dari(6, 5));
+    }
+
+    @Test
+    @DisplayName("Lintas ambang hanya bila status berubah")
+    void lintasAmbang() {
+        PerubahanStok tetapAman = new PerubahanStok("PROD001", 20, 10, 5);
+        assertFalse(tetapAman.isLintasAmbang());
+        assertEquals(StatusStok.AMAN, tetapAman.getStatusBaru());
+
+        PerubahanStok menipis = new PerubahanStok("PROD001", 10, 5, 5);
+        assertTrue(menipis.isLintasAmbang());
+        assertEquals(StatusStok.AMAN, menipis.getStatusLama());
+        assertEquals(StatusStok.MENIPIS, menipis.getStatusBaru());
+
+        PerubahanStok habis = new PerubahanStok("PROD001", 3, 0, 5);
+        assertEquals(StatusStok.HABIS, habis.getStatusBaru());
+        assertTrue(habis.toString().contains("MENIPIS->HABIS"));
+    }
+}
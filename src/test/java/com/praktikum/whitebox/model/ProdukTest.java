@@ -175,6 +175,16 @@ public class ProdukTest {
         assertEquals("Jumlah harus positif", exception.getMessage());
     }
     @Test
+    @DisplayName("Test hitung total harga dalam sen")
+    void testHitungTotalHargaSen() {
+        Produk murah = new Produk("PROD009", "Permen", "Makanan", 0.1, 10, 1);
+        assertEquals(30L, murah.hitungTotalHargaSen(3));
+        assertEquals(4500000000L, produk.hitungTotalHargaSen(3));
+        assertThrows(IllegalArgumentException.class, () -> produk.hitungTotalHargaSen(0));
+        Produk mahal = new Produk("PROD010", "Pesawat", "Kendaraan", 9e15, 1, 0);
+        assertThrows(ArithmeticException.class, () -> mahal.hitungTotalHargaSen(100));
+    }
+    @Test
     @DisplayName("Test equals dan hashCode")
     void testEqualsAndHashCode() {
         Produk produk1 = new Produk("PROD001", "Laptop", "Elektronik",
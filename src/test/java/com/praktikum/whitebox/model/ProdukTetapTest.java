@@ -0,0 +1,53 @@
+package com.praktikum.whitebox.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Produk Immutable")
+public class ProdukTetapTest {
+
+    @Test
+    @DisplayName("withXxx menghasilkan instance baru dan tidak mengubah yang lama")
+    void withMembuatInstanceBaru() {
+        ProdukTetap produk = new ProdukTetap("PROD001", "Laptop", "Elektronik", 1000.0, 10, 5);
+        ProdukTetap stokBaru = produk.withStok(3);
+        ProdukTetap hargaBaru = produk.withHarga(1200.0);
+
+        assertEquals(10, produk.stok());
+        assertEquals(3, stokBaru.stok());
+        assertEquals(1200.0, hargaBaru.harga());
+        assertEquals(1000.0, produk.harga());
+        assertTrue(produk.aktif());
+        assertSame(produk, produk.withStok(10));
+        assertSame(produk, produk.withAktif(true));
+        assertFalse(produk.withAktif(false).aktif());
+        assertEquals(2, produk.withStokMinimum(2).stokMinimum());
+    }
+
+    @Test
+    @DisplayName("Konversi dua arah dengan Produk dan semantik stok sama")
+    void konversiDanSemantikStok() {
+        Produk asal = new Produk("PROD001", "Laptop", "Elektronik", 1000.5, 4, 5);
+        asal.setAktif(false);
+        ProdukTetap produk = ProdukTetap.dari(asal);
+        Produk kembali = produk.keProduk();
+
+        assertEquals(asal.toString(), kembali.toString());
+        assertFalse(kembali.isAktif());
+        assertEquals(asal.isStokMenipis(), produk.isStokMenipis());
+        assertEquals(asal.isStokHabis(), produk.isStokHabis());
+        assertEquals(asal.isStokAman(), produk.isStokAman());
+        assertEquals(400200, produk.nilaiSen());
+        assertTrue(produk.withStok(0).isStokHabis());
+        assertTrue(produk.withStok(6).isStokAman());
+    }
+
+    @Test
+    @DisplayName("Kode dan produk sumber tidak boleh null")
+    void validasi() {
+        assertThrows(IllegalArgumentException.class, () -> new ProdukTetap(null, "x", "y", 1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> ProdukTetap.dari(null));
+    }
+}
@@ -0,0 +1,83 @@
+package com.praktikum.whitebox.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Class Uang")
+public class UangTest {
+
+    @ParameterizedTest
+    @DisplayName("Test konversi double ke sen")
+    @CsvSource({
+            "0.1, 10",
+            "0.29, 29",
+            "12500000.25, 1250000025",
+            "-3.335, -333",
+            "0, 0"
+    })
+    void testDariDouble(double nilai, long sen) {
+        assertEquals(sen, Uang.dariDouble(nilai));
+    }
+
+    @Test
+    @DisplayName("Test konversi di luar jangkauan")
+    void testDariDoubleDiLuarJangkauan() {
+        assertThrows(ArithmeticException.class, () -> Uang.dariDouble(Double.NaN));
+        assertThrows(ArithmeticException.class, () -> Uang.dariDouble(Double.POSITIVE_INFINITY));
+        assertThrows(ArithmeticException.class, () -> Uang.dariDouble(1e17));
+    }
+
+    @Test
+    @DisplayName("Test konversi sen ke double")
+    void testKeDouble() {
+        assertEquals(0.1, Uang.keDouble(10));
+        assertEquals(50000001.0, Uang.keDouble(5000000100L));
+    }
+
+    @Test
+    @DisplayName("Test aritmetika tepat dan overflow")
+    void testAritmetika() {
+        assertEquals(30L, Uang.tambah(10, 20));
+        assertEquals(-10L, Uang.kurang(10, 20));
+        assertEquals(200L, Uang.kali(10, 20));
+        assertThrows(ArithmeticException.class, () -> Uang.tambah(Long.MAX_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> Uang.kurang(Long.MIN_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> Uang.kali(Long.MAX_VALUE / 2, 3));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Test persen dengan pembulatan setengah ke atas")
+    @CsvSource({
+            "330, 1500, 50",
+            "10000, 500, 500",
+            "1, 5000, 1",
+            "1, 4999, 0",
+            "0, 3000, 0",
+            "12345, 0, 0",
+            "12345, 10000, 12345"
+    })
+    void testPersen(long sen, int basisPoin, long hasil) {
+        assertEquals(hasil, Uang.persen(sen, basisPoin));
+    }
+
+    @Test
+    @DisplayName("Test persen tidak overflow untuk nominal besar")
+    void testPersenNominalBesar() {
+        long besar = Long.MAX_VALUE - 5;
+        assertEquals(besar / 10_000 * 3000 + Math.floorDiv(besar % 10_000 * 3000 + 5000, 10_000),
+                Uang.persen(besar, 3000));
+        assertEquals(besar, Uang.persen(besar, Uang.BASIS_POIN_PENUH));
+    }
+
+    @Test
+    @DisplayName("Test konversi pecahan ke basis poin")
+    void testKeBasisPoin() {
+        assertEquals(500, Uang.keBasisPoin(0.05));
+        assertEquals(3000, Uang.keBasisPoin(0.30));
+        assertEquals(10_000, Uang.keBasisPoin(1.0));
+        assertEquals(0, Uang.keBasisPoin(0.0));
+    }
+}
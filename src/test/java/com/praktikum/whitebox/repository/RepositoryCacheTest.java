@@ -0,0 +1,149 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Cache")
+public class RepositoryCacheTest {
+
+    private RepositoryKolom sumber;
+    private AtomicLong jam;
+    private RepositoryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        // RepositoryKolom mengembalikan salinan, jadi entri cache yang usang akan terlihat
+        sumber = new RepositoryKolom();
+        jam = new AtomicLong();
+        cache = new RepositoryCache(sumber, 100, Duration.ofSeconds(10), jam::get);
+        cache.simpan(new Produk("PROD001", "Laptop", "Elektronik", 15000000, 10, 5));
+    }
+
+    @Test
+    @DisplayName("baca kedua dilayani dari cache")
+    void hitDanMiss() {
+        assertEquals(10, cache.cariByKode("PROD001").get().getStok());
+        assertEquals(10, cache.cariByKode("PROD001").get().getStok());
+        assertFalse(cache.cariByKode("PROD999").isPresent());
+        assertEquals(1, cache.getJumlahHit());
+        assertEquals(2, cache.getJumlahMiss());
+        assertEquals(1.0 / 3, cache.getRasioHit(), 1e-9);
+        assertEquals(1, cache.getUkuran());
+    }
+
+    @Test
+    @DisplayName("produk hasil baca adalah salinan, mengubahnya tidak mengubah cache")
+    void hitMengembalikanSalinan() {
+        Produk miss = cache.cariByKode("PROD001").get();
+        miss.setStok(555);
+        Produk hit = cache.cariByKode("PROD001").get();
+        assertEquals(10, hit.getStok());
+        hit.setStok(999);
+        assertNotSame(hit, cache.cariByKode("PROD001").get());
+        assertEquals(10, cache.cariByKode("PROD001").get().getStok());
+        assertEquals(10, sumber.cariByKode("PROD001").get().getStok());
+        assertEquals(3, cache.getJumlahHit());
+    }
+
+    @Test
+    @DisplayName("setiap operasi tulis membuang entri sehingga stok tidak usang")
+    void invalidasiSetelahTulis() {
+        cache.cariByKode("PROD001");
+        assertTrue(cache.kurangiStok("PROD001", 3));
+        assertEquals(7, cache.cariByKode("PROD001").get().getStok());
+        assertTrue(cache.tambahStok("PROD001", 5));
+        assertEquals(12, cache.cariByKode("PROD001").get().getStok());
+        assertTrue(cache.updateStok("PROD001", 1));
+        assertEquals(1, cache.cariByKode("PROD001").get().getStok());
+        assertTrue(cache.updateStokJika("PROD001", 1, 4));
+        assertEquals(4, cache.cariByKode("PROD001").get().getStok());
+        assertTrue(cache.simpan(new Produk("PROD001", "Laptop Baru", "Elektronik", 15000000, 4, 5)));
+        assertEquals("Laptop Baru", cache.cariByKode("PROD001").get().getNama());
+        assertFalse(cache.hapusJika("PROD001", produk -> produk.getStok() == 0));
+        assertTrue(cache.hapus("PROD001"));
+        assertFalse(cache.cariByKode("PROD001").isPresent());
+        assertTrue(cache.simpanJikaBelumAda(new Produk("PROD001", "Laptop", "Elektronik", 15000000, 2, 5)));
+        assertEquals(2, cache.cariByKode("PROD001").get().getStok());
+        assertEquals(0, cache.getJumlahHit());
+    }
+
+    @Test
+    @DisplayName("entri kedaluwarsa setelah TTL")
+    void ttl() {
+        cache.cariByKode("PROD001");
+        jam.addAndGet(Duration.ofSeconds(9).toNanos());
+        cache.cariByKode("PROD001");
+        assertEquals(1, cache.getJumlahHit());
+        jam.addAndGet(Duration.ofSeconds(2).toNanos());
+        cache.cariByKode("PROD001");
+        assertEquals(1, cache.getJumlahHit());
+        assertEquals(2, cache.getJumlahMiss());
+    }
+
+    @Test
+    @DisplayName("entri yang paling lama tidak diakses dikeluarkan saat penuh")
+    void lru() {
+        RepositoryCache kecil = new RepositoryCache(sumber, 1, Duration.ofMinutes(1));
+        sumber.simpan(new Produk("PROD002", "Mouse", "Elektronik", 500000, 5, 2));
+        kecil.cariByKode("PROD001");
+        kecil.cariByKode("PROD002");
+        assertEquals(1, kecil.getUkuran());
+        assertEquals(1, kecil.getJumlahEviksi());
+        kecil.cariByKode("PROD002");
+        assertEquals(1, kecil.getJumlahHit());
+        kecil.cariByKode("PROD001");
+        assertEquals(1, kecil.getJumlahHit());
+        assertEquals(2, kecil.getJumlahEviksi());
+    }
+
+    @Test
+    @DisplayName("hasil baca yang disalip penulisan tidak masuk ke cache")
+    void bacaLamaTidakDisimpan() {
+        RepositoryCache[] cacheBalapan = new RepositoryCache[1];
+        boolean[] sudahDisalip = {false};
+        RepositoryKolom sumberBalapan = new RepositoryKolom() {
+            @Override
+            public Optional<Produk> cariByKode(String kode) {
+                Optional<Produk> hasil = super.cariByKode(kode);
+                if (!sudahDisalip[0]) {
+                    // Penulisan lain selesai setelah sumber terbaca tapi sebelum hasilnya di-cache
+                    sudahDisalip[0] = true;
+                    cacheBalapan[0].updateStok(kode, 99);
+                }
+                return hasil;
+            }
+        };
+        sumberBalapan.simpan(new Produk("PROD001", "Laptop", "Elektronik", 15000000, 10, 5));
+        cacheBalapan[0] = new RepositoryCache(sumberBalapan, 10, Duration.ofMinutes(1));
+
+        assertEquals(10, cacheBalapan[0].cariByKode("PROD001").get().getStok());
+        assertEquals(99, cacheBalapan[0].cariByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("kosongkan membuang semua entri")
+    void kosongkan() {
+        cache.cariByKode("PROD001");
+        cache.kosongkan();
+        assertEquals(0, cache.getUkuran());
+        cache.cariByKode("PROD001");
+        assertEquals(0, cache.getJumlahHit());
+    }
+
+    @Test
+    @DisplayName("argumen constructor tidak valid")
+    void constructorTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryCache(null, 10, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryCache(sumber, 0, Duration.ofSeconds(1)));
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryCache(sumber, 10, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryCache(sumber, 10, null));
+    }
+}
@@ -1,11 +1,23 @@
 package com.praktikum.whitebox.repository;
 
+import com.praktikum.whitebox.model.PerubahanStok;
 import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.RingkasanKategori;
+import com.praktikum.whitebox.model.StatusStok;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("Test Repository Produk Implementation")
@@ -20,6 +32,26 @@ public class RepositoryImplementationTest {
         produkTest = new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5);
     }
 
+    @Test
+    @DisplayName("varian terbatas berhenti di batas dan tetap berupa salinan")
+    void pencarianTerbatas() {
+        for (int i = 0; i < 50; i++) {
+            repository.simpan(new Produk(String.format("P%03d", i), "Lampu " + i, i % 2 == 0 ? "Elektronik" : "Rumah",
+                    1000, i % 5, 2));
+        }
+        assertEquals(7, repository.cariByNama("lampu", 7).size());
+        assertEquals(25, repository.cariByKategori("elektronik", ModeKategori.TEPAT, 100).size());
+        assertEquals(3, repository.cariProdukStokMenipis(3).size());
+        assertTrue(repository.cariProdukStokMenipis(3).stream().allMatch(Produk::isStokMenipis));
+        assertEquals(10, repository.cariProdukStokHabis(100).size());
+        assertEquals(1, repository.cariDengan(p -> p.getStok() == 4, 1).size());
+        assertTrue(repository.cariByNama("lampu", 0).isEmpty());
+        assertTrue(repository.cariDengan(null, 5).isEmpty());
+
+        repository.cariByNama("lampu 1", 1).get(0).setStok(99);
+        assertTrue(repository.cariDengan(p -> p.getStok() == 99, 10).isEmpty());
+    }
+
     @Test
     @DisplayName("simpan gagal karena kode null")
     void simpanKodeNull() {
@@ -47,6 +79,54 @@ public class RepositoryImplementationTest {
         assertEquals(1, repository.cariByNama("Laptop").size());
     }
 
+    @Test
+    @DisplayName("cariByNama case-insensitive lewat indeks trigram")
+    void cariByNamaCaseInsensitive() {
+        repository.simpan(produkTest);
+        repository.simpan(new Produk("PROD002", "Mouse Gaming", "Elektronik", 250000, 10, 5));
+        repository.simpan(new Produk("PROD003", "Meja Kantor", "Furnitur", 900000, 10, 5));
+        assertEquals(2, repository.cariByNama("GAMING").size());
+        assertEquals(1, repository.cariByNama("top gam").size());
+        assertTrue(repository.cariByNama("gamingx").isEmpty());
+        assertTrue(repository.cariByNama("zzz").isEmpty());
+    }
+
+    @Test
+    @DisplayName("cariByNama kata kunci lebih pendek dari trigram")
+    void cariByNamaKataKunciPendek() {
+        repository.simpan(produkTest);
+        repository.simpan(new Produk("PROD002", "Meja", "Furnitur", 900000, 10, 5));
+        assertEquals(2, repository.cariByNama("a").size());
+        assertEquals(1, repository.cariByNama("Ej").size());
+    }
+
+    @Test
+    @DisplayName("cariByNama mengikuti perubahan nama dan hapus")
+    void cariByNamaIndeksTerbarui() {
+        repository.simpan(produkTest);
+        repository.simpan(new Produk("PROD001", "Printer Laser", "Elektronik", 2000000, 10, 5));
+        assertTrue(repository.cariByNama("Laptop").isEmpty());
+        assertEquals(1, repository.cariByNama("laser").size());
+
+        repository.hapus("PROD001");
+        assertTrue(repository.cariByNama("laser").isEmpty());
+        assertTrue(repository.cariByNama("er").isEmpty());
+    }
+
+    @Test
+    @DisplayName("posting trigram yang kosong dibuang setelah ganti nama dan hapus")
+    void postingTrigramKosongDibuang() {
+        IndeksNama indeks = new IndeksNama();
+        indeks.tambah("PROD001", "abcd");
+        indeks.tambah("PROD002", "bcde");
+        assertEquals(3, indeks.jumlahGram());
+        indeks.tambah("PROD001", "wxyz");
+        assertEquals(4, indeks.jumlahGram());
+        indeks.hapus("PROD001");
+        indeks.hapus("PROD002");
+        assertEquals(0, indeks.jumlahGram());
+    }
+
     @Test
     @DisplayName("cariByKategori kategori kosong/null")
     void cariByKategoriKosongNull() {
@@ -61,6 +141,36 @@ public class RepositoryImplementationTest {
         assertEquals(1, repository.cariByKategori("Elektronik").size());
     }
 
+    @Test
+    @DisplayName("cariByKategori mode tepat, awalan & substring")
+    void cariByKategoriMode() {
+        repository.simpan(produkTest);
+        repository.simpan(new Produk("PROD002", "Kulkas", "Elektronik Rumah", 5000000, 10, 5));
+        repository.simpan(new Produk("PROD003", "Meja", "Furnitur", 900000, 10, 5));
+
+        assertEquals(1, repository.cariByKategori("elektronik", ModeKategori.TEPAT).size());
+        assertEquals(2, repository.cariByKategori("ELEKTRO", ModeKategori.AWALAN).size());
+        assertEquals(1, repository.cariByKategori("rumah", ModeKategori.SUBSTRING).size());
+        assertEquals(2, repository.cariByKategori("tronik").size());
+        assertTrue(repository.cariByKategori("tronik", ModeKategori.TEPAT).isEmpty());
+        assertTrue(repository.cariByKategori("tronik", ModeKategori.AWALAN).isEmpty());
+        assertTrue(repository.cariByKategori("Elektronik", null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("cariByKategori mengikuti perubahan kategori dan hapus")
+    void cariByKategoriIndeksTerbarui() {
+        repository.simpan(produkTest);
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Komputer", 15000000, 10, 5));
+        assertTrue(repository.cariByKategori("Elektronik", ModeKategori.TEPAT).isEmpty());
+        assertEquals(1, repository.cariByKategori("komputer", ModeKategori.TEPAT).size());
+
+        repository.hapus("PROD001");
+        assertTrue(repository.cariByKategori("Komputer", ModeKategori.TEPAT).isEmpty());
+        assertTrue(repository.cariByKategori("Kom", ModeKategori.AWALAN).isEmpty());
+        assertTrue(repository.cariByKategori("put").isEmpty());
+    }
+
     @Test
     @DisplayName("cariProdukStokMenipis & habis")
     void cariProdukStokMenipisHabis() {
@@ -72,6 +182,29 @@ public class RepositoryImplementationTest {
         assertEquals(1, repository.cariProdukStokHabis().size());
     }
 
+    @Test
+    @DisplayName("set stok menipis & habis mengikuti updateStok, simpan & hapus")
+    void statusStokTerbarui() {
+        repository.simpan(produkTest);
+        assertTrue(repository.cariProdukStokMenipis().isEmpty());
+        assertTrue(repository.cariProdukStokHabis().isEmpty());
+
+        repository.updateStok("PROD001", 3);
+        assertEquals(1, repository.cariProdukStokMenipis().size());
+        assertTrue(repository.cariProdukStokHabis().isEmpty());
+
+        repository.updateStok("PROD001", 0);
+        assertTrue(repository.cariProdukStokMenipis().isEmpty());
+        assertEquals(1, repository.cariProdukStokHabis().size());
+
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 8, 10));
+        assertEquals(1, repository.cariProdukStokMenipis().size());
+        assertTrue(repository.cariProdukStokHabis().isEmpty());
+
+        repository.hapus("PROD001");
+        assertTrue(repository.cariProdukStokMenipis().isEmpty());
+    }
+
     @Test
     @DisplayName("hapus produk berhasil & gagal")
     void hapusProduk() {
@@ -88,6 +221,346 @@ public class RepositoryImplementationTest {
         assertFalse(repository.updateStok("TIDAKADA", 10));
     }
 
+    @Test
+    @DisplayName("kurangiStok & tambahStok atomik")
+    void kurangiTambahStok() {
+        repository.simpan(produkTest);
+        assertTrue(repository.kurangiStok("PROD001", 7));
+        assertEquals(3, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(1, repository.cariProdukStokMenipis().size());
+        assertFalse(repository.kurangiStok("PROD001", 4));
+        assertTrue(repository.tambahStok("PROD001", 2));
+        assertEquals(5, repository.cariByKode("PROD001").get().getStok());
+
+        assertFalse(repository.kurangiStok("TIDAKADA", 1));
+        assertFalse(repository.tambahStok("TIDAKADA", 1));
+        assertFalse(repository.kurangiStok("PROD001", 0));
+        assertFalse(repository.tambahStok("PROD001", -1));
+        assertFalse(repository.tambahStok("PROD001", Integer.MAX_VALUE));
+
+        Produk nonaktif = repository.cariByKode("PROD001").get();
+        nonaktif.setAktif(false);
+        repository.simpan(nonaktif);
+        assertFalse(repository.kurangiStok("PROD001", 1));
+        assertFalse(repository.tambahStok("PROD001", 1));
+        assertEquals(5, repository.cariByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("updateStokJika hanya berhasil bila stok masih sama")
+    void updateStokJika() {
+        repository.simpan(produkTest);
+        assertTrue(repository.updateStokJika("PROD001", 10, 0));
+        assertEquals(1, repository.cariProdukStokHabis().size());
+        assertFalse(repository.updateStokJika("PROD001", 10, 5));
+        assertFalse(repository.updateStokJika("PROD001", 0, -1));
+        assertFalse(repository.updateStokJika("TIDAKADA", 0, 1));
+        assertEquals(0, repository.cariByKode("PROD001").get().getStok());
+        // stokBaru == stokLama hanya memeriksa; produk nonaktif selalu ditolak
+        assertTrue(repository.updateStokJika("PROD001", 0, 0));
+        Produk nonaktif = new Produk("PROD002", "Mouse", "Elektronik", 1000, 5, 1);
+        nonaktif.setAktif(false);
+        repository.simpan(nonaktif);
+        assertFalse(repository.updateStokJika("PROD002", 5, 5));
+        assertFalse(repository.updateStokJika("PROD002", 5, 6));
+    }
+
+    @Test
+    @DisplayName("stress test kurangiStok & tambahStok - stok terjaga dan tidak oversell")
+    void stressStokKonkuren() throws Exception {
+        int stokAwal = 1000;
+        int jumlahThread = 8;
+        int operasiPerThread = 5000;
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, stokAwal, 5));
+
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+        CountDownLatch mulai = new CountDownLatch(1);
+        List<Future<int[]>> hasil = new ArrayList<>();
+        for (int t = 0; t < jumlahThread; t++) {
+            int seed = t;
+            hasil.add(executor.submit(() -> {
+                mulai.await();
+                int keluar = 0;
+                int masuk = 0;
+                for (int i = 0; i < operasiPerThread; i++) {
+                    if ((i + seed) % 3 == 0) {
+                        if (repository.tambahStok("PROD001", 2)) {
+                            masuk += 2;
+                        }
+                    } else if (repository.kurangiStok("PROD001", 3)) {
+                        keluar += 3;
+                    }
+                }
+                return new int[]{keluar, masuk};
+            }));
+        }
+        mulai.countDown();
+        int totalKeluar = 0;
+        int totalMasuk = 0;
+        for (Future<int[]> f : hasil) {
+            int[] h = f.get();
+            totalKeluar += h[0];
+            totalMasuk += h[1];
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        int stokAkhir = repository.cariByKode("PROD001").get().getStok();
+        assertTrue(stokAkhir >= 0);
+        assertEquals(stokAwal + totalMasuk - totalKeluar, stokAkhir);
+        assertEquals(stokAkhir, repository.hitungTotalStokAktif());
+    }
+
+    @Test
+    @DisplayName("agregat total stok & nilai hanya produk aktif")
+    void agregatTotalProdukAktif() {
+        Produk produk1 = new Produk("PROD001", "Laptop", "Elektronik", 10000000, 2, 1);
+        Produk produk2 = new Produk("PROD002", "Mouse", "Elektronik", 500000, 5, 2);
+        Produk produkNonAktif = new Produk("PROD003", "Keyboard", "Elektronik", 300000, 3, 1);
+        produkNonAktif.setAktif(false);
+        repository.simpan(produk1);
+        repository.simpan(produk2);
+        repository.simpan(produkNonAktif);
+        assertEquals(7, repository.hitungTotalStokAktif());
+        assertEquals(22500000.0, repository.hitungTotalNilaiAktif());
+
+        repository.kurangiStok("PROD002", 5);
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 12500000.25, 4, 1));
+        assertEquals(4, repository.hitungTotalStokAktif());
+        assertEquals(50000001.0, repository.hitungTotalNilaiAktif());
+
+        repository.hapus("PROD001");
+        assertEquals(0, repository.hitungTotalStokAktif());
+        assertEquals(0.0, repository.hitungTotalNilaiAktif());
+    }
+
+    @Test
+    @DisplayName("agregat sama persis dengan perhitungan ulang penuh setelah operasi acak")
+    void agregatSamaDenganPerhitunganUlang() {
+        Random random = new Random(7);
+        for (int n = 0; n < 5000; n++) {
+            String kode = "P" + random.nextInt(50);
+            switch (random.nextInt(6)) {
+                case 0:
+                    Produk produk = new Produk(kode, "Produk " + kode, random.nextBoolean() ? "Umum" : "Khusus",
+                            random.nextInt(100000) / 100.0, random.nextInt(100), 5);
+                    produk.setAktif(random.nextInt(4) != 0);
+                    repository.simpan(produk);
+                    break;
+                case 1:
+                    repository.hapus(kode);
+                    break;
+                case 2:
+                    repository.updateStok(kode, random.nextInt(100));
+                    break;
+                case 3:
+                    repository.kurangiStok(kode, 1 + random.nextInt(10));
+                    break;
+                default:
+                    repository.tambahStok(kode, 1 + random.nextInt(10));
+            }
+        }
+        long stokPenuh = 0;
+        long nilaiPenuhSen = 0;
+        for (Produk produk : repository.cariSemua()) {
+            if (produk.isAktif()) {
+                stokPenuh += produk.getStok();
+                nilaiPenuhSen += Math.round(produk.getHarga() * 100) * produk.getStok();
+            }
+        }
+        assertEquals(stokPenuh, repository.hitungTotalStokAktif());
+        assertEquals(nilaiPenuhSen / 100.0, repository.hitungTotalNilaiAktif());
+        assertEquals(nilaiPenuhSen, repository.hitungTotalNilaiAktifSen());
+        for (String kategori : new String[]{"Umum", "Khusus"}) {
+            long jumlah = 0;
+            long stok = 0;
+            long nilaiSen = 0;
+            long menipis = 0;
+            for (Produk produk : repository.cariByKategori(kategori, ModeKategori.TEPAT)) {
+                jumlah++;
+                menipis += produk.isStokMenipis() ? 1 : 0;
+                if (produk.isAktif()) {
+                    stok += produk.getStok();
+                    nilaiSen += Math.round(produk.getHarga() * 100) * produk.getStok();
+                }
+            }
+            RingkasanKategori ringkasan = repository.ringkasanKategori(kategori);
+            assertEquals(jumlah, ringkasan.getJumlahProduk());
+            assertEquals(stok, ringkasan.getTotalStok());
+            assertEquals(nilaiSen, ringkasan.getTotalNilaiSen());
+            assertEquals(menipis, ringkasan.getJumlahStokMenipis());
+        }
+        assertEquals(0, repository.ringkasanKategori("Tidak Ada").getJumlahProduk());
+        assertEquals(0, repository.ringkasanKategori(null).getJumlahProduk());
+    }
+
+    @Test
+    @DisplayName("total nilai sen tepat untuk harga pecahan yang tidak tepat di double")
+    void totalNilaiSenTepat() {
+        for (int i = 0; i < 10; i++) {
+            repository.simpan(new Produk("P" + i, "Produk", "Umum", 0.1, 1, 0));
+        }
+        repository.simpan(new Produk("BESAR", "Produk", "Umum", 90_000_000_000.01, 1000, 0));
+        assertEquals(100 + 9_000_000_000_001_000L, repository.hitungTotalNilaiAktifSen());
+    }
+
+    @Test
+    @DisplayName("cariDengan sekuensial & paralel memberi hasil yang sama")
+    void cariDenganParalel() {
+        RepositoryImplementation paralel = new RepositoryImplementation(1);
+        for (int i = 0; i < 5000; i++) {
+            Produk produk = new Produk("P" + i, "Produk " + i, "Umum", 1000 + i, i % 50, 5);
+            repository.simpan(produk);
+            paralel.simpan(produk);
+        }
+        List<String> sekuensial = kodeTerurut(repository.cariDengan(p -> p.getHarga() > 3000 && p.getStok() < 10));
+        assertEquals(599, sekuensial.size());
+        assertEquals(sekuensial, kodeTerurut(paralel.cariDengan(p -> p.getHarga() > 3000 && p.getStok() < 10)));
+        // Kata kunci pendek memakai scan nama, bukan trigram
+        assertEquals(kodeTerurut(repository.cariByNama("42")), kodeTerurut(paralel.cariByNama("42")));
+        assertFalse(paralel.cariByNama("42").isEmpty());
+        assertTrue(paralel.cariDengan(null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryImplementation(0));
+    }
+
+    private static List<String> kodeTerurut(List<Produk> daftar) {
+        List<String> kode = new ArrayList<>();
+        for (Produk produk : daftar) {
+            kode.add(produk.getKode());
+        }
+        kode.sort(null);
+        return kode;
+    }
+
+    @Test
+    @DisplayName("cariHalaman menelusuri semua produk terurut kode tanpa duplikat")
+    void cariHalaman() {
+        for (int i = 0; i < 250; i++) {
+            repository.simpan(new Produk(String.format("P%03d", i), "Produk", "Umum", 1000, 1, 0));
+        }
+        repository.hapus("P100");
+        List<String> semua = new ArrayList<>();
+        String setelah = null;
+        List<Produk> halaman;
+        while (!(halaman = repository.cariHalaman(setelah, 64)).isEmpty()) {
+            assertTrue(halaman.size() <= 64);
+            for (Produk produk : halaman) {
+                semua.add(produk.getKode());
+            }
+            setelah = halaman.get(halaman.size() - 1).getKode();
+        }
+        assertEquals(249, semua.size());
+        assertEquals(kodeTerurut(repository.cariSemua()), semua);
+        assertEquals("P101", repository.cariHalaman("P099", 1).get(0).getKode());
+        assertTrue(repository.cariHalaman(null, 0).isEmpty());
+        assertEquals(249, repository.streamSemua().count());
+    }
+
+    @Test
+    @DisplayName("produk tersimpan tidak bisa diubah lewat setter, total sama dengan hitung ulang")
+    void totalTetapSesuaiSetelahSetterDariLuar() {
+        repository.simpan(new Produk("PROD001", "Mouse", "Elektronik", 100, 10, 5));
+        repository.simpan(produkTest);
+        Produk dibaca = repository.cariByKode("PROD001").get();
+        // Setter pada objek asli maupun hasil baca tidak menyentuh entri tersimpan
+        produkTest.setAktif(false);
+        produkTest.setHarga(1);
+        dibaca.setStok(0);
+        dibaca.setKategori("Lain");
+        repository.cariSemua().forEach(p -> p.setAktif(false));
+
+        List<Produk> semua = repository.cariSemua();
+        long stokHitungUlang = semua.stream().filter(Produk::isAktif).mapToLong(Produk::getStok).sum();
+        double nilaiHitungUlang = semua.stream().filter(Produk::isAktif)
+                .mapToDouble(p -> p.getHarga() * p.getStok()).sum();
+        assertEquals(10, stokHitungUlang);
+        assertEquals(stokHitungUlang, repository.hitungTotalStokAktif());
+        assertEquals(nilaiHitungUlang, repository.hitungTotalNilaiAktif(), 0.001);
+        assertEquals(1, repository.ringkasanKategori("Elektronik").getJumlahProduk());
+        assertEquals(10, repository.ringkasanKategori("Elektronik").getTotalStok());
+        assertTrue(repository.cariProdukStokMenipis().isEmpty());
+
+        // Perubahan lewat simpan ulang tetap ikut terhitung
+        produkTest.setStok(10);
+        repository.simpan(produkTest);
+        assertEquals(0, repository.hitungTotalStokAktif());
+        assertEquals(0, repository.hitungTotalNilaiAktif(), 0.001);
+        assertEquals(0, repository.ringkasanKategori("Elektronik").getTotalStok());
+    }
+
+    @Test
+    @DisplayName("total nilai tidak pernah membuat simpan gagal, overflow dilaporkan saat dibaca")
+    void totalNilaiOverflow() {
+        // 1e9 x 1e8 = 1e17 rupiah = 1e19 sen, melebihi long
+        Produk besar = new Produk("PROD001", "Mesin", "Industri", 1e9, 100_000_000, 1);
+        assertTrue(repository.simpanJikaBelumAda(besar));
+        assertTrue(repository.simpan(new Produk("PROD002", "Baut", "Industri", 1000, 5, 1)));
+        assertTrue(repository.tambahStok("PROD002", 1));
+        assertEquals(100_000_006, repository.hitungTotalStokAktif());
+        assertThrows(ArithmeticException.class, () -> repository.hitungTotalNilaiAktifSen());
+        assertEquals(1e17 + 6000, repository.hitungTotalNilaiAktif(), 1e3);
+        RingkasanKategori ringkasan = repository.ringkasanKategori("Industri");
+        assertFalse(ringkasan.isTotalNilaiTepat());
+        assertThrows(ArithmeticException.class, ringkasan::getTotalNilaiSen);
+        assertEquals(1e17 + 6000, ringkasan.getTotalNilai(), 1e3);
+
+        // Setelah produk besar dikurangi stoknya total kembali tepat
+        assertTrue(repository.updateStok("PROD001", 1));
+        assertEquals(100_000_000_000L + 600_000L, repository.hitungTotalNilaiAktifSen());
+        assertEquals(100_000_000_000L + 600_000L, repository.ringkasanKategori("industri").getTotalNilaiSen());
+    }
+
+    @Test
+    @DisplayName("simpanJikaBelumAda tidak menimpa produk yang sudah ada")
+    void simpanJikaBelumAda() {
+        assertTrue(repository.simpanJikaBelumAda(produkTest));
+        assertFalse(repository.simpanJikaBelumAda(new Produk("PROD001", "Lain", "Lain", 1, 1, 1)));
+        assertFalse(repository.simpanJikaBelumAda(null));
+        assertFalse(repository.simpanJikaBelumAda(new Produk(null, "Nama", "Kategori", 1000, 5, 1)));
+        assertEquals("Laptop Gaming", repository.cariByKode("PROD001").get().getNama());
+        assertEquals(1, repository.cariByNama("gaming").size());
+        assertEquals(10, repository.hitungTotalStokAktif());
+    }
+
+    @Test
+    @DisplayName("simpanJikaBelumAda bersamaan hanya berhasil sekali")
+    void simpanJikaBelumAdaBersamaan() throws Exception {
+        int jumlahThread = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+        CountDownLatch mulai = new CountDownLatch(1);
+        List<Future<Boolean>> hasil = new ArrayList<>();
+        for (int t = 0; t < jumlahThread; t++) {
+            Produk produk = new Produk("PROD001", "Laptop " + t, "Elektronik", 1000, t + 1, 0);
+            hasil.add(executor.submit(() -> {
+                mulai.await();
+                return repository.simpanJikaBelumAda(produk);
+            }));
+        }
+        mulai.countDown();
+        int berhasil = 0;
+        for (Future<Boolean> h : hasil) {
+            berhasil += h.get(10, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        executor.shutdown();
+        assertEquals(1, berhasil);
+        assertEquals(repository.cariByKode("PROD001").get().getStok(), repository.hitungTotalStokAktif());
+    }
+
+    @Test
+    @DisplayName("hapusJika hanya menghapus bila syarat terpenuhi")
+    void hapusJika() {
+        repository.simpan(produkTest);
+        assertFalse(repository.hapusJika("PROD001", produk -> produk.getStok() == 0));
+        assertTrue(repository.cariByKode("PROD001").isPresent());
+        repository.updateStok("PROD001", 0);
+        assertTrue(repository.hapusJika("PROD001", produk -> produk.getStok() == 0));
+        assertFalse(repository.cariByKode("PROD001").isPresent());
+        assertTrue(repository.cariProdukStokHabis().isEmpty());
+        assertFalse(repository.hapusJika("PROD001", produk -> true));
+        assertFalse(repository.hapusJika(null, produk -> true));
+        assertFalse(repository.hapusJika("PROD001", null));
+    }
+
     @Test
     @DisplayName("cariSemua kosong & berisi")
     void cariSemua() {
@@ -115,5 +588,154 @@ public class RepositoryImplementationTest {
         assertFalse(hasil);
     }
 
+    @Test
+    @DisplayName("pendengar stok menerima setiap operasi stok yang berhasil")
+    void pendengarStok() {
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        List<PerubahanStok> event = new ArrayList<>();
+        repository.setPendengarStok(event::add);
+
+        assertTrue(repository.kurangiStok("PROD001", 5));
+        assertFalse(repository.kurangiStok("PROD001", 50));
+        assertTrue(repository.tambahStok("PROD001", 1));
+        assertTrue(repository.updateStokJika("PROD001", 6, 0));
+        assertFalse(repository.updateStokJika("PROD001", 6, 3));
+        assertTrue(repository.updateStok("PROD001", 8));
+        assertFalse(repository.updateStok("TIDAKADA", 1));
+
+        assertEquals(4, event.size());
+        assertEquals(10, event.get(0).getStokLama());
+        assertEquals(5, event.get(0).getStokBaru());
+        assertEquals(StatusStok.MENIPIS, event.get(0).getStatusBaru());
+        assertTrue(event.get(0).isLintasAmbang());
+        assertEquals(StatusStok.HABIS, event.get(2).getStatusBaru());
+        assertEquals(8, event.get(3).getStokBaru());
+
+        repository.setPendengarStok(null);
+        repository.tambahStok("PROD001", 1);
+        assertEquals(4, event.size());
+    }
+
+    @Test
+    @DisplayName("snapshot tidak melihat perubahan, hapus, atau produk baru setelah dibuat")
+    void snapshotIsolasi() {
+        repository.simpan(produkTest);
+        repository.simpan(new Produk("PROD002", "Mouse", "Elektronik", 100, 20, 5));
+        repository.simpan(new Produk("PROD003", "Meja", "Furnitur", 500, 7, 2));
+
+        try (SnapshotProduk snapshot = repository.ambilSnapshot()) {
+            repository.kurangiStok("PROD001", 4);
+            repository.kurangiStok("PROD001", 1);
+            repository.updateStok("PROD003", 0);
+            repository.hapus("PROD003");
+            repository.simpan(new Produk("PROD004", "Kursi", "Furnitur", 300, 1, 1));
+            repository.simpan(new Produk("PROD002", "Mouse Baru", "Elektronik", 150, 20, 5));
+
+            assertEquals(10, snapshot.cariByKode("PROD001").get().getStok());
+            assertEquals("Mouse", snapshot.cariByKode("PROD002").get().getNama());
+            assertEquals(7, snapshot.cariByKode("PROD003").get().getStok());
+            assertFalse(snapshot.cariByKode("PROD004").isPresent());
+            List<String> kode = new ArrayList<>();
+            snapshot.streamSemua().forEach(p -> kode.add(p.getKode()));
+            assertEquals(List.of("PROD001", "PROD002", "PROD003"), kode);
+            assertEquals(37, snapshot.hitungTotalStokAktif());
+            assertEquals(Math.round((15000000.0 * 10 + 100 * 20 + 500 * 7) * 100), snapshot.hitungTotalNilaiAktifSen());
+
+            // Hanya produk yang berubah yang disalin, masing-masing sekali
+            assertEquals(4, ((SnapshotMemori<?>) snapshot).jumlahSalinan());
+            // Produk dari snapshot adalah salinan
+            snapshot.cariByKode("PROD001").get().setStok(999);
+            assertEquals(10, snapshot.cariByKode("PROD001").get().getStok());
+        }
+        assertEquals(5, repository.cariByKode("PROD001").get().getStok());
+        assertFalse(repository.cariByKode("PROD003").isPresent());
+    }
+
+    @Test
+    @DisplayName("snapshot yang ditutup menolak dibaca dan berhenti dicatat penulis")
+    void snapshotDitutup() {
+        repository.simpan(produkTest);
+        SnapshotProduk snapshot = repository.ambilSnapshot();
+        SnapshotProduk lain = repository.ambilSnapshot();
+        snapshot.close();
+        snapshot.close();
+        repository.updateStok("PROD001", 1);
+
+        assertThrows(IllegalStateException.class, () -> snapshot.cariByKode("PROD001"));
+        assertThrows(IllegalStateException.class, snapshot::streamSemua);
+        assertEquals(0, ((SnapshotMemori<?>) snapshot).jumlahSalinan());
+        assertEquals(10, lain.cariByKode("PROD001").get().getStok());
+        lain.close();
+    }
+
+    @Test
+    @DisplayName("snapshot di tengah penulisan bersamaan selalu berupa potongan konsisten")
+    void snapshotKonsistenSaatPenulisanBersamaan() throws Exception {
+        int jumlah = 200;
+        for (int i = 0; i < jumlah; i++) {
+            repository.simpan(new Produk(String.format("K%04d", i), "Produk " + i, "Uji", 10, 0, 1));
+        }
+        // Penulis tunggal menaikkan stok K0000..K0199 berurutan, putaran demi putaran.
+        // Potongan konsisten berbentuk [r+1 .. r+1, r .. r] menurut urutan kode.
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch mulai = new CountDownLatch(1);
+        AtomicBoolean berhenti = new AtomicBoolean();
+        Future<?> penulis = executor.submit(() -> {
+            mulai.countDown();
+            for (int putaran = 1; !berhenti.get() && putaran < 100_000; putaran++) {
+                for (int i = 0; i < jumlah; i++) {
+                    repository.updateStok(String.format("K%04d", i), putaran);
+                }
+            }
+        });
+        mulai.await();
+        try {
+            for (int n = 0; n < 50; n++) {
+                try (SnapshotProduk snapshot = repository.ambilSnapshot()) {
+                    List<Produk> semua = snapshot.cariSemua();
+                    assertEquals(jumlah, semua.size());
+                    int pertama = semua.get(0).getStok();
+                    for (int i = 1; i < jumlah; i++) {
+                        int stok = semua.get(i).getStok();
+                        assertTrue(stok <= semua.get(i - 1).getStok() && stok >= pertama - 1,
+                                "Snapshot tidak konsisten pada indeks " + i);
+                    }
+                }
+            }
+        } finally {
+            berhenti.set(true);
+            penulis.get(10, TimeUnit.SECONDS);
+            executor.shutdown();
+        }
+    }
+
     // Tambahkan test methods lainnya sesuai kebutuhan
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("simpanSemuaJikaBelumAda paralel: indeks dan agregat sama dengan simpan satu per satu")
+    void simpanSemuaJikaBelumAdaParalel() {
+        RepositoryImplementation paralel = new RepositoryImplementation(16);
+        paralel.simpan(new Produk("P0", "Sudah Ada", "Kat0", 1000, 1, 1));
+        List<Produk> daftar = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            daftar.add(new Produk("P" + i, "Produk " + i, "Kat" + (i % 5), 1000, i % 10, 3));
+        }
+        daftar.add(null);
+
+        boolean[] hasil = paralel.simpanSemuaJikaBelumAda(daftar);
+
+        assertEquals(daftar.size(), hasil.length);
+        assertFalse(hasil[0]);
+        assertFalse(hasil[2000]);
+        for (int i = 1; i < 2000; i++) {
+            assertTrue(hasil[i]);
+        }
+        assertEquals(2000, paralel.cariSemua().size());
+        assertEquals("Sudah Ada", paralel.cariByKode("P0").get().getNama());
+        assertEquals(400, paralel.cariByKategori("Kat3").size());
+        assertEquals(1, paralel.cariByNama("Produk 1999").size());
+        assertEquals(199, paralel.cariProdukStokHabis().size());
+        long stok = daftar.stream().skip(1).limit(1999).mapToLong(Produk::getStok).sum() + 1;
+        assertEquals(stok, paralel.hitungTotalStokAktif());
+    }
+}
@@ -0,0 +1,80 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Kategori;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.RingkasanKategori;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Kategori Implementation")
+public class RepositoryKategoriImplementationTest {
+
+    private RepositoryImplementation repositoryProduk;
+    private RepositoryKategoriImplementation repository;
+
+    @BeforeEach
+    void setUp() {
+        repositoryProduk = new RepositoryImplementation();
+        repository = new RepositoryKategoriImplementation(repositoryProduk);
+    }
+
+    @Test
+    @DisplayName("simpan, cari, cariSemua & hapus kategori")
+    void simpanCariHapus() {
+        Kategori kategori = new Kategori("KAT001", "Elektronik", "Barang elektronik");
+        assertTrue(repository.simpan(kategori));
+        assertFalse(repository.simpan(null));
+        assertFalse(repository.simpan(new Kategori(null, "Tanpa Kode", null)));
+        assertEquals(Optional.of(kategori), repository.cariByKode("KAT001"));
+        assertFalse(repository.cariByKode(null).isPresent());
+        assertEquals(1, repository.cariSemua().size());
+        assertTrue(repository.hapus("KAT001"));
+        assertFalse(repository.hapus("KAT001"));
+        assertFalse(repository.hapus(null));
+        assertFalse(repository.cariByKode("KAT001").isPresent());
+    }
+
+    @Test
+    @DisplayName("constructor menolak repository produk null")
+    void constructorNull() {
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryKategoriImplementation(null));
+    }
+
+    @Test
+    @DisplayName("ringkasan mengikuti perubahan produk secara inkremental")
+    void ringkasanInkremental() {
+        repository.simpan(new Kategori("KAT001", "Elektronik", null));
+        repository.simpan(new Kategori("KAT002", "Furnitur", null));
+        assertFalse(repository.ringkasan("KAT999").isPresent());
+        assertEquals(0, repository.ringkasan("KAT002").get().getJumlahProduk());
+
+        repositoryProduk.simpan(new Produk("PROD001", "Laptop", "Elektronik", 10000000, 2, 1));
+        repositoryProduk.simpan(new Produk("PROD002", "Mouse", "elektronik", 500000, 5, 5));
+        Produk nonAktif = new Produk("PROD003", "Keyboard", "Elektronik", 300000, 3, 1);
+        nonAktif.setAktif(false);
+        repositoryProduk.simpan(nonAktif);
+
+        RingkasanKategori ringkasan = repository.ringkasan("KAT001").get();
+        assertEquals(3, ringkasan.getJumlahProduk());
+        assertEquals(7, ringkasan.getTotalStok());
+        assertEquals(2250000000L, ringkasan.getTotalNilaiSen());
+        assertEquals(22500000.0, ringkasan.getTotalNilai());
+        assertEquals(1, ringkasan.getJumlahStokMenipis());
+
+        repositoryProduk.tambahStok("PROD002", 10);
+        repositoryProduk.simpan(new Produk("PROD001", "Laptop", "Furnitur", 10000000, 2, 1));
+        repositoryProduk.hapus("PROD003");
+
+        ringkasan = repository.ringkasan("KAT001").get();
+        assertEquals(1, ringkasan.getJumlahProduk());
+        assertEquals(15, ringkasan.getTotalStok());
+        assertEquals(0, ringkasan.getJumlahStokMenipis());
+        assertEquals(1, repository.ringkasan("KAT002").get().getJumlahProduk());
+        assertEquals(2000000000L, repository.ringkasan("KAT002").get().getTotalNilaiSen());
+    }
+}
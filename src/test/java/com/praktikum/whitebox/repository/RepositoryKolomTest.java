@@ -0,0 +1,373 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.PerubahanStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.RingkasanKategori;
+import com.praktikum.whitebox.model.StatusStok;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Produk Kolumnar")
+public class RepositoryKolomTest {
+
+    private RepositoryKolom repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RepositoryKolom();
+    }
+
+    @Test
+    @DisplayName("simpan, cari & hapus dengan produk sebagai salinan")
+    void simpanCariHapus() {
+        Produk produk = new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5);
+        assertTrue(repository.simpan(produk));
+        assertFalse(repository.simpan(null));
+        assertFalse(repository.simpan(new Produk(null, "A", "B", 1, 1, 1)));
+
+        Produk hasil = repository.cariByKode("PROD001").get();
+        assertEquals("Laptop Gaming", hasil.getNama());
+        assertEquals("Elektronik", hasil.getKategori());
+        assertNotSame(produk, hasil);
+        hasil.setStok(99);
+        assertEquals(10, repository.cariByKode("PROD001").get().getStok());
+
+        assertTrue(repository.hapus("PROD001"));
+        assertFalse(repository.hapus("PROD001"));
+        assertTrue(repository.cariByKode("PROD001").isEmpty());
+        assertTrue(repository.cariSemua().isEmpty());
+    }
+
+    @Test
+    @DisplayName("id yang dihapus dipakai ulang dan kolom bertambah kapasitas")
+    void idDipakaiUlangDanKapasitasBertambah() {
+        for (int i = 0; i < 3000; i++) {
+            repository.simpan(new Produk("P" + i, "Produk " + i, "Kat" + (i % 3), 1000, i % 7, 3));
+        }
+        for (int i = 0; i < 3000; i += 2) {
+            repository.hapus("P" + i);
+        }
+        for (int i = 0; i < 1500; i++) {
+            repository.simpan(new Produk("Q" + i, "Baru " + i, null, 1000, 1, 3));
+        }
+        assertEquals(3000, repository.cariSemua().size());
+        assertEquals(1500, repository.cariByNama("baru").size());
+        assertTrue(repository.cariByKategori("kat", ModeKategori.AWALAN).stream()
+                .allMatch(p -> p.getKode().startsWith("P")));
+        assertTrue(repository.cariByKategori(null).isEmpty());
+        assertTrue(repository.cariByKategori("kat", null).isEmpty());
+        assertTrue(repository.cariByNama(" ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("streamSemua membaca lintas beberapa halaman secara terurut")
+    void streamSemuaLintasHalaman() {
+        for (int i = 0; i < 3000; i++) {
+            repository.simpan(new Produk(String.format("P%04d", i), "Produk", "Umum", 1000, 1, 0));
+        }
+        List<String> kode = repository.streamSemua().map(Produk::getKode).collect(Collectors.toList());
+        assertEquals(3000, kode.size());
+        assertEquals("P0000", kode.get(0));
+        assertEquals("P2999", kode.get(2999));
+        assertEquals(kode.stream().sorted().collect(Collectors.toList()), kode);
+    }
+
+    @Test
+    @DisplayName("urutan kursor dan indeks kode tetap benar setelah banyak simpan, hapus & simpan ulang")
+    void urutanKodeSetelahBanyakPerubahan() {
+        TreeSet<String> model = new TreeSet<>();
+        Random random = new Random(5);
+        for (int n = 0; n < 30000; n++) {
+            String kode = "K" + random.nextInt(12000);
+            int pilihan = random.nextInt(10);
+            if (pilihan < 6) {
+                assertEquals(model.add(kode), repository.simpanJikaBelumAda(
+                        new Produk(kode, "Produk", "Umum", 1000, 1, 0)));
+            } else if (pilihan < 9) {
+                assertEquals(model.remove(kode), repository.hapus(kode));
+            } else {
+                List<Produk> daftar = new ArrayList<>();
+                for (int i = 0; i < 50; i++) {
+                    daftar.add(new Produk("K" + random.nextInt(12000), "Produk", "Umum", 1000, 1, 0));
+                }
+                boolean[] hasil = repository.simpanSemuaJikaBelumAda(daftar);
+                for (int i = 0; i < hasil.length; i++) {
+                    assertEquals(model.add(daftar.get(i).getKode()), hasil[i]);
+                }
+            }
+        }
+        assertEquals(new ArrayList<>(model),
+                repository.streamSemua().map(Produk::getKode).collect(Collectors.toList()));
+        String kursor = model.first() + "5";
+        assertEquals(new ArrayList<>(model.tailSet(kursor, false)).subList(0, 20),
+                repository.cariHalaman(kursor, 20).stream().map(Produk::getKode).collect(Collectors.toList()));
+        for (int i = 0; i < 12000; i++) {
+            assertEquals(model.contains("K" + i), repository.cariByKode("K" + i).isPresent());
+        }
+    }
+
+    @Test
+    @DisplayName("cariByNama mengabaikan huruf besar/kecil tanpa kolom lowercase")
+    void cariByNamaAbaikanKapital() {
+        repository.simpan(new Produk("PROD001", "Laptop GAMING Pro", "Elektronik", 1000, 1, 0));
+        repository.simpan(new Produk("PROD002", "Mouse", "Elektronik", 100, 1, 0));
+
+        assertEquals(1, repository.cariByNama("gaming").size());
+        assertEquals(1, repository.cariByNama("TOP gam").size());
+        assertEquals(2, repository.cariByNama("O").size());
+        assertTrue(repository.cariByNama("laptops").isEmpty());
+    }
+
+    @Test
+    @DisplayName("operasi stok bersamaan tidak kehilangan update dan event per produk berurutan")
+    void stokBersamaan() throws Exception {
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 0, 0));
+        repository.simpan(new Produk("PROD002", "Mouse", "Elektronik", 100, 0, 0));
+        List<PerubahanStok> event = Collections.synchronizedList(new ArrayList<>());
+        repository.setPendengarStok(event::add);
+
+        Thread[] thread = new Thread[4];
+        for (int t = 0; t < thread.length; t++) {
+            String kode = t % 2 == 0 ? "PROD001" : "PROD002";
+            thread[t] = new Thread(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    repository.tambahStok(kode, 2);
+                    repository.kurangiStok(kode, 1);
+                }
+            });
+            thread[t].start();
+        }
+        for (Thread t : thread) {
+            t.join();
+        }
+
+        assertEquals(4000, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(4000, repository.cariByKode("PROD002").get().getStok());
+        assertEquals(16000, event.size());
+        RingkasanKategori ringkasan = repository.ringkasanKategori("elektronik");
+        assertEquals(8000, ringkasan.getTotalStok());
+        assertEquals(4000 * 1000 * 100L + 4000 * 100 * 100L, ringkasan.getTotalNilaiSen());
+        Map<String, Integer> terakhir = new HashMap<>();
+        for (PerubahanStok perubahan : event) {
+            assertEquals(terakhir.getOrDefault(perubahan.getKode(), 0), perubahan.getStokLama());
+            terakhir.put(perubahan.getKode(), perubahan.getStokBaru());
+        }
+    }
+
+    @Test
+    @DisplayName("hasil sama dengan RepositoryImplementation untuk operasi acak")
+    void samaDenganRepositoryImplementation() {
+        RepositoryImplementation pembanding = new RepositoryImplementation();
+        String[] kategori = {"Elektronik", "Elektronik Rumah", "Furnitur", null};
+        Random random = new Random(11);
+        for (int n = 0; n < 5000; n++) {
+            String kode = "P" + random.nextInt(80);
+            int jumlah = random.nextInt(12);
+            switch (random.nextInt(7)) {
+                case 0:
+                    Produk produk = new Produk(kode, "Produk " + random.nextInt(30), kategori[random.nextInt(4)],
+                            random.nextInt(100000) / 100.0, random.nextInt(20), random.nextInt(6));
+                    produk.setAktif(random.nextInt(5) != 0);
+                    Produk salinan = new Produk(produk.getKode(), produk.getNama(), produk.getKategori(),
+                            produk.getHarga(), produk.getStok(), produk.getStokMinimum());
+                    salinan.setAktif(produk.isAktif());
+                    if (random.nextBoolean()) {
+                        assertEquals(pembanding.simpan(produk), repository.simpan(salinan));
+                    } else {
+                        assertEquals(pembanding.simpanJikaBelumAda(produk), repository.simpanJikaBelumAda(salinan));
+                    }
+                    break;
+                case 1:
+                    if (random.nextBoolean()) {
+                        assertEquals(pembanding.hapus(kode), repository.hapus(kode));
+                    } else {
+                        assertEquals(pembanding.hapusJika(kode, p -> p.getStok() < 5),
+                                repository.hapusJika(kode, p -> p.getStok() < 5));
+                    }
+                    break;
+                case 2:
+                    assertEquals(pembanding.updateStok(kode, jumlah), repository.updateStok(kode, jumlah));
+                    break;
+                case 3:
+                    assertEquals(pembanding.kurangiStok(kode, jumlah), repository.kurangiStok(kode, jumlah));
+                    break;
+                case 4:
+                    assertEquals(pembanding.tambahStok(kode, jumlah), repository.tambahStok(kode, jumlah));
+                    break;
+                default:
+                    int stokLama = random.nextInt(20);
+                    assertEquals(pembanding.updateStokJika(kode, stokLama, jumlah),
+                            repository.updateStokJika(kode, stokLama, jumlah));
+            }
+        }
+        assertEquals(ringkas(pembanding.cariSemua()), ringkas(repository.cariSemua()));
+        assertEquals(ringkas(pembanding.cariByNama("produk 1")), ringkas(repository.cariByNama("produk 1")));
+        assertEquals(ringkas(pembanding.cariByKategori("rumah")), ringkas(repository.cariByKategori("rumah")));
+        assertEquals(ringkas(pembanding.cariByKategori("elektronik", ModeKategori.TEPAT)),
+                ringkas(repository.cariByKategori("elektronik", ModeKategori.TEPAT)));
+        assertEquals(ringkas(pembanding.cariByKategori("ELEK", ModeKategori.AWALAN)),
+                ringkas(repository.cariByKategori("ELEK", ModeKategori.AWALAN)));
+        assertEquals(ringkas(pembanding.cariProdukStokMenipis()), ringkas(repository.cariProdukStokMenipis()));
+        assertEquals(ringkas(pembanding.cariProdukStokHabis()), ringkas(repository.cariProdukStokHabis()));
+        assertEquals(pembanding.hitungTotalStokAktif(), repository.hitungTotalStokAktif());
+        assertEquals(pembanding.hitungTotalNilaiAktif(), repository.hitungTotalNilaiAktif());
+        for (String k : new String[]{"elektronik", "Furnitur", "Tidak Ada"}) {
+            assertEquals(pembanding.ringkasanKategori(k).toString(), repository.ringkasanKategori(k).toString());
+        }
+        assertEquals(ringkas(pembanding.cariHalaman("P3", 10)), ringkas(repository.cariHalaman("P3", 10)));
+        assertEquals(pembanding.cariHalaman(null, 5).size(), repository.cariHalaman(null, 5).size());
+        assertEquals(ringkas(pembanding.streamSemua().collect(Collectors.toList())),
+                ringkas(repository.streamSemua().collect(Collectors.toList())));
+        assertEquals(ringkas(pembanding.cariDengan(p -> p.getHarga() > 500 && p.isAktif())),
+                ringkas(repository.cariDengan(p -> p.getHarga() > 500 && p.isAktif())));
+        for (int batas : new int[]{0, 1, 7, 1000}) {
+            assertTerbatas(repository.cariByNama("produk 1"), repository.cariByNama("produk 1", batas), batas);
+            assertTerbatas(repository.cariByKategori("elek", ModeKategori.AWALAN),
+                    repository.cariByKategori("elek", ModeKategori.AWALAN, batas), batas);
+            assertTerbatas(repository.cariProdukStokMenipis(), repository.cariProdukStokMenipis(batas), batas);
+            assertTerbatas(repository.cariProdukStokHabis(), repository.cariProdukStokHabis(batas), batas);
+            assertTerbatas(repository.cariDengan(Produk::isAktif), repository.cariDengan(Produk::isAktif, batas), batas);
+        }
+    }
+
+    @Test
+    @DisplayName("pendengar stok menerima setiap operasi stok yang berhasil")
+    void pendengarStok() {
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        List<PerubahanStok> event = new ArrayList<>();
+        repository.setPendengarStok(event::add);
+
+        assertTrue(repository.kurangiStok("PROD001", 5));
+        assertFalse(repository.kurangiStok("PROD001", 50));
+        assertTrue(repository.tambahStok("PROD001", 1));
+        assertTrue(repository.updateStokJika("PROD001", 6, 0));
+        assertFalse(repository.updateStokJika("PROD001", 6, 3));
+        assertTrue(repository.updateStok("PROD001", 8));
+        assertFalse(repository.updateStok("TIDAKADA", 1));
+
+        assertEquals(4, event.size());
+        assertEquals(10, event.get(0).getStokLama());
+        assertEquals(5, event.get(0).getStokBaru());
+        assertEquals(StatusStok.MENIPIS, event.get(0).getStatusBaru());
+        assertTrue(event.get(0).isLintasAmbang());
+        assertEquals(StatusStok.HABIS, event.get(2).getStatusBaru());
+        assertEquals(8, event.get(3).getStokBaru());
+
+        repository.setPendengarStok(null);
+        repository.tambahStok("PROD001", 1);
+        assertEquals(4, event.size());
+    }
+
+    @Test
+    @DisplayName("snapshot berupa salinan terurut yang tidak ikut berubah")
+    void snapshot() {
+        repository.simpan(new Produk("PROD002", "Mouse", "Elektronik", 100, 20, 5));
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 10, 5));
+        SnapshotProduk snapshot = repository.ambilSnapshot();
+        repository.kurangiStok("PROD001", 3);
+        repository.hapus("PROD002");
+
+        assertEquals(10, snapshot.cariByKode("PROD001").get().getStok());
+        assertEquals("PROD001", snapshot.cariSemua().get(0).getKode());
+        assertEquals(30, snapshot.hitungTotalStokAktif());
+        snapshot.close();
+        assertThrows(IllegalStateException.class, snapshot::cariSemua);
+    }
+
+    @Test
+    @DisplayName("ringkasan kategori dijaga saat menulis: simpan ulang, stok, hapus & id dipakai ulang")
+    void ringkasanKategoriInkremental() {
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 10, 5));
+        repository.simpan(new Produk("PROD002", "Mouse", "ELEKTRONIK", 100, 3, 5));
+        repository.simpan(new Produk("PROD003", "Meja", "Furnitur", 500, 1, 2));
+        assertEquals("RingkasanKategori{kategori='elektronik', jumlahProduk=2, totalStok=13, "
+                + "totalNilaiSen=1030000, jumlahStokMenipis=1}", repository.ringkasanKategori("elektronik").toString());
+
+        repository.kurangiStok("PROD001", 6);
+        Produk nonaktif = repository.cariByKode("PROD002").get();
+        nonaktif.setAktif(false);
+        repository.simpan(nonaktif);
+        RingkasanKategori ringkasan = repository.ringkasanKategori("Elektronik");
+        assertEquals(2, ringkasan.getJumlahProduk());
+        assertEquals(4, ringkasan.getTotalStok());
+        assertEquals(400000, ringkasan.getTotalNilaiSen());
+        assertEquals(2, ringkasan.getJumlahStokMenipis());
+
+        // Pindah kategori lalu hapus; id yang dibebaskan dipakai produk kategori lain
+        repository.simpan(new Produk("PROD001", "Laptop", "Furnitur", 1000, 4, 5));
+        repository.hapus("PROD002");
+        repository.simpan(new Produk("PROD004", "Kursi", "Furnitur", 200, 0, 2));
+        assertEquals(0, repository.ringkasanKategori("elektronik").getJumlahProduk());
+        assertEquals(0, repository.ringkasanKategori("elektronik").getTotalStok());
+        ringkasan = repository.ringkasanKategori("furnitur");
+        assertEquals(3, ringkasan.getJumlahProduk());
+        assertEquals(5, ringkasan.getTotalStok());
+        assertEquals(450000, ringkasan.getTotalNilaiSen());
+        assertEquals(2, ringkasan.getJumlahStokMenipis());
+    }
+
+    @Test
+    @DisplayName("total nilai di luar long sen: versi sen melempar, versi double tetap menjawab")
+    void totalNilaiOverflow() {
+        repository.simpan(new Produk("PROD001", "Mesin", "Industri", 1e9, 100_000_000, 1));
+        repository.simpan(new Produk("PROD002", "Baut", "Industri", 1000, 6, 1));
+
+        assertThrows(ArithmeticException.class, () -> repository.hitungTotalNilaiAktifSen());
+        assertEquals(1e17 + 6000, repository.hitungTotalNilaiAktif(), 1e3);
+        RingkasanKategori ringkasan = repository.ringkasanKategori("industri");
+        assertFalse(ringkasan.isTotalNilaiTepat());
+        assertEquals(1e17 + 6000, ringkasan.getTotalNilai(), 1e3);
+        try (SnapshotProduk snapshot = repository.ambilSnapshot()) {
+            assertThrows(ArithmeticException.class, snapshot::hitungTotalNilaiAktifSen);
+            assertEquals(1e17 + 6000, snapshot.hitungTotalNilaiAktif(), 1e3);
+        }
+
+        assertTrue(repository.updateStok("PROD001", 1));
+        assertEquals(100_000_000_000L + 600_000L, repository.hitungTotalNilaiAktifSen());
+    }
+
+    @Test
+    @DisplayName("harga di luar long sen: ringkasan kembali tepat setelah produknya dihapus")
+    void hargaTidakTerwakiliDicabut() {
+        repository.simpan(new Produk("PROD001", "Berlian", "Mewah", 1e17, 10, 1));
+        repository.simpan(new Produk("PROD002", "Jam", "Mewah", 5000, 2, 1));
+        assertFalse(repository.ringkasanKategori("Mewah").isTotalNilaiTepat());
+
+        assertTrue(repository.kurangiStok("PROD001", 4));
+        assertTrue(repository.tambahStok("PROD001", 1));
+        assertFalse(repository.ringkasanKategori("Mewah").isTotalNilaiTepat());
+        assertEquals(7e17 + 10000, repository.ringkasanKategori("Mewah").getTotalNilai(), 1e3);
+
+        assertTrue(repository.hapus("PROD001"));
+        RingkasanKategori ringkasan = repository.ringkasanKategori("Mewah");
+        assertTrue(ringkasan.isTotalNilaiTepat());
+        assertEquals(1_000_000, ringkasan.getTotalNilaiSen());
+    }
+
+    // Hasil terbatas = sebagian dari hasil penuh dengan ukuran min(penuh, batas)
+    private static void assertTerbatas(List<Produk> penuh, List<Produk> terbatas, int batas) {
+        assertEquals(Math.min(penuh.size(), batas), terbatas.size());
+        assertTrue(ringkas(penuh).entrySet().containsAll(ringkas(terbatas).entrySet()));
+    }
+
+    private static Map<String, String> ringkas(List<Produk> daftar) {
+        Map<String, String> hasil = new TreeMap<>();
+        for (Produk produk : daftar) {
+            hasil.put(produk.getKode(), produk.toString());
+        }
+        return hasil;
+    }
+}
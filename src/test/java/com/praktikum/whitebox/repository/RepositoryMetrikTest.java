@@ -0,0 +1,102 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.MetrikOperasi;
+import com.praktikum.whitebox.util.RegistriMetrik;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Metrik")
+public class RepositoryMetrikTest {
+
+    private RegistriMetrik registri;
+    private RepositoryMetrik repository;
+
+    @BeforeEach
+    void setUp() {
+        registri = new RegistriMetrik();
+        repository = new RepositoryMetrik(new RepositoryImplementation(), registri);
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        repository.simpan(new Produk("PROD002", "Mouse Gaming", "Elektronik", 500000, 3, 5));
+    }
+
+    @Test
+    @DisplayName("setiap operasi diteruskan dan dicatat")
+    void operasiDicatat() {
+        assertEquals(2, repository.cariByNama("gaming").size());
+        assertTrue(repository.cariByKode("PROD001").isPresent());
+        assertFalse(repository.cariByKode("PROD999").isPresent());
+        assertTrue(repository.kurangiStok("PROD001", 1));
+        assertFalse(repository.kurangiStok("PROD001", 100));
+        assertEquals(1, repository.cariProdukStokMenipis().size());
+        assertEquals(12, repository.hitungTotalStokAktif());
+
+        Map<String, MetrikOperasi.Snapshot> snapshot = registri.snapshot();
+        assertEquals(2, snapshot.get("repository.simpan").getJumlahPanggilan());
+        assertEquals(2, snapshot.get("repository.cariByNama").getTotalUkuranHasil());
+        assertEquals(2, snapshot.get("repository.cariByKode").getJumlahPanggilan());
+        assertEquals(1, snapshot.get("repository.cariByKode").getTotalUkuranHasil());
+        assertEquals(2, snapshot.get("repository.kurangiStok").getJumlahPanggilan());
+        assertEquals(1, snapshot.get("repository.kurangiStok").getTotalUkuranHasil());
+        assertEquals(1, snapshot.get("repository.cariProdukStokMenipis").getLatensi().getJumlah());
+        assertEquals(1, snapshot.get("repository.hitungTotalStokAktif").getJumlahPanggilan());
+    }
+
+    @Test
+    @DisplayName("hasil sama persis dengan repository yang dibungkus")
+    void hasilDiteruskan() {
+        assertTrue(repository.simpanJikaBelumAda(new Produk("PROD003", "Kabel", "Aksesoris", 1000, 0, 1)));
+        assertTrue(repository.tambahStok("PROD002", 1));
+        assertTrue(repository.updateStok("PROD002", 8));
+        assertTrue(repository.updateStokJika("PROD002", 8, 9));
+        assertEquals(1, repository.cariProdukStokHabis().size());
+        assertEquals(2, repository.cariByKategori("elektro").size());
+        assertEquals(2, repository.cariByKategori("Elektronik", ModeKategori.TEPAT).size());
+        assertEquals(3, repository.cariSemua().size());
+        assertEquals(3, repository.streamSemua().count());
+        assertEquals(2, repository.cariHalaman("PROD001", 10).size());
+        assertEquals(1, repository.cariDengan(p -> p.getHarga() > 1000000).size());
+        assertEquals(2, repository.ringkasanKategori("Elektronik").getJumlahProduk());
+        assertEquals(15000000L * 100 * 10 + 500000L * 100 * 9, repository.hitungTotalNilaiAktifSen());
+        assertTrue(repository.hapusJika("PROD003", p -> p.getStok() == 0));
+        assertTrue(repository.hapus("PROD002"));
+        Map<String, MetrikOperasi.Snapshot> snapshot = registri.snapshot();
+        assertEquals(1, snapshot.get("repository.hapus").getJumlahPanggilan());
+        assertEquals(1, snapshot.get("repository.hapusJika").getJumlahPanggilan());
+        assertEquals(1, snapshot.get("repository.hapusJika").getTotalUkuranHasil());
+        assertEquals(1, snapshot.get("repository.ringkasanKategori").getJumlahPanggilan());
+        assertEquals(2, snapshot.get("repository.ringkasanKategori").getTotalUkuranHasil());
+        assertEquals(1, snapshot.get("repository.hitungTotalNilaiAktifSen").getJumlahPanggilan());
+        assertEquals(1, snapshot.get("repository.streamSemua").getJumlahPanggilan());
+        assertEquals(3, snapshot.get("repository.streamSemua").getTotalUkuranHasil());
+    }
+
+    @Test
+    @DisplayName("streamSemua dicatat sekali saat habis atau ditutup, dengan jumlah produk yang dibaca")
+    void streamSemuaDiukur() {
+        assertEquals("PROD001", repository.streamSemua().map(Produk::getKode).sorted().findFirst().get());
+        try (Stream<Produk> stream = repository.streamSemua()) {
+            assertTrue(stream.anyMatch(p -> true));
+        }
+        repository.streamSemua().limit(1).forEach(p -> { });
+
+        MetrikOperasi.Snapshot metrik = registri.snapshot().get("repository.streamSemua");
+        // Stream ketiga tidak habis dan tidak ditutup, jadi belum tercatat
+        assertEquals(2, metrik.getJumlahPanggilan());
+        assertEquals(3, metrik.getTotalUkuranHasil());
+        assertEquals(0, metrik.getJumlahGagal());
+    }
+
+    @Test
+    @DisplayName("argumen constructor null ditolak")
+    void constructorNull() {
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryMetrik(null, registri));
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryMetrik(new RepositoryImplementation(), null));
+    }
+}
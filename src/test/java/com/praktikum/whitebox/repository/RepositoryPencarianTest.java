@@ -0,0 +1,243 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.HasilPencarian;
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Pencarian Full-Text")
+public class RepositoryPencarianTest {
+
+    private RepositoryPencarian repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RepositoryPencarian(new RepositoryImplementation());
+    }
+
+    private List<String> kode(List<HasilPencarian> hasil) {
+        return hasil.stream().map(h -> h.getProduk().getKode()).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("token dilipat huruf kecil dan tanpa aksen")
+    void tokenDilipat() {
+        assertArrayEquals(new String[]{"kopi", "gayo", "cafe", "creme", "2kg"},
+                IndeksTeks.pecah("Kopi-Gayo CAFÉ  Crème (2kg)"));
+        assertArrayEquals(new String[0], IndeksTeks.pecah("  --  "));
+        assertArrayEquals(new String[0], IndeksTeks.pecah(null));
+
+        repository.simpan(new Produk("PROD001", "Café Crème Brûlée", "Minuman", 45000, 10, 2));
+        assertEquals(List.of("PROD001"), kode(repository.cari("cafe creme brulee", 10)));
+        assertEquals(List.of("PROD001"), kode(repository.cari("CAFÉ", 10)));
+        assertEquals(List.of("PROD001"), kode(repository.cari("minuman", 10)));
+    }
+
+    @Test
+    @DisplayName("semua kata wajib cocok, kata terakhir juga sebagai awalan")
+    void andDanAwalan() {
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        repository.simpan(new Produk("PROD002", "Meja Laptop Lipat", "Furnitur", 250000, 10, 5));
+        repository.simpan(new Produk("PROD003", "Lampu Meja", "Elektronik", 90000, 10, 5));
+
+        assertEquals(List.of("PROD002"), kode(repository.cari("meja lapt", 10)));
+        assertEquals(2, repository.cari("lap", 10).size());
+        assertEquals(3, repository.cari("la", 10).size());
+        // Kata selain terakhir harus persis sama
+        assertTrue(repository.cari("lap gaming", 10).isEmpty());
+        // Awalan satu huruf tidak diekspansi
+        assertTrue(repository.cari("l", 10).isEmpty());
+        assertTrue(repository.cari("laptop kursi", 10).isEmpty());
+        assertTrue(repository.cari("", 10).isEmpty());
+        assertTrue(repository.cari(null, 10).isEmpty());
+        assertTrue(repository.cari("laptop", 0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("awalan dengan lebih dari BATAS_EKSPANSI term tidak kehilangan dokumen")
+    void ekspansiMelebihiBatas() {
+        for (int i = 0; i < 70; i++) {
+            repository.simpan(new Produk(String.format("LMP%03d", i), "Lampu la" + i, "Elektronik", 90000, 10, 5));
+        }
+        repository.simpan(new Produk("LPT001", "Laptop", "Elektronik", 15000000, 10, 5));
+        assertTrue(IndeksTeks.BATAS_EKSPANSI < 72);
+
+        List<String> hasil = kode(repository.cari("la", 100));
+        assertEquals(71, hasil.size());
+        assertTrue(hasil.contains("LPT001"));
+        assertEquals(70, repository.cari("lampu la", 100).size());
+        assertEquals(10, repository.cari("la", 10).size());
+
+        // Dokumen yang dihapus tidak ikut dari posting gabungan
+        repository.hapus("LMP069");
+        assertFalse(kode(repository.cari("la", 100)).contains("LMP069"));
+        assertEquals(70, repository.cari("la", 100).size());
+
+        // Term yang persis sama di depan term awalan dengan panjang nama yang sama
+        repository.simpan(new Produk("LAF001", "La", "Makanan", 20000, 10, 5));
+        assertEquals("LAF001", kode(repository.cari("la", 100)).get(0));
+    }
+
+    @Test
+    @DisplayName("relevansi: nama di atas kategori, nama pendek di atas panjang, term langka di atas umum")
+    void relevansi() {
+        repository.simpan(new Produk("PROD001", "Kabel Data", "Laptop", 20000, 10, 5));
+        repository.simpan(new Produk("PROD002", "Laptop Gaming Tipis Ringan Murah", "Elektronik", 9000000, 10, 5));
+        repository.simpan(new Produk("PROD003", "Laptop Kantor", "Elektronik", 7000000, 10, 5));
+        repository.simpan(new Produk("PROD004", "Laptop Laptop", "Laptop", 7000000, 10, 5));
+
+        List<HasilPencarian> hasil = repository.cari("laptop", 10);
+        assertEquals(List.of("PROD004", "PROD003", "PROD002", "PROD001"), kode(hasil));
+        for (int i = 1; i < hasil.size(); i++) {
+            assertTrue(hasil.get(i - 1).getSkor() >= hasil.get(i).getSkor());
+        }
+
+        // Hanya produk yang memuat kedua kata
+        repository.simpan(new Produk("PROD005", "Kursi Kantor", "Furnitur", 500000, 10, 5));
+        List<HasilPencarian> campuran = repository.cari("kantor elektronik", 10);
+        assertEquals(List.of("PROD003"), kode(campuran));
+        // Term persis di atas term yang hanya cocok sebagai awalan
+        repository.simpan(new Produk("PROD006", "Kopi", "Minuman", 1000, 1, 1));
+        repository.simpan(new Produk("PROD007", "Kopiah", "Pakaian", 1000, 1, 1));
+        assertEquals(List.of("PROD006", "PROD007"), kode(repository.cari("kopi", 10)));
+    }
+
+    @Test
+    @DisplayName("top-K sama dengan awal peringkat penuh, skor seri urut produk lebih dulu")
+    void topKKonsistenDenganPeringkatPenuh() {
+        String[] kata = {"kopi", "teh", "susu", "gula", "roti", "keju", "mentega", "madu"};
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder nama = new StringBuilder();
+            int n = 1 + random.nextInt(5);
+            for (int j = 0; j < n; j++) {
+                nama.append(kata[random.nextInt(kata.length)]).append(' ');
+            }
+            repository.simpan(new Produk("P" + (10000 + i), nama.toString().trim(), kata[i % 3], 1000, 1, 1));
+        }
+        for (String kueri : new String[]{"kopi", "kopi susu", "teh", "gula ma", "me"}) {
+            List<HasilPencarian> penuh = repository.cari(kueri, 5000);
+            for (int k : new int[]{1, 5, 37}) {
+                assertEquals(kode(penuh.subList(0, Math.min(k, penuh.size()))), kode(repository.cari(kueri, k)), kueri);
+            }
+            for (int i = 1; i < penuh.size(); i++) {
+                HasilPencarian a = penuh.get(i - 1);
+                HasilPencarian b = penuh.get(i);
+                assertTrue(a.getSkor() > b.getSkor()
+                        || (a.getSkor() == b.getSkor() && a.getProduk().getKode().compareTo(b.getProduk().getKode()) < 0));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("indeks mengikuti simpan ulang, hapus, hapusJika dan simpanJikaBelumAda")
+    void pembaruanInkremental() {
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        repository.simpan(new Produk("PROD001", "Monitor Gaming", "Elektronik", 3000000, 10, 5));
+        assertTrue(repository.cari("laptop", 10).isEmpty());
+        assertEquals(List.of("PROD001"), kode(repository.cari("monitor", 10)));
+
+        assertFalse(repository.simpanJikaBelumAda(new Produk("PROD001", "Printer", "Elektronik", 1, 1, 1)));
+        assertTrue(repository.cari("printer", 10).isEmpty());
+
+        assertFalse(repository.hapusJika("PROD001", p -> p.getStok() > 100));
+        assertEquals(1, repository.cari("monitor", 10).size());
+        assertTrue(repository.updateStok("PROD001", 0));
+        assertEquals(0, repository.cari("monitor", 10).get(0).getProduk().getStok());
+
+        assertTrue(repository.hapus("PROD001"));
+        assertTrue(repository.cari("monitor", 10).isEmpty());
+        assertEquals(0, repository.jumlahTerindeks());
+        assertFalse(repository.simpan(null));
+    }
+
+    @Test
+    @DisplayName("pemadatan setelah banyak hapus tetap memberi hasil benar")
+    void pemadatan() {
+        for (int i = 0; i < 5000; i++) {
+            repository.simpan(new Produk("P" + (10000 + i), "Barang " + (i % 2 == 0 ? "genap" : "ganjil"), "Umum", 1000, 1, 1));
+        }
+        for (int i = 0; i < 5000; i++) {
+            if (i % 5 != 0) {
+                repository.hapus("P" + (10000 + i));
+            }
+        }
+        assertEquals(1000, repository.jumlahTerindeks());
+        assertEquals(1000, repository.cari("barang", 10_000).size());
+        List<HasilPencarian> genap = repository.cari("genap", 10_000);
+        assertEquals(500, genap.size());
+        assertEquals("P10000", genap.get(0).getProduk().getKode());
+        assertEquals(500, repository.cari("ganjil", 10_000).size());
+        repository.simpan(new Produk("P99999", "Barang Langka", "Umum", 1000, 1, 1));
+        assertEquals(List.of("P99999"), kode(repository.cari("langka", 10)));
+    }
+
+    @Test
+    @DisplayName("indeks awal dari sumber terisi dan bulk insert ikut terindeks")
+    void sumberTerisiDanBulk() {
+        RepositoryKolom kolom = new RepositoryKolom();
+        kolom.simpan(new Produk("PROD001", "Teh Hijau", "Minuman", 15000, 10, 5));
+        RepositoryPencarian pencarian = new RepositoryPencarian(kolom);
+        assertEquals(1, pencarian.jumlahTerindeks());
+        assertEquals(List.of("PROD001"), kode(pencarian.cari("teh", 5)));
+
+        boolean[] hasil = pencarian.simpanSemuaJikaBelumAda(List.of(
+                new Produk("PROD001", "Teh Lain", "Minuman", 1, 1, 1),
+                new Produk("PROD002", "Teh Melati", "Minuman", 12000, 10, 5)));
+        assertArrayEquals(new boolean[]{false, true}, hasil);
+        assertEquals(List.of("PROD002"), kode(pencarian.cari("melati", 5)));
+        assertTrue(pencarian.cari("lain", 5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryPencarian(null));
+    }
+
+    @Test
+    @DisplayName("pencarian bersamaan dengan simpan dan hapus, indeks akhir sama dengan sumber")
+    void bersamaan() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> tugas = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            int seed = t;
+            tugas.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 3000; i++) {
+                    String kode = "P" + (1000 + random.nextInt(500));
+                    if (random.nextInt(3) == 0) {
+                        repository.hapus(kode);
+                    } else {
+                        repository.simpan(new Produk(kode, "Produk " + (random.nextBoolean() ? "merah" : "biru"),
+                                "Warna", 1000, 1, 1));
+                    }
+                }
+            }));
+            tugas.add(executor.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    for (HasilPencarian h : repository.cari("produk", 20)) {
+                        assertNotNull(h.getProduk());
+                    }
+                }
+            }));
+        }
+        for (Future<?> f : tugas) {
+            f.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int jumlahSumber = repository.cariSemua().size();
+        assertEquals(jumlahSumber, repository.jumlahTerindeks());
+        assertEquals(jumlahSumber, repository.cari("produk", 10_000).size());
+        long merah = repository.cariSemua().stream().filter(p -> p.getNama().endsWith("merah")).count();
+        assertEquals(merah, repository.cari("merah", 10_000).size());
+    }
+}
@@ -0,0 +1,118 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Produk Persisten")
+public class RepositoryPersistenTest {
+
+    @TempDir
+    Path direktori;
+
+    private Produk produk(String kode, int stok) {
+        return new Produk(kode, "Laptop Gaming " + kode, "Elektronik", 15000000.5, stok, 5);
+    }
+
+    @Test
+    @DisplayName("state dipulihkan dari log setelah buka ulang")
+    void pulihSetelahBukaUlang() throws IOException {
+        Path berkas = direktori.resolve("produk.log");
+        try (RepositoryPersisten repository = new RepositoryPersisten(berkas)) {
+            assertTrue(repository.simpan(produk("PROD001", 10)));
+            assertTrue(repository.simpan(produk("PROD002", 4)));
+            Produk nonAktif = produk("PROD003", 0);
+            nonAktif.setAktif(false);
+            nonAktif.setKategori(null);
+            assertTrue(repository.simpan(nonAktif));
+            assertTrue(repository.kurangiStok("PROD001", 3));
+            assertTrue(repository.tambahStok("PROD002", 1));
+            assertTrue(repository.updateStokJika("PROD002", 5, 2));
+            assertTrue(repository.updateStok("PROD003", 1));
+            assertTrue(repository.hapus("PROD003"));
+            assertFalse(repository.hapus("PROD003"));
+            assertFalse(repository.kurangiStok("PROD001", 100));
+            assertFalse(repository.simpan(null));
+            assertFalse(repository.simpanJikaBelumAda(produk("PROD001", 99)));
+            assertTrue(repository.simpanJikaBelumAda(produk("PROD004", 0)));
+            assertFalse(repository.hapusJika("PROD002", produk -> produk.getStok() == 0));
+            assertTrue(repository.hapusJika("PROD004", produk -> produk.getStok() == 0));
+        }
+
+        try (RepositoryPersisten repository = new RepositoryPersisten(berkas)) {
+            assertEquals(2, repository.cariSemua().size());
+            Produk produk1 = repository.cariByKode("PROD001").get();
+            assertEquals(7, produk1.getStok());
+            assertEquals(15000000.5, produk1.getHarga());
+            assertEquals("Laptop Gaming PROD001", produk1.getNama());
+            assertEquals(2, repository.cariByKode("PROD002").get().getStok());
+            assertTrue(repository.cariByKode("PROD003").isEmpty());
+            assertEquals(1, repository.cariProdukStokMenipis().size());
+            assertTrue(repository.cariProdukStokHabis().isEmpty());
+            assertEquals(2, repository.cariByNama("gaming").size());
+            assertEquals(2, repository.cariByKategori("elektro").size());
+            assertEquals(2, repository.cariByKategori("Elektronik", ModeKategori.TEPAT).size());
+            assertEquals(9, repository.hitungTotalStokAktif());
+            assertEquals(15000000.5 * 9, repository.hitungTotalNilaiAktif());
+        }
+    }
+
+    @Test
+    @DisplayName("tail log yang robek diabaikan dan ditimpa")
+    void tailRobekDiabaikan() throws IOException {
+        Path berkas = direktori.resolve("produk.log");
+        try (RepositoryPersisten repository = new RepositoryPersisten(berkas)) {
+            repository.simpan(produk("PROD001", 10));
+            repository.simpan(produk("PROD002", 10));
+        }
+        // Rusak byte terakhir rekaman kedua
+        try (RandomAccessFile file = new RandomAccessFile(berkas.toFile(), "rw")) {
+            file.seek(file.length() - 1);
+            file.write(7);
+        }
+        try (RepositoryPersisten repository = new RepositoryPersisten(berkas)) {
+            assertEquals(1, repository.cariSemua().size());
+            repository.simpan(produk("PROD003", 1));
+        }
+        try (RepositoryPersisten repository = new RepositoryPersisten(berkas)) {
+            assertTrue(repository.cariByKode("PROD001").isPresent());
+            assertTrue(repository.cariByKode("PROD002").isEmpty());
+            assertTrue(repository.cariByKode("PROD003").isPresent());
+        }
+    }
+
+    @Test
+    @DisplayName("kompaksi memperkecil log tanpa mengubah state")
+    void kompaksiOtomatisDanManual() throws IOException {
+        Path berkas = direktori.resolve("produk.log");
+        try (RepositoryPersisten repository = new RepositoryPersisten(berkas, true, 50)) {
+            repository.simpan(produk("PROD001", 1000));
+            repository.simpan(produk("PROD002", 1000));
+            for (int i = 0; i < 200; i++) {
+                repository.kurangiStok("PROD001", 1);
+                repository.tambahStok("PROD002", 1);
+            }
+            repository.sinkron();
+        }
+        long ukuranSetelahKompaksiOtomatis = Files.size(berkas);
+        try (RepositoryPersisten repository = new RepositoryPersisten(berkas)) {
+            assertEquals(800, repository.cariByKode("PROD001").get().getStok());
+            assertEquals(1200, repository.cariByKode("PROD002").get().getStok());
+            repository.kompaksi();
+            repository.hapus("PROD002");
+        }
+        assertTrue(ukuranSetelahKompaksiOtomatis < 100 * 30);
+        try (RepositoryPersisten repository = new RepositoryPersisten(berkas)) {
+            assertEquals(1, repository.cariSemua().size());
+            assertEquals(800, repository.cariByKode("PROD001").get().getStok());
+        }
+    }
+}
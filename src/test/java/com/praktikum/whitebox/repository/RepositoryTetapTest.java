@@ -0,0 +1,267 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.PerubahanStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.ProdukTetap;
+import com.praktikum.whitebox.model.RingkasanKategori;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Produk Immutable")
+public class RepositoryTetapTest {
+
+    private RepositoryTetap repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RepositoryTetap();
+    }
+
+    @Test
+    @DisplayName("entri tersimpan tidak pernah berubah, tulis menukar instance")
+    void entriTidakBerubah() {
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 10, 5));
+        ProdukTetap sebelum = repository.cariTetap("PROD001").get();
+        Produk salinan = repository.cariByKode("PROD001").get();
+        salinan.setStok(999);
+
+        assertTrue(repository.kurangiStok("PROD001", 3));
+        ProdukTetap sesudah = repository.cariTetap("PROD001").get();
+
+        assertEquals(10, sebelum.stok());
+        assertEquals(7, sesudah.stok());
+        assertNotSame(sebelum, sesudah);
+        assertSame(sesudah, repository.cariTetap("PROD001").get());
+        assertEquals(7, repository.cariByKode("PROD001").get().getStok());
+        assertFalse(repository.kurangiStok("PROD001", 8));
+        assertSame(sesudah, repository.cariTetap("PROD001").get());
+    }
+
+    @Test
+    @DisplayName("ubah atomik: penambahan bersamaan tidak ada yang hilang")
+    void ubahAtomik() throws Exception {
+        repository.simpanTetap(new ProdukTetap("PROD001", "Laptop", "Elektronik", 1000, 0, 5));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> hasil = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            hasil.add(executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    repository.ubah("PROD001", p -> p.withStok(p.stok() + 1).withHarga(p.harga() + 1));
+                }
+            }));
+        }
+        for (Future<?> f : hasil) {
+            f.get();
+        }
+        executor.shutdown();
+
+        ProdukTetap akhir = repository.cariTetap("PROD001").get();
+        assertEquals(4000, akhir.stok());
+        assertEquals(5000.0, akhir.harga());
+        assertFalse(repository.ubah("TIDAKADA", p -> p.withStok(1)).isPresent());
+        assertThrows(IllegalArgumentException.class, () -> repository.ubah("PROD001", p -> null));
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.ubah("PROD001", p -> new ProdukTetap("LAIN01", "x", "y", 1, 1, 1)));
+        assertEquals(4000, repository.cariTetap("PROD001").get().stok());
+    }
+
+    @Test
+    @DisplayName("indeks ikut berubah saat nama/kategori diganti lewat ubah")
+    void indeksMengikutiUbah() {
+        repository.simpanTetap(new ProdukTetap("PROD001", "Laptop Gaming", "Elektronik", 1000, 10, 5));
+        repository.ubah("PROD001", p -> new ProdukTetap(p.kode(), "Meja Kerja", "Furnitur",
+                p.harga(), p.stok(), p.stokMinimum(), p.aktif()));
+
+        assertTrue(repository.cariByNama("laptop").isEmpty());
+        assertEquals(1, repository.cariByNama("meja").size());
+        assertTrue(repository.cariByKategori("elektronik").isEmpty());
+        assertEquals(1, repository.cariByKategori("furnitur").size());
+        assertEquals(1, repository.cariDenganTetap(p -> p.harga() == 1000).size());
+    }
+
+    @Test
+    @DisplayName("snapshot menyimpan referensi entri lama tanpa salinan")
+    void snapshot() {
+        repository.simpanTetap(new ProdukTetap("PROD001", "Laptop", "Elektronik", 1000, 10, 5));
+        repository.simpanTetap(new ProdukTetap("PROD002", "Mouse", "Elektronik", 100, 20, 5));
+        try (SnapshotProduk snapshot = repository.ambilSnapshot()) {
+            repository.updateStok("PROD001", 1);
+            repository.hapus("PROD002");
+            repository.simpanTetap(new ProdukTetap("PROD003", "Meja", "Furnitur", 500, 7, 2));
+
+            assertEquals(30, snapshot.hitungTotalStokAktif());
+            assertEquals(List.of("PROD001", "PROD002"),
+                    snapshot.streamSemua().map(Produk::getKode).collect(Collectors.toList()));
+            assertEquals(3, ((SnapshotMemori<?>) snapshot).jumlahSalinan());
+        }
+        assertEquals(8, repository.hitungTotalStokAktif());
+    }
+
+    @Test
+    @DisplayName("pendengar stok hanya untuk operasi stok yang mengubah nilai")
+    void pendengarStok() {
+        repository.simpanTetap(new ProdukTetap("PROD001", "Laptop", "Elektronik", 1000, 10, 5));
+        List<PerubahanStok> event = new ArrayList<>();
+        repository.setPendengarStok(event::add);
+
+        repository.kurangiStok("PROD001", 6);
+        repository.updateStok("PROD001", 4);
+        repository.simpanTetap(new ProdukTetap("PROD001", "Laptop", "Elektronik", 1000, 50, 5));
+        repository.ubah("PROD001", p -> p.withStok(0));
+
+        assertEquals(2, event.size());
+        assertTrue(event.get(0).isLintasAmbang());
+        assertEquals(0, event.get(1).getStokBaru());
+    }
+
+    @Test
+    @DisplayName("hasil sama dengan RepositoryImplementation untuk operasi acak")
+    void samaDenganRepositoryImplementation() {
+        RepositoryImplementation pembanding = new RepositoryImplementation();
+        String[] kategori = {"Elektronik", "Elektronik Rumah", "Furnitur", null};
+        Random random = new Random(11);
+        for (int n = 0; n < 5000; n++) {
+            String kode = "P" + random.nextInt(80);
+            int jumlah = random.nextInt(12);
+            switch (random.nextInt(7)) {
+                case 0:
+                    Produk produk = new Produk(kode, "Produk " + random.nextInt(30), kategori[random.nextInt(4)],
+                            random.nextInt(100000) / 100.0, random.nextInt(20), random.nextInt(6));
+                    produk.setAktif(random.nextInt(5) != 0);
+                    Produk salinan = new Produk(produk.getKode(), produk.getNama(), produk.getKategori(),
+                            produk.getHarga(), produk.getStok(), produk.getStokMinimum());
+                    salinan.setAktif(produk.isAktif());
+                    if (random.nextBoolean()) {
+                        assertEquals(pembanding.simpan(produk), repository.simpan(salinan));
+                    } else {
+                        assertEquals(pembanding.simpanJikaBelumAda(produk), repository.simpanJikaBelumAda(salinan));
+                    }
+                    break;
+                case 1:
+                    if (random.nextBoolean()) {
+                        assertEquals(pembanding.hapus(kode), repository.hapus(kode));
+                    } else {
+                        assertEquals(pembanding.hapusJika(kode, p -> p.getStok() < 5),
+                                repository.hapusJika(kode, p -> p.getStok() < 5));
+                    }
+                    break;
+                case 2:
+                    // Stok negatif ikut diuji: semua implementasi menerimanya
+                    assertEquals(pembanding.updateStok(kode, jumlah - 2), repository.updateStok(kode, jumlah - 2));
+                    break;
+                case 3:
+                    assertEquals(pembanding.kurangiStok(kode, jumlah), repository.kurangiStok(kode, jumlah));
+                    break;
+                case 4:
+                    assertEquals(pembanding.tambahStok(kode, jumlah), repository.tambahStok(kode, jumlah));
+                    break;
+                default:
+                    int stokLama = random.nextInt(20);
+                    assertEquals(pembanding.updateStokJika(kode, stokLama, jumlah),
+                            repository.updateStokJika(kode, stokLama, jumlah));
+            }
+        }
+        assertEquals(ringkas(pembanding.cariSemua()), ringkas(repository.cariSemua()));
+        assertEquals(ringkas(pembanding.cariByNama("produk 1")), ringkas(repository.cariByNama("produk 1")));
+        assertEquals(ringkas(pembanding.cariByKategori("rumah")), ringkas(repository.cariByKategori("rumah")));
+        assertEquals(ringkas(pembanding.cariByKategori("elektronik", ModeKategori.TEPAT)),
+                ringkas(repository.cariByKategori("elektronik", ModeKategori.TEPAT)));
+        assertEquals(ringkas(pembanding.cariByKategori("ELEK", ModeKategori.AWALAN)),
+                ringkas(repository.cariByKategori("ELEK", ModeKategori.AWALAN)));
+        assertEquals(ringkas(pembanding.cariProdukStokMenipis()), ringkas(repository.cariProdukStokMenipis()));
+        assertEquals(ringkas(pembanding.cariProdukStokHabis()), ringkas(repository.cariProdukStokHabis()));
+        assertEquals(pembanding.hitungTotalStokAktif(), repository.hitungTotalStokAktif());
+        assertEquals(pembanding.hitungTotalNilaiAktif(), repository.hitungTotalNilaiAktif());
+        for (String k : new String[]{"elektronik", "Furnitur", "Tidak Ada"}) {
+            assertEquals(pembanding.ringkasanKategori(k).toString(), repository.ringkasanKategori(k).toString());
+        }
+        assertEquals(ringkas(pembanding.cariHalaman("P3", 10)), ringkas(repository.cariHalaman("P3", 10)));
+        assertEquals(pembanding.cariHalaman(null, 5).size(), repository.cariHalaman(null, 5).size());
+        assertEquals(ringkas(pembanding.streamSemua().collect(Collectors.toList())),
+                ringkas(repository.streamSemua().collect(Collectors.toList())));
+        assertEquals(ringkas(pembanding.cariDengan(p -> p.getHarga() > 500 && p.isAktif())),
+                ringkas(repository.cariDengan(p -> p.getHarga() > 500 && p.isAktif())));
+        for (int batas : new int[]{0, 1, 7, 1000}) {
+            assertTerbatas(repository.cariByNama("produk 1"), repository.cariByNama("produk 1", batas), batas);
+            assertTerbatas(repository.cariByKategori("elek", ModeKategori.AWALAN),
+                    repository.cariByKategori("elek", ModeKategori.AWALAN, batas), batas);
+            assertTerbatas(repository.cariProdukStokMenipis(), repository.cariProdukStokMenipis(batas), batas);
+            assertTerbatas(repository.cariProdukStokHabis(), repository.cariProdukStokHabis(batas), batas);
+            assertTerbatas(repository.cariDengan(Produk::isAktif), repository.cariDengan(Produk::isAktif, batas), batas);
+        }
+    }
+
+    @Test
+    @DisplayName("cariDengan hanya menyalin yang cocok; ringkasan & stok menipis mengikuti ubah")
+    void cariDenganDanRollupInkremental() {
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 10, 5));
+        repository.simpan(new Produk("PROD002", "Mouse", "Elektronik", 100, 3, 5));
+
+        List<Produk> cocok = repository.cariDengan(p -> {
+            p.setStok(999);
+            return p.getHarga() > 500;
+        });
+        assertEquals(1, cocok.size());
+        assertEquals(10, cocok.get(0).getStok());
+        cocok.get(0).setNama("Diubah");
+        assertEquals("Laptop", repository.cariTetap("PROD001").get().nama());
+
+        repository.ubah("PROD001", p -> new ProdukTetap(p.kode(), p.nama(), "Furnitur", p.harga(), 2, 5, true));
+        assertEquals(1, repository.ringkasanKategori("elektronik").getJumlahProduk());
+        assertEquals(2, repository.ringkasanKategori("FURNITUR").getTotalStok());
+        assertEquals(2, repository.cariProdukStokMenipis().size());
+        assertTrue(repository.updateStok("PROD002", 0));
+        assertEquals(1, repository.cariProdukStokMenipis().size());
+        assertEquals("PROD002", repository.cariProdukStokHabis().get(0).getKode());
+        assertTrue(repository.hapus("PROD002"));
+        assertTrue(repository.cariProdukStokHabis().isEmpty());
+        assertEquals(0, repository.ringkasanKategori("elektronik").getJumlahProduk());
+    }
+
+    @Test
+    @DisplayName("total nilai di luar long sen: versi sen melempar, versi double tetap menjawab")
+    void totalNilaiOverflow() {
+        repository.simpan(new Produk("PROD001", "Mesin", "Industri", 1e9, 100_000_000, 1));
+        repository.simpan(new Produk("PROD002", "Baut", "Industri", 1000, 6, 1));
+
+        assertThrows(ArithmeticException.class, () -> repository.hitungTotalNilaiAktifSen());
+        assertEquals(1e17 + 6000, repository.hitungTotalNilaiAktif(), 1e3);
+        RingkasanKategori ringkasan = repository.ringkasanKategori("industri");
+        assertFalse(ringkasan.isTotalNilaiTepat());
+        assertEquals(1e17 + 6000, ringkasan.getTotalNilai(), 1e3);
+        try (SnapshotProduk snapshot = repository.ambilSnapshot()) {
+            assertThrows(ArithmeticException.class, snapshot::hitungTotalNilaiAktifSen);
+            assertEquals(1e17 + 6000, snapshot.hitungTotalNilaiAktif(), 1e3);
+        }
+
+        assertTrue(repository.updateStok("PROD001", 1));
+        assertEquals(100_000_000_000L + 600_000L, repository.hitungTotalNilaiAktifSen());
+    }
+
+    // Hasil terbatas = sebagian dari hasil penuh dengan ukuran min(penuh, batas)
+    private static void assertTerbatas(List<Produk> penuh, List<Produk> terbatas, int batas) {
+        assertEquals(Math.min(penuh.size(), batas), terbatas.size());
+        assertTrue(ringkas(penuh).entrySet().containsAll(ringkas(terbatas).entrySet()));
+    }
+
+    private static Map<String, String> ringkas(List<Produk> daftar) {
+        Map<String, String> hasil = new TreeMap<>();
+        for (Produk produk : daftar) {
+            hasil.put(produk.getKode(), produk.toString());
+        }
+        return hasil;
+    }
+}
@@ -0,0 +1,142 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Kategori;
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Snapshot Katalog Biner")
+public class SnapshotKatalogBinerTest {
+
+    @TempDir
+    Path folder;
+
+    private Path berkas;
+    private RepositoryImplementation repository;
+    private RepositoryKategoriImplementation repositoryKategori;
+
+    @BeforeEach
+    void setUp() {
+        berkas = folder.resolve("katalog.snap");
+        repository = new RepositoryImplementation();
+        repositoryKategori = new RepositoryKategoriImplementation(repository);
+    }
+
+    private void samaDengan(Produk harapan, Produk hasil) {
+        assertEquals(harapan.getKode(), hasil.getKode());
+        assertEquals(harapan.getNama(), hasil.getNama());
+        assertEquals(harapan.getKategori(), hasil.getKategori());
+        assertEquals(harapan.getHarga(), hasil.getHarga());
+        assertEquals(harapan.getStok(), hasil.getStok());
+        assertEquals(harapan.getStokMinimum(), hasil.getStokMinimum());
+        assertEquals(harapan.isAktif(), hasil.isAktif());
+    }
+
+    @Test
+    @DisplayName("ekspor lalu muat: produk, kategori, null dan unicode utuh")
+    void eksporDanMuat() throws IOException {
+        Produk nonaktif = new Produk("PROD002", "Kopi Gayo ☕ Pilihan", "Minuman", 45999.99, 0, 5);
+        nonaktif.setAktif(false);
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        repository.simpan(nonaktif);
+        repository.simpan(new Produk("PROD003", null, null, 1, 3, 5));
+        Kategori kategori = new Kategori("KAT01", "Elektronik", null);
+        kategori.setAktif(false);
+        repositoryKategori.simpan(kategori);
+        repositoryKategori.simpan(new Kategori("KAT02", "Minuman", "Kopi & teh"));
+
+        long ukuran = SnapshotKatalogBiner.tulis(berkas, repository, repositoryKategori);
+        assertEquals(Files.size(berkas), ukuran);
+
+        RepositoryImplementation target = new RepositoryImplementation();
+        RepositoryKategoriImplementation targetKategori = new RepositoryKategoriImplementation(target);
+        assertEquals(3, SnapshotKatalogBiner.muat(berkas, target, targetKategori));
+
+        for (Produk asal : repository.cariSemua()) {
+            samaDengan(asal, target.cariByKode(asal.getKode()).get());
+        }
+        assertEquals(repository.hitungTotalNilaiAktifSen(), target.hitungTotalNilaiAktifSen());
+        assertEquals(1, target.cariProdukStokHabis().size());
+        assertFalse(targetKategori.cariByKode("KAT01").get().isAktif());
+        assertNull(targetKategori.cariByKode("KAT01").get().getDeskripsi());
+        assertEquals("Kopi & teh", targetKategori.cariByKode("KAT02").get().getDeskripsi());
+        assertEquals(1, targetKategori.ringkasan("KAT02").get().getJumlahProduk());
+    }
+
+    @Test
+    @DisplayName("banyak blok didekode berurutan dan dimuat ke repository kolom")
+    void banyakBlok() throws IOException {
+        List<Produk> daftar = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            daftar.add(new Produk("P" + (1000 + i), "Produk " + i, "Kat" + (i % 7), 100 + i, i % 13, 3));
+        }
+        SnapshotKatalogBiner.tulis(berkas, daftar, List.of(), 64);
+
+        List<Produk> hasil = SnapshotKatalogBiner.baca(berkas).getProduk();
+        assertEquals(daftar.size(), hasil.size());
+        for (int i = 0; i < daftar.size(); i++) {
+            samaDengan(daftar.get(i), hasil.get(i));
+        }
+        // Kategori dibaca dari kamus, bukan salinan string per produk
+        assertSame(hasil.get(0).getKategori(), hasil.get(7).getKategori());
+
+        RepositoryKolom kolom = new RepositoryKolom();
+        kolom.simpan(new Produk("P1000", "Sudah Ada", "Lain", 1, 1, 1));
+        assertEquals(999, SnapshotKatalogBiner.muat(berkas, kolom, null));
+        assertEquals("Sudah Ada", kolom.cariByKode("P1000").get().getNama());
+        assertEquals(1000, kolom.cariSemua().size());
+    }
+
+    @Test
+    @DisplayName("katalog kosong dan berkas lama diganti")
+    void katalogKosong() throws IOException {
+        Files.write(berkas, new byte[]{1, 2, 3});
+        SnapshotKatalogBiner.tulis(berkas, List.of(), List.of());
+        SnapshotKatalogBiner.Isi isi = SnapshotKatalogBiner.baca(berkas);
+        assertTrue(isi.getProduk().isEmpty());
+        assertTrue(isi.getKategori().isEmpty());
+        assertFalse(Files.exists(folder.resolve("katalog.snap.tmp")));
+    }
+
+    @Test
+    @DisplayName("header, meta, blok rusak atau berkas terpotong ditolak")
+    void berkasRusakDitolak() throws IOException {
+        List<Produk> daftar = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            daftar.add(new Produk("P" + (1000 + i), "Produk " + i, "Kat", 100, 1, 1));
+        }
+        SnapshotKatalogBiner.tulis(berkas, daftar, List.of(new Kategori("KAT01", "Kat", "x")), 50);
+        byte[] asli = Files.readAllBytes(berkas);
+
+        // Satu byte di tengah setiap bagian dibalik
+        int[] posisi = {8, SnapshotKatalogBiner.HEADER + 2, asli.length - 10};
+        for (int p : posisi) {
+            byte[] rusak = asli.clone();
+            rusak[p] ^= 0x40;
+            Files.write(berkas, rusak);
+            IOException e = assertThrows(IOException.class, () -> SnapshotKatalogBiner.baca(berkas));
+            assertTrue(e.getMessage().contains("rusak"));
+        }
+
+        Files.write(berkas, Arrays.copyOf(asli, asli.length - 1));
+        assertThrows(IOException.class, () -> SnapshotKatalogBiner.baca(berkas));
+        Files.write(berkas, Arrays.copyOf(asli, 10));
+        assertThrows(IOException.class, () -> SnapshotKatalogBiner.baca(berkas));
+
+        RepositoryImplementation target = new RepositoryImplementation();
+        assertThrows(IOException.class, () -> SnapshotKatalogBiner.muat(berkas, target, null));
+        assertTrue(target.cariSemua().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> SnapshotKatalogBiner.muat(berkas, null, null));
+    }
+}
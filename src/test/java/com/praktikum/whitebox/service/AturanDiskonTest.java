@@ -0,0 +1,127 @@
+package com.praktikum.whitebox.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Aturan Diskon")
+public class AturanDiskonTest {
+
+    // Salinan if-chain lama KalkulatorDiskon sebagai pembanding
+    private static double persentaseLama(int kuantitas, String tipePelanggan) {
+        double diskon = 0.0;
+        if (kuantitas >= 100) {
+            diskon += 0.20;
+        } else if (kuantitas >= 50) {
+            diskon += 0.15;
+        } else if (kuantitas >= 10) {
+            diskon += 0.10;
+        } else if (kuantitas >= 5) {
+            diskon += 0.05;
+        }
+        if ("PREMIUM".equalsIgnoreCase(tipePelanggan)) {
+            diskon += 0.10;
+        } else if ("REGULER".equalsIgnoreCase(tipePelanggan)) {
+            diskon += 0.05;
+        } else if ("BARU".equalsIgnoreCase(tipePelanggan)) {
+            diskon += 0.02;
+        }
+        return Math.min(diskon, 0.30);
+    }
+
+    @Test
+    @DisplayName("aturan bawaan sama persis dengan if-chain lama")
+    void bawaanSamaDenganLogikaLama() {
+        AturanDiskon aturan = AturanDiskon.bawaan();
+        String[] tipe = {"PREMIUM", "premium", "Reguler", "BARU", "UMUM", "", null};
+        for (int kuantitas = 1; kuantitas <= 250; kuantitas++) {
+            for (String t : tipe) {
+                assertEquals(persentaseLama(kuantitas, t), aturan.persentase(kuantitas, t));
+            }
+        }
+        assertEquals(0.30, aturan.getMaksimum());
+    }
+
+    @Test
+    @DisplayName("persentase basis poin sama dengan persentase double yang dibulatkan")
+    void basisPoinSamaDenganPersentase() {
+        AturanDiskon aturan = AturanDiskon.bawaan();
+        String[] tipe = {"PREMIUM", "reguler", "BARU", "UMUM", null};
+        for (int kuantitas = 1; kuantitas <= 250; kuantitas++) {
+            for (String t : tipe) {
+                assertEquals(Math.round(aturan.persentase(kuantitas, t) * 10_000),
+                        aturan.persentaseBasisPoin(kuantitas, t));
+            }
+        }
+        assertEquals(3000, aturan.persentaseBasisPoin(100, "PREMIUM"));
+        assertEquals(0, aturan.persentaseBasisPoin(1, 99));
+    }
+
+    @Test
+    @DisplayName("id pelanggan dan bonus")
+    void idPelangganDanBonus() {
+        AturanDiskon aturan = AturanDiskon.bawaan();
+        int premium = aturan.idPelanggan("PREMIUM");
+        assertNotEquals(AturanDiskon.ID_PELANGGAN_LAIN, premium);
+        assertEquals(premium, aturan.idPelanggan("premium"));
+        assertEquals(AturanDiskon.ID_PELANGGAN_LAIN, aturan.idPelanggan("UMUM"));
+        assertEquals(AturanDiskon.ID_PELANGGAN_LAIN, aturan.idPelanggan(null));
+        assertEquals(0.10, aturan.bonusPelanggan(premium));
+        assertEquals(0.0, aturan.bonusPelanggan(AturanDiskon.ID_PELANGGAN_LAIN));
+        assertEquals(0.0, aturan.bonusPelanggan(99));
+        assertEquals(0.0, aturan.bonusPelanggan(-1));
+    }
+
+    @Test
+    @DisplayName("muat aturan dari properties")
+    void dariProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("kuantitas.3", "0.04");
+        properties.setProperty("kuantitas.20", " 0.12 ");
+        properties.setProperty("pelanggan.vip", "0.2");
+        properties.setProperty("maksimum", "0.25");
+        AturanDiskon aturan = AturanDiskon.dariProperties(properties);
+
+        assertEquals(0.2, aturan.persentase(2, "VIP"), 1e-12);
+        assertEquals(0.04, aturan.persentase(19, null));
+        assertEquals(0.12, aturan.diskonKuantitas(500));
+        assertEquals(0.25, aturan.persentase(20, "vip"));
+    }
+
+    @Test
+    @DisplayName("konfigurasi tidak valid ditolak")
+    void konfigurasiTidakValid() {
+        Map<Integer, Double> tierNegatif = new HashMap<>();
+        tierNegatif.put(0, 0.1);
+        Map<Integer, Double> tierTerlaluBesar = new HashMap<>();
+        tierTerlaluBesar.put(5, 1.5);
+        Map<String, Double> bonusNull = new HashMap<>();
+        bonusNull.put("BARU", null);
+        Map<String, Double> bonusGanda = new HashMap<>();
+        bonusGanda.put("baru", 0.1);
+        bonusGanda.put("BARU", 0.2);
+        Map<String, Double> kosong = Collections.emptyMap();
+
+        assertThrows(IllegalArgumentException.class, () -> new AturanDiskon(null, kosong, 0.3));
+        assertThrows(IllegalArgumentException.class, () -> new AturanDiskon(Collections.emptyMap(), null, 0.3));
+        assertThrows(IllegalArgumentException.class, () -> new AturanDiskon(Collections.emptyMap(), kosong, -0.1));
+        assertThrows(IllegalArgumentException.class, () -> new AturanDiskon(Collections.emptyMap(), kosong, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> new AturanDiskon(tierNegatif, kosong, 0.3));
+        assertThrows(IllegalArgumentException.class, () -> new AturanDiskon(tierTerlaluBesar, kosong, 0.3));
+        assertThrows(IllegalArgumentException.class, () -> new AturanDiskon(Collections.emptyMap(), bonusNull, 0.3));
+        assertThrows(IllegalArgumentException.class, () -> new AturanDiskon(Collections.emptyMap(), bonusGanda, 0.3));
+
+        Properties kunciAsing = new Properties();
+        kunciAsing.setProperty("lainnya", "0.1");
+        assertThrows(IllegalArgumentException.class, () -> AturanDiskon.dariProperties(kunciAsing));
+        Properties bukanAngka = new Properties();
+        bukanAngka.setProperty("kuantitas.x", "0.1");
+        assertThrows(IllegalArgumentException.class, () -> AturanDiskon.dariProperties(bukanAngka));
+    }
+}
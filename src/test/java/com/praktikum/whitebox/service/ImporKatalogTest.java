@@ -0,0 +1,189 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.HasilImpor;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryImplementation;
+import com.praktikum.whitebox.repository.RepositoryKolom;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Impor Katalog")
+public class ImporKatalogTest {
+
+    @TempDir
+    Path folder;
+
+    private RepositoryImplementation repository;
+    private ImporKatalog impor;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RepositoryImplementation();
+        impor = new ImporKatalog(repository);
+    }
+
+    private Path tulis(String nama, String isi) throws IOException {
+        Path berkas = folder.resolve(nama);
+        Files.write(berkas, isi.getBytes(StandardCharsets.UTF_8));
+        return berkas;
+    }
+
+    @Test
+    @DisplayName("CSV dengan header, kutip, CRLF dan kolom aktif opsional")
+    void imporCsv() throws IOException {
+        Path berkas = tulis("katalog.csv",
+                "kode,nama,kategori,harga,stok,stokMinimum,aktif\r\n"
+                        + "PROD001,Laptop Gaming,Elektronik,15000000,10,5\r\n"
+                        + "PROD002,\"Meja, Kayu \"\"Jati\"\"\",Furnitur,2500000.50,3,5,false\r\n"
+                        + "\r\n"
+                        + "PROD003,Kursi Kantor,Furnitur,750000,0,2,1\r\n");
+
+        HasilImpor hasil = impor.impor(berkas);
+
+        assertEquals(3, hasil.getJumlahBaris());
+        assertEquals(3, hasil.getJumlahDiimpor());
+        assertEquals(0, hasil.getJumlahDitolak());
+        Produk meja = repository.cariByKode("PROD002").get();
+        assertEquals("Meja, Kayu \"Jati\"", meja.getNama());
+        assertEquals(2500000.50, meja.getHarga());
+        assertFalse(meja.isAktif());
+        assertTrue(repository.cariByKode("PROD001").get().isAktif());
+        assertEquals(1, repository.cariProdukStokHabis().size());
+    }
+
+    @Test
+    @DisplayName("baris tidak valid ditolak dengan nomor baris dan alasan")
+    void barisTidakValidDitolak() throws IOException {
+        Path berkas = tulis("katalog.csv",
+                "PROD001,Laptop Gaming,Elektronik,15000000,10,5\n"
+                        + "X,Nama Valid,Elektronik,1000,1,1\n"
+                        + "PROD003,Mouse,Elektronik,-5,1,1\n"
+                        + "PROD004,Keyboard,Elektronik,abc,1,1\n"
+                        + "PROD005,Monitor,Elektronik,1000\n"
+                        + "PROD006,\"Kabel,Elektronik,1000,1,1\n"
+                        + "PROD007,Speaker,Elektronik,1000,1,1,mungkin\n"
+                        + "PROD008,Webcam,Elektronik,1000,-1,1\n");
+
+        HasilImpor hasil = impor.impor(berkas);
+
+        assertEquals(8, hasil.getJumlahBaris());
+        assertEquals(1, hasil.getJumlahDiimpor());
+        assertEquals(7, hasil.getJumlahDitolak());
+        List<Long> nomor = hasil.getContohDitolak().stream()
+                .map(HasilImpor.BarisDitolak::getNomorBaris).collect(Collectors.toList());
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L, 7L, 8L), nomor);
+        assertTrue(hasil.getContohDitolak().get(0).getAlasan().contains("Kode"));
+        assertTrue(hasil.getContohDitolak().get(2).getAlasan().contains("harga"));
+        assertTrue(hasil.getContohDitolak().get(3).getAlasan().contains("Jumlah kolom"));
+        assertEquals(1, repository.cariSemua().size());
+    }
+
+    @Test
+    @DisplayName("kode ganda di berkas: baris pertama menang, kode yang sudah ada ditolak")
+    void kodeGandaDanSudahAda() throws IOException {
+        repository.simpan(new Produk("PROD009", "Lama Sekali", "Elektronik", 1000, 1, 1));
+        Path berkas = tulis("katalog.csv",
+                "PROD001,Laptop Gaming,Elektronik,15000000,10,5\n"
+                        + "PROD009,Baru Sekali,Elektronik,2000,1,1\n"
+                        + "PROD001,Laptop Kedua,Elektronik,1,1,1\n");
+
+        HasilImpor hasil = impor.impor(berkas);
+
+        assertEquals(1, hasil.getJumlahDiimpor());
+        assertEquals(2, hasil.getJumlahDitolak());
+        assertEquals(2, hasil.getContohDitolak().get(0).getNomorBaris());
+        assertTrue(hasil.getContohDitolak().get(0).getAlasan().contains("sudah ada"));
+        assertEquals(3, hasil.getContohDitolak().get(1).getNomorBaris());
+        assertTrue(hasil.getContohDitolak().get(1).getAlasan().contains("baris 1"));
+        assertEquals("Laptop Gaming", repository.cariByKode("PROD001").get().getNama());
+        assertEquals("Lama Sekali", repository.cariByKode("PROD009").get().getNama());
+    }
+
+    @Test
+    @DisplayName("JSON Lines dengan kunci sembarang urutan dan escape")
+    void imporJsonLines() throws IOException {
+        Path berkas = tulis("katalog.jsonl",
+                "{\"kode\":\"PROD001\",\"nama\":\"Laptop \\\"Pro\\\"\",\"kategori\":\"Elektronik\","
+                        + "\"harga\":15000000,\"stok\":10,\"stokMinimum\":5}\n"
+                        + "{\"stokMinimum\": 2, \"aktif\": false, \"stok\": 1, \"harga\": 99.5,"
+                        + " \"kategori\": \"Alat Tulis\", \"nama\": \"Pensil \\u00e9\", \"kode\": \"PROD002\", \"lain\": null}\n"
+                        + "{\"kode\":\"PROD003\",\"nama\":\"Tanpa Harga\",\"kategori\":\"Elektronik\",\"stok\":1,\"stokMinimum\":1}\n"
+                        + "bukan json\n");
+
+        HasilImpor hasil = impor.impor(berkas);
+
+        assertEquals(4, hasil.getJumlahBaris());
+        assertEquals(2, hasil.getJumlahDiimpor());
+        assertEquals(2, hasil.getJumlahDitolak());
+        assertEquals("Laptop \"Pro\"", repository.cariByKode("PROD001").get().getNama());
+        Produk pensil = repository.cariByKode("PROD002").get();
+        assertEquals("Pensil \u00e9", pensil.getNama());
+        assertFalse(pensil.isAktif());
+        assertTrue(hasil.getContohDitolak().get(0).getAlasan().contains("harga"));
+    }
+
+    @Test
+    @DisplayName("berkas besar dipecah ke banyak potongan tanpa kehilangan baris")
+    void banyakPotongan() throws IOException {
+        StringBuilder isi = new StringBuilder("kode,nama,kategori,harga,stok,stokMinimum\n");
+        for (int i = 0; i < 5000; i++) {
+            isi.append("P").append(10000 + i).append(",Produk ").append(i).append(",Kat")
+                    .append(i % 7).append(',').append(1000 + i).append(',').append(i % 10).append(",3\n");
+            if (i % 1000 == 0) {
+                isi.append("rusak\n");
+            }
+        }
+        Path berkas = tulis("besar.csv", isi.toString());
+        RepositoryKolom kolom = new RepositoryKolom();
+        // Potongan 4KB memaksa batas potongan jatuh di tengah berkas
+        HasilImpor hasil = new ImporKatalog(kolom, 3, 4096).impor(berkas);
+
+        assertEquals(5005, hasil.getJumlahBaris());
+        assertEquals(5000, hasil.getJumlahDiimpor());
+        assertEquals(5, hasil.getJumlahDitolak());
+        assertEquals(3, hasil.getContohDitolak().size());
+        assertEquals(3, hasil.getContohDitolak().get(0).getNomorBaris());
+        assertEquals(1004, hasil.getContohDitolak().get(1).getNomorBaris());
+        assertEquals(5000, kolom.cariSemua().size());
+        assertEquals(1000 + 4321, kolom.cariByKode("P14321").get().getHarga());
+    }
+
+    @Test
+    @DisplayName("berkas kosong dan format tidak dikenal")
+    void berkasKosongDanFormatTidakDikenal() throws IOException {
+        HasilImpor hasil = impor.impor(tulis("kosong.csv", ""));
+        assertEquals(0, hasil.getJumlahBaris());
+        assertEquals(0, hasil.getJumlahDiimpor());
+
+        Path teks = tulis("katalog.txt", "PROD001,Laptop Gaming,Elektronik,1000,1,1\n");
+        assertThrows(IllegalArgumentException.class, () -> impor.impor(teks));
+        assertEquals(1, impor.impor(teks, ImporKatalog.Format.CSV).getJumlahDiimpor());
+        assertThrows(IllegalArgumentException.class, () -> new ImporKatalog(null));
+        assertThrows(IllegalArgumentException.class, () -> new ImporKatalog(repository, -1));
+    }
+
+    @Test
+    @DisplayName("bulk insert kolom: kode ganda dan null tidak tersimpan")
+    void bulkInsertKolom() {
+        RepositoryProduk minimal = new RepositoryKolom();
+        List<Produk> daftar = List.of(
+                new Produk("PROD001", "Laptop Gaming", "Elektronik", 1000, 1, 1),
+                new Produk("PROD001", "Laptop Lain", "Elektronik", 1000, 1, 1),
+                new Produk(null, "Tanpa Kode", "Elektronik", 1000, 1, 1));
+        boolean[] hasil = minimal.simpanSemuaJikaBelumAda(daftar);
+        assertArrayEquals(new boolean[]{true, false, false}, hasil);
+        assertEquals("Laptop Gaming", minimal.cariByKode("PROD001").get().getNama());
+    }
+}
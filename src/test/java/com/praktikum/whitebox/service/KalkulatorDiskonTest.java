@@ -7,6 +7,9 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.Properties;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("Kalkulator Diskon - Complete Branch Coverage")
@@ -167,4 +170,99 @@ public class KalkulatorDiskonTest {
         });
         assertEquals("Harga dan kuantitas harus positif", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test ganti aturan diskon saat berjalan")
+    void testGantiAturan() {
+        Properties properties = new Properties();
+        properties.setProperty("kuantitas.2", "0.50");
+        properties.setProperty("maksimum", "0.40");
+        AturanDiskon aturanBaru = AturanDiskon.dariProperties(properties);
+
+        kalkulatorDiskon.gantiAturan(aturanBaru);
+
+        assertSame(aturanBaru, kalkulatorDiskon.getAturan());
+        assertEquals(1000 * 2 * 0.40, kalkulatorDiskon.hitungDiskon(1000, 2, "PREMIUM"), 0.001);
+        assertEquals(0.0, kalkulatorDiskon.hitungDiskon(1000, 1, "PREMIUM"), 0.001);
+        assertThrows(IllegalArgumentException.class, () -> kalkulatorDiskon.gantiAturan(null));
+        assertThrows(IllegalArgumentException.class, () -> new KalkulatorDiskon(null));
+    }
+
+    @Test
+    @DisplayName("Test hitung diskon massal identik dengan per baris")
+    void testHitungDiskonMassalIdentik() {
+        String[] tipe = {"PREMIUM", "reguler", "BARU", "UMUM", null};
+        Random random = new Random(3);
+        int n = 5000;
+        double[] harga = new double[n];
+        int[] kuantitas = new int[n];
+        int[] idPelanggan = new int[n];
+        String[] tipePerBaris = new String[n];
+        for (int i = 0; i < n; i++) {
+            harga[i] = 1 + random.nextInt(10_000_000) / 100.0;
+            kuantitas[i] = 1 + random.nextInt(150);
+            tipePerBaris[i] = tipe[random.nextInt(tipe.length)];
+            idPelanggan[i] = kalkulatorDiskon.getAturan().idPelanggan(tipePerBaris[i]);
+        }
+        double[] diskon = new double[n];
+        double[] hargaBersih = new double[n];
+
+        kalkulatorDiskon.hitungDiskonMassal(harga, kuantitas, idPelanggan, diskon, hargaBersih);
+
+        for (int i = 0; i < n; i++) {
+            assertEquals(kalkulatorDiskon.hitungDiskon(harga[i], kuantitas[i], tipePerBaris[i]), diskon[i]);
+            assertEquals(kalkulatorDiskon.hitungHargaSetelahDiskon(harga[i], kuantitas[i], tipePerBaris[i]),
+                    hargaBersih[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Test hitung diskon massal - input tidak valid")
+    void testHitungDiskonMassalTidakValid() {
+        double[] harga = {1000, 2000};
+        int[] kuantitas = {5, 10};
+        int[] id = {0, 0};
+        double[] keluaran = new double[2];
+
+        assertThrows(IllegalArgumentException.class,
+                () -> kalkulatorDiskon.hitungDiskonMassal(null, kuantitas, id, keluaran, keluaran));
+        assertThrows(IllegalArgumentException.class,
+                () -> kalkulatorDiskon.hitungDiskonMassal(harga, new int[]{5}, id, keluaran, keluaran));
+        assertThrows(IllegalArgumentException.class,
+                () -> kalkulatorDiskon.hitungDiskonMassal(harga, kuantitas, id, new double[1], keluaran));
+        assertThrows(IllegalArgumentException.class,
+                () -> kalkulatorDiskon.hitungDiskonMassal(harga, new int[]{5, 0}, id, keluaran, keluaran));
+        assertThrows(IllegalArgumentException.class,
+                () -> kalkulatorDiskon.hitungDiskonMassal(new double[]{-1, 1}, kuantitas, id, keluaran, keluaran));
+    }
+
+    @Test
+    @DisplayName("Test hitung diskon sen - dibulatkan ke sen terdekat")
+    void testHitungDiskonSen() {
+        // 5 x 0.33 = 1.65, diskon 5% + PREMIUM 10% = 0.2475 -> 0.25
+        assertEquals(25L, kalkulatorDiskon.hitungDiskonSen(33, 5, "PREMIUM"));
+        assertEquals(140L, kalkulatorDiskon.hitungHargaSetelahDiskonSen(33, 5, "PREMIUM"));
+        // 100 x 1.000.000,00 dengan diskon maksimum 30%
+        assertEquals(3_000_000_000L, kalkulatorDiskon.hitungDiskonSen(100_000_000, 100, "PREMIUM"));
+        assertEquals(0L, kalkulatorDiskon.hitungDiskonSen(100, 1, "LAIN"));
+        assertThrows(IllegalArgumentException.class, () -> kalkulatorDiskon.hitungDiskonSen(0, 1, "BARU"));
+        assertThrows(IllegalArgumentException.class, () -> kalkulatorDiskon.hitungDiskonSen(100, 0, "BARU"));
+        assertThrows(ArithmeticException.class,
+                () -> kalkulatorDiskon.hitungDiskonSen(Long.MAX_VALUE / 2, 5, "BARU"));
+    }
+
+    @Test
+    @DisplayName("Test hitung diskon sen - konsisten dengan jalur double")
+    void testHitungDiskonSenSamaDenganDouble() {
+        Random random = new Random(13);
+        String[] tipe = {"PREMIUM", "REGULER", "BARU", "LAIN"};
+        for (int i = 0; i < 10_000; i++) {
+            long hargaSen = 1 + random.nextInt(1_000_000_000);
+            int kuantitas = 1 + random.nextInt(150);
+            String tipePelanggan = tipe[random.nextInt(tipe.length)];
+            double diskonDouble = kalkulatorDiskon.hitungDiskon(hargaSen / 100.0, kuantitas, tipePelanggan);
+            long diskonSen = kalkulatorDiskon.hitungDiskonSen(hargaSen, kuantitas, tipePelanggan);
+            assertEquals(diskonDouble, diskonSen / 100.0, 0.005 + diskonDouble * 1e-12);
+        }
+    }
+}
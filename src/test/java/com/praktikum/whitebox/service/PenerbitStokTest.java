@@ -0,0 +1,291 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.PerubahanStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryImplementation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Penerbit Event Stok")
+public class PenerbitStokTest {
+
+    private static PerubahanStok event(int i) {
+        return new PerubahanStok("P" + i, i, i + 1, 5);
+    }
+
+    @Test
+    @DisplayName("Kapasitas dibulatkan ke pangkat dua dan input tidak valid ditolak")
+    void kapasitas() throws InterruptedException {
+        try (PenerbitStok penerbit = new PenerbitStok(100, PenerbitStok.KebijakanPenuh.BUANG)) {
+            assertEquals(128, penerbit.getKapasitas());
+            assertThrows(IllegalArgumentException.class, () -> penerbit.berlangganan("x", 0, batch -> {}));
+            assertThrows(IllegalArgumentException.class, () -> penerbit.berlangganan("x", 1, null));
+            assertFalse(penerbit.terbitkan(null));
+        }
+        assertEquals(1, new PenerbitStok(1, PenerbitStok.KebijakanPenuh.BUANG).getKapasitas());
+        assertThrows(IllegalArgumentException.class, () -> new PenerbitStok(0, PenerbitStok.KebijakanPenuh.BUANG));
+        assertThrows(IllegalArgumentException.class, () -> new PenerbitStok(8, null));
+    }
+
+    @Test
+    @DisplayName("Pelanggan menerima semua event berurutan dalam batch terbatas")
+    void batchBerurutan() throws InterruptedException {
+        List<PerubahanStok> diterima = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> ukuranBatch = Collections.synchronizedList(new ArrayList<>());
+        PenerbitStok penerbit = new PenerbitStok(64, PenerbitStok.KebijakanPenuh.TUNGGU);
+        penerbit.berlangganan("uji", 10, batch -> {
+            ukuranBatch.add(batch.size());
+            diterima.addAll(batch);
+        });
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(penerbit.terbitkan(event(i)));
+        }
+        penerbit.close();
+
+        assertEquals(1000, diterima.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("P" + i, diterima.get(i).getKode());
+        }
+        assertTrue(ukuranBatch.stream().allMatch(ukuran -> ukuran >= 1 && ukuran <= 10));
+        assertEquals(1000, penerbit.getJumlahDiterbitkan());
+        assertEquals(0, penerbit.getJumlahDibuang());
+        assertEquals(0, penerbit.getTertunda());
+    }
+
+    @Test
+    @DisplayName("Produsen paralel dengan dua pelanggan: tidak ada event hilang")
+    void produsenParalel() throws InterruptedException {
+        int produsen = 4;
+        int perProdusen = 5000;
+        long[] jumlah = new long[2];
+        PenerbitStok penerbit = new PenerbitStok(256, PenerbitStok.KebijakanPenuh.TUNGGU);
+        penerbit.berlangganan("a", 32, batch -> jumlah[0] += batch.size());
+        penerbit.berlangganan("b", 7, batch -> jumlah[1] += batch.size());
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < produsen; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProdusen; i++) {
+                    penerbit.terbitkan(event(i));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        penerbit.close();
+
+        // close() join thread pelanggan sehingga penghitung terlihat di sini
+        assertEquals(produsen * perProdusen, jumlah[0]);
+        assertEquals(produsen * perProdusen, jumlah[1]);
+        assertEquals(produsen * perProdusen, penerbit.getJumlahDiterbitkan());
+    }
+
+    @Test
+    @DisplayName("BUANG: buffer penuh karena pelanggan lambat -> event dibuang dan dihitung")
+    void backpressureBuang() throws InterruptedException {
+        CountDownLatch lepas = new CountDownLatch(1);
+        long[] diterima = {0};
+        PenerbitStok penerbit = new PenerbitStok(8, PenerbitStok.KebijakanPenuh.BUANG);
+        penerbit.berlangganan("lambat", 1, batch -> {
+            try {
+                lepas.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            diterima[0] += batch.size();
+        });
+        int berhasil = 0;
+        for (int i = 0; i < 100; i++) {
+            if (penerbit.terbitkan(event(i))) {
+                berhasil++;
+            }
+        }
+        assertTrue(berhasil <= 8);
+        assertEquals(100 - berhasil, penerbit.getJumlahDibuang());
+        assertEquals(berhasil, penerbit.getTertunda());
+
+        lepas.countDown();
+        penerbit.close();
+        assertEquals(berhasil, diterima[0]);
+    }
+
+    @Test
+    @DisplayName("TUNGGU: produsen tertahan sampai pelanggan membaca")
+    void backpressureTunggu() throws InterruptedException {
+        CountDownLatch lepas = new CountDownLatch(1);
+        PenerbitStok penerbit = new PenerbitStok(4, PenerbitStok.KebijakanPenuh.TUNGGU);
+        penerbit.berlangganan("lambat", 1, batch -> {
+            try {
+                lepas.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CountDownLatch selesai = new CountDownLatch(1);
+        Thread produsen = new Thread(() -> {
+            for (int i = 0; i < 20; i++) {
+                penerbit.terbitkan(event(i));
+            }
+            selesai.countDown();
+        });
+        produsen.start();
+        assertFalse(selesai.await(100, TimeUnit.MILLISECONDS));
+
+        lepas.countDown();
+        assertTrue(selesai.await(5, TimeUnit.SECONDS));
+        penerbit.close();
+        assertEquals(20, penerbit.getJumlahDiterbitkan());
+        assertEquals(0, penerbit.getJumlahDibuang());
+    }
+
+    @Test
+    @DisplayName("Exception di pelanggan dihitung dan tidak menghentikan pengiriman")
+    void pelangganGagal() throws InterruptedException {
+        List<PerubahanStok> diterima = Collections.synchronizedList(new ArrayList<>());
+        PenerbitStok penerbit = new PenerbitStok(16, PenerbitStok.KebijakanPenuh.TUNGGU);
+        penerbit.berlangganan("rapuh", 1, batch -> {
+            if (batch.get(0).getKode().equals("P1")) {
+                throw new IllegalStateException("gagal");
+            }
+            diterima.addAll(batch);
+        });
+        for (int i = 0; i < 3; i++) {
+            penerbit.terbitkan(event(i));
+        }
+        penerbit.close();
+
+        assertEquals(2, diterima.size());
+        assertEquals(1, penerbit.getJumlahGagalKirim());
+        assertFalse(penerbit.terbitkan(event(9)));
+        assertThrows(IllegalStateException.class, () -> penerbit.berlangganan("baru", 1, batch -> {}));
+    }
+
+    @Test
+    @DisplayName("Error di pelanggan melepas pelanggan itu tanpa menahan produsen TUNGGU")
+    void pelangganError() throws InterruptedException {
+        List<PerubahanStok> rapuh = Collections.synchronizedList(new ArrayList<>());
+        List<PerubahanStok> sehat = Collections.synchronizedList(new ArrayList<>());
+        PenerbitStok penerbit = new PenerbitStok(4, PenerbitStok.KebijakanPenuh.TUNGGU);
+        penerbit.berlangganan("rapuh", 1, batch -> {
+            if (batch.get(0).getKode().equals("P1")) {
+                throw new AssertionError("rusak");
+            }
+            rapuh.addAll(batch);
+        });
+        penerbit.berlangganan("sehat", 8, sehat::addAll);
+        Thread produsen = new Thread(() -> {
+            for (int i = 0; i < 100; i++) {
+                penerbit.terbitkan(event(i));
+            }
+        });
+        produsen.start();
+        produsen.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(produsen.isAlive(), "produsen tertahan oleh pelanggan yang mati");
+        penerbit.close();
+
+        assertEquals(1, rapuh.size());
+        assertEquals(100, sehat.size());
+        assertEquals(1, penerbit.getJumlahGagalKirim());
+        assertEquals(0, penerbit.getTertunda());
+    }
+
+    @Test
+    @DisplayName("Berlangganan saat produsen sedang menerbitkan: event bersambung sampai yang terakhir")
+    void berlanggananSaatMenerbitkan() throws InterruptedException {
+        // Tanpa pelanggan lain produsen BUANG berjalan bebas dan memutari ring berkali-kali
+        // selama pendaftaran; kursor awal yang basi membuat pelanggan menunggu selamanya
+        PenerbitStok penerbit = new PenerbitStok(2, PenerbitStok.KebijakanPenuh.BUANG);
+        AtomicBoolean jalan = new AtomicBoolean(true);
+        int[] terbit = {0};
+        Thread produsen = new Thread(() -> {
+            while (jalan.get()) {
+                if (penerbit.terbitkan(event(terbit[0]))) {
+                    terbit[0]++;
+                }
+            }
+        });
+        produsen.start();
+        List<List<PerubahanStok>> diterima = new ArrayList<>();
+        for (int n = 0; n < 100; n++) {
+            List<PerubahanStok> daftar = Collections.synchronizedList(new ArrayList<>());
+            diterima.add(daftar);
+            penerbit.berlangganan("susulan" + n, 4, daftar::addAll);
+        }
+        jalan.set(false);
+        produsen.join();
+
+        Thread penutup = new Thread(penerbit::close);
+        penutup.start();
+        penutup.join(TimeUnit.SECONDS.toMillis(30));
+        assertFalse(penutup.isAlive(), "pelanggan susulan menunggu slot yang sudah tertimpa");
+        for (List<PerubahanStok> daftar : diterima) {
+            for (int i = 1; i < daftar.size(); i++) {
+                assertEquals(daftar.get(i - 1).getStokLama() + 1, daftar.get(i).getStokLama());
+            }
+            if (!daftar.isEmpty()) {
+                assertEquals(terbit[0] - 1, daftar.get(daftar.size() - 1).getStokLama());
+            }
+        }
+        assertEquals(0, penerbit.getTertunda());
+    }
+
+    @Test
+    @DisplayName("close yang di-interrupt berhenti menunggu dan memulihkan status interrupt")
+    void closeDiinterrupt() throws InterruptedException {
+        CountDownLatch mulai = new CountDownLatch(1);
+        CountDownLatch lepas = new CountDownLatch(1);
+        PenerbitStok penerbit = new PenerbitStok(8, PenerbitStok.KebijakanPenuh.BUANG);
+        penerbit.berlangganan("lambat", 1, batch -> {
+            mulai.countDown();
+            try {
+                lepas.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        penerbit.terbitkan(event(0));
+        assertTrue(mulai.await(10, TimeUnit.SECONDS));
+
+        Thread.currentThread().interrupt();
+        penerbit.close();
+        assertTrue(Thread.interrupted());
+        lepas.countDown();
+        penerbit.close();
+    }
+
+    @Test
+    @DisplayName("Terhubung ke repository: hanya lintas ambang yang diteruskan pelanggan")
+    void integrasiRepository() throws InterruptedException {
+        RepositoryImplementation repository = new RepositoryImplementation();
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000.0, 20, 5));
+        List<PerubahanStok> lintas = Collections.synchronizedList(new ArrayList<>());
+        PenerbitStok penerbit = new PenerbitStok(64, PenerbitStok.KebijakanPenuh.BUANG);
+        penerbit.berlangganan("peringatan", 16, batch -> batch.stream()
+                .filter(PerubahanStok::isLintasAmbang)
+                .forEach(lintas::add));
+        repository.setPendengarStok(penerbit::terbitkan);
+
+        repository.kurangiStok("PROD001", 10); // 20 -> 10 aman
+        repository.kurangiStok("PROD001", 6);  // 10 -> 4 menipis
+        repository.kurangiStok("PROD001", 4);  // 4 -> 0 habis
+        repository.tambahStok("PROD001", 50);  // 0 -> 50 aman
+        penerbit.close();
+
+        assertEquals(4, penerbit.getJumlahDiterbitkan());
+        assertEquals(3, lintas.size());
+        assertEquals("AMAN->MENIPIS", lintas.get(0).getStatusLama() + "->" + lintas.get(0).getStatusBaru());
+        assertEquals("MENIPIS->HABIS", lintas.get(1).getStatusLama() + "->" + lintas.get(1).getStatusBaru());
+        assertEquals("HABIS->AMAN", lintas.get(2).getStatusLama() + "->" + lintas.get(2).getStatusBaru());
+    }
+}
@@ -0,0 +1,92 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.PergerakanStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.ModeKategori;
+import com.praktikum.whitebox.repository.RepositoryImplementation;
+import com.praktikum.whitebox.util.MetrikOperasi;
+import com.praktikum.whitebox.util.RegistriMetrik;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Service Inventaris Metrik")
+public class ServiceInventarisMetrikTest {
+
+    private RegistriMetrik registri;
+    private ServiceInventarisMetrik service;
+
+    @BeforeEach
+    void setUp() {
+        registri = new RegistriMetrik();
+        service = new ServiceInventarisMetrik(new RepositoryImplementation(), registri);
+    }
+
+    @Test
+    @DisplayName("operasi service tetap berperilaku sama dan dicatat")
+    void operasiDicatat() {
+        assertTrue(service.tambahProduk(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5)));
+        assertFalse(service.tambahProduk(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5)));
+        assertTrue(service.keluarStok("PROD001", 4));
+        assertFalse(service.keluarStok("PROD001", 100));
+        assertTrue(service.masukStok("PROD001", 1));
+        assertTrue(service.updateStok("PROD001", 0));
+        assertEquals(1, service.cariProdukByNama("gaming").size());
+        assertEquals(1, service.cariProdukByKategori("elektro").size());
+        assertEquals(1, service.cariProdukByKategori("Elektronik", ModeKategori.TEPAT).size());
+        assertEquals(Arrays.asList(true, false),
+                service.prosesBatchStok(Arrays.asList(PergerakanStok.masuk("PROD001", 2),
+                        PergerakanStok.keluar("PROD001", 5))));
+        assertTrue(service.updateStok("PROD001", 0));
+        assertTrue(service.hapusProduk("PROD001"));
+
+        Map<String, MetrikOperasi.Snapshot> snapshot = registri.snapshot();
+        assertEquals(2, snapshot.get("service.tambahProduk").getJumlahPanggilan());
+        assertEquals(1, snapshot.get("service.tambahProduk").getTotalUkuranHasil());
+        assertEquals(2, snapshot.get("service.keluarStok").getJumlahPanggilan());
+        assertEquals(1, snapshot.get("service.masukStok").getJumlahPanggilan());
+        assertEquals(2, snapshot.get("service.updateStok").getJumlahPanggilan());
+        assertEquals(1, snapshot.get("service.cariProdukByNama").getTotalUkuranHasil());
+        assertEquals(2, snapshot.get("service.cariProdukByKategori").getJumlahPanggilan());
+        assertEquals(2, snapshot.get("service.prosesBatchStok").getTotalUkuranHasil());
+        assertEquals(1, snapshot.get("service.hapusProduk").getJumlahPanggilan());
+    }
+
+    @Test
+    @DisplayName("varian terbatas dan pencarian stok dicatat di bawah nama varian penuhnya")
+    void pencarianTerbatasDicatat() {
+        service.tambahProduk(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 3, 5));
+        service.tambahProduk(new Produk("PROD002", "Mouse Gaming", "Elektronik", 150000, 2, 5));
+        service.tambahProduk(new Produk("PROD003", "Keyboard", "Elektronik", 300000, 0, 5));
+
+        assertEquals(1, service.cariProdukByNama("gaming", 1).size());
+        assertEquals(2, service.cariProdukByNama("gaming").size());
+        assertEquals(2, service.cariProdukByKategori("elektronik", ModeKategori.TEPAT, 2).size());
+        assertEquals(2, service.getProdukStokMenipis().size());
+        assertEquals(1, service.getProdukStokMenipis(1).size());
+        assertEquals(1, service.getProdukStokHabis().size());
+        assertEquals(1, service.getProdukStokHabis(5).size());
+
+        Map<String, MetrikOperasi.Snapshot> snapshot = registri.snapshot();
+        assertEquals(2, snapshot.get("service.cariProdukByNama").getJumlahPanggilan());
+        assertEquals(3, snapshot.get("service.cariProdukByNama").getTotalUkuranHasil());
+        assertEquals(1, snapshot.get("service.cariProdukByKategori").getJumlahPanggilan());
+        assertEquals(2, snapshot.get("service.cariProdukByKategori").getTotalUkuranHasil());
+        assertEquals(2, snapshot.get("service.getProdukStokMenipis").getJumlahPanggilan());
+        assertEquals(3, snapshot.get("service.getProdukStokMenipis").getTotalUkuranHasil());
+        assertEquals(2, snapshot.get("service.getProdukStokHabis").getJumlahPanggilan());
+        assertEquals(2, snapshot.get("service.getProdukStokHabis").getTotalUkuranHasil());
+    }
+
+    @Test
+    @DisplayName("registri null ditolak")
+    void registriNull() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ServiceInventarisMetrik(new RepositoryImplementation(), null));
+    }
+}
@@ -1,7 +1,11 @@
 package com.praktikum.whitebox.service;
 
+import com.praktikum.whitebox.model.LaporanInventaris;
+import com.praktikum.whitebox.model.PergerakanStok;
 import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.ModeKategori;
 import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.repository.SnapshotProduk;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,6 +17,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -38,25 +45,25 @@ public class ServiceInventarisTest {
     @Test
     @DisplayName("Tambah produk berhasil - semua kondisi valid")
     void testTambahProdukBerhasil() {
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.empty());
-        when(mockRepositoryProduk.simpan(produkTest)).thenReturn(true);
+        when(mockRepositoryProduk.simpanJikaBelumAda(produkTest)).thenReturn(true);
 
         boolean hasil = serviceInventaris.tambahProduk(produkTest);
 
         assertTrue(hasil);
-        verify(mockRepositoryProduk).cariByKode("PROD001");
-        verify(mockRepositoryProduk).simpan(produkTest);
+        verify(mockRepositoryProduk).simpanJikaBelumAda(produkTest);
+        verify(mockRepositoryProduk, never()).cariByKode(anyString());
+        verify(mockRepositoryProduk, never()).simpan(any(Produk.class));
     }
 
     @Test
     @DisplayName("Tambah produk gagal - produk sudah ada")
     void testTambahProdukGagalSudahAda() {
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
+        when(mockRepositoryProduk.simpanJikaBelumAda(produkTest)).thenReturn(false);
 
         boolean hasil = serviceInventaris.tambahProduk(produkTest);
 
         assertFalse(hasil);
-        verify(mockRepositoryProduk).cariByKode("PROD001");
+        verify(mockRepositoryProduk).simpanJikaBelumAda(produkTest);
         verify(mockRepositoryProduk, never()).simpan(any(Produk.class));
     }
 
@@ -68,36 +75,29 @@ public class ServiceInventarisTest {
         boolean hasil = serviceInventaris.tambahProduk(invalidProduk);
 
         assertFalse(hasil);
-        verify(mockRepositoryProduk, never()).cariByKode(anyString());
+        verify(mockRepositoryProduk, never()).simpanJikaBelumAda(any(Produk.class));
         verify(mockRepositoryProduk, never()).simpan(any(Produk.class));
     }
 
-    @Test
-    @DisplayName("Tambah produk gagal - repository simpan gagal")
-    void testTambahProdukGagalSimpan() {
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.empty());
-        when(mockRepositoryProduk.simpan(produkTest)).thenReturn(false);
-
-        boolean hasil = serviceInventaris.tambahProduk(produkTest);
-
-        assertFalse(hasil);
-        verify(mockRepositoryProduk).cariByKode("PROD001");
-        verify(mockRepositoryProduk).simpan(produkTest);
+    // ===== HAPUS PRODUK =====
+    // Jalankan syarat hapusJika terhadap produk yang dianggap tersimpan
+    private void stubHapusJika(Produk tersimpan, boolean hasilHapus) {
+        when(mockRepositoryProduk.hapusJika(eq("PROD001"), any())).thenAnswer(invocation -> {
+            Predicate<Produk> syarat = invocation.getArgument(1);
+            return tersimpan != null && syarat.test(tersimpan) && hasilHapus;
+        });
     }
 
-    // ===== HAPUS PRODUK =====
     @Test
     @DisplayName("Hapus produk berhasil")
     void testHapusProdukBerhasil() {
-        Produk produkTanpaStok = new Produk("PROD001", "Laptop", "Elektronik", 10000000, 0, 2);
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTanpaStok));
-        when(mockRepositoryProduk.hapus("PROD001")).thenReturn(true);
+        stubHapusJika(new Produk("PROD001", "Laptop", "Elektronik", 10000000, 0, 2), true);
 
         boolean hasil = serviceInventaris.hapusProduk("PROD001");
 
         assertTrue(hasil);
-        verify(mockRepositoryProduk).cariByKode("PROD001");
-        verify(mockRepositoryProduk).hapus("PROD001");
+        verify(mockRepositoryProduk).hapusJika(eq("PROD001"), any());
+        verify(mockRepositoryProduk, never()).cariByKode(anyString());
     }
 
     @Test
@@ -106,47 +106,41 @@ public class ServiceInventarisTest {
         boolean hasil = serviceInventaris.hapusProduk("AB");
 
         assertFalse(hasil);
-        verify(mockRepositoryProduk, never()).cariByKode(anyString());
+        verify(mockRepositoryProduk, never()).hapusJika(anyString(), any());
         verify(mockRepositoryProduk, never()).hapus(anyString());
     }
 
     @Test
     @DisplayName("Hapus produk gagal - produk tidak ditemukan")
     void testHapusProdukNotFound() {
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.empty());
+        stubHapusJika(null, true);
 
         boolean hasil = serviceInventaris.hapusProduk("PROD001");
 
         assertFalse(hasil);
-        verify(mockRepositoryProduk).cariByKode("PROD001");
-        verify(mockRepositoryProduk, never()).hapus(anyString());
+        verify(mockRepositoryProduk).hapusJika(eq("PROD001"), any());
     }
 
     @Test
     @DisplayName("Hapus produk gagal - stok masih ada")
     void testHapusProdukStokMasihAda() {
-        Produk produkDenganStok = new Produk("PROD001", "Laptop", "Elektronik", 10000000, 5, 2);
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkDenganStok));
+        stubHapusJika(new Produk("PROD001", "Laptop", "Elektronik", 10000000, 5, 2), true);
 
         boolean hasil = serviceInventaris.hapusProduk("PROD001");
 
         assertFalse(hasil);
-        verify(mockRepositoryProduk).cariByKode("PROD001");
         verify(mockRepositoryProduk, never()).hapus(anyString());
     }
 
     @Test
     @DisplayName("Hapus produk gagal - repository hapus gagal")
     void testHapusProdukGagalHapus() {
-        Produk produkTanpaStok = new Produk("PROD001", "Laptop", "Elektronik", 10000000, 0, 2);
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTanpaStok));
-        when(mockRepositoryProduk.hapus("PROD001")).thenReturn(false);
+        stubHapusJika(new Produk("PROD001", "Laptop", "Elektronik", 10000000, 0, 2), false);
 
         boolean hasil = serviceInventaris.hapusProduk("PROD001");
 
         assertFalse(hasil);
-        verify(mockRepositoryProduk).cariByKode("PROD001");
-        verify(mockRepositoryProduk).hapus("PROD001");
+        verify(mockRepositoryProduk).hapusJika(eq("PROD001"), any());
     }
 
     // ===== CARI PRODUK =====
@@ -206,18 +200,29 @@ public class ServiceInventarisTest {
         verify(mockRepositoryProduk).cariByKategori("Elektronik");
     }
 
+    @Test
+    @DisplayName("Cari produk by kategori dengan mode")
+    void testCariProdukByKategoriMode() {
+        List<Produk> expectedProduk = Arrays.asList(produkTest);
+        when(mockRepositoryProduk.cariByKategori("Elektronik", ModeKategori.TEPAT)).thenReturn(expectedProduk);
+
+        List<Produk> hasil = serviceInventaris.cariProdukByKategori("Elektronik", ModeKategori.TEPAT);
+
+        assertEquals(expectedProduk, hasil);
+        verify(mockRepositoryProduk).cariByKategori("Elektronik", ModeKategori.TEPAT);
+    }
+
     // ===== UPDATE STOK =====
     @Test
     @DisplayName("Update stok berhasil")
     void testUpdateStokBerhasil() {
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
         when(mockRepositoryProduk.updateStok("PROD001", 20)).thenReturn(true);
 
         boolean hasil = serviceInventaris.updateStok("PROD001", 20);
 
         assertTrue(hasil);
-        verify(mockRepositoryProduk).cariByKode("PROD001");
         verify(mockRepositoryProduk).updateStok("PROD001", 20);
+        verify(mockRepositoryProduk, never()).cariByKode(anyString());
     }
 
     @Test
@@ -226,162 +231,201 @@ public class ServiceInventarisTest {
         boolean hasil = serviceInventaris.updateStok("AB", -5);
 
         assertFalse(hasil);
-        verify(mockRepositoryProduk, never()).cariByKode(anyString());
         verify(mockRepositoryProduk, never()).updateStok(anyString(), anyInt());
     }
 
     @Test
-    @DisplayName("Update stok gagal - produk tidak ditemukan")
+    @DisplayName("Update stok gagal - produk tidak ditemukan / ditolak repository")
     void testUpdateStokProdukNotFound() {
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.empty());
+        when(mockRepositoryProduk.updateStok("PROD001", 10)).thenReturn(false);
 
         boolean hasil = serviceInventaris.updateStok("PROD001", 10);
 
         assertFalse(hasil);
-        verify(mockRepositoryProduk).cariByKode("PROD001");
-        verify(mockRepositoryProduk, never()).updateStok(anyString(), anyInt());
-    }
-
-    @Test
-    @DisplayName("Update stok gagal - repository update gagal")
-    void testUpdateStokGagalUpdate() {
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
-        when(mockRepositoryProduk.updateStok("PROD001", 20)).thenReturn(false);
-
-        boolean hasil = serviceInventaris.updateStok("PROD001", 20);
-
-        assertFalse(hasil);
-        verify(mockRepositoryProduk).cariByKode("PROD001");
-        verify(mockRepositoryProduk).updateStok("PROD001", 20);
+        verify(mockRepositoryProduk).updateStok("PROD001", 10);
     }
 
     // ===== KELUAR STOK =====
     @Test
     @DisplayName("Keluar stok berhasil - stok mencukupi")
     void testKeluarStokBerhasil() {
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
-        when(mockRepositoryProduk.updateStok("PROD001", 5)).thenReturn(true);
+        when(mockRepositoryProduk.kurangiStok("PROD001", 5)).thenReturn(true);
 
         boolean hasil = serviceInventaris.keluarStok("PROD001", 5);
 
         assertTrue(hasil);
-        verify(mockRepositoryProduk).updateStok("PROD001", 5);
+        verify(mockRepositoryProduk).kurangiStok("PROD001", 5);
+        verify(mockRepositoryProduk, never()).cariByKode(anyString());
+        verify(mockRepositoryProduk, never()).updateStok(anyString(), anyInt());
     }
 
     @Test
     @DisplayName("Keluar stok gagal - invalid parameter")
     void testKeluarStokInvalidParameter() {
-        boolean hasil = serviceInventaris.keluarStok("AB", -5);
+        assertFalse(serviceInventaris.keluarStok("AB", 5));
+        assertFalse(serviceInventaris.keluarStok("PROD001", 0));
 
-        assertFalse(hasil);
-        verify(mockRepositoryProduk, never()).cariByKode(anyString());
+        verify(mockRepositoryProduk, never()).kurangiStok(anyString(), anyInt());
     }
 
     @Test
-    @DisplayName("Keluar stok gagal - produk tidak ditemukan")
-    void testKeluarStokProdukNotFound() {
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.empty());
+    @DisplayName("Keluar stok gagal - ditolak repository (tidak ada, tidak aktif, stok kurang)")
+    void testKeluarStokDitolakRepository() {
+        when(mockRepositoryProduk.kurangiStok("PROD001", 15)).thenReturn(false);
 
-        boolean hasil = serviceInventaris.keluarStok("PROD001", 5);
+        boolean hasil = serviceInventaris.keluarStok("PROD001", 15);
 
         assertFalse(hasil);
-        verify(mockRepositoryProduk).cariByKode("PROD001");
-        verify(mockRepositoryProduk, never()).updateStok(anyString(), anyInt());
+        verify(mockRepositoryProduk).kurangiStok("PROD001", 15);
     }
 
+    // ===== MASUK STOK =====
     @Test
-    @DisplayName("Keluar stok gagal - produk tidak aktif")
-    void testKeluarStokProdukTidakAktif() {
-        produkTest.setAktif(false);
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
+    @DisplayName("Masuk stok berhasil")
+    void testMasukStokBerhasil() {
+        when(mockRepositoryProduk.tambahStok("PROD001", 5)).thenReturn(true);
 
-        boolean hasil = serviceInventaris.keluarStok("PROD001", 5);
+        boolean hasil = serviceInventaris.masukStok("PROD001", 5);
 
-        assertFalse(hasil);
-        verify(mockRepositoryProduk).cariByKode("PROD001");
-        verify(mockRepositoryProduk, never()).updateStok(anyString(), anyInt());
+        assertTrue(hasil);
+        verify(mockRepositoryProduk).tambahStok("PROD001", 5);
+        verify(mockRepositoryProduk, never()).cariByKode(anyString());
     }
 
     @Test
-    @DisplayName("Keluar stok gagal - stok tidak mencukupi")
-    void testKeluarStokGagalStokTidakMencukupi() {
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
-
-        boolean hasil = serviceInventaris.keluarStok("PROD001", 15);
+    @DisplayName("Masuk stok gagal - invalid parameter")
+    void testMasukStokInvalidParameter() {
+        assertFalse(serviceInventaris.masukStok("AB", 5));
+        assertFalse(serviceInventaris.masukStok("PROD001", -5));
 
-        assertFalse(hasil);
-        verify(mockRepositoryProduk, never()).updateStok(anyString(), anyInt());
+        verify(mockRepositoryProduk, never()).tambahStok(anyString(), anyInt());
     }
 
     @Test
-    @DisplayName("Keluar stok gagal - repository update gagal")
-    void testKeluarStokGagalUpdate() {
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
-        when(mockRepositoryProduk.updateStok("PROD001", 5)).thenReturn(false);
+    @DisplayName("Masuk stok gagal - ditolak repository")
+    void testMasukStokDitolakRepository() {
+        when(mockRepositoryProduk.tambahStok("PROD001", 5)).thenReturn(false);
 
-        boolean hasil = serviceInventaris.keluarStok("PROD001", 5);
+        boolean hasil = serviceInventaris.masukStok("PROD001", 5);
 
         assertFalse(hasil);
-        verify(mockRepositoryProduk).updateStok("PROD001", 5);
+        verify(mockRepositoryProduk).tambahStok("PROD001", 5);
     }
 
-    // ===== MASUK STOK =====
+    // ===== BATCH STOK =====
     @Test
-    @DisplayName("Masuk stok berhasil")
-    void testMasukStokBerhasil() {
+    @DisplayName("Batch stok - pergerakan per produk dinetkan dan di-commit sekali")
+    void testProsesBatchStokNetting() {
+        Produk produk2 = new Produk("PROD002", "Mouse", "Elektronik", 500000, 2, 1);
         when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
-        when(mockRepositoryProduk.updateStok("PROD001", 15)).thenReturn(true);
+        when(mockRepositoryProduk.cariByKode("PROD002")).thenReturn(Optional.of(produk2));
+        when(mockRepositoryProduk.updateStokJika("PROD001", 10, 7)).thenReturn(true);
+        when(mockRepositoryProduk.updateStokJika("PROD002", 2, 0)).thenReturn(true);
+
+        List<Boolean> hasil = serviceInventaris.prosesBatchStok(Arrays.asList(
+                PergerakanStok.keluar("PROD001", 8),
+                PergerakanStok.keluar("PROD002", 2),
+                PergerakanStok.masuk("PROD001", 5),
+                PergerakanStok.keluar("PROD002", 1),
+                PergerakanStok.keluar("PROD001", 20)));
+
+        assertEquals(Arrays.asList(true, true, true, false, false), hasil);
+        verify(mockRepositoryProduk, times(1)).cariByKode("PROD001");
+        verify(mockRepositoryProduk).updateStokJika("PROD001", 10, 7);
+        verify(mockRepositoryProduk).updateStokJika("PROD002", 2, 0);
+        verify(mockRepositoryProduk, never()).updateStok(anyString(), anyInt());
+    }
 
-        boolean hasil = serviceInventaris.masukStok("PROD001", 5);
+    @Test
+    @DisplayName("Batch stok - baris tidak valid, produk tidak ada & tidak aktif ditolak")
+    void testProsesBatchStokDitolak() {
+        Produk produkNonAktif = new Produk("PROD003", "Keyboard", "Elektronik", 300000, 3, 1);
+        produkNonAktif.setAktif(false);
+        when(mockRepositoryProduk.cariByKode("PROD002")).thenReturn(Optional.empty());
+        when(mockRepositoryProduk.cariByKode("PROD003")).thenReturn(Optional.of(produkNonAktif));
 
-        assertTrue(hasil);
-        verify(mockRepositoryProduk).updateStok("PROD001", 15);
+        List<Boolean> hasil = serviceInventaris.prosesBatchStok(Arrays.asList(
+                PergerakanStok.masuk("AB", 1),
+                PergerakanStok.masuk("PROD001", 0),
+                null,
+                new PergerakanStok("PROD001", null, 1),
+                PergerakanStok.masuk("PROD002", 1),
+                PergerakanStok.masuk("PROD003", 1)));
+
+        assertEquals(Arrays.asList(false, false, false, false, false, false), hasil);
+        verify(mockRepositoryProduk, never()).cariByKode("AB");
+        verify(mockRepositoryProduk, never()).cariByKode("PROD001");
+        verify(mockRepositoryProduk, never()).updateStokJika(anyString(), anyInt(), anyInt());
     }
 
     @Test
-    @DisplayName("Masuk stok gagal - invalid parameter")
-    void testMasukStokInvalidParameter() {
-        boolean hasil = serviceInventaris.masukStok("AB", -5);
+    @DisplayName("Batch stok - ulangi bila stok berubah di antara baca dan commit")
+    void testProsesBatchStokRetry() {
+        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
+        when(mockRepositoryProduk.updateStokJika("PROD001", 10, 12)).then(inv -> {
+            produkTest.setStok(11);
+            return false;
+        });
+        when(mockRepositoryProduk.updateStokJika("PROD001", 11, 13)).thenReturn(true);
 
-        assertFalse(hasil);
-        verify(mockRepositoryProduk, never()).cariByKode(anyString());
+        List<Boolean> hasil = serviceInventaris.prosesBatchStok(
+                Collections.singletonList(PergerakanStok.masuk("PROD001", 2)));
+
+        assertEquals(Collections.singletonList(true), hasil);
+        verify(mockRepositoryProduk, times(2)).cariByKode("PROD001");
     }
 
     @Test
-    @DisplayName("Masuk stok gagal - produk tidak ditemukan")
-    void testMasukStokProdukNotFound() {
-        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.empty());
+    @DisplayName("Batch stok - perubahan bersih nol tetap di-commit atomik dengan CAS")
+    void testProsesBatchStokNetNol() {
+        when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
+        when(mockRepositoryProduk.updateStokJika("PROD001", 10, 10)).thenReturn(true);
 
-        boolean hasil = serviceInventaris.masukStok("PROD001", 5);
+        List<Boolean> hasil = serviceInventaris.prosesBatchStok(Arrays.asList(
+                PergerakanStok.keluar("PROD001", 4),
+                PergerakanStok.masuk("PROD001", 4)));
 
-        assertFalse(hasil);
-        verify(mockRepositoryProduk).cariByKode("PROD001");
-        verify(mockRepositoryProduk, never()).updateStok(anyString(), anyInt());
+        assertEquals(Arrays.asList(true, true), hasil);
+        verify(mockRepositoryProduk).updateStokJika("PROD001", 10, 10);
     }
 
     @Test
-    @DisplayName("Masuk stok gagal - produk tidak aktif")
-    void testMasukStokProdukTidakAktif() {
-        produkTest.setAktif(false);
+    @DisplayName("Batch stok - net nol atas bacaan basi diulang dengan stok terbaru")
+    void testProsesBatchStokNetNolBasi() {
         when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
+        // Thread lain mengosongkan stok di antara baca dan commit
+        when(mockRepositoryProduk.updateStokJika("PROD001", 10, 10)).then(inv -> {
+            produkTest.setStok(0);
+            return false;
+        });
+        when(mockRepositoryProduk.updateStokJika("PROD001", 0, 5)).thenReturn(true);
 
-        boolean hasil = serviceInventaris.masukStok("PROD001", 5);
+        List<Boolean> hasil = serviceInventaris.prosesBatchStok(Arrays.asList(
+                PergerakanStok.keluar("PROD001", 5),
+                PergerakanStok.masuk("PROD001", 5)));
 
-        assertFalse(hasil);
-        verify(mockRepositoryProduk).cariByKode("PROD001");
-        verify(mockRepositoryProduk, never()).updateStok(anyString(), anyInt());
+        assertEquals(Arrays.asList(false, true), hasil);
     }
 
     @Test
-    @DisplayName("Masuk stok gagal - repository update gagal")
-    void testMasukStokGagalUpdate() {
+    @DisplayName("Batch stok - percobaan CAS dibatasi, baris ditolak bila terus gagal")
+    void testProsesBatchStokPercobaanDibatasi() {
         when(mockRepositoryProduk.cariByKode("PROD001")).thenReturn(Optional.of(produkTest));
-        when(mockRepositoryProduk.updateStok("PROD001", 15)).thenReturn(false);
+        when(mockRepositoryProduk.updateStokJika("PROD001", 10, 12)).thenReturn(false);
 
-        boolean hasil = serviceInventaris.masukStok("PROD001", 5);
+        List<Boolean> hasil = serviceInventaris.prosesBatchStok(
+                Collections.singletonList(PergerakanStok.masuk("PROD001", 2)));
 
-        assertFalse(hasil);
-        verify(mockRepositoryProduk).updateStok("PROD001", 15);
+        assertEquals(Collections.singletonList(false), hasil);
+        verify(mockRepositoryProduk, times(ServiceInventaris.PERCOBAAN_BATCH_MAKS))
+                .updateStokJika("PROD001", 10, 12);
+    }
+
+    @Test
+    @DisplayName("Batch stok - input kosong/null")
+    void testProsesBatchStokKosong() {
+        assertTrue(serviceInventaris.prosesBatchStok(null).isEmpty());
+        assertTrue(serviceInventaris.prosesBatchStok(Collections.emptyList()).isEmpty());
     }
 
     // ===== LAPORAN & STATISTIK =====
@@ -414,60 +458,160 @@ public class ServiceInventarisTest {
     }
 
     @Test
-    @DisplayName("Hitung total nilai inventaris")
-    void testHitungTotalNilaiInventaris() {
+    @DisplayName("Stream semua produk dari repository")
+    void testStreamSemuaProduk() {
         Produk produk1 = new Produk("PROD001", "Laptop", "Elektronik", 10000000, 2, 1);
         Produk produk2 = new Produk("PROD002", "Mouse", "Elektronik", 500000, 5, 2);
-        Produk produkNonAktif = new Produk("PROD003", "Keyboard", "Elektronik", 300000, 3, 1);
-        produkNonAktif.setAktif(false);
+        when(mockRepositoryProduk.streamSemua()).thenReturn(Stream.of(produk1, produk2));
+
+        List<String> kode = serviceInventaris.streamSemuaProduk()
+                .map(Produk::getKode)
+                .collect(Collectors.toList());
 
-        List<Produk> semuaProduk = Arrays.asList(produk1, produk2, produkNonAktif);
-        when(mockRepositoryProduk.cariSemua()).thenReturn(semuaProduk);
+        assertEquals(Arrays.asList("PROD001", "PROD002"), kode);
+        verify(mockRepositoryProduk, never()).cariSemua();
+    }
+
+    @Test
+    @DisplayName("Halaman produk - ukuran dibatasi maksimum")
+    void testGetProdukHalaman() {
+        Produk produk = new Produk("PROD002", "Mouse", "Elektronik", 500000, 5, 2);
+        when(mockRepositoryProduk.cariHalaman("PROD001", ServiceInventaris.UKURAN_HALAMAN_MAKS))
+                .thenReturn(Collections.singletonList(produk));
+
+        List<Produk> hasil = serviceInventaris.getProdukHalaman("PROD001", 1_000_000);
+
+        assertEquals(1, hasil.size());
+        verify(mockRepositoryProduk).cariHalaman("PROD001", ServiceInventaris.UKURAN_HALAMAN_MAKS);
+    }
+
+    @Test
+    @DisplayName("Pencarian terbatas - batas dipotong ke ukuran halaman maksimum")
+    void testPencarianTerbatas() {
+        when(mockRepositoryProduk.cariByNama("laptop", ServiceInventaris.UKURAN_HALAMAN_MAKS))
+                .thenReturn(Collections.singletonList(produkTest));
+
+        assertEquals(1, serviceInventaris.cariProdukByNama("laptop", 1_000_000).size());
+        serviceInventaris.cariProdukByKategori("elektronik", ModeKategori.AWALAN, 5);
+        serviceInventaris.getProdukStokMenipis(20);
+        serviceInventaris.getProdukStokHabis(1_000_000);
+
+        verify(mockRepositoryProduk).cariByKategori("elektronik", ModeKategori.AWALAN, 5);
+        verify(mockRepositoryProduk).cariProdukStokMenipis(20);
+        verify(mockRepositoryProduk).cariProdukStokHabis(ServiceInventaris.UKURAN_HALAMAN_MAKS);
+        verify(mockRepositoryProduk, never()).cariByNama("laptop");
+    }
+
+    @Test
+    @DisplayName("Halaman produk - ukuran tidak valid")
+    void testGetProdukHalamanTidakValid() {
+        assertTrue(serviceInventaris.getProdukHalaman(null, 0).isEmpty());
+        verify(mockRepositoryProduk, never()).cariHalaman(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Hitung total nilai inventaris")
+    void testHitungTotalNilaiInventaris() {
+        double expected = (10000000.0 * 2) + (500000.0 * 5); // hanya produk aktif
+        when(mockRepositoryProduk.hitungTotalNilaiAktif()).thenReturn(expected);
 
         double totalNilai = serviceInventaris.hitungTotalNilaiInventaris();
 
-        double expected = (10000000 * 2) + (500000 * 5); // hanya produk aktif
-        assertEquals(expected, totalNilai, 0.001);
-        verify(mockRepositoryProduk).cariSemua();
+        assertEquals(22500000.0, totalNilai, 0.001);
+        verify(mockRepositoryProduk).hitungTotalNilaiAktif();
+        verify(mockRepositoryProduk, never()).cariSemua();
     }
 
     @Test
     @DisplayName("Hitung total nilai inventaris - empty list")
     void testHitungTotalNilaiInventarisEmpty() {
-        when(mockRepositoryProduk.cariSemua()).thenReturn(Collections.emptyList());
+        when(mockRepositoryProduk.hitungTotalNilaiAktif()).thenReturn(0.0);
 
         double totalNilai = serviceInventaris.hitungTotalNilaiInventaris();
 
         assertEquals(0.0, totalNilai, 0.001);
-        verify(mockRepositoryProduk).cariSemua();
+        verify(mockRepositoryProduk).hitungTotalNilaiAktif();
+    }
+
+    @Test
+    @DisplayName("Hitung total nilai inventaris dalam sen - tepat tanpa pembulatan double")
+    void testHitungTotalNilaiInventarisSen() {
+        when(mockRepositoryProduk.hitungTotalNilaiAktifSen()).thenReturn(1_000_000_000_000_001L);
+
+        assertEquals(1_000_000_000_000_001L, serviceInventaris.hitungTotalNilaiInventarisSen());
+        verify(mockRepositoryProduk).hitungTotalNilaiAktifSen();
     }
 
     @Test
     @DisplayName("Hitung total stok")
     void testHitungTotalStok() {
-        Produk produk1 = new Produk("PROD001", "Laptop", "Elektronik", 10000000, 2, 1);
-        Produk produk2 = new Produk("PROD002", "Mouse", "Elektronik", 500000, 5, 2);
-        Produk produkNonAktif = new Produk("PROD003", "Keyboard", "Elektronik", 300000, 3, 1);
-        produkNonAktif.setAktif(false);
-
-        List<Produk> semuaProduk = Arrays.asList(produk1, produk2, produkNonAktif);
-        when(mockRepositoryProduk.cariSemua()).thenReturn(semuaProduk);
+        when(mockRepositoryProduk.hitungTotalStokAktif()).thenReturn(7L);
 
         int totalStok = serviceInventaris.hitungTotalStok();
 
-        int expected = 2 + 5; // hanya produk aktif
-        assertEquals(expected, totalStok);
-        verify(mockRepositoryProduk).cariSemua();
+        assertEquals(7, totalStok);
+        verify(mockRepositoryProduk).hitungTotalStokAktif();
+        verify(mockRepositoryProduk, never()).cariSemua();
+    }
+
+    @Test
+    @DisplayName("Hitung total stok - melewati Integer.MAX_VALUE tidak membungkus")
+    void testHitungTotalStokOverflow() {
+        when(mockRepositoryProduk.hitungTotalStokAktif()).thenReturn(Integer.MAX_VALUE + 5L);
+
+        assertThrows(ArithmeticException.class, () -> serviceInventaris.hitungTotalStok());
+        assertEquals(Integer.MAX_VALUE + 5L, serviceInventaris.hitungTotalStokAktif());
     }
 
     @Test
     @DisplayName("Hitung total stok - empty list")
     void testHitungTotalStokEmpty() {
-        when(mockRepositoryProduk.cariSemua()).thenReturn(Collections.emptyList());
+        when(mockRepositoryProduk.hitungTotalStokAktif()).thenReturn(0L);
 
         int totalStok = serviceInventaris.hitungTotalStok();
 
         assertEquals(0, totalStok);
-        verify(mockRepositoryProduk).cariSemua();
+        verify(mockRepositoryProduk).hitungTotalStokAktif();
+    }
+
+    @Test
+    @DisplayName("Buat laporan dari satu snapshot lalu snapshot ditutup")
+    void testBuatLaporan() {
+        Produk nonaktif = new Produk("PROD003", "Meja", "Furnitur", 500, 0, 2);
+        nonaktif.setAktif(false);
+        SnapshotProduk snapshot = mock(SnapshotProduk.class);
+        when(mockRepositoryProduk.ambilSnapshot()).thenReturn(snapshot);
+        when(snapshot.streamSemua()).thenReturn(Stream.of(
+                produkTest,
+                new Produk("PROD002", "Mouse", "Elektronik", 100.25, 3, 5),
+                nonaktif));
+
+        LaporanInventaris laporan = serviceInventaris.buatLaporan();
+
+        assertEquals(3, laporan.getJumlahProduk());
+        assertEquals(13, laporan.getTotalStokAktif());
+        assertEquals(15000000000L + 30075L, laporan.getTotalNilaiAktifSen());
+        assertEquals(1, laporan.getJumlahStokMenipis());
+        assertEquals(1, laporan.getJumlahStokHabis());
+        verify(snapshot).close();
+        verify(mockRepositoryProduk, never()).hitungTotalStokAktif();
+    }
+
+    @Test
+    @DisplayName("Buat laporan - total nilai di luar long sen tetap tersedia sebagai double")
+    void testBuatLaporanTotalNilaiOverflow() {
+        SnapshotProduk snapshot = mock(SnapshotProduk.class);
+        when(mockRepositoryProduk.ambilSnapshot()).thenReturn(snapshot);
+        when(snapshot.streamSemua()).thenReturn(Stream.of(
+                new Produk("PROD001", "Mesin", "Industri", 1e9, 100_000_000, 1),
+                new Produk("PROD002", "Baut", "Industri", 1000, 6, 1)));
+
+        LaporanInventaris laporan = serviceInventaris.buatLaporan();
+
+        assertEquals(100_000_006, laporan.getTotalStokAktif());
+        assertFalse(laporan.isTotalNilaiAktifTepat());
+        assertThrows(ArithmeticException.class, laporan::getTotalNilaiAktifSen);
+        assertEquals(1e17 + 6000, laporan.getTotalNilaiAktif(), 1e3);
+        assertTrue(laporan.toString().contains("~"));
     }
-}
\ No newline at end of file
+}
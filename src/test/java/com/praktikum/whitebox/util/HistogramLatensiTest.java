@@ -0,0 +1,93 @@
+package com.praktikum.whitebox.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Histogram Latensi")
+public class HistogramLatensiTest {
+
+    @Test
+    @DisplayName("indeks bucket monoton dan batas atas memuat nilainya")
+    void indeksDanBatasAtas() {
+        long[] nilai = {0, 1, 15, 16, 17, 31, 32, 33, 1000, 123456789, Long.MAX_VALUE / 3, Long.MAX_VALUE};
+        int indeksSebelum = -1;
+        for (long v : nilai) {
+            int indeks = HistogramLatensi.indeks(v);
+            assertTrue(indeks >= indeksSebelum);
+            assertTrue(HistogramLatensi.batasAtas(indeks) >= v);
+            if (indeks > 0) {
+                assertTrue(HistogramLatensi.batasAtas(indeks - 1) < v);
+            }
+            indeksSebelum = indeks;
+        }
+    }
+
+    @Test
+    @DisplayName("persentil dalam galat relatif 1/16 dari nilai sebenarnya")
+    void persentil() {
+        HistogramLatensi histogram = new HistogramLatensi();
+        Random random = new Random(5);
+        long[] data = new long[100_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100 + (long) (Math.abs(random.nextGaussian()) * 50_000);
+            histogram.catat(data[i]);
+        }
+        Arrays.sort(data);
+        HistogramLatensi.Snapshot snapshot = histogram.snapshot();
+        assertEquals(data.length, snapshot.getJumlah());
+        assertEquals(data[data.length - 1], snapshot.getMaksimum());
+        for (double p : new double[]{50, 90, 99, 99.9}) {
+            long sebenarnya = data[(int) Math.ceil(p / 100 * data.length) - 1];
+            long perkiraan = snapshot.persentil(p);
+            assertTrue(perkiraan >= sebenarnya, "p" + p);
+            assertTrue(perkiraan <= sebenarnya + sebenarnya / 16 + 1, "p" + p);
+        }
+        assertEquals(snapshot.getMaksimum(), snapshot.persentil(100));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.persentil(101));
+    }
+
+    @Test
+    @DisplayName("histogram kosong, nilai negatif & reset")
+    void kosongDanReset() {
+        HistogramLatensi histogram = new HistogramLatensi();
+        assertEquals(0, histogram.snapshot().persentil(99));
+        assertEquals(0.0, histogram.snapshot().getRataRata());
+        histogram.catat(-5);
+        histogram.catat(10);
+        assertEquals(5.0, histogram.snapshot().getRataRata());
+        assertEquals(0, histogram.snapshot().persentil(50));
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().getJumlah());
+        assertEquals(0, histogram.snapshot().getMaksimum());
+    }
+
+    @Test
+    @DisplayName("pencatatan bersamaan tidak kehilangan data")
+    void pencatatanBersamaan() throws Exception {
+        HistogramLatensi histogram = new HistogramLatensi();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Future<?>[] tugas = new Future<?>[4];
+        for (int t = 0; t < tugas.length; t++) {
+            tugas[t] = executor.submit(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    histogram.catat(i % 1000);
+                }
+            });
+        }
+        for (Future<?> f : tugas) {
+            f.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertEquals(200_000, histogram.snapshot().getJumlah());
+        assertEquals(999, histogram.snapshot().getMaksimum());
+    }
+}
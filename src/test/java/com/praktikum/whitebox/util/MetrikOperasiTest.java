@@ -0,0 +1,81 @@
+package com.praktikum.whitebox.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Metrik Operasi & Registri Metrik")
+public class MetrikOperasiTest {
+
+    private RegistriMetrik registri;
+    private MetrikOperasi metrik;
+
+    @BeforeEach
+    void setUp() {
+        registri = new RegistriMetrik();
+        metrik = registri.operasi("uji.operasi");
+    }
+
+    @Test
+    @DisplayName("ukur mencatat panggilan, ukuran hasil dan latensi")
+    void ukur() {
+        List<Integer> hasil = metrik.ukur(() -> Arrays.asList(1, 2, 3), List::size);
+        assertEquals(3, hasil.size());
+        assertTrue(metrik.ukur(() -> true));
+        assertFalse(metrik.ukur(() -> false));
+
+        MetrikOperasi.Snapshot snapshot = metrik.snapshot();
+        assertEquals("uji.operasi", snapshot.getNama());
+        assertEquals(3, snapshot.getJumlahPanggilan());
+        assertEquals(0, snapshot.getJumlahGagal());
+        assertEquals(4, snapshot.getTotalUkuranHasil());
+        assertEquals(3, snapshot.getLatensi().getJumlah());
+        assertEquals(4.0 / 3, snapshot.getRataRataUkuranHasil(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("exception dicatat sebagai gagal lalu dilempar ulang")
+    void gagal() {
+        assertThrows(IllegalStateException.class, () -> metrik.ukur(() -> {
+            throw new IllegalStateException("gagal");
+        }, hasil -> 0));
+        assertThrows(IllegalStateException.class, () -> metrik.ukur((BooleanSupplier) () -> {
+            throw new IllegalStateException("gagal");
+        }));
+        assertEquals(2, metrik.snapshot().getJumlahGagal());
+        assertEquals(2, metrik.snapshot().getJumlahPanggilan());
+        assertEquals(0.0, metrik.snapshot().getRataRataUkuranHasil());
+    }
+
+    @Test
+    @DisplayName("registri nonaktif tidak mencatat apapun")
+    void nonaktif() {
+        registri.setAktif(false);
+        assertFalse(registri.isAktif());
+        assertEquals("ok", metrik.ukur(() -> "ok", String::length));
+        assertTrue(metrik.ukur(() -> true));
+        assertEquals(0, metrik.snapshot().getJumlahPanggilan());
+    }
+
+    @Test
+    @DisplayName("registri mengembalikan metrik yang sama per nama, snapshot terurut & reset")
+    void registri() {
+        assertSame(metrik, registri.operasi("uji.operasi"));
+        registri.operasi("a.pertama").catat(100, 2);
+        metrik.catat(200, 0);
+        Map<String, MetrikOperasi.Snapshot> snapshot = registri.snapshot();
+        assertEquals(Arrays.asList("a.pertama", "uji.operasi"), Arrays.asList(snapshot.keySet().toArray()));
+        assertEquals(2, snapshot.get("a.pertama").getTotalUkuranHasil());
+        registri.reset();
+        assertEquals(0, registri.snapshot().get("uji.operasi").getJumlahPanggilan());
+        assertThrows(IllegalArgumentException.class, () -> registri.operasi(""));
+        assertThrows(IllegalArgumentException.class, () -> registri.operasi(null));
+    }
+}
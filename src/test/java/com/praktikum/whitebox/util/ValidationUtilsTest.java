@@ -10,6 +10,7 @@ import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.Random;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,6 +33,30 @@ public class ValidationUtilsTest {
         assertTrue(ValidationUtils.isValidKodeProduk(kode));
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {" ABC ", "\tPROD001\n", "ABCDEFGHIJ", "ABC-1", "ABC 12", "ABCDEFGHIJK", "ÄBC", "abc١٢"})
+    @DisplayName("Test isValidKodeProduk - sama dengan semantik regex")
+    void testIsValidKodeProdukSamaDenganRegex(String kode) {
+        assertEquals(kode.trim().matches("^[A-Za-z0-9]{3,10}$"), ValidationUtils.isValidKodeProduk(kode));
+    }
+
+    @Test
+    @DisplayName("Test isValidKodeProduk - differential test acak terhadap regex")
+    void testIsValidKodeProdukDifferensialAcak() {
+        char[] alfabet = "aZ09 \t\n-_.Äé\u0000\u00a0".toCharArray();
+        Random random = new Random(42);
+        for (int n = 0; n < 20000; n++) {
+            char[] kode = new char[random.nextInt(14)];
+            for (int i = 0; i < kode.length; i++) {
+                kode[i] = random.nextInt(3) == 0
+                        ? alfabet[random.nextInt(alfabet.length)]
+                        : (char) ('A' + random.nextInt(26));
+            }
+            String s = new String(kode);
+            assertEquals(s.trim().matches("^[A-Za-z0-9]{3,10}$"), ValidationUtils.isValidKodeProduk(s), s);
+        }
+    }
+
     // 🔧 pakai MethodSource karena butuh .repeat()
     @ParameterizedTest
     @MethodSource("invalidNamaProvider")